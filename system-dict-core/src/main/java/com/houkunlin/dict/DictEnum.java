@@ -32,8 +32,9 @@ public interface DictEnum<T extends Serializable> {
      * 通过枚举值从枚举列表中获取枚举对象
      * <p>
      * 该静态方法用于根据枚举值从给定的枚举对象列表中查找对应的枚举对象。
-     * 实现逻辑是遍历枚举对象列表，比较每个枚举对象的字典值是否与传入的枚举值相等，
+     * 实现逻辑是比较每个枚举对象的字典值是否与传入的枚举值相等，
      * 如果找到相等的，则返回对应的枚举对象；否则返回 null。
+     * 传入的是完整的枚举对象列表（例如 {@code values()}）时通过该枚举类的索引（{@link DictEnumIndex}）查找，不再遍历枚举对象列表。
      * </p>
      *
      * @param values 枚举对象列表
@@ -42,7 +43,15 @@ public interface DictEnum<T extends Serializable> {
      * @param <E>    枚举对象类型，必须同时实现 Enum 接口和 DictEnum 接口
      * @return 找到的枚举对象，如果没有找到则返回 null
      */
+    @SuppressWarnings("unchecked")
     static <T extends Serializable, E extends Enum<E> & DictEnum<T>> E valueOf(E[] values, T value) {
+        final Class<?> componentType = values.getClass().getComponentType();
+        if (componentType.isEnum()) {
+            final DictEnumIndex<E> index = DictEnumIndex.of((Class<E>) componentType);
+            if (index != null && index.size() == values.length) {
+                return index.getByValue(value);
+            }
+        }
         for (final E enums : values) {
             if (enums.getValue().equals(value)) {
                 return enums;
@@ -0,0 +1,177 @@
+package com.houkunlin.dict;
+
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 字典枚举索引
+ * <p>
+ * 每个字典枚举类只创建一次，按字典值、字典值的字符串形式、枚举名称建立到枚举对象的不可变索引，
+ * 用于字典翻译、{@link DictEnum#valueOf(Enum[], Serializable)}、Web 参数转换时查找枚举对象，查找时不需要遍历枚举对象、也不需要创建字符串。
+ * 字典值重复时以第一个枚举对象为准，与按顺序遍历枚举对象的查找结果一致。
+ * </p>
+ * <p>
+ * 枚举类重写了 {@link DictEnum#eq(Object)} 方法时无法通过索引确定 {@link #getByText(String)} 的匹配结果，此时按顺序遍历枚举对象查找。
+ * </p>
+ *
+ * @param <E> 枚举对象类型
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+public final class DictEnumIndex<E extends DictEnum<?>> {
+    /**
+     * 已创建的字典枚举索引，键为枚举类
+     */
+    private static final Map<Class<?>, DictEnumIndex<?>> INDEXES = new ConcurrentHashMap<>();
+    /**
+     * 枚举对象，按声明顺序
+     */
+    private final E[] constants;
+    /**
+     * 字典值到枚举对象的索引
+     */
+    private final Map<Object, E> byValue;
+    /**
+     * 字典值的字符串形式到枚举对象的索引
+     */
+    private final Map<String, E> byText;
+    /**
+     * 枚举名称到枚举对象的索引
+     */
+    private final Map<String, E> byName;
+    /**
+     * 是否有枚举对象重写了 {@link DictEnum#eq(Object)} 方法
+     */
+    private final boolean customEq;
+
+    private DictEnumIndex(final E[] constants) {
+        this.constants = constants;
+        final Map<Object, E> values = new HashMap<>(constants.length * 2);
+        final Map<String, E> texts = new HashMap<>(constants.length * 2);
+        final Map<String, E> names = new HashMap<>(constants.length * 2);
+        boolean custom = false;
+        for (final E constant : constants) {
+            final Object value = constant.getValue();
+            if (value != null) {
+                values.putIfAbsent(value, constant);
+            }
+            texts.putIfAbsent(toText(value), constant);
+            names.put(((Enum<?>) constant).name(), constant);
+            custom = custom || isCustomEq(constant.getClass());
+        }
+        this.byValue = Collections.unmodifiableMap(values);
+        this.byText = Collections.unmodifiableMap(texts);
+        this.byName = Collections.unmodifiableMap(names);
+        this.customEq = custom;
+    }
+
+    /**
+     * 获取一个字典枚举类的索引，第一次获取时创建
+     *
+     * @param enumClass 字典枚举类
+     * @param <E>       枚举对象类型
+     * @return 字典枚举索引，不是枚举类或者枚举类尚未完成初始化时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends DictEnum<?>> DictEnumIndex<E> of(final Class<E> enumClass) {
+        final DictEnumIndex<?> index = INDEXES.get(enumClass);
+        if (index != null) {
+            return (DictEnumIndex<E>) index;
+        }
+        if (!enumClass.isEnum()) {
+            return null;
+        }
+        final E[] constants = enumClass.getEnumConstants();
+        if (constants == null) {
+            // 枚举类正在初始化（例如在枚举的构造方法中查找枚举对象），此时还无法创建索引
+            return null;
+        }
+        // 不使用 computeIfAbsent：创建索引时可能触发枚举类初始化，枚举类的静态代码块中可能再次获取索引
+        final DictEnumIndex<E> created = new DictEnumIndex<>(constants);
+        final DictEnumIndex<?> previous = INDEXES.putIfAbsent(enumClass, created);
+        return previous == null ? created : (DictEnumIndex<E>) previous;
+    }
+
+    /**
+     * 枚举对象的数量
+     *
+     * @return 枚举对象的数量
+     */
+    public int size() {
+        return constants.length;
+    }
+
+    /**
+     * 通过字典值获取枚举对象
+     * <p>
+     * 字典值与传入的值相等（{@link Object#equals(Object)}）的枚举对象，与 {@link DictEnum#valueOf(Enum[], Serializable)} 的匹配规则一致。
+     * </p>
+     *
+     * @param value 字典值
+     * @return 枚举对象，找不到时返回 null
+     */
+    public E getByValue(final Object value) {
+        return value == null ? null : byValue.get(value);
+    }
+
+    /**
+     * 通过枚举名称获取枚举对象
+     *
+     * @param name 枚举名称
+     * @return 枚举对象，找不到时返回 null
+     */
+    public E getByName(final String name) {
+        return name == null ? null : byName.get(name);
+    }
+
+    /**
+     * 通过字典值的字符串形式获取枚举对象
+     * <p>
+     * 与字典值相等（{@link DictEnum#eq(Object)}），或者字典值的字符串形式与传入的字符串相等的枚举对象。
+     * </p>
+     *
+     * @param text 字典值的字符串形式
+     * @return 枚举对象，找不到时返回 null
+     */
+    public E getByText(final String text) {
+        if (customEq) {
+            final String target = toText(text);
+            for (final E constant : constants) {
+                if (constant.eq(text) || toText(constant.getValue()).equals(target)) {
+                    return constant;
+                }
+            }
+            return null;
+        }
+        return byText.get(toText(text));
+    }
+
+    /**
+     * 字典值的字符串形式，null 为空字符串
+     *
+     * @param value 字典值
+     * @return 字符串形式
+     */
+    private static String toText(final Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    /**
+     * 枚举对象的类是否重写了 {@link DictEnum#eq(Object)} 方法
+     *
+     * @param constantClass 枚举对象的类
+     * @return 是否重写了 eq 方法
+     */
+    private static boolean isCustomEq(final Class<?> constantClass) {
+        try {
+            final Method method = constantClass.getMethod("eq", Object.class);
+            return method.getDeclaringClass() != DictEnum.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
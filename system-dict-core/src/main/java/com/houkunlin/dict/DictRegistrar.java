@@ -5,6 +5,7 @@ import com.houkunlin.dict.bean.DictValue;
 import com.houkunlin.dict.provider.DictProvider;
 import com.houkunlin.dict.store.DictStore;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -37,13 +38,94 @@ public interface DictRegistrar {
     /**
      * 刷新数据字典信息
      * <p>
-     * 该方法用于刷新数据字典信息，首先检查距离上一次刷新的时间间隔，
-     * 如果小于配置的刷新间隔，则跳过本次刷新操作。
-     * 然后更新最后刷新时间，并调用 {@link #forEachAllDict} 方法获取所有字典数据，
+     * 该方法用于刷新数据字典信息，从所有支持本次刷新的字典提供者获取字典数据，
      * 最后将获取到的字典数据存储到 {@link DictStore} 中。
+     * 距离上一次刷新小于刷新间隔、或者已经有刷新在执行时，本次刷新会被合并到下一次刷新中执行。
      * </p>
      *
      * @param dictProviderClasses 需要刷新的数据字典提供商类限定名，null 表示刷新所有
      */
     void refreshDict(Set<String> dictProviderClasses);
+
+    /**
+     * 按字典类型刷新数据字典信息
+     * <p>
+     * 只重新加载、写入指定的字典类型，字典提供者需要实现 {@link DictProvider#dictTypeIterator(Set)} 方法；
+     * 不支持按字典类型加载的字典提供者会重新加载整个字典提供者的数据。默认实现刷新所有字典提供者的数据。
+     * </p>
+     *
+     * @param dictTypes 需要刷新的字典类型代码，null 或者空集合表示刷新所有
+     * @since 2.2.0
+     */
+    default void refreshDictTypes(Set<String> dictTypes) {
+        refreshDict(null);
+    }
+
+    /**
+     * 直接写入变更的字典值（增量刷新）
+     * <p>
+     * 收到其他系统发来的增量刷新通知时调用，与 {@code RefreshDictValueEvent} 事件的处理方式相同：字典文本为 null 的字典值会被删除，
+     * 属于系统字典的字典值会被忽略。默认实现不支持增量写入，直接刷新所有字典提供者的数据。
+     * </p>
+     *
+     * @param dictValues     变更的字典值列表（必须要有字典类型值）
+     * @param updateDictType 是否维护字典类型对象里面的字典值列表信息
+     * @param removeDictType 维护字典类型对象时，字典类型的字典值列表为空时是否删除字典类型
+     * @since 2.2.0
+     */
+    default void refreshDictValues(Collection<DictValue> dictValues, boolean updateDictType, boolean removeDictType) {
+        refreshDict(null);
+    }
+
+    /**
+     * 字典数据是否已经加载完成
+     * <p>
+     * 启动时异步加载字典数据的情况下，加载完成之前返回 {@code false}，其他情况下总是返回 {@code true}。
+     * </p>
+     *
+     * @return 字典数据是否已经加载完成
+     * @since 2.2.0
+     */
+    default boolean isReady() {
+        return true;
+    }
+
+    /**
+     * 字典数据尚未加载完成时，根据配置的策略等待字典数据加载完成
+     * <p>
+     * 字典翻译调用读取存储对象之前会调用此方法。默认实现不等待。
+     * </p>
+     *
+     * @since 2.2.0
+     */
+    default void awaitReady() {
+    }
+
+    /**
+     * 读取字典类型之前确保懒加载的字典类型已经加载
+     * <p>
+     * 字典翻译调用读取存储对象之前会调用此方法。字典类型是字典提供者声明的懒加载字典类型（{@link DictProvider#lazyDictTypes()}）
+     * 并且尚未加载时，加载该字典类型并写入存储对象。默认实现不做任何处理。
+     * </p>
+     *
+     * @param dictType 字典类型代码
+     * @since 2.2.0
+     */
+    default void ensureDictType(String dictType) {
+    }
+
+    /**
+     * 刷新一个租户的字典
+     * <p>
+     * 只刷新该租户的字典类型（{@link DictTenantResolver#tenantDictType(String, String)}），并清空该租户的字典文本缓存。
+     * 无法确定该租户的字典类型时（参考 {@code DictProvider#tenantDictTypes(String)}）刷新所有字典。
+     * 默认实现刷新所有字典。
+     * </p>
+     *
+     * @param tenant 租户标识
+     * @since 2.2.0
+     */
+    default void refreshTenant(String tenant) {
+        refreshDict(null);
+    }
 }
@@ -0,0 +1,69 @@
+package com.houkunlin.dict;
+
+/**
+ * 字典租户解析器。
+ * <p>
+ * 需求场景：多个租户使用相同的字典类型代码，但是各自的字典值、字典文本不同。
+ * 通过实现此接口并注册为 Spring Bean，字典翻译（{@code DictUtil}、字典值序列化器）会根据当前租户读取该租户的字典数据：
+ * 先读取字典类型代码为 {@code 租户标识@字典类型代码} 的租户字典，租户字典中不存在时再读取共享的字典（没有租户标识的字典类型代码）。
+ * 每个租户使用独立的字典文本缓存，一个租户的大量读取不会淘汰其他租户缓存的字典文本。
+ * </p>
+ * <p>
+ * 字典提供者通过 {@link #tenantDictType(String, String)} 生成租户字典的字典类型代码后返回字典数据，
+ * 租户字典与普通字典一样写入存储对象、按字典类型刷新。
+ * </p>
+ * <pre><code>
+ *  public class HeaderDictTenantResolver implements DictTenantResolver {
+ *      &#64;Override
+ *      public String getTenant() {
+ *          // 例如从请求上下文、登录信息中获取当前租户
+ *          return TenantContext.getTenantId();
+ *      }
+ *  }
+ * </code></pre>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+@FunctionalInterface
+public interface DictTenantResolver {
+    /**
+     * 租户标识与字典类型代码之间的分隔符
+     */
+    String TENANT_SEPARATOR = "@";
+
+    /**
+     * 获取当前租户标识
+     *
+     * @return 当前租户标识，返回 null 表示没有租户，只读取共享的字典
+     */
+    String getTenant();
+
+    /**
+     * 获取租户字典的字典类型代码
+     *
+     * @param tenant   租户标识，null 表示共享的字典
+     * @param dictType 字典类型代码
+     * @return 租户字典的字典类型代码，格式为 {@code 租户标识@字典类型代码}
+     */
+    static String tenantDictType(final String tenant, final String dictType) {
+        if (tenant == null) {
+            return dictType;
+        }
+        return tenant + TENANT_SEPARATOR + dictType;
+    }
+
+    /**
+     * 获取租户字典类型代码中的租户标识
+     *
+     * @param dictType 字典类型代码
+     * @return 租户标识，不是租户字典时返回 null
+     */
+    static String tenantOf(final String dictType) {
+        if (dictType == null) {
+            return null;
+        }
+        final int index = dictType.indexOf(TENANT_SEPARATOR);
+        return index > 0 ? dictType.substring(0, index) : null;
+    }
+}
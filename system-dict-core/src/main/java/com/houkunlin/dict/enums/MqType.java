@@ -18,6 +18,12 @@ public enum MqType {
     /**
      * 使用 Redis 的发布/订阅来通知其他系统刷新字典
      */
-    REDIS
+    REDIS,
+    /**
+     * 使用限制长度的 Redis Stream 来通知其他系统刷新字典，连接短暂断开后重新连接时会补上错过的通知
+     *
+     * @since 2.2.0
+     */
+    REDIS_STREAM
     ;
 }
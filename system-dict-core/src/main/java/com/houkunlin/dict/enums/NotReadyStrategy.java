@@ -0,0 +1,19 @@
+package com.houkunlin.dict.enums;
+
+/**
+ * 启动时异步加载字典数据、字典数据尚未加载完成时，字典翻译调用的处理策略
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+public enum NotReadyStrategy {
+    /**
+     * （默认）阻塞字典翻译调用，直到字典数据加载完成或者等待超时
+     */
+    BLOCK,
+    /**
+     * 不等待字典数据加载完成，直接读取存储对象中现有的数据（例如 Redis 中上一次启动时写入的字典数据）
+     */
+    SNAPSHOT
+    ;
+}
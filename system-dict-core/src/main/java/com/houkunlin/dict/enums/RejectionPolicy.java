@@ -0,0 +1,27 @@
+package com.houkunlin.dict.enums;
+
+/**
+ * 字典组件内部线程池等待队列已满时的拒绝策略
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+public enum RejectionPolicy {
+    /**
+     * （默认）在提交任务的线程中直接执行，对事件发布方形成背压
+     */
+    CALLER_RUNS,
+    /**
+     * 抛出 {@code RejectedExecutionException} 异常
+     */
+    ABORT,
+    /**
+     * 丢弃新提交的任务
+     */
+    DISCARD,
+    /**
+     * 丢弃等待队列中最早的任务，再提交新任务
+     */
+    DISCARD_OLDEST
+    ;
+}
@@ -110,12 +110,14 @@ public class DictProperties {
     /**
      * 两次刷新字典事件的时间间隔
      * <p>
-     * 两次刷新事件时间间隔小于配置参数将不会刷新，用于防止短时间内重复刷新字典。
+     * 两次刷新之间至少间隔配置的时间，用于防止短时间内重复刷新字典。
+     * 在刷新过程中或者刷新间隔内收到的刷新请求不会被丢弃，而是合并为一次待执行的刷新（合并需要刷新的字典提供者），
+     * 在当前刷新完成且距离上一次刷新达到刷新间隔后执行。任何时刻最多只有一个刷新在执行。
      * 此设置只影响 {@code com.houkunlin.dict.notice.RefreshDictEvent} 事件，可以有效避免因频繁触发刷新事件导致的性能问题。
      * </p>
      *
-     * @param refreshDictInterval 刷新间隔时间，防止重复刷新，在刷新间隔内多次调用刷新时，只有第一次有效
-     * @return 刷新间隔时间，防止重复刷新，在刷新间隔内多次调用刷新时，只有第一次有效
+     * @param refreshDictInterval 刷新间隔时间，在刷新间隔内多次调用刷新时，会合并为刷新间隔结束后的一次刷新
+     * @return 刷新间隔时间，在刷新间隔内多次调用刷新时，会合并为刷新间隔结束后的一次刷新
      */
     private Duration refreshDictInterval = Duration.ofSeconds(60);
     /**
@@ -143,4 +145,85 @@ public class DictProperties {
      */
     @NestedConfigurationProperty
     private DictPropertiesStorePrefixKey storeKey = new DictPropertiesStorePrefixKey();
+    /**
+     * 远程字典调用保护配置
+     *
+     * @since 2.2.0
+     * @param remote 远程字典调用保护配置
+     * @return 远程字典调用保护配置
+     */
+    @NestedConfigurationProperty
+    private DictPropertiesRemote remote = new DictPropertiesRemote();
+    /**
+     * 字典存储读取降级配置
+     *
+     * @since 2.2.0
+     * @param resilience 字典存储读取降级配置
+     * @return 字典存储读取降级配置
+     */
+    @NestedConfigurationProperty
+    private DictPropertiesResilience resilience = new DictPropertiesResilience();
+    /**
+     * 刷新字典配置
+     *
+     * @since 2.2.0
+     * @param refresh 刷新字典配置
+     * @return 刷新字典配置
+     */
+    @NestedConfigurationProperty
+    private DictPropertiesRefresh refresh = new DictPropertiesRefresh();
+    /**
+     * 字典事件处理配置
+     *
+     * @since 2.2.0
+     * @param event 字典事件处理配置
+     * @return 字典事件处理配置
+     */
+    @NestedConfigurationProperty
+    private DictPropertiesEvent event = new DictPropertiesEvent();
+    /**
+     * 集群刷新字典配置
+     *
+     * @since 2.2.0
+     * @param cluster 集群刷新字典配置
+     * @return 集群刷新字典配置
+     */
+    @NestedConfigurationProperty
+    private DictPropertiesCluster cluster = new DictPropertiesCluster();
+    /**
+     * 刷新字典通知配置
+     *
+     * @since 2.2.0
+     * @param notice 刷新字典通知配置
+     * @return 刷新字典通知配置
+     */
+    @NestedConfigurationProperty
+    private DictPropertiesNotice notice = new DictPropertiesNotice();
+    /**
+     * 懒加载字典类型配置
+     *
+     * @since 2.2.0
+     * @param lazy 懒加载字典类型配置
+     * @return 懒加载字典类型配置
+     */
+    @NestedConfigurationProperty
+    private DictPropertiesLazy lazy = new DictPropertiesLazy();
+    /**
+     * 本地字典存储配置
+     *
+     * @since 2.2.0
+     * @param localStore 本地字典存储配置
+     * @return 本地字典存储配置
+     */
+    @NestedConfigurationProperty
+    private DictPropertiesLocalStore localStore = new DictPropertiesLocalStore();
+    /**
+     * 字典租户配置
+     *
+     * @since 2.2.0
+     * @param tenant 字典租户配置
+     * @return 字典租户配置
+     */
+    @NestedConfigurationProperty
+    private DictPropertiesTenant tenant = new DictPropertiesTenant();
 }
@@ -0,0 +1,39 @@
+package com.houkunlin.dict.properties;
+
+import lombok.*;
+
+import java.time.Duration;
+
+/**
+ * 集群刷新字典配置类
+ * <p>
+ * 多个应用实例共享同一个 Redis 字典存储时，配置收到刷新字典通知后各个实例的协作方式。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+@Data
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class DictPropertiesCluster {
+    /**
+     * 是否启用集群单写入者刷新（需要引入 spring-data-redis 并使用 Redis 字典存储）
+     * <p>
+     * 启用后同一个应用的多个实例同时刷新字典时，只有获取到 Redis 分布式锁的实例把字典数据写入 Redis，
+     * 每次写入都会获取一个单调递增的令牌（fencing token），写入完成后通过消息通知其他实例；
+     * 其他实例不再重复写入 Redis，只在收到写入完成的通知后清空本地的字典缓存。
+     * </p>
+     */
+    private boolean singleWriter = false;
+    /**
+     * 刷新字典分布式锁的有效期，需要大于一次完整刷新字典的耗时；持有锁的实例异常退出时，其他实例最多等待该时间后可以重新获取锁
+     */
+    private Duration lockTtl = Duration.ofMinutes(5);
+    /**
+     * 集群协作使用的 Redis 键前缀，实际使用的键会再拼接应用名称
+     */
+    private String keyPrefix = "dict:cluster:";
+}
@@ -0,0 +1,66 @@
+package com.houkunlin.dict.properties;
+
+import com.houkunlin.dict.enums.RejectionPolicy;
+import lombok.*;
+
+import java.time.Duration;
+
+/**
+ * 字典事件处理配置类
+ * <p>
+ * 配置 {@code com.houkunlin.dict.notice.RefreshDictValueEvent} 等字典事件的处理行为。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+@Data
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class DictPropertiesEvent {
+    /**
+     * 字典值事件的合并窗口
+     * <p>
+     * 大于 0 时收到 {@code RefreshDictValueEvent} 事件后不会立即写入，而是在窗口时间内继续收集后续事件，
+     * 按字典类型合并（同一个字典值后收到的覆盖先收到的）后一次性写入：每个字典类型只写入一次字典值、只维护一次字典类型对象。
+     * 适用于后台管理、数据导入等短时间内发布大量单个字典值事件的场景。
+     * 为 0 时不合并，收到事件后立即写入。
+     * </p>
+     */
+    private Duration valueBatchWindow = Duration.ZERO;
+    /**
+     * 字典值事件合并窗口内最多收集的字典值数量，达到该数量后不再等待窗口结束，立即写入
+     */
+    private int valueBatchMaxSize = 1000;
+    /**
+     * 是否在字典组件专用的线程池中异步处理字典事件
+     * <p>
+     * 字典事件（{@code RefreshDictEvent}、{@code RefreshDictValueEvent}、{@code RefreshDictTypeEvent}）不再使用宿主应用的
+     * {@code @Async} 线程池（例如每个任务创建一个新线程的 {@code SimpleAsyncTaskExecutor}），而是使用下面配置的有界线程池。
+     * 为空时与之前的行为保持一致：宿主应用启用了 {@code @EnableAsync} 时异步处理，否则在发布事件的线程中同步处理。
+     * </p>
+     */
+    private Boolean async;
+    /**
+     * 处理字典事件的最大线程数
+     */
+    private int threads = 2;
+    /**
+     * 处理字典事件的等待队列容量，小于等于 0 时不限制队列容量
+     */
+    private int queueCapacity = 10000;
+    /**
+     * 等待队列已满时的拒绝策略
+     */
+    private RejectionPolicy rejectionPolicy = RejectionPolicy.CALLER_RUNS;
+    /**
+     * 处理字典事件时是否使用虚拟线程（需要 Java 21 及以上版本，低版本 Java 会自动回退为普通线程）
+     */
+    private boolean virtualThreads = false;
+    /**
+     * 应用关闭时等待线程池中尚未处理的字典事件处理完成的最长时间，超时后剩余的事件会被丢弃
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
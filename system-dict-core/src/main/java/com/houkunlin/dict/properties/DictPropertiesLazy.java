@@ -0,0 +1,32 @@
+package com.houkunlin.dict.properties;
+
+import lombok.*;
+
+import java.time.Duration;
+
+/**
+ * 懒加载字典类型配置类
+ * <p>
+ * 字典提供者通过 {@code DictProvider#lazyDictTypes()} 声明的字典类型不会在刷新字典时加载，
+ * 而是在第一次读取该字典类型时通过 {@code DictProvider#loadDictType(String)} 单独加载并写入存储对象。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+@Data
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class DictPropertiesLazy {
+    /**
+     * 懒加载的字典类型空闲多长时间没有被读取后从存储对象中卸载
+     * <p>
+     * 卸载后再次读取该字典类型时会重新加载。设置为 0 时不卸载。
+     * 加载状态只记录在当前实例中，多个实例共享 Redis 字典存储时，卸载（包括刷新字典提供者时的卸载）只清空当前实例的字典缓存，
+     * 不删除 Redis 中的数据，其他实例不受影响；当前实例再次读取该字典类型时重新加载并更新 Redis 中的数据。
+     * </p>
+     */
+    private Duration idleTimeout = Duration.ZERO;
+}
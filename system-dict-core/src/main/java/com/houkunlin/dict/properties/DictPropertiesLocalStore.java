@@ -0,0 +1,30 @@
+package com.houkunlin.dict.properties;
+
+import lombok.*;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 本地字典存储配置类
+ * <p>
+ * 配置使用本地字典存储（{@code com.houkunlin.dict.store.LocalDictStore}）时用户字典占用的内存上限。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+@Data
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class DictPropertiesLocalStore {
+    /**
+     * 用户字典占用的内存上限（按字典类型估算的字节数）
+     * <p>
+     * 超过上限时按 W-TinyLFU 策略淘汰不常用的用户字典类型，被淘汰的字典类型在下一次读取时通过所属的字典提供者
+     * （需要实现 {@code DictProvider#loadDictType(String)}）或者 {@code RemoteDict} 重新加载。
+     * 系统字典（枚举字典）不会被淘汰。不配置时不限制。
+     * </p>
+     */
+    private DataSize maxSize;
+}
@@ -0,0 +1,43 @@
+package com.houkunlin.dict.properties;
+
+import lombok.*;
+
+import java.time.Duration;
+
+/**
+ * 刷新字典通知配置类
+ * <p>
+ * 配置通过 MQ（{@code system.dict.mq-type}）在多个系统之间发送、处理刷新字典通知的方式。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+@Data
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class DictPropertiesNotice {
+    /**
+     * 增量通知最多携带的字典值数量
+     * <p>
+     * 通知其他系统的 {@code RefreshDictValueEvent} 事件会把变更的字典值放在通知中发送，收到通知的系统直接写入这些字典值，不需要重新加载全部字典；
+     * 变更的字典值数量超过该值时改为发送全量刷新通知。收到的增量通知超过该值时同样改为全量刷新。设置为 0 时不发送增量通知。
+     * </p>
+     */
+    private int deltaMaxSize = 1000;
+    /**
+     * 使用 Redis Stream 通知（{@code system.dict.mq-type=REDIS_STREAM}）时 Stream 保留的最大消息数量（近似裁剪）
+     * <p>实例与 Redis 断开期间错过的通知超过该数量时，重新连接后无法补上全部通知，此时会全量刷新字典。</p>
+     */
+    private long streamMaxLength = 1000;
+    /**
+     * 全量刷新通知的合并窗口
+     * <p>
+     * 窗口内通知其他系统的多个 {@code RefreshDictEvent} 事件合并为一个通知发送（需要刷新的字典提供者取并集，是否通知兄弟系统取或），
+     * 批量导入等场景不会发送大量通知，其他系统也只会刷新一次字典。设置为 0 时不合并。
+     * </p>
+     */
+    private Duration coalesceWindow = Duration.ZERO;
+}
@@ -0,0 +1,69 @@
+package com.houkunlin.dict.properties;
+
+import com.houkunlin.dict.enums.NotReadyStrategy;
+import lombok.*;
+
+import java.time.Duration;
+
+/**
+ * 刷新字典配置类
+ * <p>
+ * 配置 {@code com.houkunlin.dict.DictRegistrar#refreshDict(java.util.Set)} 刷新字典时的行为。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+@Data
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class DictPropertiesRefresh {
+    /**
+     * 是否启用增量刷新
+     * <p>
+     * 启用后刷新字典时会记录每个字典类型、每个字典值的内容摘要（hash），再次刷新时先比较字典类型摘要，
+     * 字典类型有变化时再比较字典值摘要，只把新增、修改、删除的字典值写入存储对象，未变化的字典类型和字典值不再重复写入。
+     * 关闭后每次刷新都会把所有字典类型和字典值完整写入存储对象。
+     * </p>
+     */
+    private boolean incremental = true;
+    /**
+     * 是否并行执行多个字典提供者
+     * <p>
+     * 启用后刷新字典时每个字典提供者在独立的线程中加载字典数据，刷新耗时从所有字典提供者耗时之和降低为耗时最长的字典提供者耗时。
+     * 同一个字典类型的写入操作始终串行执行，不会因为多个字典提供者并行写入而乱序。
+     * </p>
+     */
+    private boolean parallel = false;
+    /**
+     * 并行执行字典提供者时的最大线程数
+     */
+    private int parallelism = 4;
+    /**
+     * 并行执行时单个字典提供者的最长执行时间，超时后会中断该字典提供者并记录为刷新失败，不影响其他字典提供者。
+     * <p>为 0 时不限制执行时间。</p>
+     */
+    private Duration providerTimeout = Duration.ZERO;
+    /**
+     * 并行执行字典提供者时是否使用虚拟线程（需要 Java 21 及以上版本，低版本 Java 会自动回退为普通线程）
+     */
+    private boolean virtualThreads = false;
+    /**
+     * 是否在后台线程中执行启动时的字典加载（需要开启 {@code system.dict.on-boot-refresh-dict}）
+     * <p>
+     * 启用后启动时加载字典不再阻塞 Bean 初始化，字典数据加载完成之前应用的就绪状态（{@code ReadinessState}）为 {@code REFUSING_TRAFFIC}，
+     * 字典数据加载完成后才会变为 {@code ACCEPTING_TRAFFIC}。
+     * </p>
+     */
+    private boolean bootAsync = false;
+    /**
+     * 异步加载字典数据尚未完成时，字典翻译调用的处理策略
+     */
+    private NotReadyStrategy notReadyStrategy = NotReadyStrategy.BLOCK;
+    /**
+     * 使用 {@link NotReadyStrategy#BLOCK} 策略时，字典翻译调用等待字典数据加载完成的最长时间，超时后读取存储对象中现有的数据
+     */
+    private Duration readyTimeout = Duration.ofSeconds(30);
+}
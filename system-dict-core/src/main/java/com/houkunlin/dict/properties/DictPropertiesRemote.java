@@ -0,0 +1,67 @@
+package com.houkunlin.dict.properties;
+
+import lombok.*;
+
+import java.time.Duration;
+
+/**
+ * 远程字典（RemoteDict）调用保护配置类
+ * <p>
+ * 当字典数据不存在于 {@code DictStore} 时会调用 {@code com.houkunlin.dict.store.RemoteDict} 发起远程请求，
+ * 在列表页等高并发场景下同一个字典值可能在同一时刻被大量请求，容易把远程服务压垮。
+ * 启用该配置后会使用 {@code com.houkunlin.dict.store.RemoteDictDecorator} 包装原有的 RemoteDict 对象，
+ * 提供相同请求合并（single-flight）、批量请求窗口、结果缓存、未命中结果短期缓存、单次调用超时与熔断等保护能力。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+@Data
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class DictPropertiesRemote {
+    /**
+     * 是否启用远程字典调用保护
+     */
+    private boolean enabled = false;
+    /**
+     * 远程字典结果缓存的最大数量
+     */
+    private long maximumSize = 10000;
+    /**
+     * 远程字典命中结果的缓存有效期
+     */
+    private Duration cacheTtl = Duration.ofSeconds(60);
+    /**
+     * 远程字典未命中结果（返回 null）的缓存有效期，一般设置比 {@link #cacheTtl} 更短，
+     * 避免新增的字典数据长时间无法被读取到。设置为 0 时不缓存未命中结果。
+     */
+    private Duration negativeCacheTtl = Duration.ofSeconds(5);
+    /**
+     * 批量请求窗口。在该时间窗口内同一个字典类型的多个字典值查询会合并为一次
+     * {@code RemoteDict#getDictTexts(String, java.util.Collection)} 调用。设置为 0 时不合并批量请求。
+     */
+    private Duration batchWindow = Duration.ZERO;
+    /**
+     * 单个批量请求最多包含的字典值数量，达到该数量时立即发起请求，不再等待批量请求窗口结束
+     */
+    private int maxBatchSize = 100;
+    /**
+     * 单次远程调用的最大等待时间，超时后直接返回 null，远程调用耗时超过该时间也会被记为一次失败
+     */
+    private Duration timeout = Duration.ofSeconds(1);
+    /**
+     * 连续失败多少次后打开熔断器，熔断期间不再发起远程调用（直接返回缓存结果或 null）。设置为 0 时不启用熔断
+     */
+    private int circuitBreakerFailureThreshold = 5;
+    /**
+     * 熔断器打开后的持续时间，到期后允许一次试探请求，试探成功后关闭熔断器
+     */
+    private Duration circuitBreakerOpenDuration = Duration.ofSeconds(30);
+    /**
+     * 远程调用线程池的等待队列容量，队列已满时不再发起远程调用，直接返回 null。设置为 0 时不限制
+     */
+    private int queueCapacity = 1000;
+}
@@ -0,0 +1,59 @@
+package com.houkunlin.dict.properties;
+
+import com.houkunlin.dict.annotation.DictText;
+import lombok.*;
+
+import java.time.Duration;
+
+/**
+ * 字典存储读取降级配置类
+ * <p>
+ * 使用 Redis 存储字典时，如果 Redis 出现卡顿或宕机，所有 {@link DictText} 字段的转换都会阻塞在
+ * Redis 读取上。启用该配置后会使用 {@code com.houkunlin.dict.store.ResilientDictStore} 包装 Redis 字典存储：
+ * 每次读取都有超时时间预算；读取较慢时会使用本地最后一次成功读取/写入的快照数据对冲返回；
+ * Redis 连续失败后进入降级状态，直接使用本地快照数据，并在后台定期探测 Redis 是否恢复。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+@Data
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class DictPropertiesResilience {
+    /**
+     * 是否启用字典存储读取降级
+     */
+    private boolean enabled = false;
+    /**
+     * 单次读取的超时时间预算，超时后返回本地快照数据（没有快照数据时返回 null）
+     */
+    private Duration timeout = Duration.ofMillis(200);
+    /**
+     * 对冲读取延迟，读取耗时超过该时间且本地快照中存在数据时，直接返回本地快照数据。设置为 0 时不进行对冲读取
+     */
+    private Duration hedgeDelay = Duration.ofMillis(20);
+    /**
+     * 连续失败（异常或超时）多少次后进入降级状态
+     */
+    private int failureThreshold = 3;
+    /**
+     * 降级状态下后台探测存储是否恢复的时间间隔
+     */
+    private Duration recoveryInterval = Duration.ofSeconds(5);
+    /**
+     * 执行存储读取的线程数量
+     */
+    private int readThreads = 8;
+    /**
+     * 存储读取等待队列容量，队列已满时直接返回本地快照数据
+     */
+    private int readQueueCapacity = 1000;
+    /**
+     * 本地快照最多保存的字典值数量，字典类型对象、字典文本、字典父级值分别计算（字典类型对象按其中的字典值数量计算）。
+     * 读取成功的数据总是会记录到快照中，写入存储的数据只在快照未满时记录，批量写入大量字典值时不会把所有数据都复制到快照中
+     */
+    private long snapshotMaxSize = 100_000;
+}
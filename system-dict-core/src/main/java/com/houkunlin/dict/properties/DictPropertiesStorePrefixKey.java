@@ -40,6 +40,13 @@ public class DictPropertiesStorePrefixKey {
      * @since 1.4.6
      */
     public static String PARENT_PREFIX = "dict:p:";
+    /**
+     * 字典类型内容摘要缓存键
+     * <p>用于记录每个字典类型最近一次刷新写入的内容摘要，格式为 Hash 结构：dict:digest {type} {digest}
+     *
+     * @since 2.2.0
+     */
+    public static String DIGEST_KEY = "dict:digest";
     /**
      * 字典类型前缀
      * <p>
@@ -74,4 +81,14 @@ public class DictPropertiesStorePrefixKey {
      * </p>
      */
     private String parentPrefix = PARENT_PREFIX;
+    /**
+     * 字典类型内容摘要键
+     * <p>
+     * 用于在共享的缓存中记录每个字典类型最近一次刷新写入的内容摘要，
+     * 增量刷新时据此判断缓存中的数据是否被清空或者被其他实例修改。
+     * </p>
+     *
+     * @since 2.2.0
+     */
+    private String digestKey = DIGEST_KEY;
 }
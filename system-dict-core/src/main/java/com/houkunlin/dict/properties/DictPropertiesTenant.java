@@ -0,0 +1,28 @@
+package com.houkunlin.dict.properties;
+
+import lombok.*;
+
+/**
+ * 字典租户配置类
+ * <p>
+ * 存在 {@code com.houkunlin.dict.DictTenantResolver} Bean 时，{@code com.houkunlin.dict.DictUtil} 为每个租户创建独立的字典文本缓存，
+ * 每个租户的缓存使用与共享缓存相同的缓存配置（{@code system.dict.cache.caffeine.spec}），因此缓存配置中的容量限制也是每个租户的缓存容量限制。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+@Data
+@ToString
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class DictPropertiesTenant {
+    /**
+     * 同时保留字典文本缓存的租户数量上限
+     * <p>
+     * 超过上限时移除较少使用的租户的缓存，该租户再次读取字典时重新创建缓存。
+     * </p>
+     */
+    private int maxTenants = 1000;
+}
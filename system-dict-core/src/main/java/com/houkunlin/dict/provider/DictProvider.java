@@ -56,6 +56,45 @@ public interface DictProvider {
         return false;
     }
 
+    /**
+     * 获取字典值游标（流式读取字典值）
+     * <p>
+     * 当 {@link #isStoreDictType()} 返回 {@code false} 并且此方法返回的游标不为 {@code null} 时，
+     * 字典注册器会使用游标代替 {@link #dictValueIterator()} 读取字典值，边读取边按固定大小分批写入存储对象，读取完成后关闭游标。
+     * 适用于数据量特别大（例如几百万行的行政区划字典）的字典提供者，可以直接从 JDBC 游标读取数据，而不需要把整个字典加载到内存中。
+     * </p>
+     * <p>
+     * 使用游标时字典注册器不会记录每个字典值的内容摘要，启用增量刷新时也会写入游标返回的所有字典值，
+     * 可以配合 {@link #dictVersion()} 在数据未变化时跳过整个字典提供者。
+     * 游标返回的字典文本为 {@code null} 的字典值表示删除该字典值。
+     * </p>
+     *
+     * @return 字典值游标，默认返回 {@code null} 表示不支持流式读取
+     * @since 2.2.0
+     */
+    default DictValueCursor dictValueCursor() {
+        return null;
+    }
+
+    /**
+     * 获取当前字典提供者的数据版本
+     * <p>
+     * 数据版本用于判断字典提供者的数据自上一次刷新以来是否发生了变化，例如字典表最大的 {@code updated_at}，
+     * 或者字典表的数据行数加校验和。数据发生任何变化时返回的数据版本都应该不同。
+     * 启用增量刷新时，{@code com.houkunlin.dict.DictRegistrarImpl} 会在加载字典数据之前调用此方法，
+     * 如果数据版本与上一次成功刷新时的数据版本相同，则跳过该字典提供者，不再调用 {@link #dictTypeIterator()}、{@link #dictValueIterator()} 加载字典数据。
+     * </p>
+     * <p>
+     * 默认返回 {@code null}，表示不支持数据版本，每次刷新都会加载字典数据。
+     * </p>
+     *
+     * @return 数据版本，{@code null} 表示不支持数据版本
+     * @since 2.2.0
+     */
+    default String dictVersion() {
+        return null;
+    }
+
     /**
      * 获取字典类型迭代器
      * <p>
@@ -73,6 +112,85 @@ public interface DictProvider {
         return Collections.emptyIterator();
     }
 
+    /**
+     * 获取指定字典类型的字典类型迭代器（按字典类型刷新）
+     * <p>
+     * 只修改了少量字典类型时，可以通过 {@code RefreshDictEvent} 指定需要刷新的字典类型代码，
+     * 字典注册器会调用此方法只加载这些字典类型并写入存储对象，不需要重新加载整个字典提供者的数据。
+     * 返回的迭代器只需要包含传入的字典类型中属于当前字典提供者的字典类型（包含完整的字典值列表），
+     * 上一次由当前字典提供者提供、本次没有返回的字典类型会被删除。
+     * </p>
+     * <p>
+     * 默认返回 {@code null}，表示不支持按字典类型加载，此时如果传入的字典类型属于当前字典提供者（或者无法确定所属的字典提供者），
+     * 字典注册器会重新加载整个字典提供者的数据。
+     * </p>
+     *
+     * @param dictTypes 需要加载的字典类型代码
+     * @return 字典类型对象的迭代器，{@code null} 表示不支持按字典类型加载
+     * @since 2.2.0
+     */
+    default Iterator<DictType> dictTypeIterator(Set<String> dictTypes) {
+        return null;
+    }
+
+    /**
+     * 获取懒加载的字典类型代码
+     * <p>
+     * 字典提供者提供了大量很少使用的字典类型（例如大量的用户字典）时，可以把这些字典类型声明为懒加载的字典类型，
+     * 刷新字典时不加载这些字典类型（{@link #dictTypeIterator()}、{@link #dictValueIterator()} 不需要返回这些字典类型，返回了也会被忽略），
+     * 第一次读取某个懒加载的字典类型时再调用 {@link #loadDictType(String)} 单独加载该字典类型并写入存储对象。
+     * 刷新当前字典提供者时会重新获取懒加载的字典类型代码，并卸载已经加载的懒加载字典类型，再次读取时重新加载最新的数据。
+     * </p>
+     *
+     * @return 懒加载的字典类型代码，默认为空集合
+     * @since 2.2.0
+     */
+    default Set<String> lazyDictTypes() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * 加载一个懒加载的字典类型
+     * <p>
+     * 第一次读取 {@link #lazyDictTypes()} 声明的字典类型时调用此方法，返回的字典类型对象需要包含完整的字典值列表。
+     * 默认实现通过 {@link #dictTypeIterator(Set)} 加载该字典类型；不支持按字典类型加载（{@link #dictTypeIterator(Set)} 返回 {@code null}）时，
+     * 字典注册器会从当前字典提供者的全部字典数据中读取该字典类型。
+     * </p>
+     *
+     * @param dictType 字典类型代码
+     * @return 字典类型对象，{@code null} 表示当前字典提供者没有该字典类型
+     * @since 2.2.0
+     */
+    default DictType loadDictType(String dictType) {
+        final Iterator<DictType> iterator = dictTypeIterator(Collections.singleton(dictType));
+        if (iterator == null) {
+            return null;
+        }
+        while (iterator.hasNext()) {
+            final DictType type = iterator.next();
+            if (dictType.equals(type.getType())) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取一个租户的字典类型代码
+     * <p>
+     * 刷新一个租户的字典（{@code DictRegistrar#refreshTenant(String)}）时调用，返回当前字典提供者提供的该租户的字典类型代码
+     * （{@code DictTenantResolver.tenantDictType(tenant, type)}），字典注册器只按字典类型刷新这些字典类型（以及上一次刷新时加载的该租户的字典类型）。
+     * 还没有加载过该租户的字典类型、所有字典提供者都没有返回该租户的字典类型时，字典注册器无法确定需要刷新哪些字典类型，只能刷新所有字典。
+     * </p>
+     *
+     * @param tenant 租户标识
+     * @return 该租户的字典类型代码，默认为 {@code null}，表示不提供租户的字典类型信息
+     * @since 2.2.0
+     */
+    default Set<String> tenantDictTypes(String tenant) {
+        return null;
+    }
+
     /**
      * 获取字典值迭代器
      * <p>
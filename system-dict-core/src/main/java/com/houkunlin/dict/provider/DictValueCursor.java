@@ -0,0 +1,63 @@
+package com.houkunlin.dict.provider;
+
+import com.houkunlin.dict.bean.DictValue;
+
+import java.util.Iterator;
+
+/**
+ * 字典值游标
+ * <p>
+ * 流式读取字典值的迭代器，可以直接包装 JDBC 游标（{@code ResultSet}）等数据源，每次只读取一个字典值，
+ * 字典注册器会把读取到的字典值按固定大小分批写入存储对象，因此加载超大字典时内存占用保持在一个很小的常量范围内。
+ * 建议按字典类型分组返回字典值（同一个字典类型的字典值连续返回）。
+ * 字典文本（{@link DictValue#getTitle()}）为 {@code null} 的字典值表示从存储对象中删除该字典值。
+ * </p>
+ * <p>
+ * 字典注册器读取完成或读取失败后都会调用 {@link #close()} 方法释放数据源。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+public interface DictValueCursor extends Iterator<DictValue>, AutoCloseable {
+    /**
+     * 使用一个迭代器和一个需要释放的资源创建字典值游标
+     *
+     * @param iterator  字典值迭代器
+     * @param closeable 读取完成后需要释放的资源，例如 JDBC 的 {@code ResultSet}、{@code Connection}，可以为 null
+     * @return 字典值游标
+     */
+    static DictValueCursor of(final Iterator<DictValue> iterator, final AutoCloseable closeable) {
+        return new DictValueCursor() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public DictValue next() {
+                return iterator.next();
+            }
+
+            @Override
+            public void close() {
+                if (closeable == null) {
+                    return;
+                }
+                try {
+                    closeable.close();
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IllegalStateException("关闭字典值游标失败", e);
+                }
+            }
+        };
+    }
+
+    /**
+     * 关闭游标，释放数据源
+     */
+    @Override
+    void close();
+}
@@ -5,10 +5,13 @@ import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Supplier;
 
 /**
@@ -86,4 +89,26 @@ public class SystemDictProvider implements DictProvider {
         }
         return values.iterator();
     }
+
+    /**
+     * 获取指定字典类型的字典类型迭代器
+     * <p>
+     * 从缓存中返回传入的字典类型中属于系统字典的字典类型对象。
+     * </p>
+     *
+     * @param dictTypes 需要加载的字典类型代码
+     * @return 字典类型对象的迭代器
+     * @since 2.2.0
+     */
+    @Override
+    public Iterator<DictType> dictTypeIterator(final Set<String> dictTypes) {
+        final List<DictType> list = new ArrayList<>();
+        for (final String dictType : dictTypes) {
+            final DictType type = cache.get(dictType);
+            if (type != null) {
+                list.add(type);
+            }
+        }
+        return list.iterator();
+    }
 }
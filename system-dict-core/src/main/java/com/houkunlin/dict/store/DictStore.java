@@ -4,8 +4,11 @@ import com.houkunlin.dict.bean.DictType;
 import com.houkunlin.dict.bean.DictValue;
 import com.houkunlin.dict.provider.DictProvider;
 
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * 系统字典存储接口
@@ -180,4 +183,69 @@ public interface DictStore {
      * @since 1.4.6
      */
     String getDictParentValue(String type, String value);
+
+    /**
+     * 设置字典类型被淘汰时的回调方法
+     * <p>
+     * 存储对象因为容量限制淘汰了某个字典类型时调用该回调方法，传入被淘汰的字典类型代码，
+     * 字典注册器会在下一次读取该字典类型时重新加载。默认实现不会淘汰字典类型，忽略该回调方法。
+     * </p>
+     *
+     * @param listener 字典类型被淘汰时的回调方法
+     * @since 2.2.0
+     */
+    default void setEvictionListener(Consumer<String> listener) {
+    }
+
+    /**
+     * 批量获取存储对象中记录的字典类型内容摘要
+     * <p>
+     * 字典注册器增量刷新时把写入的字典类型内容摘要通过 {@link #storeDictTypeDigest(String, String)} 记录到存储对象中，
+     * 刷新前读取存储对象中记录的摘要并与本实例记录的摘要比较：共享的存储对象（例如 Redis）被清空、主从切换丢失数据、
+     * 或者被其他实例写入后，两者不再一致，此时该字典类型会被完整写入存储对象。
+     * 默认实现返回 {@code null}，表示存储对象不记录内容摘要，字典注册器只使用本实例记录的摘要。
+     * </p>
+     *
+     * @param types 字典类型代码
+     * @return 字典类型内容摘要，键为字典类型代码，不包含没有记录摘要的字典类型；不记录内容摘要时返回 {@code null}
+     * @since 2.2.0
+     */
+    default Map<String, String> getDictTypeDigests(Collection<String> types) {
+        return null;
+    }
+
+    /**
+     * 记录字典类型内容摘要，删除字典类型（{@link #removeDictType(String)}）时也需要删除该字典类型的内容摘要
+     *
+     * @param type   字典类型代码
+     * @param digest 字典类型内容摘要，为 {@code null} 时删除记录
+     * @since 2.2.0
+     */
+    default void storeDictTypeDigest(String type, String digest) {
+    }
+
+    /**
+     * 清空存储对象内部缓存的字典信息（例如 {@link RemoteDict} 远程字典结果缓存）
+     * <p>
+     * 字典数据刷新后、{@code DictUtil.invalidateCache()} 清空字典文本缓存时调用。默认实现不做任何处理。
+     * </p>
+     *
+     * @since 2.2.0
+     */
+    default void invalidateCache() {
+    }
+
+    /**
+     * 存储对象是否由多个应用实例共享（例如 Redis 存储）
+     * <p>
+     * 共享的存储对象中的字典数据由所有实例共同维护，集群单写入者刷新（{@code system.dict.cluster.single-writer}）只对共享的存储对象生效。
+     * 默认实现返回 false，表示字典数据只保存在当前实例中。
+     * </p>
+     *
+     * @return 是否由多个应用实例共享
+     * @since 2.2.0
+     */
+    default boolean isShared() {
+        return false;
+    }
 }
@@ -2,6 +2,10 @@ package com.houkunlin.dict.store;
 
 import com.houkunlin.dict.bean.DictType;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * 远程字典获取接口
  * <p>
@@ -40,4 +44,40 @@ public interface RemoteDict {
      * @return 字典文本（标题）；如果不存在则返回 {@code null}
      */
     String getDictText(String type, String value);
+
+    /**
+     * 通过字典类型和一批字典值批量获取字典文本信息
+     * <p>
+     * 当远程数据源支持批量查询时（例如 {@code select ... where value in (...)}），建议重写此方法，
+     * 以便把同一字典类型下短时间内的多次查询合并为一次远程请求。
+     * 默认实现为逐个调用 {@link #getDictText(String, String)}。
+     * </p>
+     *
+     * @param type   字典类型代码，标识字典所属的类型
+     * @param values 字典值集合
+     * @return 字典值与字典文本的映射；不存在的字典值可以不放入结果中
+     * @since 2.2.0
+     */
+    default Map<String, String> getDictTexts(String type, Collection<String> values) {
+        final Map<String, String> result = new LinkedHashMap<>();
+        for (final String value : values) {
+            final String title = getDictText(type, value);
+            if (title != null) {
+                result.put(value, title);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 清空远程字典结果缓存
+     * <p>
+     * 字典数据刷新后调用。实现类缓存了远程获取的结果时应重写此方法清空缓存，避免刷新后继续返回旧的字典信息。
+     * 默认实现不做任何处理。
+     * </p>
+     *
+     * @since 2.2.0
+     */
+    default void invalidateCache() {
+    }
 }
@@ -0,0 +1,372 @@
+package com.houkunlin.dict;
+
+import com.houkunlin.dict.bean.DictType;
+import com.houkunlin.dict.bean.DictValue;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.util.ObjectUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 字典内容摘要
+ * <p>
+ * 记录最近一次刷新写入存储对象的每个字典类型的内容摘要以及该字典类型下每个字典值的内容摘要，
+ * 用于增量刷新时判断字典类型、字典值是否发生了变化。摘要只记录摘要值，不保存字典文本等内容。
+ * </p>
+ * <p>
+ * 摘要使用 SHA-256 对字典内容的规范编码（每个字段带长度前缀、null 单独标记，{@code data} 按键排序）计算，
+ * 字典类型摘要保存完整的 SHA-256 值，字典值摘要保存 SHA-256 值的前 64 位。
+ * 字典类型摘要同时通过 {@code DictStore#storeDictTypeDigest(String, String)} 记录到存储对象中，
+ * 刷新前与存储对象中记录的摘要比较，存储对象被清空、主从切换丢失数据或者被其他实例写入后，本实例记录的摘要会被标记为失效。
+ * </p>
+ * <p>
+ * 通过事件（{@code RefreshDictValueEvent}、{@code RefreshDictTypeEvent}）修改过的字典类型需要调用 {@link #invalidate(String)}
+ * 使摘要失效，下一次刷新时该字典类型会被完整写入存储对象。
+ * </p>
+ * <p>
+ * 同时记录每个字典提供者最近一次成功刷新时的数据版本（{@code DictProvider#dictVersion()}），
+ * 字典类型摘要失效时该字典类型所属字典提供者的数据版本也会失效。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+public class DictContentDigest {
+    /**
+     * 字典类型摘要，键为字典类型代码
+     */
+    private final ConcurrentHashMap<String, TypeDigest> digests = new ConcurrentHashMap<>();
+    /**
+     * 字典提供者最近一次成功刷新时的数据版本，键为字典提供者类名
+     */
+    private final ConcurrentHashMap<String, String> providerVersions = new ConcurrentHashMap<>();
+
+    /**
+     * 计算字典值在存储对象中的键
+     *
+     * @param dictValue 字典值
+     * @return 字典值键
+     */
+    public static String valueKey(final DictValue dictValue) {
+        return ObjectUtils.getDisplayString(dictValue.getValue());
+    }
+
+    /**
+     * 计算字典值的内容摘要（SHA-256 值的前 64 位）
+     *
+     * @param dictValue 字典值
+     * @return 内容摘要
+     */
+    public static long hashValue(final DictValue dictValue) {
+        final MessageDigest sha256 = sha256();
+        updateValue(sha256, dictValue);
+        final byte[] bytes = sha256.digest();
+        long result = 0;
+        for (int i = 0; i < 8; i++) {
+            result = (result << 8) | (bytes[i] & 0xFF);
+        }
+        return result;
+    }
+
+    /**
+     * 计算字典类型的内容摘要（包含字典类型信息和按顺序排列的所有字典值）
+     *
+     * @param dictType 字典类型
+     * @return 内容摘要（SHA-256 十六进制字符串）
+     */
+    public static String hashType(final DictType dictType) {
+        final MessageDigest sha256 = sha256();
+        updateString(sha256, dictType.getTitle());
+        updateString(sha256, dictType.getRemark());
+        updateValues(sha256, dictType.getChildren());
+        return toHex(sha256.digest());
+    }
+
+    /**
+     * 计算只提供字典值的字典类型的内容摘要（按字典值排序后的所有字典值摘要）
+     *
+     * @param valueHashes 字典值内容摘要，键为字典值
+     * @return 内容摘要（SHA-256 十六进制字符串）
+     * @since 2.2.0
+     */
+    public static String hashValues(final Map<String, Long> valueHashes) {
+        final MessageDigest sha256 = sha256();
+        updateInt(sha256, valueHashes.size());
+        for (final Map.Entry<String, Long> entry : new TreeMap<>(valueHashes).entrySet()) {
+            updateString(sha256, entry.getKey());
+            final long hash = entry.getValue();
+            updateInt(sha256, (int) (hash >>> 32));
+            updateInt(sha256, (int) hash);
+        }
+        return toHex(sha256.digest());
+    }
+
+    private static void updateValues(final MessageDigest sha256, final List<DictValue> values) {
+        if (values == null) {
+            updateInt(sha256, -1);
+            return;
+        }
+        updateInt(sha256, values.size());
+        for (final DictValue value : values) {
+            updateString(sha256, valueKey(value));
+            updateValue(sha256, value);
+        }
+    }
+
+    private static void updateValue(final MessageDigest sha256, final DictValue dictValue) {
+        final Object parentValue = dictValue.getParentValue();
+        updateString(sha256, parentValue == null ? null : ObjectUtils.getDisplayString(parentValue));
+        updateString(sha256, dictValue.getTitle());
+        updateInt(sha256, dictValue.getSorted());
+        sha256.update((byte) (dictValue.isDisabled() ? 1 : 0));
+        final Map<String, Object> data = dictValue.getData();
+        if (data == null) {
+            updateInt(sha256, -1);
+        } else {
+            final TreeMap<String, String> sorted = new TreeMap<>();
+            data.forEach((key, value) -> sorted.put(String.valueOf(key), ObjectUtils.getDisplayString(value)));
+            updateInt(sha256, sorted.size());
+            sorted.forEach((key, value) -> {
+                updateString(sha256, key);
+                updateString(sha256, value);
+            });
+        }
+        updateValues(sha256, dictValue.getChildren());
+    }
+
+    private static void updateString(final MessageDigest sha256, final String value) {
+        if (value == null) {
+            updateInt(sha256, -1);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        updateInt(sha256, bytes.length);
+        sha256.update(bytes);
+    }
+
+    private static void updateInt(final MessageDigest sha256, final int value) {
+        sha256.update((byte) (value >>> 24));
+        sha256.update((byte) (value >>> 16));
+        sha256.update((byte) (value >>> 8));
+        sha256.update((byte) value);
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final char[] digits = "0123456789abcdef".toCharArray();
+        final char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = digits[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = digits[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // 所有 Java 平台都必须支持 SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 获取字典类型摘要
+     *
+     * @param type 字典类型代码
+     * @return 字典类型摘要，不存在时返回 null
+     */
+    public TypeDigest get(final String type) {
+        return digests.get(type);
+    }
+
+    /**
+     * 记录字典类型摘要
+     *
+     * @param type   字典类型代码
+     * @param digest 字典类型摘要
+     */
+    public void put(final String type, final TypeDigest digest) {
+        digests.put(type, digest);
+    }
+
+    /**
+     * 删除字典类型摘要
+     *
+     * @param type 字典类型代码
+     * @return 被删除的字典类型摘要
+     */
+    public TypeDigest remove(final String type) {
+        return digests.remove(type);
+    }
+
+    /**
+     * 使字典类型摘要失效，下一次刷新时该字典类型会被完整写入存储对象
+     *
+     * @param type 字典类型代码
+     */
+    public void invalidate(final String type) {
+        final TypeDigest digest = digests.remove(type);
+        if (digest != null) {
+            providerVersions.remove(digest.getProvider());
+        }
+    }
+
+    /**
+     * 与存储对象中记录的字典类型摘要比较，不一致的字典类型摘要标记为失效，下一次刷新时该字典类型的所有字典值会被重新写入
+     * <p>
+     * 失效的字典类型摘要仍然保留字典类型所属的字典提供者和字典值，用于删除不再提供的字典值。
+     * </p>
+     *
+     * @param storedDigests 存储对象中记录的字典类型摘要，键为字典类型代码，不包含没有记录摘要的字典类型
+     * @param types         需要比较的字典类型代码
+     * @return 被标记为失效的字典类型数量
+     * @since 2.2.0
+     */
+    public int verify(final Map<String, String> storedDigests, final Collection<String> types) {
+        int count = 0;
+        for (final String type : types) {
+            final TypeDigest digest = digests.get(type);
+            if (digest == null || digest.isDirty() || Objects.equals(digest.getTypeHash(), storedDigests.get(type))) {
+                continue;
+            }
+            digests.put(type, new TypeDigest(digest.getProvider(), digest.getTypeHash(), digest.getValues(), true));
+            providerVersions.remove(digest.getProvider());
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 使所有字典类型摘要和字典提供者数据版本失效
+     */
+    public void invalidateAll() {
+        digests.clear();
+        providerVersions.clear();
+    }
+
+    /**
+     * 获取字典提供者最近一次成功刷新时的数据版本
+     *
+     * @param provider 字典提供者类名
+     * @return 数据版本，未记录时返回 null
+     */
+    public String getProviderVersion(final String provider) {
+        return providerVersions.get(provider);
+    }
+
+    /**
+     * 记录字典提供者成功刷新时的数据版本
+     *
+     * @param provider 字典提供者类名
+     * @param version  数据版本，为 null 时删除记录
+     */
+    public void putProviderVersion(final String provider, final String version) {
+        if (version == null) {
+            providerVersions.remove(provider);
+        } else {
+            providerVersions.put(provider, version);
+        }
+    }
+
+    /**
+     * 使某个字典提供者的数据版本和该字典提供者提供的所有字典类型摘要失效
+     * <p>
+     * 与 {@link #invalidate(String)} 不同，失效的字典类型摘要仍然保留字典类型所属的字典提供者和字典值，
+     * 用于下一次刷新时删除不再提供的字典类型和字典值，但所有字典值都会被重新写入存储对象。
+     * </p>
+     *
+     * @param provider 字典提供者类名
+     */
+    public void invalidateProvider(final String provider) {
+        providerVersions.remove(provider);
+        digests.replaceAll((type, digest) -> digest.getProvider().equals(provider)
+                ? new TypeDigest(provider, digest.getTypeHash(), digest.getValues(), true) : digest);
+    }
+
+    /**
+     * 获取所有字典提供者的数据版本
+     *
+     * @return 字典提供者数据版本
+     */
+    public Map<String, String> providerVersions() {
+        return new HashMap<>(providerVersions);
+    }
+
+    /**
+     * 获取某个字典提供者上一次刷新提供的所有字典类型代码
+     *
+     * @param provider 字典提供者类名
+     * @return 字典类型代码列表
+     */
+    public Set<String> typesOf(final String provider) {
+        final Set<String> types = new HashSet<>();
+        digests.forEach((type, digest) -> {
+            if (digest.getProvider().equals(provider)) {
+                types.add(type);
+            }
+        });
+        return types;
+    }
+
+    /**
+     * 获取以指定前缀开头的所有字典类型代码（例如某个租户的所有字典类型）
+     *
+     * @param prefix 字典类型代码前缀
+     * @return 字典类型代码列表
+     * @since 2.2.0
+     */
+    public Set<String> typesWithPrefix(final String prefix) {
+        final Set<String> types = new HashSet<>();
+        for (final String type : digests.keySet()) {
+            if (type.startsWith(prefix)) {
+                types.add(type);
+            }
+        }
+        return types;
+    }
+
+    /**
+     * 已记录摘要的字典类型数量
+     *
+     * @return 字典类型数量
+     */
+    public int size() {
+        return digests.size();
+    }
+
+    /**
+     * 字典类型摘要
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class TypeDigest {
+        /**
+         * 提供该字典类型的字典提供者类名
+         */
+        private final String provider;
+        /**
+         * 字典类型内容摘要，没有记录字典值摘要（例如通过字典值游标刷新）时为 null
+         */
+        private final String typeHash;
+        /**
+         * 字典值内容摘要，键为字典值
+         */
+        private final Map<String, Long> values;
+        /**
+         * 摘要是否已失效。已失效的摘要仍然记录字典类型所属的字典提供者和字典值，但下一次刷新时所有字典值都需要重新写入
+         *
+         * @since 2.2.0
+         */
+        private final boolean dirty;
+
+        public TypeDigest(final String provider, final String typeHash, final Map<String, Long> values) {
+            this(provider, typeHash, values, false);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.houkunlin.dict;
+
+import com.houkunlin.dict.properties.DictProperties;
+import com.houkunlin.dict.properties.DictPropertiesEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 字典事件执行器
+ * <p>
+ * 在字典组件专用的有界线程池（可选虚拟线程）中处理字典事件，不使用宿主应用的 {@code @Async} 线程池，
+ * 避免大量刷新事件时宿主应用的线程池（例如每个任务创建一个新线程的 {@code SimpleAsyncTaskExecutor}）创建大量线程。
+ * 该对象不是 {@link java.util.concurrent.Executor}，也不会注册为 Bean，不会影响宿主应用自动配置的线程池。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+class DictEventExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(DictEventExecutor.class);
+    /**
+     * 字典配置
+     */
+    private final Supplier<DictProperties> config;
+    /**
+     * 没有配置 {@code system.dict.event.async} 时是否异步处理字典事件
+     */
+    private final BooleanSupplier asyncByDefault;
+    /**
+     * 被拒绝的任务数量
+     */
+    private final AtomicLong rejected = new AtomicLong();
+    private ThreadPoolExecutor executor;
+    /**
+     * 是否已经关闭，关闭后在发布事件的线程中同步处理字典事件
+     */
+    private boolean shutdown;
+
+    /**
+     * 创建字典事件执行器
+     *
+     * @param config         字典配置
+     * @param asyncByDefault 没有配置 {@code system.dict.event.async} 时是否异步处理字典事件
+     */
+    DictEventExecutor(final Supplier<DictProperties> config, final BooleanSupplier asyncByDefault) {
+        this.config = config;
+        this.asyncByDefault = asyncByDefault;
+    }
+
+    /**
+     * 处理一个字典事件
+     *
+     * @param eventName 事件名称，用于输出日志
+     * @param task      事件处理任务
+     */
+    void execute(final String eventName, final Runnable task) {
+        final ThreadPoolExecutor pool = isAsync() ? getExecutor() : null;
+        if (pool == null) {
+            task.run();
+            return;
+        }
+        pool.execute(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.error("[{}] 处理字典事件失败", eventName, e);
+            }
+        });
+    }
+
+    /**
+     * 是否异步处理字典事件
+     *
+     * @return 是否异步处理
+     */
+    boolean isAsync() {
+        final Boolean async = config.get().getEvent().getAsync();
+        return async == null ? asyncByDefault.getAsBoolean() : async;
+    }
+
+    private synchronized ThreadPoolExecutor getExecutor() {
+        if (shutdown) {
+            return null;
+        }
+        if (executor == null) {
+            final DictPropertiesEvent event = config.get().getEvent();
+            executor = DictExecutors.newBoundedExecutor("dict-event-", event.getThreads(), event.getQueueCapacity(),
+                    event.isVirtualThreads(), newRejectedHandler(event));
+        }
+        return executor;
+    }
+
+    private RejectedExecutionHandler newRejectedHandler(final DictPropertiesEvent event) {
+        final RejectedExecutionHandler handler;
+        switch (event.getRejectionPolicy()) {
+            case ABORT:
+                handler = new ThreadPoolExecutor.AbortPolicy();
+                break;
+            case DISCARD:
+                handler = new ThreadPoolExecutor.DiscardPolicy();
+                break;
+            case DISCARD_OLDEST:
+                handler = new ThreadPoolExecutor.DiscardOldestPolicy();
+                break;
+            case CALLER_RUNS:
+            default:
+                handler = new ThreadPoolExecutor.CallerRunsPolicy();
+                break;
+        }
+        return (runnable, pool) -> {
+            rejected.incrementAndGet();
+            if (logger.isDebugEnabled()) {
+                logger.debug("字典事件线程池等待队列已满，使用 {} 策略处理新的字典事件", event.getRejectionPolicy());
+            }
+            handler.rejectedExecution(runnable, pool);
+        };
+    }
+
+    /**
+     * 关闭线程池，在 {@code system.dict.event.shutdown-timeout} 时间内等待已经提交的事件处理完成，超时后丢弃剩余的事件
+     */
+    void shutdown() {
+        final ThreadPoolExecutor pool;
+        synchronized (this) {
+            shutdown = true;
+            pool = executor;
+            executor = null;
+        }
+        if (pool == null) {
+            return;
+        }
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(config.get().getEvent().getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("等待字典事件处理完成超时，丢弃 {} 个尚未处理的字典事件", pool.shutdownNow().size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * 获取执行器的运行指标
+     *
+     * @return 运行指标
+     */
+    synchronized Map<String, Object> getMetrics() {
+        final Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("async", isAsync());
+        metrics.put("poolSize", executor == null ? 0 : executor.getPoolSize());
+        metrics.put("activeCount", executor == null ? 0 : executor.getActiveCount());
+        metrics.put("queueSize", executor == null ? 0 : executor.getQueue().size());
+        metrics.put("completedTasks", executor == null ? 0 : executor.getCompletedTaskCount());
+        metrics.put("rejected", rejected.get());
+        return metrics;
+    }
+}
@@ -0,0 +1,89 @@
+package com.houkunlin.dict;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 字典线程池工具类
+ * <p>
+ * 创建字典组件内部使用的有界线程池。可以选择使用虚拟线程（Java 21 及以上版本），
+ * 由于项目需要兼容 Java 8，虚拟线程通过反射创建，运行环境不支持虚拟线程时自动回退为守护线程。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+public class DictExecutors {
+    private static final Logger logger = LoggerFactory.getLogger(DictExecutors.class);
+
+    /**
+     * 私有构造方法，防止实例化
+     */
+    private DictExecutors() {
+    }
+
+    /**
+     * 创建一个线程工厂
+     *
+     * @param prefix         线程名称前缀
+     * @param virtualThreads 是否使用虚拟线程
+     * @return 线程工厂
+     */
+    public static ThreadFactory newThreadFactory(final String prefix, final boolean virtualThreads) {
+        if (virtualThreads) {
+            final ThreadFactory factory = newVirtualThreadFactory(prefix);
+            if (factory != null) {
+                return factory;
+            }
+        }
+        final AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, prefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * 创建一个有界线程池，空闲线程会在 60 秒后回收
+     *
+     * @param prefix          线程名称前缀
+     * @param threads         最大线程数
+     * @param queueCapacity   等待队列容量，小于等于 0 时不限制队列容量
+     * @param virtualThreads  是否使用虚拟线程
+     * @param rejectedHandler 队列已满时的拒绝策略
+     * @return 线程池
+     */
+    public static ThreadPoolExecutor newBoundedExecutor(final String prefix, final int threads, final int queueCapacity,
+                                                        final boolean virtualThreads, final RejectedExecutionHandler rejectedHandler) {
+        final int size = Math.max(1, threads);
+        final BlockingQueue<Runnable> queue = queueCapacity > 0 ? new LinkedBlockingQueue<>(queueCapacity) : new LinkedBlockingQueue<>();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(size, size, 60, TimeUnit.SECONDS, queue,
+                newThreadFactory(prefix, virtualThreads), rejectedHandler);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 通过反射调用 {@code Thread.ofVirtual().name(prefix, 1).factory()} 创建虚拟线程工厂
+     *
+     * @param prefix 线程名称前缀
+     * @return 虚拟线程工厂，运行环境不支持虚拟线程时返回 null
+     */
+    private static ThreadFactory newVirtualThreadFactory(final String prefix) {
+        try {
+            final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            final Method name = builderClass.getMethod("name", String.class, long.class);
+            final Object namedBuilder = name.invoke(builder, prefix, 1L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(namedBuilder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            logger.warn("当前运行环境不支持虚拟线程，{} 线程池将使用普通线程", prefix);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package com.houkunlin.dict;
+
+import com.houkunlin.dict.properties.DictProperties;
+import com.houkunlin.dict.provider.DictProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 懒加载字典类型管理器
+ * <p>
+ * 记录字典提供者声明的懒加载字典类型（{@link DictProvider#lazyDictTypes()}）及其加载状态、最后读取时间。
+ * 第一次读取尚未加载的字典类型时调用加载方法加载该字典类型，同一个字典类型同时只会加载一次；
+ * 配置了 {@code system.dict.lazy.idle-timeout} 时定期卸载空闲时间超过该值的字典类型。
+ * 被存储对象因为容量限制淘汰的字典类型也会被记录下来，下一次读取时重新加载一次（加载时再确定所属的字典提供者）。
+ * 加载失败的字典类型在一段时间内不会重复加载，避免字典提供者出现问题时每次读取都去加载。
+ * </p>
+ * <p>
+ * 加载状态只记录在当前实例中，卸载时由卸载方法决定如何处理存储对象中的数据（共享的存储对象只清空当前实例的缓存）。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+class DictLazyTypes {
+    private static final Logger logger = LoggerFactory.getLogger(DictLazyTypes.class);
+    /**
+     * 加载失败后再次加载的间隔时间（毫秒）
+     */
+    private static final long RETRY_DELAY_MILLIS = 10_000;
+    /**
+     * 字典配置
+     */
+    private final Supplier<DictProperties> config;
+    /**
+     * 加载一个字典类型并写入存储对象（被淘汰的字典类型传入的字典提供者为 null）
+     */
+    private final BiConsumer<DictProvider, String> loader;
+    /**
+     * 卸载一个字典类型（从存储对象中删除，或者只清空当前实例的缓存）
+     */
+    private final Consumer<String> unloader;
+    /**
+     * 懒加载的字典类型，键为字典类型代码
+     */
+    private final ConcurrentHashMap<String, LazyType> types = new ConcurrentHashMap<>();
+    /**
+     * 加载字典类型的次数
+     */
+    private final AtomicLong loads = new AtomicLong();
+    /**
+     * 卸载字典类型的次数
+     */
+    private final AtomicLong unloads = new AtomicLong();
+    /**
+     * 加载字典类型失败的次数
+     */
+    private final AtomicLong loadErrors = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * 创建懒加载字典类型管理器
+     *
+     * @param config   字典配置
+     * @param loader   加载一个字典类型并写入存储对象（被淘汰的字典类型传入的字典提供者为 null）
+     * @param unloader 卸载一个字典类型（从存储对象中删除，或者只清空当前实例的缓存）
+     */
+    DictLazyTypes(final Supplier<DictProperties> config, final BiConsumer<DictProvider, String> loader, final Consumer<String> unloader) {
+        this.config = config;
+        this.loader = loader;
+        this.unloader = unloader;
+    }
+
+    /**
+     * 刷新字典提供者之前重新获取该字典提供者声明的懒加载字典类型，并卸载该字典提供者已经加载的懒加载字典类型
+     *
+     * @param provider 字典提供者
+     */
+    void register(final DictProvider provider) {
+        final Set<String> declared = provider.lazyDictTypes();
+        if (types.isEmpty() && (declared == null || declared.isEmpty())) {
+            return;
+        }
+        for (final LazyType lazyType : types.values()) {
+            if (lazyType.provider != provider) {
+                continue;
+            }
+            // 被淘汰的字典类型会在本次刷新中重新写入
+            if (!lazyType.declared || declared == null || !declared.contains(lazyType.type)) {
+                types.remove(lazyType.type, lazyType);
+            }
+            unload(lazyType, Long.MAX_VALUE);
+        }
+        if (declared != null) {
+            for (final String type : declared) {
+                types.compute(type, (key, old) -> old != null && old.declared && old.provider == provider ? old : new LazyType(provider, type, true));
+            }
+            if (!declared.isEmpty()) {
+                startSweeper();
+            }
+        }
+    }
+
+    /**
+     * 是否为懒加载的字典类型
+     *
+     * @param type 字典类型代码
+     * @return 是否为懒加载的字典类型
+     */
+    boolean isLazy(final String type) {
+        if (types.isEmpty()) {
+            return false;
+        }
+        final LazyType lazyType = types.get(type);
+        return lazyType != null && lazyType.declared;
+    }
+
+    /**
+     * 记录一个被存储对象淘汰的字典类型
+     *
+     * @param type 字典类型代码
+     */
+    void evicted(final String type) {
+        final LazyType lazyType = types.computeIfAbsent(type, key -> new LazyType(null, key, false));
+        lazyType.loaded = false;
+    }
+
+    /**
+     * 去掉尚未加载的懒加载字典类型
+     *
+     * @param dictTypes 字典类型代码
+     * @return 不包含尚未加载的懒加载字典类型的字典类型代码
+     */
+    Set<String> withoutUnloaded(final Set<String> dictTypes) {
+        if (types.isEmpty()) {
+            return dictTypes;
+        }
+        final Set<String> result = new LinkedHashSet<>();
+        for (final String type : dictTypes) {
+            final LazyType lazyType = types.get(type);
+            if (lazyType == null || lazyType.loaded) {
+                result.add(type);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 读取字典类型之前调用，记录最后读取时间，懒加载的字典类型尚未加载时加载该字典类型
+     *
+     * @param type 字典类型代码
+     */
+    void ensureLoaded(final String type) {
+        if (types.isEmpty()) {
+            return;
+        }
+        final LazyType lazyType = types.get(type);
+        if (lazyType == null) {
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        lazyType.lastAccess = now;
+        if (lazyType.loaded) {
+            return;
+        }
+        synchronized (lazyType) {
+            if (lazyType.loaded || now < lazyType.retryAt) {
+                return;
+            }
+            final long startTime = System.nanoTime();
+            try {
+                loader.accept(lazyType.provider, type);
+                lazyType.loaded = true;
+                loads.incrementAndGet();
+                if (!lazyType.declared) {
+                    // 被淘汰的字典类型重新加载后按普通字典类型处理
+                    types.remove(type, lazyType);
+                }
+                if (logger.isDebugEnabled()) {
+                    logger.debug("懒加载字典类型 {} 加载完成，耗时 {} ms", type, (System.nanoTime() - startTime) / 100_0000);
+                }
+            } catch (RuntimeException e) {
+                loadErrors.incrementAndGet();
+                lazyType.retryAt = now + RETRY_DELAY_MILLIS;
+                logger.error("加载字典类型 {} 失败", type, e);
+            }
+        }
+    }
+
+    /**
+     * 字典类型通过其他方式（例如按字典类型刷新）写入了存储对象，标记为已加载
+     *
+     * @param type 字典类型代码
+     */
+    void markLoaded(final String type) {
+        if (types.isEmpty()) {
+            return;
+        }
+        final LazyType lazyType = types.get(type);
+        if (lazyType == null) {
+            return;
+        }
+        if (lazyType.declared) {
+            lazyType.lastAccess = System.currentTimeMillis();
+            lazyType.loaded = true;
+        } else {
+            types.remove(type, lazyType);
+        }
+    }
+
+    /**
+     * 卸载一个最后读取时间早于指定时间的已加载字典类型
+     *
+     * @param lazyType 懒加载的字典类型
+     * @param deadline 最后读取时间早于该时间时卸载
+     * @return 是否卸载了该字典类型
+     */
+    private boolean unload(final LazyType lazyType, final long deadline) {
+        synchronized (lazyType) {
+            if (!lazyType.loaded || lazyType.lastAccess >= deadline) {
+                return false;
+            }
+            lazyType.loaded = false;
+            unloader.accept(lazyType.type);
+            unloads.incrementAndGet();
+            return true;
+        }
+    }
+
+    /**
+     * 卸载空闲时间超过 {@code system.dict.lazy.idle-timeout} 的字典类型
+     */
+    private void sweep() {
+        final Duration idleTimeout = config.get().getLazy().getIdleTimeout();
+        if (idleTimeout == null || idleTimeout.isZero() || idleTimeout.isNegative()) {
+            return;
+        }
+        final long deadline = System.currentTimeMillis() - idleTimeout.toMillis();
+        for (final LazyType lazyType : types.values()) {
+            if (!lazyType.loaded || lazyType.lastAccess >= deadline) {
+                continue;
+            }
+            try {
+                if (unload(lazyType, deadline) && logger.isDebugEnabled()) {
+                    logger.debug("懒加载字典类型 {} 空闲超过 {}，已从存储对象中卸载", lazyType.type, idleTimeout);
+                }
+            } catch (RuntimeException e) {
+                logger.error("卸载懒加载字典类型 {} 失败", lazyType.type, e);
+            }
+        }
+    }
+
+    /**
+     * 配置了 {@code system.dict.lazy.idle-timeout} 时启动定期卸载空闲字典类型的线程，检查间隔为空闲时间的一半（最少 1 秒）
+     */
+    private synchronized void startSweeper() {
+        final Duration idleTimeout = config.get().getLazy().getIdleTimeout();
+        if (scheduler != null || idleTimeout == null || idleTimeout.isZero() || idleTimeout.isNegative()) {
+            return;
+        }
+        final long period = Math.max(idleTimeout.toMillis() / 2, 1000);
+        scheduler = Executors.newSingleThreadScheduledExecutor(DictExecutors.newThreadFactory("dict-lazy-", false));
+        scheduler.scheduleWithFixedDelay(this::sweep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 关闭定期卸载空闲字典类型的线程
+     */
+    synchronized void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * 获取懒加载字典类型的运行指标
+     *
+     * @return 运行指标
+     */
+    Map<String, Object> getMetrics() {
+        int lazy = 0, loaded = 0;
+        for (final LazyType lazyType : types.values()) {
+            if (lazyType.declared) {
+                lazy++;
+            }
+            if (lazyType.loaded) {
+                loaded++;
+            }
+        }
+        final Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("lazyTypes", lazy);
+        metrics.put("loadedTypes", loaded);
+        metrics.put("evictedTypes", types.size() - lazy);
+        metrics.put("loads", loads.get());
+        metrics.put("unloads", unloads.get());
+        metrics.put("loadErrors", loadErrors.get());
+        return metrics;
+    }
+
+    /**
+     * 懒加载的字典类型
+     */
+    private static class LazyType {
+        /**
+         * 声明该字典类型的字典提供者，被淘汰的字典类型为 null
+         */
+        private final DictProvider provider;
+        private final String type;
+        /**
+         * 是否为字典提供者声明的懒加载字典类型，{@code false} 表示被存储对象淘汰、等待重新加载的字典类型
+         */
+        private final boolean declared;
+        /**
+         * 是否已经加载
+         */
+        private volatile boolean loaded;
+        /**
+         * 最后读取时间
+         */
+        private volatile long lastAccess;
+        /**
+         * 加载失败后再次加载的时间
+         */
+        private long retryAt;
+
+        private LazyType(final DictProvider provider, final String type, final boolean declared) {
+            this.provider = provider;
+            this.type = type;
+            this.declared = declared;
+        }
+    }
+}
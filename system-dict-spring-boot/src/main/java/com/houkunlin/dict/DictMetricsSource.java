@@ -0,0 +1,29 @@
+package com.houkunlin.dict;
+
+import java.util.Map;
+
+/**
+ * 数据字典运行指标来源
+ * <p>
+ * 数据字典内部的存储器、执行器等组件实现该接口后，其运行指标（健康状态、队列长度、耗时等）
+ * 会由 {@code com.houkunlin.dict.actuator.DictMetricsEndpoint} 端点统一对外暴露。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+public interface DictMetricsSource {
+    /**
+     * 指标名称，同一个应用内应当唯一
+     *
+     * @return 指标名称
+     */
+    String getMetricsName();
+
+    /**
+     * 获取当前的运行指标
+     *
+     * @return 运行指标
+     */
+    Map<String, Object> getMetrics();
+}
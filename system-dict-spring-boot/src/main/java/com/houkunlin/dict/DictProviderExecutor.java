@@ -0,0 +1,267 @@
+package com.houkunlin.dict;
+
+import com.houkunlin.dict.properties.DictPropertiesRefresh;
+import com.houkunlin.dict.provider.DictProvider;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * 字典提供者执行器
+ * <p>
+ * 依次或并行执行每个字典提供者的加载任务。每个字典提供者的加载任务单独计时、单独捕获异常，一个字典提供者失败不会影响其他字典提供者。
+ * 并行执行时使用有界线程池（可选虚拟线程），并且可以限制单个字典提供者的执行时间（从提交任务开始计算），
+ * 超时后会取消该字典提供者（已经创建的 {@link DictWriteBatch} 不再写入存储对象）、中断执行该字典提供者的线程，并把该字典提供者记录为失败。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+class DictProviderExecutor {
+    /**
+     * 当前线程正在执行的字典提供者
+     */
+    private static final ThreadLocal<ProviderRun> CURRENT_RUN = new ThreadLocal<>();
+    private ThreadPoolExecutor executor;
+
+    /**
+     * 执行字典提供者的加载任务，等待所有字典提供者执行完成（或超时）后返回
+     *
+     * @param providers 字典提供者列表
+     * @param config    刷新字典配置
+     * @param task      字典提供者的加载任务
+     * @return 每个字典提供者的执行结果，与字典提供者列表的顺序一致
+     */
+    List<ProviderRun> execute(final List<DictProvider> providers, final DictPropertiesRefresh config, final Consumer<DictProvider> task) {
+        final List<ProviderRun> runs = new ArrayList<>(providers.size());
+        if (!isParallel(providers, config)) {
+            for (final DictProvider provider : providers) {
+                final ProviderRun run = new ProviderRun(provider);
+                final long startTime = System.nanoTime();
+                try {
+                    task.accept(provider);
+                } catch (RuntimeException e) {
+                    run.error = e;
+                } finally {
+                    run.costNanos = System.nanoTime() - startTime;
+                }
+                runs.add(run);
+            }
+            return runs;
+        }
+        final long timeout = config.getProviderTimeout() == null ? 0 : config.getProviderTimeout().toMillis();
+        final ThreadPoolExecutor executor = getExecutor(config);
+        final List<CompletableFuture<Void>> futures = new ArrayList<>(providers.size());
+        for (final DictProvider provider : providers) {
+            final ProviderRun run = new ProviderRun(provider);
+            final CompletableFuture<Void> future = new CompletableFuture<>();
+            runs.add(run);
+            futures.add(future);
+            run.submitNanos = System.nanoTime();
+            executor.execute(() -> {
+                if (!run.start()) {
+                    // 在等待队列中已经超时的字典提供者不再执行
+                    return;
+                }
+                final long startTime = System.nanoTime();
+                CURRENT_RUN.set(run);
+                try {
+                    task.accept(provider);
+                    if (future.complete(null)) {
+                        run.costNanos = System.nanoTime() - startTime;
+                    }
+                } catch (Throwable e) {
+                    if (future.completeExceptionally(e)) {
+                        run.costNanos = System.nanoTime() - startTime;
+                    }
+                } finally {
+                    CURRENT_RUN.remove();
+                    run.finish();
+                }
+            });
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            final ProviderRun run = runs.get(i);
+            final CompletableFuture<Void> future = futures.get(i);
+            try {
+                if (timeout > 0) {
+                    // 超时时间从提交任务开始计算，包括在等待队列中等待的时间
+                    final long remaining = run.submitNanos + TimeUnit.MILLISECONDS.toNanos(timeout) - System.nanoTime();
+                    future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+                } else {
+                    future.get();
+                }
+            } catch (TimeoutException e) {
+                final TimeoutException error = new TimeoutException("字典提供者执行超过 " + timeout + " ms");
+                if (future.completeExceptionally(error)) {
+                    run.costNanos = System.nanoTime() - run.submitNanos;
+                    run.cancel();
+                    run.error = error;
+                } else {
+                    // 等待超时的同时执行完成
+                    run.error = getError(future);
+                }
+            } catch (ExecutionException e) {
+                run.error = e.getCause();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                run.error = e;
+            }
+        }
+        return runs;
+    }
+
+    /**
+     * 获取已经完成的任务的执行异常
+     *
+     * @param future 已经完成的任务
+     * @return 执行异常，执行成功时返回 null
+     */
+    private static Throwable getError(final CompletableFuture<Void> future) {
+        try {
+            future.join();
+            return null;
+        } catch (CompletionException e) {
+            return e.getCause();
+        } catch (CancellationException e) {
+            return e;
+        }
+    }
+
+    /**
+     * 注册当前线程正在执行的字典提供者被取消（执行超时）时的回调方法，当前线程没有在执行字典提供者时不做任何处理
+     *
+     * @param callback 回调方法
+     */
+    static void onCancel(final Runnable callback) {
+        final ProviderRun run = CURRENT_RUN.get();
+        if (run != null) {
+            run.onCancel(callback);
+        }
+    }
+
+    /**
+     * 是否需要并行执行
+     *
+     * @param providers 字典提供者列表
+     * @param config    刷新字典配置
+     * @return 是否并行执行
+     */
+    boolean isParallel(final List<DictProvider> providers, final DictPropertiesRefresh config) {
+        return config.isParallel() && config.getParallelism() > 1 && providers.size() > 1;
+    }
+
+    private synchronized ThreadPoolExecutor getExecutor(final DictPropertiesRefresh config) {
+        if (executor == null) {
+            executor = DictExecutors.newBoundedExecutor("dict-refresh-", config.getParallelism(), 0,
+                    config.isVirtualThreads(), new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+        return executor;
+    }
+
+    /**
+     * 关闭线程池
+     */
+    synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * 一个字典提供者的执行结果
+     */
+    @Getter
+    static class ProviderRun {
+        /**
+         * 字典提供者
+         */
+        private final DictProvider provider;
+        /**
+         * 执行耗时（纳秒），超时的字典提供者为超时时的耗时
+         */
+        private volatile long costNanos;
+        /**
+         * 执行失败的异常，超时为 {@link TimeoutException}
+         */
+        private volatile Throwable error;
+        /**
+         * 提交任务的时间（纳秒）
+         */
+        private long submitNanos;
+        /**
+         * 是否已经因为执行超时被取消
+         */
+        private boolean cancelled;
+        /**
+         * 正在执行该字典提供者的线程
+         */
+        private Thread thread;
+        /**
+         * 被取消时的回调方法
+         */
+        private final List<Runnable> cancelCallbacks = new ArrayList<>();
+
+        ProviderRun(final DictProvider provider) {
+            this.provider = provider;
+        }
+
+        /**
+         * 开始执行
+         *
+         * @return 是否可以开始执行，已经被取消时返回 false
+         */
+        private synchronized boolean start() {
+            if (cancelled) {
+                return false;
+            }
+            thread = Thread.currentThread();
+            return true;
+        }
+
+        /**
+         * 执行结束
+         */
+        private synchronized void finish() {
+            thread = null;
+        }
+
+        /**
+         * 取消执行：调用被取消时的回调方法，并中断正在执行的线程
+         */
+        private synchronized void cancel() {
+            cancelled = true;
+            cancelCallbacks.forEach(Runnable::run);
+            cancelCallbacks.clear();
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+
+        /**
+         * 注册被取消时的回调方法，已经被取消时立即调用
+         *
+         * @param callback 回调方法
+         */
+        private synchronized void onCancel(final Runnable callback) {
+            if (cancelled) {
+                callback.run();
+            } else {
+                cancelCallbacks.add(callback);
+            }
+        }
+
+        /**
+         * 执行耗时（毫秒）
+         *
+         * @return 执行耗时
+         */
+        long getCostMillis() {
+            return costNanos / 100_0000;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.houkunlin.dict;
+
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 刷新字典写入保护
+ * <p>
+ * 多个应用实例共享同一个字典存储时，保证同一时刻只有一个实例把字典数据写入存储，
+ * {@link DictRegistrarImpl} 刷新字典时会通过该接口执行实际的写入。
+ * 每次写入使用一个单调递增的令牌（fencing token），收到刷新字典通知时可以根据令牌判断数据是否已经是最新的。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+public interface DictRefreshGuard {
+    /**
+     * 以单写入者的方式执行刷新字典
+     * <p>
+     * 其他实例正在写入时本实例不执行刷新，需要刷新的范围交给正在写入的实例，在它本次写入完成后合并执行，不会丢失本次刷新。
+     * </p>
+     *
+     * @param dictProviderClasses 需要刷新的数据字典提供商类限定名，null 表示刷新所有
+     * @param refresh             刷新字典任务，参数为实际需要刷新的范围（可能合并了其他实例交过来的范围）
+     * @return 是否执行了刷新字典任务；返回 false 表示其他实例正在写入，本实例没有执行刷新
+     */
+    boolean runExclusive(Set<String> dictProviderClasses, Consumer<Set<String>> refresh);
+
+    /**
+     * 获取当前已经发放的最大令牌，发送刷新字典通知时携带
+     *
+     * @return 已经发放的最大令牌，不支持令牌时返回 null
+     */
+    default Long issuedToken() {
+        return null;
+    }
+
+    /**
+     * 获取已经完成写入的最大令牌
+     *
+     * @return 已经完成写入的最大令牌
+     */
+    default long completedToken() {
+        return 0;
+    }
+
+    /**
+     * 收到写入完成的通知，判断该通知是否需要处理
+     *
+     * @param token 通知中的令牌
+     * @return 需要处理时返回 true；过期或重复的通知返回 false
+     */
+    default boolean acceptRefreshed(long token) {
+        return true;
+    }
+}
@@ -0,0 +1,136 @@
+package com.houkunlin.dict;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 刷新字典结果
+ * <p>
+ * 记录一次 {@link DictRegistrar#refreshDict(Set)} 刷新字典的结果。启用增量刷新时分别统计新增、修改、删除、未变化的字典值数量；
+ * 未启用增量刷新时所有写入存储对象的字典值都计入新增数量。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+@Data
+public class DictRefreshResult {
+    /**
+     * 刷新范围：需要刷新的数据字典提供商类限定名，null 表示刷新所有
+     */
+    private Set<String> dictProviderClasses;
+    /**
+     * 刷新范围：按字典类型刷新时需要刷新的字典类型代码，按字典提供者刷新时为 null
+     */
+    private Set<String> dictTypes;
+    /**
+     * 是否为增量刷新
+     */
+    private boolean incremental;
+    /**
+     * 是否为并行刷新
+     */
+    private boolean parallel;
+    /**
+     * 开始刷新的时间戳（毫秒）
+     */
+    private long startTime;
+    /**
+     * 刷新耗时（毫秒）
+     */
+    private long costMillis;
+    /**
+     * 参与刷新的字典提供者数量
+     */
+    private int providers;
+    /**
+     * 数据版本未变化而跳过刷新的字典提供者数量
+     */
+    private int skippedProviders;
+    /**
+     * 内容有变化（含新增）的字典类型数量
+     */
+    private int changedTypes;
+    /**
+     * 内容未变化的字典类型数量
+     */
+    private int unchangedTypes;
+    /**
+     * 被删除的字典类型数量
+     */
+    private int removedTypes;
+    /**
+     * 新增的字典值数量
+     */
+    private long addedValues;
+    /**
+     * 修改的字典值数量
+     */
+    private long changedValues;
+    /**
+     * 删除的字典值数量
+     */
+    private long removedValues;
+    /**
+     * 未变化的字典值数量
+     */
+    private long unchangedValues;
+    /**
+     * 每个字典提供者的刷新耗时（毫秒），key 为字典提供者类限定名
+     */
+    private Map<String, Long> providerCostMillis = new LinkedHashMap<>();
+    /**
+     * 刷新失败（含超时）的字典提供者，key 为字典提供者类限定名，value 为失败原因
+     */
+    private Map<String, String> failedProviders = new LinkedHashMap<>();
+
+    /**
+     * 合并另一个刷新结果的统计数量
+     *
+     * @param other 另一个刷新结果
+     */
+    public void merge(final DictRefreshResult other) {
+        this.providers += other.providers;
+        this.skippedProviders += other.skippedProviders;
+        this.changedTypes += other.changedTypes;
+        this.unchangedTypes += other.unchangedTypes;
+        this.removedTypes += other.removedTypes;
+        this.addedValues += other.addedValues;
+        this.changedValues += other.changedValues;
+        this.removedValues += other.removedValues;
+        this.unchangedValues += other.unchangedValues;
+        this.providerCostMillis.putAll(other.providerCostMillis);
+        this.failedProviders.putAll(other.failedProviders);
+    }
+
+    /**
+     * 累加字典类型统计数量
+     *
+     * @param changed   内容有变化的字典类型数量
+     * @param unchanged 内容未变化的字典类型数量
+     * @param removed   被删除的字典类型数量
+     */
+    void addTypes(final int changed, final int unchanged, final int removed) {
+        this.changedTypes += changed;
+        this.unchangedTypes += unchanged;
+        this.removedTypes += removed;
+    }
+
+    /**
+     * 累加字典值统计数量
+     *
+     * @param added     新增的字典值数量
+     * @param changed   修改的字典值数量
+     * @param removed   删除的字典值数量
+     * @param unchanged 未变化的字典值数量
+     */
+    void addValues(final long added, final long changed, final long removed, final long unchanged) {
+        this.addedValues += added;
+        this.changedValues += changed;
+        this.removedValues += removed;
+        this.unchangedValues += unchanged;
+    }
+}
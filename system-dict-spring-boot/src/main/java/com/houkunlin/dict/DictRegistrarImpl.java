@@ -1,31 +1,48 @@
 package com.houkunlin.dict;
 
-import com.google.common.collect.ArrayListMultimap;
-import com.google.common.collect.Multimap;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.houkunlin.dict.bean.DictType;
 import com.houkunlin.dict.bean.DictValue;
+import com.houkunlin.dict.enums.NotReadyStrategy;
 import com.houkunlin.dict.notice.RefreshDictEvent;
 import com.houkunlin.dict.notice.RefreshDictTypeEvent;
 import com.houkunlin.dict.notice.RefreshDictValueEvent;
 import com.houkunlin.dict.properties.DictProperties;
+import com.houkunlin.dict.properties.DictPropertiesRefresh;
 import com.houkunlin.dict.provider.DictProvider;
+import com.houkunlin.dict.provider.DictValueCursor;
 import com.houkunlin.dict.provider.SystemDictProvider;
 import com.houkunlin.dict.store.DictStore;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.config.TaskManagementConfigUtils;
 
-import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
 /**
  * 字典注册器
@@ -48,7 +65,7 @@ import java.util.stream.Collectors;
 @Data
 @Configuration
 @RequiredArgsConstructor
-public class DictRegistrarImpl implements InitializingBean, DictRegistrar {
+public class DictRegistrarImpl implements InitializingBean, DisposableBean, BeanFactoryAware, ApplicationEventPublisherAware, DictRegistrar, DictMetricsSource {
     private static final Logger logger = LoggerFactory.getLogger(DictRegistrarImpl.class);
     /**
      * 数据字典信息提供商
@@ -80,41 +97,1132 @@ public class DictRegistrarImpl implements InitializingBean, DictRegistrar {
      * <p>用于优化整个字典刷新时的性能，避免一次性处理过多数据导致内存问题。</p>
      */
     private int typeEventBatchSize = 1000;
+    /**
+     * 字典内容摘要
+     * <p>用于增量刷新时判断字典类型、字典值是否发生了变化。</p>
+     *
+     * @since 2.2.0
+     */
+    private final DictContentDigest digest = new DictContentDigest();
+    /**
+     * 最近一次刷新字典的结果
+     *
+     * @since 2.2.0
+     */
+    private volatile DictRefreshResult lastRefreshResult;
+    /**
+     * 字典提供者执行器
+     * <p>用于依次或并行执行每个字典提供者的加载任务。</p>
+     *
+     * @since 2.2.0
+     */
+    @Getter(AccessLevel.NONE)
+    private final DictProviderExecutor providerExecutor = new DictProviderExecutor();
+    /**
+     * 字典类型分段锁
+     * <p>保证同一个字典类型的写入操作按顺序执行。</p>
+     *
+     * @since 2.2.0
+     */
+    @Getter(AccessLevel.NONE)
+    private final DictTypeLocks typeLocks = new DictTypeLocks(DictTypeLocks.DEFAULT_STRIPES);
+    /**
+     * 按字典类型串行执行的字典值更新执行器
+     * <p>处理 {@link RefreshDictValueEvent} 事件，同一个字典类型的更新按顺序执行并合并短时间内的多次更新。</p>
+     *
+     * @since 2.2.0
+     */
+    @Getter(AccessLevel.NONE)
+    private final DictTypeUpdateExecutor typeUpdateExecutor = new DictTypeUpdateExecutor(this::applyDictTypeUpdate);
+    /**
+     * 字典值事件合并器
+     * <p>在合并窗口内按字典类型合并 {@link RefreshDictValueEvent} 事件的字典值，窗口结束后一次性写入。</p>
+     *
+     * @since 2.2.0
+     */
+    @Getter(AccessLevel.NONE)
+    private final DictValueEventAccumulator valueEventAccumulator = new DictValueEventAccumulator(this::getProperties, this::flushDictValueEvents);
+    /**
+     * 字典事件执行器
+     * <p>在字典组件专用的有界线程池中处理字典事件，不使用宿主应用的 {@code @Async} 线程池。</p>
+     *
+     * @since 2.2.0
+     */
+    @Getter(AccessLevel.NONE)
+    private final DictEventExecutor eventExecutor = new DictEventExecutor(this::getProperties, this::isAsyncAnnotationEnabled);
+    /**
+     * 宿主应用是否启用了 {@code @EnableAsync}
+     *
+     * @since 2.2.0
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile boolean asyncAnnotationEnabled;
+    /**
+     * 刷新字典写入保护
+     * <p>启用集群单写入者刷新（{@code system.dict.cluster.single-writer}）时存在，保证同一时刻只有一个实例把字典数据写入共享的存储。</p>
+     *
+     * @since 2.2.0
+     */
+    @Getter(AccessLevel.NONE)
+    private DictRefreshGuard refreshGuard;
+    /**
+     * 字典类型对象的字典值位置索引
+     * <p>键为字典类型对象的字典值列表对象（弱引用、按对象地址比较），字典值列表对象被回收后索引也会被回收。</p>
+     *
+     * @since 2.2.0
+     */
+    @Getter(AccessLevel.NONE)
+    private final Cache<List<DictValue>, DictTypeIndex> typeIndexes = Caffeine.newBuilder().weakKeys().build();
+    /**
+     * 刷新字典调度状态锁
+     *
+     * @since 2.2.0
+     */
+    @Getter(AccessLevel.NONE)
+    private final Object refreshMonitor = new Object();
+    /**
+     * 懒加载字典类型管理器
+     *
+     * @since 2.2.0
+     */
+    @Getter(AccessLevel.NONE)
+    private final DictLazyTypes lazyTypes = new DictLazyTypes(this::getProperties, this::loadLazyDictType, this::unloadLazyDictType);
+    /**
+     * 是否正在刷新字典
+     *
+     * @since 2.2.0
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean refreshing;
+    /**
+     * 是否存在待执行的刷新
+     *
+     * @since 2.2.0
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean pendingRefresh;
+    /**
+     * 待执行的刷新需要刷新的字典提供者类限定名，null 表示刷新所有
+     *
+     * @since 2.2.0
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Set<String> pendingRefreshClasses;
+    /**
+     * 待执行的按字典类型刷新需要刷新的字典类型代码
+     *
+     * @since 2.2.0
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final Set<String> pendingRefreshTypes = new LinkedHashSet<>();
+    /**
+     * 执行待执行刷新的定时任务线程池
+     *
+     * @since 2.2.0
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private ScheduledExecutorService refreshScheduler;
+    /**
+     * 待执行刷新的定时任务
+     *
+     * @since 2.2.0
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private ScheduledFuture<?> trailingRefreshTask;
+    /**
+     * 字典数据是否已经加载完成
+     *
+     * @since 2.2.0
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile boolean ready = true;
+    /**
+     * 启动时异步加载字典数据完成的信号
+     *
+     * @since 2.2.0
+     */
+    @Getter(AccessLevel.NONE)
+    private final CountDownLatch readyLatch = new CountDownLatch(1);
+    /**
+     * 就绪状态锁
+     *
+     * @since 2.2.0
+     */
+    @Getter(AccessLevel.NONE)
+    private final Object readyMonitor = new Object();
+    /**
+     * 是否因为字典数据尚未加载完成而拒绝了应用的就绪状态
+     *
+     * @since 2.2.0
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean readinessRefused;
+    /**
+     * Spring 事件发布器，用于发布应用就绪状态
+     *
+     * @since 2.2.0
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    /**
+     * 刷新数据字典信息
+     * <p>
+     * 该方法用于刷新数据字典信息，任何时刻最多只有一个刷新在执行。
+     * 当前没有刷新在执行、并且距离上一次刷新已经超过配置的刷新间隔时，在当前线程中立即刷新；
+     * 否则把本次刷新请求合并到待执行的刷新中（合并需要刷新的字典提供者，任意一次请求刷新所有字典提供者时刷新所有），
+     * 待执行的刷新会在当前刷新完成、并且距离上一次刷新达到刷新间隔后执行，因此刷新请求不会被丢弃。
+     * </p>
+     *
+     * @param dictProviderClasses 需要刷新的数据字典提供商类限定名，null 表示刷新所有
+     */
+    @Override
+    public void refreshDict(Set<String> dictProviderClasses) {
+        synchronized (refreshMonitor) {
+            addPendingRefresh(dictProviderClasses);
+            if (refreshing) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("当前正在刷新字典，本次刷新请求 {} 将在当前刷新完成后执行", dictProviderClasses);
+                }
+                return;
+            }
+            final long delay = refreshDelayMillis();
+            if (delay > 0) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("距离上一次刷新字典小于配置的 {}，本次刷新请求 {} 将在 {} ms 后执行", properties.getRefreshDictInterval(), dictProviderClasses, delay);
+                }
+                scheduleTrailingRefresh(delay);
+                return;
+            }
+            refreshing = true;
+        }
+        drainPendingRefresh();
+    }
+
+    /**
+     * 依次执行待执行的刷新，直到没有待执行的刷新，或者需要等待刷新间隔时交给定时任务执行。
+     * 待执行的按字典类型刷新不受刷新间隔限制，优先执行。
+     *
+     * @since 2.2.0
+     */
+    private void drainPendingRefresh() {
+        while (true) {
+            final Set<String> dictTypes;
+            final Set<String> dictProviderClasses;
+            synchronized (refreshMonitor) {
+                if (!pendingRefreshTypes.isEmpty()) {
+                    dictTypes = new LinkedHashSet<>(pendingRefreshTypes);
+                    pendingRefreshTypes.clear();
+                    dictProviderClasses = null;
+                } else if (pendingRefresh && refreshDelayMillis() <= 0) {
+                    dictTypes = null;
+                    dictProviderClasses = pendingRefreshClasses == null ? null : new HashSet<>(pendingRefreshClasses);
+                    pendingRefresh = false;
+                    pendingRefreshClasses = null;
+                } else {
+                    if (pendingRefresh) {
+                        scheduleTrailingRefresh(refreshDelayMillis());
+                    }
+                    refreshing = false;
+                    return;
+                }
+            }
+            try {
+                if (dictTypes != null) {
+                    doRefreshDictTypes(dictTypes);
+                } else {
+                    doRefreshDict(dictProviderClasses);
+                }
+            } catch (RuntimeException e) {
+                logger.error("刷新字典失败，刷新范围：{}", dictTypes != null ? dictTypes : dictProviderClasses, e);
+            }
+        }
+    }
+
+    /**
+     * 把刷新请求合并到待执行的刷新中
+     *
+     * @param dictProviderClasses 需要刷新的数据字典提供商类限定名，null 表示刷新所有
+     * @since 2.2.0
+     */
+    private void addPendingRefresh(final Set<String> dictProviderClasses) {
+        final boolean refreshAll = dictProviderClasses == null || dictProviderClasses.isEmpty();
+        if (!pendingRefresh) {
+            pendingRefresh = true;
+            pendingRefreshClasses = refreshAll ? null : new HashSet<>(dictProviderClasses);
+        } else if (pendingRefreshClasses != null) {
+            if (refreshAll) {
+                pendingRefreshClasses = null;
+            } else {
+                pendingRefreshClasses.addAll(dictProviderClasses);
+            }
+        }
+    }
+
+    /**
+     * 距离可以再次刷新还需要等待的时间
+     *
+     * @return 需要等待的毫秒数，小于等于 0 表示可以立即刷新
+     * @since 2.2.0
+     */
+    private long refreshDelayMillis() {
+        return lastModified.get() + properties.getRefreshDictInterval().toMillis() - System.currentTimeMillis();
+    }
+
+    /**
+     * 在刷新间隔结束后执行待执行的刷新，已经存在定时任务时不会重复创建
+     *
+     * @param delay 等待的毫秒数
+     * @since 2.2.0
+     */
+    private void scheduleTrailingRefresh(final long delay) {
+        if (trailingRefreshTask != null && !trailingRefreshTask.isDone()) {
+            return;
+        }
+        if (refreshScheduler == null) {
+            refreshScheduler = Executors.newSingleThreadScheduledExecutor(DictExecutors.newThreadFactory("dict-refresh-scheduler-", false));
+        }
+        trailingRefreshTask = refreshScheduler.schedule(() -> {
+            synchronized (refreshMonitor) {
+                trailingRefreshTask = null;
+                if (refreshing || !pendingRefresh) {
+                    return;
+                }
+                final long remaining = refreshDelayMillis();
+                if (remaining > 0) {
+                    scheduleTrailingRefresh(remaining);
+                    return;
+                }
+                refreshing = true;
+            }
+            drainPendingRefresh();
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 执行一次刷新数据字典信息
+     * <p>
+     * 更新最后刷新时间，从每个支持本次刷新的字典提供者获取字典数据，
+     * 最后将获取到的字典数据存储到 DictStore 中。
+     * 启用增量刷新（{@code system.dict.refresh.incremental}）时只把新增、修改、删除的字典数据写入 DictStore，
+     * 并且跳过数据版本（{@link DictProvider#dictVersion()}）与上一次成功刷新时相同的字典提供者。
+     * 启用并行刷新（{@code system.dict.refresh.parallel}）时多个字典提供者会并行加载字典数据，同一个字典类型的写入操作仍然按顺序执行。
+     * 每个字典提供者单独捕获异常，一个字典提供者刷新失败（或超时）不会影响其他字典提供者。
+     * 刷新结果（包含每个字典提供者的耗时）记录在 {@link #getLastRefreshResult()} 中，如果开启了调试日志，则会记录刷新操作的耗时和刷新结果。
+     * </p>
+     *
+     * @param dictProviderClasses 需要刷新的数据字典提供商类限定名，null 表示刷新所有
+     * @since 2.2.0
+     */
+    private void doRefreshDict(final Set<String> dictProviderClasses) {
+        lastModified.set(System.currentTimeMillis());
+        final DictRefreshGuard guard = refreshGuard;
+        if (guard == null) {
+            doRefreshDictProviders(dictProviderClasses);
+        } else if (!guard.runExclusive(dictProviderClasses, this::doRefreshDictProviders)) {
+            logger.info("其他实例正在刷新字典并写入共享的字典存储，本次刷新范围交给该实例在写入完成后合并执行，传入刷新范围：{}", dictProviderClasses);
+        }
+    }
+
+    /**
+     * 执行字典提供者的加载任务并写入存储对象
+     *
+     * @param dictProviderClasses 需要刷新的数据字典提供商类限定名，null 表示刷新所有
+     * @since 2.2.0
+     */
+    private void doRefreshDictProviders(final Set<String> dictProviderClasses) {
+        final DictPropertiesRefresh refresh = properties.getRefresh();
+        final boolean incremental = refresh.isIncremental();
+        if (!incremental) {
+            digest.invalidateAll();
+        }
+        final List<DictProvider> refreshProviders = supportRefreshProviders(dictProviderClasses);
+        final DictRefreshResult result = new DictRefreshResult();
+        result.setDictProviderClasses(dictProviderClasses);
+        result.setIncremental(incremental);
+        result.setParallel(providerExecutor.isParallel(refreshProviders, refresh));
+        result.setStartTime(System.currentTimeMillis());
+        final long startTime = System.nanoTime();
+        final Map<DictProvider, DictRefreshResult> providerResults = new IdentityHashMap<>();
+        for (final DictProvider provider : refreshProviders) {
+            providerResults.put(provider, new DictRefreshResult());
+        }
+        final List<DictProviderExecutor.ProviderRun> runs = providerExecutor.execute(refreshProviders, refresh, provider -> {
+            final DictRefreshResult providerResult = providerResults.get(provider);
+            final String providerName = provider.getClass().getName();
+            if (incremental) {
+                // 存储对象中的数据与本实例记录的摘要不一致时，字典提供者的数据版本也会失效
+                verifyStoredDigests(digest.typesOf(providerName));
+            }
+            // 先获取数据版本再加载字典数据，加载过程中发生的变化会在下一次刷新时被发现
+            final String version = incremental ? provider.dictVersion() : null;
+            if (version != null && version.equals(digest.getProviderVersion(providerName))) {
+                providerResult.setSkippedProviders(1);
+                if (logger.isDebugEnabled()) {
+                    logger.debug("字典提供者 {} 的数据版本 {} 未变化，跳过本次刷新", providerName, version);
+                }
+                return;
+            }
+            refreshProvider(provider, incremental, providerResult);
+            digest.putProviderVersion(providerName, version);
+        });
+        for (final DictProviderExecutor.ProviderRun run : runs) {
+            final String providerName = run.getProvider().getClass().getName();
+            final DictRefreshResult providerResult = providerResults.get(run.getProvider());
+            providerResult.setProviders(1);
+            providerResult.getProviderCostMillis().put(providerName, run.getCostMillis());
+            if (run.getError() != null) {
+                // 刷新失败的字典提供者可能只写入了部分数据，下一次刷新时需要完整写入
+                digest.invalidateProvider(providerName);
+                providerResult.getFailedProviders().put(providerName, String.valueOf(run.getError()));
+                logger.error("字典提供者 {} 刷新字典失败，耗时 {} ms", providerName, run.getCostMillis(), run.getError());
+            } else if (logger.isDebugEnabled()) {
+                logger.debug("字典提供者 {} 刷新字典耗时 {} ms", providerName, run.getCostMillis());
+            }
+            result.merge(providerResult);
+        }
+        result.setCostMillis((System.nanoTime() - startTime) / 100_0000);
+        lastRefreshResult = result;
+        // 刷新后远程字典结果缓存中的数据可能已经过期
+        store.invalidateCache();
+        if (logger.isDebugEnabled()) {
+            logger.debug("本次刷新数据字典耗时 {} ms，传入刷新范围：{}，刷新结果：{}", (System.nanoTime() - startTime) / 100_0000.0, dictProviderClasses, result);
+        }
+    }
+
+    /**
+     * 获取支持本次刷新的字典提供者
+     *
+     * @param dictProviderClasses 需要刷新的数据字典提供商类限定名，null 表示刷新所有
+     * @return 字典提供者列表
+     * @since 2.2.0
+     */
+    private List<DictProvider> supportRefreshProviders(final Set<String> dictProviderClasses) {
+        final List<DictProvider> list = new ArrayList<>(providers.size());
+        for (final DictProvider provider : providers) {
+            if (provider.supportRefresh(dictProviderClasses)) {
+                list.add(provider);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * 按字典类型刷新数据字典信息
+     * <p>
+     * 支持按字典类型加载（{@link DictProvider#dictTypeIterator(Set)} 返回不为 null）的字典提供者只加载、写入传入的字典类型，
+     * 上一次由该字典提供者提供、本次没有返回的字典类型会被删除。
+     * 不支持按字典类型加载的字典提供者，如果传入的字典类型上一次由它提供，则重新加载整个字典提供者；
+     * 如果有字典类型既没有被任何字典提供者返回、也无法确定上一次由哪个字典提供者提供（例如新增的字典类型），
+     * 则重新加载所有不支持按字典类型加载的字典提供者。
+     * 按字典类型刷新不受刷新间隔限制，但与 {@link #refreshDict(Set)} 使用相同的调度：当前没有刷新在执行时在当前线程中立即刷新，
+     * 否则把字典类型合并到待执行的按字典类型刷新中，在当前刷新完成后执行，因此正在执行的（可能更早的）全量刷新不会覆盖更新的字典类型数据。
+     * 尚未加载的懒加载字典类型（{@link DictProvider#lazyDictTypes()}）不会被刷新。
+     * 刷新的字典类型中包含租户字典（{@link DictTenantResolver#tenantDictType(String, String)}）时，刷新后清空这些租户的字典文本缓存。
+     * </p>
+     *
+     * @param refreshDictTypes 需要刷新的字典类型代码，null 或者空集合表示刷新所有
+     * @since 2.2.0
+     */
+    @Override
+    public void refreshDictTypes(final Set<String> refreshDictTypes) {
+        if (refreshDictTypes == null || refreshDictTypes.isEmpty()) {
+            refreshDict(null);
+            return;
+        }
+        // 尚未加载的懒加载字典类型不需要刷新，读取时会加载最新的数据
+        final Set<String> dictTypes = lazyTypes.withoutUnloaded(refreshDictTypes);
+        if (dictTypes.isEmpty()) {
+            return;
+        }
+        synchronized (refreshMonitor) {
+            pendingRefreshTypes.addAll(dictTypes);
+            if (refreshing) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("当前正在刷新字典，本次按字典类型刷新请求 {} 将在当前刷新完成后执行", dictTypes);
+                }
+                return;
+            }
+            refreshing = true;
+        }
+        drainPendingRefresh();
+    }
+
+    /**
+     * 执行一次按字典类型刷新数据字典信息，调用前需要通过 {@link #refreshMonitor} 设置正在刷新字典
+     *
+     * @param dictTypes 需要刷新的字典类型代码
+     * @since 2.2.0
+     */
+    private void doRefreshDictTypes(final Set<String> dictTypes) {
+        final Set<String> fallbackProviders = new LinkedHashSet<>();
+        final boolean incremental = properties.getRefresh().isIncremental();
+        final DictRefreshResult result = new DictRefreshResult();
+        result.setDictTypes(dictTypes);
+        result.setIncremental(incremental);
+        result.setStartTime(System.currentTimeMillis());
+        final long startTime = System.nanoTime();
+        final Set<String> resolvedTypes = new HashSet<>();
+        final List<String> unsupportedProviders = new ArrayList<>();
+        if (incremental) {
+            verifyStoredDigests(dictTypes);
+        }
+        for (final DictProvider provider : providers) {
+            final String providerName = provider.getClass().getName();
+            final Iterator<DictType> iterator = provider.dictTypeIterator(dictTypes);
+            if (iterator == null) {
+                unsupportedProviders.add(providerName);
+                for (final String type : dictTypes) {
+                    final DictContentDigest.TypeDigest old = digest.get(type);
+                    if (old != null && providerName.equals(old.getProvider())) {
+                        fallbackProviders.add(providerName);
+                        resolvedTypes.add(type);
+                    }
+                }
+                continue;
+            }
+            final long providerStartTime = System.nanoTime();
+            final DictRefreshResult providerResult = new DictRefreshResult();
+            providerResult.setProviders(1);
+            try {
+                refreshProviderDictTypes(provider, iterator, dictTypes, incremental, providerResult, resolvedTypes);
+            } catch (RuntimeException e) {
+                digest.invalidateProvider(providerName);
+                providerResult.getFailedProviders().put(providerName, String.valueOf(e));
+                logger.error("字典提供者 {} 按字典类型刷新字典失败，字典类型：{}", providerName, dictTypes, e);
+            }
+            providerResult.getProviderCostMillis().put(providerName, (System.nanoTime() - providerStartTime) / 100_0000);
+            result.merge(providerResult);
+        }
+        if (!resolvedTypes.containsAll(dictTypes)) {
+            // 无法确定所属字典提供者的字典类型，只能重新加载所有不支持按字典类型加载的字典提供者
+            fallbackProviders.addAll(unsupportedProviders);
+        }
+        result.setCostMillis((System.nanoTime() - startTime) / 100_0000);
+        lastRefreshResult = result;
+        if (logger.isDebugEnabled()) {
+            logger.debug("按字典类型刷新数据字典耗时 {} ms，字典类型：{}，刷新结果：{}", result.getCostMillis(), dictTypes, result);
+        }
+        DictUtil.invalidateDictValueSets(dictTypes);
+        invalidateTenantCaches(dictTypes);
+        store.invalidateCache();
+        if (!fallbackProviders.isEmpty()) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("字典提供者 {} 不支持按字典类型加载，重新加载整个字典提供者，字典类型：{}", fallbackProviders, dictTypes);
+            }
+            refreshDict(fallbackProviders);
+        }
+    }
+
+    /**
+     * 刷新一个租户的字典
+     * <p>
+     * 按字典类型刷新上一次刷新时加载的该租户的所有字典类型（{@code 租户标识@字典类型代码}）
+     * 以及字典提供者返回的该租户的字典类型（{@link DictProvider#tenantDictTypes(String)}），并清空该租户的字典文本缓存。
+     * 还没有加载过该租户的字典类型并且所有字典提供者都没有返回该租户的字典类型时，无法确定需要刷新哪些字典类型，此时刷新所有字典。
+     * </p>
+     *
+     * @param tenant 租户标识
+     * @since 2.2.0
+     */
+    @Override
+    public void refreshTenant(final String tenant) {
+        final Set<String> dictTypes = new LinkedHashSet<>(digest.typesWithPrefix(DictTenantResolver.tenantDictType(tenant, "")));
+        for (final DictProvider provider : providers) {
+            final Set<String> tenantDictTypes = provider.tenantDictTypes(tenant);
+            if (tenantDictTypes != null) {
+                dictTypes.addAll(tenantDictTypes);
+            }
+        }
+        if (dictTypes.isEmpty()) {
+            logger.info("无法确定租户 {} 的字典类型（尚未加载过该租户的字典类型，字典提供者也没有通过 tenantDictTypes(String) 返回），刷新所有字典", tenant);
+            refreshDict(null);
+            DictUtil.invalidateCache(tenant);
+            return;
+        }
+        refreshDictTypes(dictTypes);
+    }
+
+    /**
+     * 按字典类型刷新后清空这些字典类型所属租户的字典文本缓存，其他租户的缓存不受影响
+     *
+     * @param dictTypes 刷新的字典类型代码
+     * @since 2.2.0
+     */
+    private static void invalidateTenantCaches(final Set<String> dictTypes) {
+        final Set<String> tenants = new HashSet<>();
+        for (final String type : dictTypes) {
+            final String tenant = DictTenantResolver.tenantOf(type);
+            if (tenant != null && tenants.add(tenant)) {
+                DictUtil.invalidateCache(tenant);
+            }
+        }
+    }
+
+    /**
+     * 把一个字典提供者按字典类型加载的字典数据写入存储对象
+     *
+     * @param provider      字典提供者
+     * @param iterator      字典提供者返回的字典类型迭代器
+     * @param dictTypes     需要刷新的字典类型代码
+     * @param incremental   是否增量刷新
+     * @param result        刷新结果
+     * @param resolvedTypes 已经确定所属字典提供者的字典类型，会把当前字典提供者返回、删除的字典类型加入其中
+     * @since 2.2.0
+     */
+    private void refreshProviderDictTypes(final DictProvider provider, final Iterator<DictType> iterator, final Set<String> dictTypes,
+                                          final boolean incremental, final DictRefreshResult result, final Set<String> resolvedTypes) {
+        final String providerName = provider.getClass().getName();
+        final boolean isSystemProvider = provider instanceof SystemDictProvider;
+        final boolean storeDictType = provider.isStoreDictType();
+        final Set<String> seenTypes = new HashSet<>();
+        final DictWriteBatch batch = newWriteBatch();
+        try {
+            iterator.forEachRemaining(dictType -> {
+                final String type = dictType.getType();
+                if (!dictTypes.contains(type) || !seenTypes.add(type)) {
+                    return;
+                }
+                final List<DictValue> valueVos = fixDictTypeChildren(type, dictType.getChildren());
+                batch.lock(type);
+                if (storeDictType) {
+                    store.store(dictType);
+                    if (isSystemProvider) {
+                        store.storeSystemDict(dictType);
+                    }
+                }
+                result.addTypes(1, 0, 0);
+                final Map<String, Long> valueHashes = diffDictValues(type, valueVos, digest.get(type), result, batch);
+                if (incremental) {
+                    final String typeHash = storeDictType ? DictContentDigest.hashType(dictType) : DictContentDigest.hashValues(valueHashes);
+                    digest.put(type, new DictContentDigest.TypeDigest(providerName, typeHash, valueHashes));
+                    batch.digest(type, typeHash);
+                } else {
+                    batch.digest(type, null);
+                }
+                lazyTypes.markLoaded(type);
+                batch.flushIfFull();
+            });
+            resolvedTypes.addAll(seenTypes);
+            for (final String type : dictTypes) {
+                final DictContentDigest.TypeDigest old = digest.get(type);
+                if (seenTypes.contains(type) || old == null || !providerName.equals(old.getProvider())) {
+                    continue;
+                }
+                // 上一次由当前字典提供者提供、本次没有返回的字典类型
+                batch.lock(type);
+                digest.remove(type);
+                store.removeDictType(type);
+                if (isSystemProvider) {
+                    store.storeSystemDict(new DictType(null, type, null, null));
+                }
+                resolvedTypes.add(type);
+                result.addTypes(0, 0, 1);
+                result.addValues(0, 0, old.getValues().size(), 0);
+            }
+            batch.flush();
+        } finally {
+            batch.unlockAll();
+        }
+    }
+
+    /**
+     * 刷新一个字典提供者的字典数据
+     * <p>
+     * 字典数据通过 {@link DictWriteBatch} 分批写入存储对象，写入字典类型对象和字典值之前会先持有该字典类型的锁，
+     * 保证多个字典提供者并行刷新时同一个字典类型的数据按顺序写入。
+     * 刷新前先重新获取该字典提供者声明的懒加载字典类型，并卸载已经加载的懒加载字典类型，刷新时跳过懒加载的字典类型。
+     * </p>
+     *
+     * @param provider    字典提供者
+     * @param incremental 是否增量刷新
+     * @param result      刷新结果
+     * @since 2.2.0
+     */
+    private void refreshProvider(final DictProvider provider, final boolean incremental, final DictRefreshResult result) {
+        lazyTypes.register(provider);
+        final DictWriteBatch batch = newWriteBatch();
+        try {
+            if (provider.isStoreDictType()) {
+                refreshDictTypeProvider(provider, incremental, result, batch);
+            } else {
+                try (final DictValueCursor cursor = provider.dictValueCursor()) {
+                    if (cursor != null) {
+                        refreshDictValueCursor(provider, cursor, incremental, result, batch);
+                    } else {
+                        refreshDictValueProvider(provider, incremental, result, batch);
+                    }
+                }
+            }
+            batch.flush();
+        } finally {
+            batch.unlockAll();
+        }
+    }
+
+    /**
+     * 刷新一个存储完整字典类型对象的字典提供者
+     * <p>
+     * 增量刷新时字典类型摘要未变化则直接跳过该字典类型；字典类型摘要有变化时重新存储字典类型对象，
+     * 并比较每个字典值的摘要，只写入新增、修改的字典值，删除已经不存在的字典值。
+     * 该字典提供者上一次提供、本次不再提供的字典类型会被删除。
+     * 非增量刷新时写入所有字典类型对象和字典值。
+     * </p>
+     *
+     * @param provider    字典提供者
+     * @param incremental 是否增量刷新
+     * @param result      刷新结果
+     * @param batch       字典值批量写入缓冲区
+     * @since 2.2.0
+     */
+    private void refreshDictTypeProvider(final DictProvider provider, final boolean incremental, final DictRefreshResult result, final DictWriteBatch batch) {
+        final String providerName = provider.getClass().getName();
+        final boolean isSystemProvider = provider instanceof SystemDictProvider;
+        final Set<String> seenTypes = new HashSet<>();
+        provider.dictTypeIterator().forEachRemaining(dictType -> {
+            final String type = dictType.getType();
+            if (lazyTypes.isLazy(type)) {
+                return;
+            }
+            seenTypes.add(type);
+            final List<DictValue> valueVos = fixDictTypeChildren(type, dictType.getChildren());
+            batch.lock(type);
+            if (!incremental) {
+                store.store(dictType);
+                if (isSystemProvider) {
+                    // 系统字典单独存储一份
+                    store.storeSystemDict(dictType);
+                }
+                result.addTypes(1, 0, 0);
+                if (valueVos != null) {
+                    batch.addAll(valueVos);
+                    result.addValues(valueVos.size(), 0, 0, 0);
+                }
+                batch.digest(type, null);
+                batch.flushIfFull();
+                return;
+            }
+            final String typeHash = DictContentDigest.hashType(dictType);
+            final DictContentDigest.TypeDigest old = digest.get(type);
+            if (old != null && !old.isDirty() && typeHash.equals(old.getTypeHash()) && providerName.equals(old.getProvider())) {
+                result.addTypes(0, 1, 0);
+                result.addValues(0, 0, 0, valueVos == null ? 0 : valueVos.size());
+                return;
+            }
+            store.store(dictType);
+            if (isSystemProvider) {
+                // 系统字典单独存储一份
+                store.storeSystemDict(dictType);
+            }
+            result.addTypes(1, 0, 0);
+            final Map<String, Long> valueHashes = diffDictValues(type, valueVos, old, result, batch);
+            digest.put(type, new DictContentDigest.TypeDigest(providerName, typeHash, valueHashes));
+            batch.digest(type, typeHash);
+            batch.flushIfFull();
+        });
+        if (incremental) {
+            removeMissingDictTypes(providerName, seenTypes, isSystemProvider, result, batch);
+        }
+    }
+
+    /**
+     * 比较一个字典类型下的字典值摘要，把新增、修改、删除的字典值加入待写入缓冲区
+     *
+     * @param type     字典类型代码
+     * @param valueVos 字典值列表
+     * @param old      上一次刷新记录的字典类型摘要
+     * @param result   刷新结果
+     * @param batch    字典值批量写入缓冲区
+     * @return 本次刷新的字典值摘要
+     * @since 2.2.0
+     */
+    private Map<String, Long> diffDictValues(final String type, final List<DictValue> valueVos, final DictContentDigest.TypeDigest old,
+                                             final DictRefreshResult result, final DictWriteBatch batch) {
+        final Map<String, Long> oldHashes = old == null ? Collections.<String, Long>emptyMap() : old.getValues();
+        final Map<String, Long> valueHashes = new HashMap<>();
+        final boolean dirty = old != null && old.isDirty();
+        long added = 0, changed = 0, removed = 0, unchanged = 0;
+        if (valueVos != null) {
+            for (final DictValue valueVo : valueVos) {
+                final String key = DictContentDigest.valueKey(valueVo);
+                final long hash = DictContentDigest.hashValue(valueVo);
+                valueHashes.put(key, hash);
+                final Long oldHash = oldHashes.get(key);
+                if (oldHash == null) {
+                    added++;
+                    batch.add(valueVo);
+                } else if (dirty || oldHash != hash) {
+                    changed++;
+                    batch.add(valueVo);
+                } else {
+                    unchanged++;
+                }
+            }
+        }
+        for (final String key : oldHashes.keySet()) {
+            if (!valueHashes.containsKey(key)) {
+                removed++;
+                batch.add(removedDictValue(type, key));
+            }
+        }
+        result.addValues(added, changed, removed, unchanged);
+        return valueHashes;
+    }
+
+    /**
+     * 刷新一个只提供字典值的字典提供者
+     * <p>
+     * 边遍历字典值边分批写入存储对象。增量刷新时边遍历边比较字典值摘要，只把新增、修改的字典值写入存储对象，
+     * 遍历完成后删除已经不存在的字典值和字典类型。
+     * </p>
+     *
+     * @param provider    字典提供者
+     * @param incremental 是否增量刷新
+     * @param result      刷新结果
+     * @param batch       字典值批量写入缓冲区
+     * @since 2.2.0
+     */
+    private void refreshDictValueProvider(final DictProvider provider, final boolean incremental, final DictRefreshResult result, final DictWriteBatch batch) {
+        final String providerName = provider.getClass().getName();
+        final Map<String, Map<String, Long>> typeValueHashes = new HashMap<>();
+        final Set<String> changedTypes = new HashSet<>();
+        final Iterator<DictValue> iterator = provider.dictValueIterator();
+        while (iterator.hasNext()) {
+            final DictValue valueVo = iterator.next();
+            final String type = valueVo.getDictType();
+            if (lazyTypes.isLazy(type)) {
+                continue;
+            }
+            if (incremental) {
+                final String key = DictContentDigest.valueKey(valueVo);
+                final long hash = DictContentDigest.hashValue(valueVo);
+                typeValueHashes.computeIfAbsent(type, k -> new HashMap<>()).put(key, hash);
+                final DictContentDigest.TypeDigest old = digest.get(type);
+                final Long oldHash = old == null ? null : old.getValues().get(key);
+                if (oldHash != null && oldHash == hash && !old.isDirty()) {
+                    result.addValues(0, 0, 0, 1);
+                    continue;
+                }
+                changedTypes.add(type);
+                result.addValues(oldHash == null ? 1 : 0, oldHash == null ? 0 : 1, 0, 0);
+            } else {
+                result.addValues(1, 0, 0, 0);
+                changedTypes.add(type);
+            }
+            batch.lock(type);
+            batch.add(valueVo);
+            batch.flushIfFull();
+        }
+        if (!incremental) {
+            // 非增量刷新写入的字典类型不记录内容摘要
+            for (final String type : changedTypes) {
+                batch.lock(type);
+                batch.digest(type, null);
+            }
+            return;
+        }
+        long removed = 0;
+        for (final Map.Entry<String, Map<String, Long>> entry : typeValueHashes.entrySet()) {
+            final String type = entry.getKey();
+            final Map<String, Long> valueHashes = entry.getValue();
+            final DictContentDigest.TypeDigest old = digest.get(type);
+            if (old != null) {
+                for (final String key : old.getValues().keySet()) {
+                    if (!valueHashes.containsKey(key)) {
+                        changedTypes.add(type);
+                        batch.lock(type);
+                        batch.add(removedDictValue(type, key));
+                        removed++;
+                    }
+                }
+            }
+            final String typeHash = DictContentDigest.hashValues(valueHashes);
+            if (old == null || old.isDirty() || !typeHash.equals(old.getTypeHash())) {
+                batch.lock(type);
+                batch.digest(type, typeHash);
+            }
+            digest.put(type, new DictContentDigest.TypeDigest(providerName, typeHash, valueHashes));
+        }
+        result.addValues(0, 0, removed, 0);
+        result.addTypes(changedTypes.size(), typeValueHashes.size() - changedTypes.size(), 0);
+        removeMissingDictTypes(providerName, typeValueHashes.keySet(), false, result, batch);
+    }
+
+    /**
+     * 通过字典值游标流式刷新一个字典提供者
+     * <p>
+     * 边读取字典值边按 {@link #typeEventBatchSize} 分批写入存储对象，只记录出现过的字典类型代码，不记录每个字典值的内容摘要，
+     * 因此内存占用与字典值数量无关。增量刷新时该字典提供者上一次提供、本次不再提供的字典类型会被删除。
+     * </p>
+     *
+     * @param provider    字典提供者
+     * @param cursor      字典值游标
+     * @param incremental 是否增量刷新
+     * @param result      刷新结果
+     * @param batch       字典值批量写入缓冲区
+     * @since 2.2.0
+     */
+    private void refreshDictValueCursor(final DictProvider provider, final DictValueCursor cursor, final boolean incremental,
+                                        final DictRefreshResult result, final DictWriteBatch batch) {
+        final String providerName = provider.getClass().getName();
+        final Set<String> seenTypes = new HashSet<>();
+        while (cursor.hasNext()) {
+            final DictValue valueVo = cursor.next();
+            final String type = valueVo.getDictType();
+            if (lazyTypes.isLazy(type)) {
+                continue;
+            }
+            seenTypes.add(type);
+            if (valueVo.getTitle() == null) {
+                result.addValues(0, 0, 1, 0);
+            } else {
+                result.addValues(1, 0, 0, 0);
+            }
+            batch.lock(type);
+            batch.add(valueVo);
+            batch.flushIfFull();
+        }
+        result.addTypes(seenTypes.size(), 0, 0);
+        for (final String type : seenTypes) {
+            // 通过字典值游标刷新的字典类型不记录字典值摘要，每次刷新都会完整写入
+            batch.lock(type);
+            batch.digest(type, null);
+        }
+        if (incremental) {
+            for (final String type : seenTypes) {
+                digest.put(type, new DictContentDigest.TypeDigest(providerName, null, Collections.<String, Long>emptyMap()));
+            }
+            removeMissingDictTypes(providerName, seenTypes, false, result, batch);
+        }
+    }
+
+    /**
+     * 创建一个字典值批量写入缓冲区，字典类型内容摘要在字典值写入之后记录到存储对象中
+     *
+     * @return 字典值批量写入缓冲区
+     * @since 2.2.0
+     */
+    private DictWriteBatch newWriteBatch() {
+        return new DictWriteBatch(typeLocks, typeEventBatchSize, store::storeBatch, store::storeDictTypeDigest);
+    }
+
+    /**
+     * 与存储对象中记录的字典类型内容摘要比较，存储对象中的数据与本实例记录的摘要不一致时，这些字典类型会被完整写入
+     * <p>
+     * 共享的存储对象被清空、主从切换丢失数据，或者被其他实例写入后，本实例记录的摘要不再能代表存储对象中的数据。
+     * 读取存储对象中记录的摘要失败时，所有字典类型都会被完整写入。
+     * </p>
+     *
+     * @param types 字典类型代码
+     * @since 2.2.0
+     */
+    private void verifyStoredDigests(final Collection<String> types) {
+        if (types.isEmpty()) {
+            return;
+        }
+        Map<String, String> storedDigests;
+        try {
+            storedDigests = store.getDictTypeDigests(types);
+        } catch (RuntimeException e) {
+            logger.warn("读取存储对象中记录的字典类型内容摘要失败，本次刷新完整写入这些字典类型：{}", types, e);
+            storedDigests = Collections.emptyMap();
+        }
+        if (storedDigests == null) {
+            // 存储对象不记录内容摘要
+            return;
+        }
+        final int count = digest.verify(storedDigests, types);
+        if (count > 0) {
+            logger.info("{} 个字典类型的内容摘要与存储对象中记录的不一致（存储对象可能被清空或者被其他实例写入），本次刷新完整写入这些字典类型", count);
+        }
+    }
 
     /**
-     * 刷新数据字典信息
+     * 删除字典提供者上一次刷新提供、本次刷新不再提供的字典类型
+     *
+     * @param providerName     字典提供者类名
+     * @param seenTypes        本次刷新提供的字典类型
+     * @param isSystemProvider 是否为系统字典提供者
+     * @param result           刷新结果
+     * @param batch            字典值批量写入缓冲区
+     * @since 2.2.0
+     */
+    private void removeMissingDictTypes(final String providerName, final Set<String> seenTypes, final boolean isSystemProvider,
+                                        final DictRefreshResult result, final DictWriteBatch batch) {
+        for (final String type : digest.typesOf(providerName)) {
+            if (seenTypes.contains(type)) {
+                continue;
+            }
+            batch.lock(type);
+            final DictContentDigest.TypeDigest old = digest.remove(type);
+            store.removeDictType(type);
+            if (isSystemProvider) {
+                store.storeSystemDict(new DictType(null, type, null, null));
+            }
+            result.addTypes(0, 0, 1);
+            result.addValues(0, 0, old == null ? 0 : old.getValues().size(), 0);
+            if (logger.isDebugEnabled()) {
+                logger.debug("字典类型 {} 不再由 {} 提供，已从存储中删除", type, providerName);
+            }
+        }
+    }
+
+    /**
+     * 加载一个懒加载的字典类型（或者被存储对象淘汰的字典类型）并写入存储对象
      * <p>
-     * 该方法用于刷新数据字典信息，首先检查距离上一次刷新的时间间隔，
-     * 如果小于配置的刷新间隔，则跳过本次刷新操作。
-     * 然后更新最后刷新时间，并调用 forEachAllDict 方法获取所有字典数据，
-     * 最后将获取到的字典数据存储到 DictStore 中。
-     * 如果开启了调试日志，则会记录刷新操作的耗时。
+     * 字典提供者不支持按字典类型加载（{@link DictProvider#loadDictType(String)} 返回 null，并且 {@link DictProvider#dictTypeIterator(Set)} 返回 null）时，
+     * 从该字典提供者的全部字典数据中读取这个字典类型，不能把该字典类型当作不存在。
      * </p>
      *
-     * @param dictProviderClasses 需要刷新的数据字典提供商类限定名，null 表示刷新所有
+     * @param lazyProvider 声明该字典类型的字典提供者，被淘汰的字典类型为 null，此时根据摘要确定所属的字典提供者
+     * @param type         字典类型代码
+     * @since 2.2.0
      */
-    @Override
-    public void refreshDict(Set<String> dictProviderClasses) {
-        final long interval = System.currentTimeMillis() - lastModified.get();
-        final Duration refreshDictInterval = properties.getRefreshDictInterval();
-        if (interval < refreshDictInterval.toMillis()) {
+    private void loadLazyDictType(final DictProvider lazyProvider, final String type) {
+        // 被淘汰的字典类型在存储对象中已经不存在，需要完整写入
+        final DictContentDigest.TypeDigest old = digest.remove(type);
+        final DictProvider provider = lazyProvider != null ? lazyProvider : ownerOf(old);
+        if (provider == null) {
             if (logger.isDebugEnabled()) {
-                logger.debug("距离上一次刷新字典 {} ms，小于配置的 {} ms，本次事件将不会刷新字典", interval, refreshDictInterval);
+                logger.debug("无法确定被淘汰的字典类型 {} 所属的字典提供者，不重新加载", type);
             }
             return;
         }
-        lastModified.set(System.currentTimeMillis());
-        if (!logger.isDebugEnabled()) {
-            forEachAllDict(dictProviderClasses, store::store, store::storeSystemDict, store::storeBatch);
+        final DictType dictType = provider.loadDictType(type);
+        final Iterator<DictType> iterator;
+        if (dictType != null) {
+            iterator = Collections.singletonList(dictType).iterator();
+        } else if (provider.dictTypeIterator(Collections.singleton(type)) == null) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("字典提供者 {} 不支持按字典类型加载，从全部字典数据中读取字典类型 {}", provider.getClass().getName(), type);
+            }
+            iterator = fullDictTypeIterator(provider, type);
         } else {
-            long startTime = System.nanoTime();
-            forEachAllDict(dictProviderClasses, store::store, store::storeSystemDict, store::storeBatch);
-            logger.debug("本次刷新数据字典耗时 {} ms，传入刷新范围：{}", (System.nanoTime() - startTime) / 100_0000.0, dictProviderClasses);
+            iterator = Collections.emptyIterator();
+        }
+        refreshProviderDictTypes(provider, iterator, Collections.singleton(type), properties.getRefresh().isIncremental(),
+                new DictRefreshResult(), new HashSet<>());
+    }
+
+    /**
+     * 从字典提供者的全部字典数据中读取一个字典类型
+     * <p>
+     * 存储完整字典类型对象的字典提供者直接返回全部字典类型（写入时只保留需要的字典类型）；
+     * 其他字典提供者从字典值中收集该字典类型的字典值，组成一个字典类型对象。
+     * </p>
+     *
+     * @param provider 字典提供者
+     * @param type     字典类型代码
+     * @return 字典类型对象的迭代器
+     * @since 2.2.0
+     */
+    private Iterator<DictType> fullDictTypeIterator(final DictProvider provider, final String type) {
+        if (provider.isStoreDictType()) {
+            return provider.dictTypeIterator();
+        }
+        final List<DictValue> values = new ArrayList<>();
+        try (final DictValueCursor cursor = provider.dictValueCursor()) {
+            final Iterator<DictValue> iterator = cursor != null ? cursor : provider.dictValueIterator();
+            while (iterator.hasNext()) {
+                final DictValue valueVo = iterator.next();
+                if (type.equals(valueVo.getDictType())) {
+                    values.add(valueVo);
+                }
+            }
+        }
+        if (values.isEmpty()) {
+            return Collections.emptyIterator();
+        }
+        return Collections.singletonList(new DictType(null, type, null, values)).iterator();
+    }
+
+    /**
+     * 存储对象因为容量限制淘汰了一个字典类型，下一次读取该字典类型时重新加载
+     * <p>
+     * 淘汰可能发生在刷新字典写入该字典类型的过程中，此时还不能确定该字典类型的摘要，因此在重新加载时再根据摘要确定所属的字典提供者。
+     * </p>
+     *
+     * @param type 字典类型代码
+     * @since 2.2.0
+     */
+    private void onDictTypeEvicted(final String type) {
+        lazyTypes.evicted(type);
+    }
+
+    /**
+     * 根据字典类型摘要获取该字典类型所属的字典提供者
+     *
+     * @param typeDigest 字典类型摘要
+     * @return 字典提供者，无法确定时返回 null
+     * @since 2.2.0
+     */
+    private DictProvider ownerOf(final DictContentDigest.TypeDigest typeDigest) {
+        if (typeDigest == null) {
+            return null;
+        }
+        for (final DictProvider provider : providers) {
+            if (provider.getClass().getName().equals(typeDigest.getProvider())) {
+                return provider;
+            }
         }
+        return null;
+    }
+
+    /**
+     * 从存储对象中卸载一个懒加载的字典类型
+     * <p>
+     * 懒加载字典类型的加载状态只记录在当前实例中。存储对象由多个实例共享（{@link DictStore#isShared()}）时，
+     * 其他实例可能仍然认为该字典类型已经加载并继续读取，因此只清空当前实例的字典缓存，不删除共享存储中的数据；
+     * 当前实例下一次读取该字典类型时重新加载，同时更新共享存储中的数据。
+     * </p>
+     *
+     * @param type 字典类型代码
+     * @since 2.2.0
+     */
+    private void unloadLazyDictType(final String type) {
+        DictUtil.invalidateDictType(type);
+        final DictWriteBatch batch = newWriteBatch();
+        try {
+            batch.lock(type);
+            digest.remove(type);
+            if (!store.isShared()) {
+                store.removeDictType(type);
+            }
+        } finally {
+            batch.unlockAll();
+        }
+    }
+
+    /**
+     * 构建一个用于删除字典值文本的字典值对象（字典文本为 null）
+     *
+     * @param type  字典类型代码
+     * @param value 字典值
+     * @return 字典值对象
+     */
+    private DictValue removedDictValue(final String type, final String value) {
+        final DictValue dictValue = new DictValue();
+        dictValue.setDictType(type);
+        dictValue.setValue(value);
+        return dictValue;
     }
 
     /**
      * 循环获取所有 {@link DictProvider} 字典提供者提供的所有字典数据信息，把获取到的字典对象和字典值数据存入到 {@link DictStore} 存储对象中
+     * <p>
+     * 启用并行刷新（{@code system.dict.refresh.parallel}）时多个字典提供者会并行加载字典数据，
+     * 但传入的方法不会被多个线程同时调用；所有字典提供者执行完成后，如果有字典提供者执行失败则抛出异常。
+     * </p>
      *
      * @param dictProviderClasses    只获取特定的 {@link DictProvider} 数据，会调用 {@link DictProvider#supportRefresh(Set)} 来判断
      * @param dictTypeConsumer       保存普通字典类型的方法
@@ -124,35 +1232,95 @@ public class DictRegistrarImpl implements InitializingBean, DictRegistrar {
      */
     @Override
     public void forEachAllDict(final Set<String> dictProviderClasses, final Consumer<DictType> dictTypeConsumer, final Consumer<DictType> systemDictTypeConsumer, final Consumer<Iterator<DictValue>> dictValueConsumer) {
-        for (final DictProvider provider : providers) {
-            if (!provider.supportRefresh(dictProviderClasses)) {
-                continue;
+        final List<DictProvider> refreshProviders = supportRefreshProviders(dictProviderClasses);
+        final DictPropertiesRefresh refresh = properties.getRefresh();
+        if (!providerExecutor.isParallel(refreshProviders, refresh)) {
+            for (final DictProvider provider : refreshProviders) {
+                forEachProviderDict(provider, dictTypeConsumer, systemDictTypeConsumer, dictValueConsumer);
             }
-            // 根据 Provider 参数决定是否存储完整的字典类型信息对象
-            if (provider.isStoreDictType()) {
-                final Iterator<? extends DictType> typeIterator = provider.dictTypeIterator();
-                final boolean isSystemProvider = provider instanceof SystemDictProvider;
-                final List<DictValue> batchSaveDictValues = new ArrayList<>(typeEventBatchSize + 50);
-                typeIterator.forEachRemaining(dictType -> {
-                    dictTypeConsumer.accept(dictType);
-                    if (isSystemProvider) {
-                        // 系统字典单独存储一份
-                        systemDictTypeConsumer.accept(dictType);
+            return;
+        }
+        final Object monitor = new Object();
+        final List<DictProviderExecutor.ProviderRun> runs = providerExecutor.execute(refreshProviders, refresh, provider -> forEachProviderDict(provider, dictType -> {
+            synchronized (monitor) {
+                dictTypeConsumer.accept(dictType);
+            }
+        }, dictType -> {
+            synchronized (monitor) {
+                systemDictTypeConsumer.accept(dictType);
+            }
+        }, iterator -> {
+            // 在当前线程中分批读取字典值，只在交给传入的方法处理时加锁
+            List<DictValue> chunk = new ArrayList<>(typeEventBatchSize);
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() >= typeEventBatchSize || !iterator.hasNext()) {
+                    synchronized (monitor) {
+                        dictValueConsumer.accept(chunk.iterator());
+                    }
+                    chunk = new ArrayList<>(typeEventBatchSize);
+                }
+            }
+        }));
+        for (final DictProviderExecutor.ProviderRun run : runs) {
+            final String providerName = run.getProvider().getClass().getName();
+            if (run.getError() != null) {
+                throw new IllegalStateException("字典提供者 " + providerName + " 获取字典数据失败", run.getError());
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("字典提供者 {} 获取字典数据耗时 {} ms", providerName, run.getCostMillis());
+            }
+        }
+    }
+
+    /**
+     * 获取一个 {@link DictProvider} 字典提供者提供的所有字典数据信息，把获取到的字典对象和字典值数据交给对应的方法处理
+     *
+     * @param provider               字典提供者
+     * @param dictTypeConsumer       保存普通字典类型的方法
+     * @param systemDictTypeConsumer 保存系统字典类型的方法
+     * @param dictValueConsumer      保存字典值数据的方法
+     * @since 2.2.0
+     */
+    private void forEachProviderDict(final DictProvider provider, final Consumer<DictType> dictTypeConsumer, final Consumer<DictType> systemDictTypeConsumer, final Consumer<Iterator<DictValue>> dictValueConsumer) {
+        // 根据 Provider 参数决定是否存储完整的字典类型信息对象
+        if (provider.isStoreDictType()) {
+            final Iterator<? extends DictType> typeIterator = provider.dictTypeIterator();
+            final boolean isSystemProvider = provider instanceof SystemDictProvider;
+            final List<DictValue> batchSaveDictValues = new ArrayList<>(typeEventBatchSize + 50);
+            typeIterator.forEachRemaining(dictType -> {
+                dictTypeConsumer.accept(dictType);
+                if (isSystemProvider) {
+                    // 系统字典单独存储一份
+                    systemDictTypeConsumer.accept(dictType);
+                }
+                final List<DictValue> valueVos = fixDictTypeChildren(dictType.getType(), dictType.getChildren());
+                if (valueVos != null) {
+                    batchSaveDictValues.addAll(valueVos);
+                    if (batchSaveDictValues.size() > typeEventBatchSize) {
+                        dictValueConsumer.accept(batchSaveDictValues.iterator());
+                        batchSaveDictValues.clear();
                     }
-                    final List<DictValue> valueVos = fixDictTypeChildren(dictType.getType(), dictType.getChildren());
-                    if (valueVos != null) {
-                        batchSaveDictValues.addAll(valueVos);
-                        if (batchSaveDictValues.size() > typeEventBatchSize) {
-                            dictValueConsumer.accept(batchSaveDictValues.iterator());
-                            batchSaveDictValues.clear();
-                        }
+                }
+            });
+            if (!batchSaveDictValues.isEmpty()) {
+                dictValueConsumer.accept(batchSaveDictValues.iterator());
+            }
+        } else {
+            try (final DictValueCursor cursor = provider.dictValueCursor()) {
+                if (cursor == null) {
+                    dictValueConsumer.accept(provider.dictValueIterator());
+                    return;
+                }
+                // 按固定大小分批读取字典值游标，避免一次性把所有字典值交给传入的方法
+                final List<DictValue> chunk = new ArrayList<>(typeEventBatchSize);
+                while (cursor.hasNext()) {
+                    chunk.add(cursor.next());
+                    if (chunk.size() >= typeEventBatchSize || !cursor.hasNext()) {
+                        dictValueConsumer.accept(chunk.iterator());
+                        chunk.clear();
                     }
-                });
-                if (!batchSaveDictValues.isEmpty()) {
-                    dictValueConsumer.accept(batchSaveDictValues.iterator());
                 }
-            } else {
-                dictValueConsumer.accept(provider.dictValueIterator());
             }
         }
     }
@@ -164,6 +1332,9 @@ public class DictRegistrarImpl implements InitializingBean, DictRegistrar {
      * 在 Spring 容器初始化完成后被调用。
      * 方法会检查配置文件中是否开启了启动时刷新字典的功能，
      * 如果开启，则调用 refreshDict 方法刷新所有字典数据。
+     * 同时向存储对象注册字典类型被淘汰时的回调方法，被淘汰的字典类型在下一次读取时重新加载。
+     * 开启 {@code system.dict.refresh.boot-async} 时在后台线程中刷新字典数据，加载完成之前字典翻译调用按照
+     * {@code system.dict.refresh.not-ready-strategy} 配置的策略等待或者直接读取存储对象中现有的数据。
      * </p>
      *
      * @throws Exception 如果执行过程中发生异常
@@ -171,131 +1342,311 @@ public class DictRegistrarImpl implements InitializingBean, DictRegistrar {
      */
     @Override
     public void afterPropertiesSet() throws Exception {
-        if (properties.isOnBootRefreshDict()) {
+        store.setEvictionListener(this::onDictTypeEvicted);
+        if (!properties.isOnBootRefreshDict()) {
+            return;
+        }
+        final DictPropertiesRefresh refresh = properties.getRefresh();
+        if (!refresh.isBootAsync()) {
             refreshDict(null);
+            return;
+        }
+        ready = false;
+        final Thread thread = DictExecutors.newThreadFactory("dict-boot-refresh-", refresh.isVirtualThreads()).newThread(() -> {
+            final long startTime = System.nanoTime();
+            try {
+                refreshDict(null);
+            } catch (RuntimeException e) {
+                logger.error("启动时异步加载字典数据失败", e);
+            } finally {
+                markReady();
+                logger.info("启动时异步加载字典数据完成，耗时 {} ms", (System.nanoTime() - startTime) / 100_0000);
+            }
+        });
+        thread.start();
+    }
+
+    /**
+     * 启动时异步加载字典数据完成，唤醒等待中的字典翻译调用；如果应用的就绪状态因为字典数据未加载完成而被拒绝，则重新发布就绪状态
+     *
+     * @since 2.2.0
+     */
+    private void markReady() {
+        DictUtil.invalidateCache();
+        synchronized (readyMonitor) {
+            ready = true;
+            if (readinessRefused && applicationEventPublisher != null) {
+                readinessRefused = false;
+                AvailabilityChangeEvent.publish(applicationEventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+            }
+            readyLatch.countDown();
+        }
+    }
+
+    /**
+     * 字典数据尚未加载完成时，拒绝 Spring Boot 发布的 {@link ReadinessState#ACCEPTING_TRAFFIC} 就绪状态，
+     * 字典数据加载完成后再重新发布 {@link ReadinessState#ACCEPTING_TRAFFIC} 就绪状态
+     *
+     * @param event 应用可用状态变化事件
+     * @since 2.2.0
+     */
+    @EventListener
+    public void onAvailabilityChangeEvent(final AvailabilityChangeEvent<?> event) {
+        if (event.getState() != ReadinessState.ACCEPTING_TRAFFIC || ready) {
+            return;
+        }
+        synchronized (readyMonitor) {
+            if (!ready && applicationEventPublisher != null) {
+                readinessRefused = true;
+                logger.info("字典数据尚未加载完成，应用就绪状态暂时设置为 {}", ReadinessState.REFUSING_TRAFFIC);
+                AvailabilityChangeEvent.publish(applicationEventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+            }
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 字典数据尚未加载完成时，根据 {@code system.dict.refresh.not-ready-strategy} 配置的策略等待字典数据加载完成
+     *
+     * @since 2.2.0
+     */
+    @Override
+    public void awaitReady() {
+        final DictPropertiesRefresh refresh = properties.getRefresh();
+        if (ready || refresh.getNotReadyStrategy() != NotReadyStrategy.BLOCK) {
+            return;
+        }
+        try {
+            if (!readyLatch.await(refresh.getReadyTimeout().toMillis(), TimeUnit.MILLISECONDS) && logger.isWarnEnabled()) {
+                logger.warn("等待字典数据加载完成超过 {}，将读取存储对象中现有的数据", refresh.getReadyTimeout());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
+    /**
+     * 读取字典类型之前确保懒加载的字典类型已经加载，并记录该字典类型的最后读取时间
+     *
+     * @param dictType 字典类型代码
+     * @since 2.2.0
+     */
+    @Override
+    public void ensureDictType(final String dictType) {
+        lazyTypes.ensureLoaded(dictType);
+    }
+
+    @Override
+    public void setApplicationEventPublisher(final ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    /**
+     * 检测宿主应用是否启用了 {@code @EnableAsync}，没有配置 {@code system.dict.event.async} 时以此决定是否异步处理字典事件
+     *
+     * @param beanFactory BeanFactory
+     * @since 2.2.0
+     */
+    @Override
+    public void setBeanFactory(final BeanFactory beanFactory) {
+        this.asyncAnnotationEnabled = beanFactory.containsBean(TaskManagementConfigUtils.ASYNC_ANNOTATION_PROCESSOR_BEAN_NAME);
+    }
+
+    /**
+     * 设置刷新字典写入保护
+     * <p>
+     * 刷新字典写入保护只对多个实例共享的字典存储（{@link DictStore#isShared()}）生效，字典存储不共享时忽略该写入保护，每个实例各自刷新字典。
+     * </p>
+     *
+     * @param refreshGuard 刷新字典写入保护
+     * @since 2.2.0
+     */
+    @Autowired(required = false)
+    public void setRefreshGuard(final DictRefreshGuard refreshGuard) {
+        if (refreshGuard != null && !store.isShared()) {
+            logger.warn("字典存储 {} 不是多个实例共享的存储，忽略刷新字典写入保护 {}", store.getClass().getName(), refreshGuard.getClass().getName());
+            return;
+        }
+        this.refreshGuard = refreshGuard;
+    }
+
+    /**
+     * 宿主应用是否启用了 {@code @EnableAsync}
+     *
+     * @return 是否启用了 {@code @EnableAsync}
+     * @since 2.2.0
+     */
+    private boolean isAsyncAnnotationEnabled() {
+        return asyncAnnotationEnabled;
+    }
+
     /**
      * 处理系统内部发起的刷新数据字典事件
      * <p>
-     * 该方法是一个异步事件监听器，用于处理系统内部发起的刷新数据字典事件。
-     * 当收到 RefreshDictEvent 事件时，会调用 refreshDict 方法刷新字典数据。
+     * 该方法是一个事件监听器，用于处理系统内部发起的刷新数据字典事件，事件在字典事件执行器中处理（可异步）。
+     * 当收到 RefreshDictEvent 事件时，会调用 refreshDict 方法刷新字典数据；事件指定了字典类型时调用 refreshDictTypes 方法只刷新这些字典类型。
      * 如果开启了调试日志，则会记录事件的内容。
      * </p>
      *
      * @param event RefreshDictEvent 事件
      */
-    @Async
     @EventListener
     public void eventListenerRefreshEvent(final RefreshDictEvent event) {
-        if (logger.isDebugEnabled()) {
-            logger.debug("[RefreshDictEvent] 应用内部通知刷新字典事件。事件内容：{}", event.getSource());
-        }
-        refreshDict(event.getDictProviderClasses());
+        eventExecutor.execute("RefreshDictEvent", () -> {
+            if (logger.isDebugEnabled()) {
+                logger.debug("[RefreshDictEvent] 应用内部通知刷新字典事件。事件内容：{}", event.getSource());
+            }
+            final Set<String> dictTypes = event.getDictTypes();
+            if (dictTypes != null && !dictTypes.isEmpty()) {
+                refreshDictTypes(dictTypes);
+            } else {
+                refreshDict(event.getDictProviderClasses());
+            }
+        });
     }
 
     /**
      * 刷新单个字典值文本信息
      * <p>
-     * 该方法是一个异步事件监听器，用于处理单个字典值文本信息的刷新事件。
-     * 当收到 RefreshDictValueEvent 事件时，会获取事件中的字典值列表，
-     * 然后从中移除属于系统字典的文本信息（系统字典不允许通过事件方式刷新），
-     * 最后根据字典值数量决定采用批量保存还是单个保存的方式将字典值存储到 DictStore 中。
+     * 该方法是一个事件监听器，用于处理单个字典值文本信息的刷新事件，事件在字典事件执行器中处理（可异步）。
+     * 当收到 RefreshDictValueEvent 事件时，会获取事件中的字典值列表并按字典类型分组，交给字典值事件合并器：
+     * 配置了合并窗口（{@code system.dict.event.value-batch-window}）时，窗口内的事件按字典类型合并后一次性写入，否则立即写入。
+     * 写入时移除属于系统字典的文本信息（系统字典不允许通过事件方式刷新），
+     * 然后提交到按字典类型串行执行的更新执行器中：写入字典值，
+     * 并根据 RefreshDictValueEvent.isUpdateDictType() 参数决定是否维护字典类型对象里面的字典值列表信息。
+     * 同一个字典类型的更新按顺序执行、不会交错执行，短时间内同一个字典类型的多次更新会被合并为一次存储写入。
      * </p>
      *
      * @param event RefreshDictValueEvent 事件
      * @since 1.4.4
      */
-    @Async
     @EventListener
     public void refreshDictValueEvent(final RefreshDictValueEvent event) {
-        final Iterable<DictValue> dictValueVos = event.getSource();
-        ArrayList<DictValue> list;
-        if (dictValueVos instanceof Collection) {
-            list = new ArrayList<>((Collection<DictValue>) dictValueVos);
-        } else {
-            list = new ArrayList<>();
-            for (DictValue valueVo : dictValueVos) {
-                list.add(valueVo);
-            }
+        eventExecutor.execute("RefreshDictValueEvent", () -> handleRefreshDictValueEvent(event));
+    }
+
+    /**
+     * 处理 RefreshDictValueEvent 事件
+     *
+     * @param event RefreshDictValueEvent 事件
+     * @since 2.2.0
+     */
+    private void handleRefreshDictValueEvent(final RefreshDictValueEvent event) {
+        handleRefreshDictValues(event.getSource(), event.isUpdateDictType(), event.isRemoveDictType());
+    }
+
+    /**
+     * 直接写入变更的字典值（增量刷新），与 RefreshDictValueEvent 事件使用相同的合并窗口和按字典类型串行的更新执行器
+     *
+     * @param dictValues     变更的字典值列表（必须要有字典类型值）
+     * @param updateDictType 是否维护字典类型对象里面的字典值列表信息
+     * @param removeDictType 维护字典类型对象时，字典类型的字典值列表为空时是否删除字典类型
+     * @since 2.2.0
+     */
+    @Override
+    public void refreshDictValues(final Collection<DictValue> dictValues, final boolean updateDictType, final boolean removeDictType) {
+        handleRefreshDictValues(dictValues, updateDictType, removeDictType);
+    }
+
+    /**
+     * 按字典类型收集字典值后加入字典值事件合并器
+     *
+     * @param dictValues     变更的字典值列表
+     * @param updateDictType 是否维护字典类型对象里面的字典值列表信息
+     * @param removeDictType 维护字典类型对象时，字典类型的字典值列表为空时是否删除字典类型
+     * @since 2.2.0
+     */
+    private void handleRefreshDictValues(final Iterable<DictValue> dictValues, final boolean updateDictType, final boolean removeDictType) {
+        // 把字典值列表通过字典类型收集起来
+        final Map<String, List<DictValue>> typeValues = new LinkedHashMap<>();
+        int size = 0;
+        for (final DictValue valueVo : dictValues) {
+            typeValues.computeIfAbsent(valueVo.getDictType(), k -> new ArrayList<>()).add(valueVo);
+            size++;
         }
         if (logger.isDebugEnabled()) {
-            logger.debug("[RefreshDictValueEvent.value] 刷新字典值文本信息，共有 {} 条数据", list.size());
-        }
-        Set<String> systemDictTypeKeys = store.systemDictTypeKeys();
-        removeSystemDictValue(list.iterator(), systemDictTypeKeys);
-        if (!list.isEmpty()) {
-            if (list.size() > valueEventBatchSize) {
-                // 刷新数据字典值文本时，超过5条数据的采用批量写入方式
-                store.storeBatch(list.iterator());
-            } else {
-                store.store(list.iterator());
+            logger.debug("[RefreshDictValueEvent.value] 刷新字典值文本信息，共有 {} 条数据", size);
+            if (updateDictType) {
+                logger.debug("[RefreshDictValueEvent.type] 刷新字典值涉及的字典类型代码 {}", typeValues.keySet());
             }
         }
+        valueEventAccumulator.add(typeValues, updateDictType, removeDictType);
     }
 
     /**
-     * 检测需要刷新的字典文本列表，从中移除属于系统字典的文本信息
+     * 写入一批合并后的字典值事件
      * <p>
-     * 该方法用于从字典值列表中移除属于系统字典的文本信息，
-     * 因为系统字典不允许通过事件方式刷新字典值。
-     * 如果检测到系统字典类型，则会记录调试日志并移除该字典值。
+     * 一批更新只读取一次系统字典代码列表，移除属于系统字典的字典类型后，按字典类型提交到更新执行器中。
      * </p>
      *
-     * @param iterator           字典值迭代器
-     * @param systemDictTypeKeys 系统字典代码列表
-     * @since 1.5.0
+     * @param updates 按字典类型合并后的字典值更新
+     * @since 2.2.0
      */
-    private void removeSystemDictValue(Iterator<DictValue> iterator, Set<String> systemDictTypeKeys) {
-        while (iterator.hasNext()) {
-            DictValue valueVo = iterator.next();
-            String dictType = valueVo.getDictType();
-            if (systemDictTypeKeys.contains(dictType)) {
+    private void flushDictValueEvents(final Collection<DictTypeUpdateExecutor.TypeUpdate> updates) {
+        final Set<String> systemDictTypeKeys = store.systemDictTypeKeys();
+        for (final DictTypeUpdateExecutor.TypeUpdate update : updates) {
+            if (systemDictTypeKeys.contains(update.getDictType())) {
                 if (logger.isDebugEnabled()) {
-                    logger.debug("[RefreshDictValueEvent.value] 刷新字典值涉及的字典类型代码 {}，此类型为系统字典类型，无法通过事件方式刷新字典值，已忽略", dictType);
+                    logger.debug("[RefreshDictValueEvent.value] 刷新字典值涉及的字典类型代码 {}，此类型为系统字典类型，无法通过事件方式刷新字典值，已忽略", update.getDictType());
                 }
-                iterator.remove();
+                continue;
             }
+            typeUpdateExecutor.submit(update);
+        }
+    }
+
+    /**
+     * 执行一个字典类型合并后的字典值更新
+     * <p>
+     * 持有字典类型的锁写入字典值，并在需要时维护字典类型对象里面的字典值列表信息。
+     * </p>
+     *
+     * @param update 字典类型合并后的字典值更新
+     * @since 2.2.0
+     */
+    private void applyDictTypeUpdate(final DictTypeUpdateExecutor.TypeUpdate update) {
+        final String dictType = update.getDictType();
+        typeLocks.run(dictType, () -> {
+            // 通过事件修改过的字典类型，下一次刷新时需要完整写入
+            digest.invalidate(dictType);
+            store.storeDictTypeDigest(dictType, null);
+            final List<DictValue> valueVos = new ArrayList<>(update.getValues().values());
+            if (valueVos.size() > valueEventBatchSize) {
+                // 刷新数据字典值文本时，超过5条数据的采用批量写入方式
+                store.storeBatch(valueVos.iterator());
+            } else {
+                store.store(valueVos.iterator());
+            }
+            if (!update.getTypeValues().isEmpty()) {
+                // 处理维护字典类型代码的字典信息
+                maintainHandleDictType(dictType, new ArrayList<>(update.getTypeValues().values()), update.isRemoveDictType());
+            }
+        });
+        store.invalidateCache();
+        if (update.getMerged() > 1 && logger.isDebugEnabled()) {
+            logger.debug("[RefreshDictValueEvent] 字典类型 {} 合并了 {} 次更新，共写入 {} 条字典值", dictType, update.getMerged(), update.getValues().size());
         }
     }
 
     /**
      * 刷新单个字典值文本信息并维护字典类型对象
      * <p>
-     * 该方法是一个异步事件监听器，用于处理单个字典值文本信息的刷新事件，
-     * 并根据 RefreshDictValueEvent.isUpdateDictType() 参数决定是否维护字典类型对象里面的字典值列表信息。
-     * 当需要更新字典类型时，会将字典值按字典类型分组，然后对每个字典类型调用 maintainHandleDictType 方法进行处理。
+     * 维护字典类型对象已经合并到 {@link #refreshDictValueEvent(RefreshDictValueEvent)} 中，与写入字典值在同一个按字典类型串行执行的更新中完成，
+     * 该方法不再监听事件。
      * </p>
      *
      * @param event RefreshDictValueEvent 事件
      * @since 1.4.5
+     * @deprecated 使用 {@link #refreshDictValueEvent(RefreshDictValueEvent)}
      */
-    @Async
-    @EventListener
+    @Deprecated
     public void refreshDictValueEventUpdateDictType(final RefreshDictValueEvent event) {
-        if (!event.isUpdateDictType()) {
-            return;
-        }
-        final Iterable<DictValue> dictValueVos = event.getSource();
-        final boolean removeDictType = event.isRemoveDictType();
-        // 把字典值列表通过字典类型收集起来
-        Multimap<String, DictValue> multimap = ArrayListMultimap.create();
-        dictValueVos.forEach(valueVo -> multimap.put(valueVo.getDictType(), valueVo));
-        final Set<String> keySet = multimap.keySet();
-        if (logger.isDebugEnabled()) {
-            logger.debug("[RefreshDictValueEvent.type] 刷新字典值涉及的字典类型代码 {}", keySet);
-        }
-        Set<String> systemDictTypeKeys = store.systemDictTypeKeys();
-        for (final String dictType : keySet) {
-            if (systemDictTypeKeys.contains(dictType)) {
-                if (logger.isDebugEnabled()) {
-                    logger.debug("[RefreshDictValueEvent.type] 刷新字典值涉及的字典类型代码 {}，此类型为系统字典类型，无法通过事件方式刷新字典值，已忽略", dictType);
-                }
-                continue;
-            }
-            // 处理维护字典类型代码的字典信息
-            maintainHandleDictType(dictType, new ArrayList<>(multimap.get(dictType)), removeDictType);
+        if (event.isUpdateDictType()) {
+            refreshDictValueEvent(event);
         }
     }
 
@@ -305,80 +1656,71 @@ public class DictRegistrarImpl implements InitializingBean, DictRegistrar {
      * 该方法用于维护处理字典类型信息，根据字典值列表更新字典类型对象。
      * 处理逻辑如下：
      * 1. 如果字典类型不存在，则创建一个新的字典类型
-     * 2. 如果字典类型存在但没有字典值列表，则直接设置字典值列表
-     * 3. 如果字典类型存在且有字典值列表，则调用 maintainHandleDictTypeDiffUpdate 方法处理差异
+     * 2. 如果字典类型存在，则调用 maintainHandleDictTypeDiffUpdate 方法处理差异
      * </p>
      *
      * @param dictType       字典类型代码
-     * @param valueVos       字典值列表
+     * @param valueVos       字典值列表（字典文本为 null 表示删除字典值）
      * @param removeDictType 没有字典值列表时是否删除字典类型
      * @since 1.4.5
      */
     private void maintainHandleDictType(final String dictType, final List<DictValue> valueVos, final boolean removeDictType) {
         final DictType dictTypeVo = store.getDictType(dictType);
-        final List<DictValue> valueVosUpdate = valueVos.stream().filter(vo -> vo.getTitle() != null).collect(Collectors.toList());
         if (dictTypeVo == null) {
             // 不存在字典类型信息，新增一个字典类型信息
-            final DictType newType = new DictType("RefreshDictValueEvent Add", dictType, "RefreshDictValueEvent Add", valueVosUpdate);
+            final List<DictValue> children = new ArrayList<>(valueVos.size());
+            DictTypeIndex.of(children).apply(children, valueVos);
+            final DictType newType = new DictType("RefreshDictValueEvent Add", dictType, "RefreshDictValueEvent Add", children);
             store.store(newType);
             if (logger.isDebugEnabled()) {
                 logger.debug("[RefreshDictValueEvent.type] 有一个新的字典类型被加入到缓存中 {}", newType);
             }
             return;
         }
-        final List<DictValue> children = dictTypeVo.getChildren();
-        if (children == null || children.isEmpty()) {
-            // 原字典类型无字典值列表，增加新的字典值列表
-            dictTypeVo.setChildren(valueVosUpdate);
-            store.store(dictTypeVo);
-            if (logger.isDebugEnabled()) {
-                logger.debug("[RefreshDictValueEvent.type] 旧字典类型无字典值，更新后字典类型有字典值 {}", dictTypeVo);
-            }
-            return;
-        }
-        final List<DictValue> valueVosRemove = valueVos.stream().filter(vo -> vo.getTitle() == null).collect(Collectors.toList());
-        maintainHandleDictTypeDiffUpdate(dictTypeVo, valueVosUpdate, valueVosRemove, removeDictType);
+        maintainHandleDictTypeDiffUpdate(dictTypeVo, valueVos, removeDictType);
     }
 
     /**
      * 维护处理字典类型信息（处理字典值列表差异合并）
      * <p>
      * 该方法用于处理字典类型信息中的字典值列表差异合并，具体步骤如下：
-     * 1. 从现有字典值列表中移除需要删除的字典值
-     * 2. 向现有字典值列表中添加需要更新或新增的字典值
-     * 3. 使用 LinkedHashMap 去重，保持字典值的顺序
-     * 4. 根据 removeDictType 参数决定当字典值列表为空时是否删除字典类型
-     * 5. 最后将更新后的字典类型存储到 DictStore 中
+     * 1. 获取（或创建）字典值列表的字典值位置索引
+     * 2. 删除字典文本为 null 的字典值，原位替换已存在的字典值，把新的字典值追加到列表末尾，保持字典值原有的顺序
+     * 3. 根据 removeDictType 参数决定当字典值列表为空时是否删除字典类型
+     * 4. 最后将更新后的字典类型存储到 DictStore 中
+     * </p>
+     * <p>
+     * 使用本地存储时字典类型对象的字典值列表对象一直存在，索引会被重复使用，一次更新的耗时只与变更的字典值数量有关；
+     * 使用 Redis 存储时每次读取的字典值列表都是新对象，每次更新需要重新创建一次索引（O(n)）。
      * </p>
      *
      * @param dictType       字典类型对象
-     * @param valueVosUpdate 需要更新或新增的字典值列表
-     * @param valueVosRemove 需要删除的字典值列表
+     * @param valueVos       字典值列表（字典文本为 null 表示删除字典值）
      * @param removeDictType 没有字典值列表时是否删除字典类型
      * @since 1.4.5.1
      */
-    private void maintainHandleDictTypeDiffUpdate(final DictType dictType, final List<DictValue> valueVosUpdate, final List<DictValue> valueVosRemove, final boolean removeDictType) {
-        final List<DictValue> children = dictType.getChildren();
-        // 从列表移除需要删除的字典列表
-        children.removeIf(vo1 -> {
-            for (final DictValue vo2 : valueVosRemove) {
-                if (Objects.equals(vo1.getValue(), vo2.getValue())) {
-                    if (logger.isDebugEnabled()) {
-                        logger.debug("[RefreshDictValueEvent.type] 字典类型 {} 的 {} = {} 字典值被删除", dictType.getType(), vo1.getValue(), vo1.getTitle());
-                    }
-                    return true;
-                }
-            }
-            return false;
-        });
-        // 维护需要替换的字典值列表信息
-        children.addAll(valueVosUpdate);
-        Map<Object, DictValue> map = new LinkedHashMap<>();
-        children.forEach(valueVo -> map.put(valueVo.getValue(), valueVo));
-
-        dictType.setChildren(removeDictType && map.isEmpty() ? null : new ArrayList<>(map.values()));
+    private void maintainHandleDictTypeDiffUpdate(final DictType dictType, final List<DictValue> valueVos, final boolean removeDictType) {
+        List<DictValue> children = dictType.getChildren();
+        if (!(children instanceof ArrayList)) {
+            // 字典值列表可能是不可修改的列表，复制为一个新的可修改列表（之前的索引也随之失效）
+            children = children == null ? new ArrayList<>(valueVos.size()) : new ArrayList<>(children);
+            dictType.setChildren(children);
+        }
+        DictTypeIndex index = typeIndexes.get(children, DictTypeIndex::of);
+        if (index.isStale(children)) {
+            index = DictTypeIndex.of(children);
+            typeIndexes.put(children, index);
+        }
+        final int removed = index.apply(children, valueVos);
+        if (removed > 0 && logger.isDebugEnabled()) {
+            logger.debug("[RefreshDictValueEvent.type] 字典类型 {} 有 {} 条字典值被删除", dictType.getType(), removed);
+        }
+        if (removeDictType && children.isEmpty()) {
+            typeIndexes.invalidate(children);
+            dictType.setChildren(null);
+        }
         if (logger.isDebugEnabled()) {
-            logger.debug("[RefreshDictValueEvent.type] 字典类型的字典值列表被更新，共有 {} 条数据", dictType.getChildren().size());
+            logger.debug("[RefreshDictValueEvent.type] 字典类型的字典值列表被更新，共有 {} 条数据", dictType.getChildren() == null ? 0 : dictType.getChildren().size());
         }
         store.store(dictType);
     }
@@ -386,7 +1728,7 @@ public class DictRegistrarImpl implements InitializingBean, DictRegistrar {
     /**
      * 刷新单个字典值类型信息（包含此字典类型的字典值列表）
      * <p>
-     * 该方法是一个异步事件监听器，用于处理单个字典类型信息的刷新事件。
+     * 该方法是一个事件监听器，用于处理单个字典类型信息的刷新事件，事件在字典事件执行器中处理（可异步）。
      * 当收到 RefreshDictTypeEvent 事件时，会获取事件中的字典类型列表，
      * 然后从中移除属于系统字典的类型信息（系统字典不允许通过事件方式刷新），
      * 最后修复字典类型的字典值列表信息并存储到 DictStore 中。
@@ -395,9 +1737,18 @@ public class DictRegistrarImpl implements InitializingBean, DictRegistrar {
      * @param event RefreshDictTypeEvent 事件
      * @since 1.4.5
      */
-    @Async
     @EventListener
     public void refreshDictTypeEvent(final RefreshDictTypeEvent event) {
+        eventExecutor.execute("RefreshDictTypeEvent", () -> handleRefreshDictTypeEvent(event));
+    }
+
+    /**
+     * 处理 RefreshDictTypeEvent 事件
+     *
+     * @param event RefreshDictTypeEvent 事件
+     * @since 2.2.0
+     */
+    private void handleRefreshDictTypeEvent(final RefreshDictTypeEvent event) {
         final Iterable<DictType> dictTypeVos = event.getSource();
         Set<String> systemDictTypeKeys = store.systemDictTypeKeys();
         dictTypeVos.forEach(dictType -> {
@@ -407,12 +1758,17 @@ public class DictRegistrarImpl implements InitializingBean, DictRegistrar {
                 }
                 return;
             }
-            final List<DictValue> dictValues = fixDictTypeChildren(dictType.getType(), dictType.getChildren());
-            if (dictValues != null) {
-                store.removeDictType(dictType.getType());
-                store.store(dictValues.iterator());
-            }
-            store.store(dictType);
+            typeLocks.run(dictType.getType(), () -> {
+                // 通过事件修改过的字典类型，下一次刷新时需要完整写入
+                digest.invalidate(dictType.getType());
+                store.storeDictTypeDigest(dictType.getType(), null);
+                final List<DictValue> dictValues = fixDictTypeChildren(dictType.getType(), dictType.getChildren());
+                if (dictValues != null) {
+                    store.removeDictType(dictType.getType());
+                    store.store(dictValues.iterator());
+                }
+                store.store(dictType);
+            });
         });
     }
 
@@ -437,4 +1793,49 @@ public class DictRegistrarImpl implements InitializingBean, DictRegistrar {
         }
         return dictValues;
     }
+
+    /**
+     * 写入合并窗口内尚未写入的字典值事件，并关闭刷新字典使用的线程池
+     *
+     * @since 2.2.0
+     */
+    @Override
+    public void destroy() {
+        // 先等待已经提交的字典事件处理完成，这些事件可能还会加入合并窗口，之后再写入合并窗口内收集的字典值
+        eventExecutor.shutdown();
+        valueEventAccumulator.shutdown();
+        typeUpdateExecutor.shutdown(properties.getEvent().getShutdownTimeout().toMillis());
+        lazyTypes.shutdown();
+        providerExecutor.shutdown();
+        synchronized (refreshMonitor) {
+            if (refreshScheduler != null) {
+                refreshScheduler.shutdownNow();
+                refreshScheduler = null;
+            }
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "registrar";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        final Map<String, Object> metrics = new LinkedHashMap<>();
+        synchronized (refreshMonitor) {
+            metrics.put("refreshing", refreshing);
+            metrics.put("pendingRefresh", pendingRefresh);
+            metrics.put("pendingRefreshTypes", pendingRefreshTypes.size());
+        }
+        metrics.put("ready", ready);
+        metrics.put("eventExecutor", eventExecutor.getMetrics());
+        metrics.put("valueEvent", valueEventAccumulator.getMetrics());
+        metrics.put("typeUpdate", typeUpdateExecutor.getMetrics());
+        metrics.put("lazy", lazyTypes.getMetrics());
+        metrics.put("lastRefreshResult", lastRefreshResult);
+        metrics.put("digestTypes", digest.size());
+        metrics.put("providerVersions", digest.providerVersions());
+        return metrics;
+    }
 }
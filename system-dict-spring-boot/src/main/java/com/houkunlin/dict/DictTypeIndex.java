@@ -0,0 +1,111 @@
+package com.houkunlin.dict;
+
+import com.houkunlin.dict.bean.DictValue;
+
+import java.util.*;
+
+/**
+ * 字典类型的字典值位置索引
+ * <p>
+ * 记录字典类型对象的字典值列表中每个字典值所在的位置，通过事件维护字典类型对象的字典值列表时，
+ * 修改已有字典值、新增字典值只需要 O(1) 的时间，并且保持字典值列表原有的顺序（新增的字典值追加到列表末尾）；
+ * 只有删除字典值时才需要一次 O(n) 的列表压缩。
+ * </p>
+ * <p>
+ * 索引只对创建索引时的字典值列表对象有效，并且该列表只能通过 {@link #apply(List, Collection)} 修改。
+ * 索引对象不持有字典值列表的引用，可以使用以字典值列表对象为弱引用键的缓存保存索引。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+class DictTypeIndex {
+    /**
+     * 字典值所在的位置，键为字典值
+     */
+    private final Map<String, Integer> positions;
+
+    private DictTypeIndex(final int size) {
+        this.positions = new HashMap<>(Math.max(16, size * 4 / 3 + 1));
+    }
+
+    /**
+     * 为字典值列表创建索引，列表中重复的字典值只保留第一次出现的位置和最后一次出现的字典值对象
+     *
+     * @param children 字典值列表（需要是可修改的列表）
+     * @return 字典值位置索引
+     */
+    static DictTypeIndex of(final List<DictValue> children) {
+        final DictTypeIndex index = new DictTypeIndex(children.size());
+        boolean duplicated = false;
+        for (int i = 0; i < children.size(); i++) {
+            final DictValue valueVo = children.get(i);
+            final Integer position = index.positions.putIfAbsent(DictContentDigest.valueKey(valueVo), i);
+            if (position != null) {
+                children.set(position, valueVo);
+                children.set(i, null);
+                duplicated = true;
+            }
+        }
+        if (duplicated) {
+            index.compact(children);
+        }
+        return index;
+    }
+
+    /**
+     * 字典值列表是否在索引之外被修改过（字典值数量与索引不一致），被修改过的字典值列表需要重新创建索引
+     *
+     * @param children 创建索引时的字典值列表
+     * @return 索引是否已经失效
+     */
+    boolean isStale(final List<DictValue> children) {
+        return positions.size() != children.size();
+    }
+
+    /**
+     * 把字典值更新应用到字典值列表中：字典文本为 null 的字典值从列表中删除，已存在的字典值原位替换，不存在的字典值追加到列表末尾
+     *
+     * @param children 创建索引时的字典值列表
+     * @param valueVos 字典值更新列表
+     * @return 被删除的字典值数量
+     */
+    int apply(final List<DictValue> children, final Collection<DictValue> valueVos) {
+        int removed = 0;
+        for (final DictValue valueVo : valueVos) {
+            final String key = DictContentDigest.valueKey(valueVo);
+            if (valueVo.getTitle() == null) {
+                final Integer position = positions.remove(key);
+                if (position != null) {
+                    children.set(position, null);
+                    removed++;
+                }
+                continue;
+            }
+            final Integer position = positions.get(key);
+            if (position != null) {
+                children.set(position, valueVo);
+            } else {
+                positions.put(key, children.size());
+                children.add(valueVo);
+            }
+        }
+        if (removed > 0) {
+            compact(children);
+        }
+        return removed;
+    }
+
+    /**
+     * 压缩字典值列表，移除被删除的字典值并重新计算位置
+     *
+     * @param children 字典值列表
+     */
+    private void compact(final List<DictValue> children) {
+        children.removeIf(Objects::isNull);
+        positions.clear();
+        for (int i = 0; i < children.size(); i++) {
+            positions.put(DictContentDigest.valueKey(children.get(i)), i);
+        }
+    }
+}
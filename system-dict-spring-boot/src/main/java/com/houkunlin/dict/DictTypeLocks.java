@@ -0,0 +1,66 @@
+package com.houkunlin.dict;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 字典类型分段锁
+ * <p>
+ * 按字典类型代码的 hash 把字典类型分配到固定数量的锁上，同一个字典类型的写入操作总是使用同一把锁，
+ * 保证多个线程同时写入同一个字典类型时按顺序执行，不同字典类型的写入操作大多数情况下可以并行执行。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+class DictTypeLocks {
+    /**
+     * 默认的锁数量
+     */
+    static final int DEFAULT_STRIPES = 256;
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    /**
+     * 创建字典类型分段锁
+     *
+     * @param stripes 锁数量，会向上取整为 2 的幂
+     */
+    DictTypeLocks(final int stripes) {
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * 获取字典类型对应的锁
+     *
+     * @param dictType 字典类型代码
+     * @return 锁对象
+     */
+    ReentrantLock lockOf(final String dictType) {
+        final int hash = dictType == null ? 0 : dictType.hashCode();
+        return locks[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    /**
+     * 持有字典类型对应的锁执行一个操作
+     *
+     * @param dictType 字典类型代码
+     * @param runnable 需要执行的操作
+     */
+    void run(final String dictType, final Runnable runnable) {
+        final ReentrantLock lock = lockOf(dictType);
+        lock.lock();
+        try {
+            runnable.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
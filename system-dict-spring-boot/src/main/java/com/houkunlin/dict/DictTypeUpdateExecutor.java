@@ -0,0 +1,331 @@
+package com.houkunlin.dict;
+
+import com.houkunlin.dict.bean.DictValue;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 按字典类型串行执行的字典值更新执行器
+ * <p>
+ * 每个字典类型有一个待执行的更新队列，同一时刻最多只有一个线程在执行某个字典类型的更新，
+ * 因此同一个字典类型的更新按提交顺序执行、不会交错执行；不同字典类型的更新可以在不同线程中并行执行。
+ * 某个字典类型正在执行更新时提交的新更新会被合并（同一个字典值后提交的覆盖先提交的），在当前更新完成后一次性执行，
+ * 因此短时间内同一个字典类型的大量更新只会产生很少的存储写入。
+ * </p>
+ * <p>
+ * 提交更新的线程（通常是事件线程）只执行一轮合并后的更新，执行期间其他线程提交的更新交给专用的有界线程池继续执行，
+ * 因此频繁更新的热点字典类型不会长时间占用事件线程；专用线程池已满或者已经关闭时，在当前线程继续执行，不会丢失更新。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+class DictTypeUpdateExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(DictTypeUpdateExecutor.class);
+    /**
+     * 每个字典类型的更新队列，键为字典类型代码
+     */
+    private final ConcurrentHashMap<String, TypeQueue> queues = new ConcurrentHashMap<>();
+    /**
+     * 专用线程池的最大线程数
+     */
+    private static final int DRAIN_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+    /**
+     * 专用线程池的等待队列容量
+     */
+    private static final int DRAIN_QUEUE_CAPACITY = 1024;
+    /**
+     * 继续执行更新的专用线程池，第一次需要时创建
+     */
+    private ThreadPoolExecutor drainExecutor;
+    /**
+     * 是否已经关闭
+     */
+    private boolean shutdown;
+    /**
+     * 执行一个字典类型合并后的更新
+     */
+    private final Consumer<TypeUpdate> applier;
+    /**
+     * 提交的更新数量
+     */
+    private final AtomicLong submitted = new AtomicLong();
+    /**
+     * 合并后实际执行的更新数量
+     */
+    private final AtomicLong applied = new AtomicLong();
+    /**
+     * 交给专用线程池继续执行的次数
+     */
+    private final AtomicLong handOffs = new AtomicLong();
+
+    /**
+     * 创建字典值更新执行器
+     *
+     * @param applier 执行一个字典类型合并后的更新
+     */
+    DictTypeUpdateExecutor(final Consumer<TypeUpdate> applier) {
+        this.applier = applier;
+    }
+
+    /**
+     * 提交一个字典类型的字典值更新
+     *
+     * @param dictType       字典类型代码
+     * @param values         字典值列表（字典文本为 null 表示删除字典值）
+     * @param updateDictType 是否维护字典类型对象的字典值列表
+     * @param removeDictType 维护字典类型对象时，没有字典值列表时是否删除字典类型
+     */
+    void submit(final String dictType, final Collection<DictValue> values, final boolean updateDictType, final boolean removeDictType) {
+        final TypeUpdate update = new TypeUpdate(dictType);
+        update.merge(values, updateDictType, removeDictType);
+        submit(update);
+    }
+
+    /**
+     * 提交一个字典类型已经合并的字典值更新
+     *
+     * @param update 字典类型合并后的字典值更新
+     */
+    void submit(final TypeUpdate update) {
+        submitted.incrementAndGet();
+        while (true) {
+            final TypeQueue queue = queues.computeIfAbsent(update.getDictType(), TypeQueue::new);
+            final boolean schedule;
+            synchronized (queue) {
+                if (queue.removed) {
+                    // 该队列已经执行完成并被移除，重新获取一个新的队列
+                    continue;
+                }
+                queue.merge(update);
+                schedule = !queue.scheduled;
+                queue.scheduled = true;
+            }
+            if (schedule) {
+                drain(queue);
+            }
+            return;
+        }
+    }
+
+    /**
+     * 执行一个字典类型的待执行更新
+     * <p>
+     * 每执行一轮合并后的更新，如果队列中还有新提交的更新，则交给专用线程池继续执行，当前线程返回。
+     * </p>
+     *
+     * @param queue 字典类型的更新队列
+     */
+    private void drain(final TypeQueue queue) {
+        while (true) {
+            final TypeUpdate update;
+            synchronized (queue) {
+                update = queue.take();
+                if (update == null) {
+                    queue.scheduled = false;
+                    queue.removed = true;
+                    queues.remove(queue.dictType, queue);
+                    return;
+                }
+            }
+            applied.incrementAndGet();
+            try {
+                applier.accept(update);
+            } catch (RuntimeException e) {
+                logger.error("字典类型 {} 更新字典值失败", update.getDictType(), e);
+            }
+            if (handOff(queue)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 队列中还有待执行的更新时，交给专用线程池继续执行
+     *
+     * @param queue 字典类型的更新队列
+     * @return 是否已经交给专用线程池；返回 false 时由当前线程继续执行
+     */
+    private boolean handOff(final TypeQueue queue) {
+        synchronized (queue) {
+            if (queue.pending == null) {
+                return false;
+            }
+        }
+        final ThreadPoolExecutor executor = getDrainExecutor();
+        if (executor == null) {
+            return false;
+        }
+        try {
+            executor.execute(() -> drain(queue));
+            handOffs.incrementAndGet();
+            return true;
+        } catch (RejectedExecutionException e) {
+            // 专用线程池已满或者已经关闭，在当前线程继续执行
+            return false;
+        }
+    }
+
+    /**
+     * 获取继续执行更新的专用线程池
+     *
+     * @return 专用线程池，已经关闭时返回 null
+     */
+    private synchronized ThreadPoolExecutor getDrainExecutor() {
+        if (shutdown) {
+            return null;
+        }
+        if (drainExecutor == null) {
+            drainExecutor = DictExecutors.newBoundedExecutor("dict-type-update-", DRAIN_THREADS, DRAIN_QUEUE_CAPACITY,
+                    false, new ThreadPoolExecutor.AbortPolicy());
+        }
+        return drainExecutor;
+    }
+
+    /**
+     * 关闭专用线程池，并在超时时间内等待已经交给专用线程池的更新执行完成
+     *
+     * @param timeout 等待超时时间（毫秒）
+     */
+    void shutdown(final long timeout) {
+        final ThreadPoolExecutor executor;
+        synchronized (this) {
+            shutdown = true;
+            executor = drainExecutor;
+            drainExecutor = null;
+        }
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeout, TimeUnit.MILLISECONDS)) {
+                logger.warn("等待字典值更新执行完成超时，剩余的更新将被丢弃");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 获取执行器的运行指标
+     *
+     * @return 运行指标
+     */
+    Map<String, Object> getMetrics() {
+        final Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("pendingTypes", queues.size());
+        metrics.put("submitted", submitted.get());
+        metrics.put("applied", applied.get());
+        metrics.put("handOffs", handOffs.get());
+        return metrics;
+    }
+
+    /**
+     * 一个字典类型的更新队列
+     */
+    private static class TypeQueue {
+        private final String dictType;
+        /**
+         * 是否已经提交了执行任务
+         */
+        private boolean scheduled;
+        /**
+         * 是否已经从队列集合中移除
+         */
+        private boolean removed;
+        /**
+         * 合并后的待执行更新
+         */
+        private TypeUpdate pending;
+
+        private TypeQueue(final String dictType) {
+            this.dictType = dictType;
+        }
+
+        private void merge(final TypeUpdate update) {
+            if (pending == null) {
+                pending = update;
+            } else {
+                pending.merge(update);
+            }
+        }
+
+        private TypeUpdate take() {
+            final TypeUpdate update = pending;
+            pending = null;
+            return update;
+        }
+    }
+
+    /**
+     * 一个字典类型合并后的更新
+     */
+    @Getter
+    static class TypeUpdate {
+        /**
+         * 字典类型代码
+         */
+        private final String dictType;
+        /**
+         * 需要写入存储对象的字典值，键为字典值，同一个字典值后提交的覆盖先提交的
+         */
+        private final Map<String, DictValue> values = new LinkedHashMap<>();
+        /**
+         * 需要维护到字典类型对象中的字典值，键为字典值
+         */
+        private final Map<String, DictValue> typeValues = new LinkedHashMap<>();
+        /**
+         * 维护字典类型对象时，没有字典值列表时是否删除字典类型
+         */
+        private boolean removeDictType;
+        /**
+         * 是否需要维护字典类型对象
+         */
+        private boolean updateDictType;
+        /**
+         * 合并的更新次数
+         */
+        private int merged;
+
+        TypeUpdate(final String dictType) {
+            this.dictType = dictType;
+        }
+
+        void merge(final Collection<DictValue> valueVos, final boolean updateDictType, final boolean removeDictType) {
+            merged++;
+            for (final DictValue valueVo : valueVos) {
+                final String key = DictContentDigest.valueKey(valueVo);
+                values.put(key, valueVo);
+                if (updateDictType) {
+                    typeValues.put(key, valueVo);
+                }
+            }
+            if (updateDictType) {
+                this.updateDictType = true;
+                this.removeDictType = removeDictType;
+            }
+        }
+
+        void merge(final TypeUpdate update) {
+            merged += update.merged;
+            values.putAll(update.values);
+            typeValues.putAll(update.typeValues);
+            if (update.updateDictType) {
+                this.updateDictType = true;
+                this.removeDictType = update.removeDictType;
+            }
+        }
+    }
+}
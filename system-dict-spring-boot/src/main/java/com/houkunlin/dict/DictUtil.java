@@ -1,6 +1,7 @@
 package com.houkunlin.dict;
 
 import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.houkunlin.dict.annotation.DictText;
 import com.houkunlin.dict.bean.DictType;
 import com.houkunlin.dict.bean.DictValue;
@@ -13,6 +14,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.ReflectionUtils;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -43,6 +45,12 @@ public class DictUtil {
      * 手动处理含有字典注解的对象，对象可能需要动态生成字典，缓存对应的子类对象信息
      */
     private static final Map<Class<?>, Class<?>> TRANSFORM_CACHE = new ConcurrentHashMap<>();
+    /**
+     * 手动处理含有字典注解的对象时使用的转换计划，每个对象类型只创建一次
+     *
+     * @since 2.2.0
+     */
+    private static final Map<Class<?>, TransformPlan> TRANSFORM_PLANS = new ConcurrentHashMap<>();
     /**
      * 字典类型缓存键前缀
      * <p>用于构建字典类型在缓存中的键，格式为：dict:t:{type}
@@ -65,6 +73,13 @@ public class DictUtil {
      * @since 1.4.6
      */
     public static String PARENT_PREFIX = DictPropertiesStorePrefixKey.PARENT_PREFIX;
+    /**
+     * 字典类型内容摘要缓存键
+     * <p>用于记录每个字典类型最近一次刷新写入的内容摘要，格式为 Hash 结构：dict:digest {type} {digest}
+     *
+     * @since 2.2.0
+     */
+    public static String DIGEST_KEY = DictPropertiesStorePrefixKey.DIGEST_KEY;
     /**
      * 字典注册器
      * <p>负责管理字典提供者和刷新字典数据
@@ -83,12 +98,14 @@ public class DictUtil {
      * 注册字典值序列化器工厂。
      * <p>
      * 由各版本 Starter 在启动时调用，向 {@link DictUtil} 注册当前版本（Jackson2/Jackson3）的序列化器工厂实现。
+     * 注册后清空已创建的转换计划，转换计划中的序列化器重新通过新的序列化器工厂创建。
      * </p>
      *
      * @param factory 序列化器工厂
      */
     public static void setSerializerFactory(final DictValueSerializerFactory factory) {
         DictUtil.serializerFactory = factory;
+        TRANSFORM_PLANS.clear();
     }
 
     /**
@@ -111,6 +128,33 @@ public class DictUtil {
      * <p>在有效期内同一个字典值未命中指定次数将快速返回，不再重复请求获取数据字典信息
      */
     private static int missNum = Integer.MAX_VALUE;
+    /**
+     * 字典租户解析器
+     * <p>存在时先读取当前租户的字典，再读取共享的字典
+     *
+     * @since 2.2.0
+     */
+    private static DictTenantResolver tenantResolver;
+    /**
+     * 缓存工厂
+     * <p>用于为每个租户创建独立的字典文本缓存
+     *
+     * @since 2.2.0
+     */
+    private static DictCacheFactory cacheFactory;
+    /**
+     * 每个租户的字典文本缓存，键为租户标识
+     *
+     * @since 2.2.0
+     */
+    private static Cache<String, TenantCache> tenantCaches;
+    /**
+     * 字典值集合缓存
+     * <p>缓存字典类型下所有字典值的字符串形式，用于字典值校验，与字典文本缓存相互独立。键为字典类型代码（租户的字典类型代码为 {@code 租户标识@字典类型代码}）
+     *
+     * @since 2.2.0
+     */
+    private static Cache<String, Set<String>> valueSetCache;
 
     /**
      * DictUtil 构造方法
@@ -126,9 +170,26 @@ public class DictUtil {
     public DictUtil(final DictRegistrar dictRegistrar, final DictStore store, final DictCacheFactory cacheFactory) {
         DictUtil.dictRegistrar = dictRegistrar;
         DictUtil.store = store;
+        DictUtil.cacheFactory = cacheFactory;
         cache = cacheFactory.build("dict-text");
         missCache = cacheFactory.build("dict-number-of-miss");
+        valueSetCache = cacheFactory.build("dict-value-set");
         missNum = cacheFactory.getDictProperties().getCache().getMissNum();
+        tenantCaches = Caffeine.newBuilder().maximumSize(cacheFactory.getDictProperties().getTenant().getMaxTenants()).build();
+    }
+
+    /**
+     * 设置字典租户解析器
+     * <p>
+     * 设置后字典翻译先读取当前租户的字典（字典类型代码为 {@code 租户标识@字典类型代码}），
+     * 租户字典中不存在时再读取共享的字典。设置为 null 时只读取共享的字典。
+     * </p>
+     *
+     * @param tenantResolver 字典租户解析器
+     * @since 2.2.0
+     */
+    public static void setTenantResolver(final DictTenantResolver tenantResolver) {
+        DictUtil.tenantResolver = tenantResolver;
     }
 
     /**
@@ -205,6 +266,7 @@ public class DictUtil {
         VALUE_PREFIX = properties.getValuePrefix();
         PARENT_PREFIX = properties.getParentPrefix();
         TYPE_SYSTEM_PREFIX = properties.getTypeSystemPrefix();
+        DIGEST_KEY = properties.getDigestKey();
     }
 
     /**
@@ -222,6 +284,17 @@ public class DictUtil {
         if (type == null || store == null) {
             return null;
         }
+        awaitReady();
+        final String tenant = currentTenant();
+        if (tenant != null) {
+            final String tenantType = DictTenantResolver.tenantDictType(tenant, type);
+            ensureDictType(tenantType);
+            final DictType dictType = store.getDictType(tenantType);
+            if (dictType != null) {
+                return dictType;
+            }
+        }
+        ensureDictType(type);
         return store.getDictType(type);
     }
 
@@ -236,6 +309,7 @@ public class DictUtil {
      * 4. 如果缓存未命中，检查未命中次数是否超过阈值
      * 5. 如果未超过阈值，从存储中获取并更新缓存
      * 6. 返回获取到的字典文本或 null
+     * 设置了字典租户解析器并且存在当前租户时，先使用该租户的缓存读取该租户的字典，没有找到时再读取共享的字典。
      * </p>
      *
      * @param type  字典类型代码
@@ -246,6 +320,30 @@ public class DictUtil {
         if (type == null || value == null || store == null) {
             return null;
         }
+        awaitReady();
+        final String tenant = currentTenant();
+        if (tenant != null) {
+            final TenantCache tenantCache = tenantCache(tenant);
+            final String dictText = getDictText(DictTenantResolver.tenantDictType(tenant, type), value, tenantCache.cache, tenantCache.missCache);
+            if (dictText != null) {
+                return dictText;
+            }
+        }
+        return getDictText(type, value, cache, missCache);
+    }
+
+    /**
+     * 使用指定的缓存获取字典文本
+     *
+     * @param type      字典类型代码
+     * @param value     字典值
+     * @param cache     字典文本缓存
+     * @param missCache 字典值未命中缓存
+     * @return 字典文本
+     * @since 2.2.0
+     */
+    private static String getDictText(final String type, final String value, final Cache<String, String> cache, final Cache<String, AtomicInteger> missCache) {
+        ensureDictType(type);
         if (cache == null || missCache == null) {
             return store.getDictText(type, value);
         }
@@ -280,6 +378,7 @@ public class DictUtil {
      * 4. 如果缓存未命中，检查未命中次数是否超过阈值
      * 5. 如果未超过阈值，从存储中获取并更新缓存
      * 6. 返回获取到的父级值或 null
+     * 设置了字典租户解析器并且存在当前租户时，先使用该租户的缓存读取该租户的字典，没有找到时再读取共享的字典。
      * </p>
      *
      * @param type  字典类型代码
@@ -291,6 +390,30 @@ public class DictUtil {
         if (type == null || value == null || store == null) {
             return null;
         }
+        awaitReady();
+        final String tenant = currentTenant();
+        if (tenant != null) {
+            final TenantCache tenantCache = tenantCache(tenant);
+            final String parentValue = getDictParentValue(DictTenantResolver.tenantDictType(tenant, type), value, tenantCache.cache, tenantCache.missCache);
+            if (parentValue != null) {
+                return parentValue;
+            }
+        }
+        return getDictParentValue(type, value, cache, missCache);
+    }
+
+    /**
+     * 使用指定的缓存获取字典父级值
+     *
+     * @param type      字典类型代码
+     * @param value     字典值
+     * @param cache     字典文本缓存
+     * @param missCache 字典值未命中缓存
+     * @return 字典父级值
+     * @since 2.2.0
+     */
+    private static String getDictParentValue(final String type, final String value, final Cache<String, String> cache, final Cache<String, AtomicInteger> missCache) {
+        ensureDictType(type);
         if (cache == null || missCache == null) {
             return store.getDictParentValue(type, value);
         }
@@ -314,6 +437,260 @@ public class DictUtil {
         return parentValue;
     }
 
+    /**
+     * 判断字典值是否为字典类型中存在的字典值
+     *
+     * @param type  字典类型代码
+     * @param value 字典值
+     * @return 是否存在该字典值
+     * @see #containsDictValues(String, Iterable)
+     * @since 2.2.0
+     */
+    public static boolean containsDictValue(String type, String value) {
+        return containsDictValues(type, Collections.singletonList(value));
+    }
+
+    /**
+     * 判断一组字典值是否都是字典类型中存在的字典值
+     * <p>
+     * 第一次校验一个字典类型时读取该字典类型对象，把所有字典值的字符串形式放入一个集合并缓存起来（缓存名称为 {@code dict-value-set}，与字典文本缓存相互独立），
+     * 之后每个字典值只需要在集合中查找一次，不需要逐个读取字典文本。
+     * 在集合中没有找到的字典值（例如存储对象没有保存字典类型对象、增量写入的字典值还没有更新到字典类型对象中）再通过 {@link #getDictText(String, String)} 确认，
+     * 因此校验结果与逐个读取字典文本的结果一致。
+     * 设置了字典租户解析器并且存在当前租户时，字典值存在于该租户的字典或者共享的字典中都视为存在。
+     * </p>
+     *
+     * @param type   字典类型代码
+     * @param values 字典值
+     * @return 是否所有字典值都存在，字典值中有 null 时返回 false，没有字典值时返回 true
+     * @since 2.2.0
+     */
+    public static boolean containsDictValues(String type, Iterable<String> values) {
+        if (type == null || values == null || store == null) {
+            return false;
+        }
+        awaitReady();
+        final String tenant = currentTenant();
+        final Set<String> tenantValues = tenant == null ? Collections.emptySet() : getDictValueSet(DictTenantResolver.tenantDictType(tenant, type));
+        final Set<String> sharedValues = getDictValueSet(type);
+        for (final String value : values) {
+            if (value == null) {
+                return false;
+            }
+            if (tenantValues.contains(value) || sharedValues.contains(value)) {
+                continue;
+            }
+            if (getDictText(type, value) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 获取一个字典类型下所有字典值的字符串形式，缓存未启用时每次都从存储对象读取
+     *
+     * @param type 字典类型代码
+     * @return 字典值集合，存储对象中没有该字典类型对象时返回空集合
+     * @since 2.2.0
+     */
+    private static Set<String> getDictValueSet(final String type) {
+        final Cache<String, Set<String>> cache = valueSetCache;
+        return cache == null ? loadDictValueSet(type) : cache.get(type, DictUtil::loadDictValueSet);
+    }
+
+    /**
+     * 从存储对象读取字典类型对象，创建字典值集合
+     *
+     * @param type 字典类型代码
+     * @return 字典值集合
+     * @since 2.2.0
+     */
+    private static Set<String> loadDictValueSet(final String type) {
+        ensureDictType(type);
+        final DictType dictType = store.getDictType(type);
+        final List<DictValue> children = dictType == null ? null : dictType.getChildren();
+        if (children == null || children.isEmpty()) {
+            return Collections.emptySet();
+        }
+        final Set<String> values = new HashSet<>(children.size() * 2);
+        for (final DictValue child : children) {
+            if (child.getValue() != null) {
+                values.add(child.getValue().toString());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 清空指定字典类型的字典值集合缓存
+     *
+     * @param dictTypes 字典类型代码
+     * @since 2.2.0
+     */
+    static void invalidateDictValueSets(final Collection<String> dictTypes) {
+        final Cache<String, Set<String>> cache = valueSetCache;
+        if (cache != null) {
+            cache.invalidateAll(dictTypes);
+        }
+    }
+
+    /**
+     * 清空当前实例中一个字典类型的字典文本缓存、未命中计数缓存和字典值集合缓存，其他字典类型的缓存不受影响
+     *
+     * @param dictType 字典类型代码（租户的字典类型代码会清空该租户的缓存）
+     * @since 2.2.0
+     */
+    static void invalidateDictType(final String dictType) {
+        final String tenant = DictTenantResolver.tenantOf(dictType);
+        if (tenant == null) {
+            invalidateDictType(dictType, cache, missCache);
+        } else if (tenantCaches != null) {
+            final TenantCache tenantCache = tenantCaches.getIfPresent(tenant);
+            if (tenantCache != null) {
+                invalidateDictType(dictType, tenantCache.cache, tenantCache.missCache);
+            }
+        }
+        invalidateDictValueSets(Collections.singleton(dictType));
+    }
+
+    private static void invalidateDictType(final String dictType, final Cache<String, String> cache, final Cache<String, AtomicInteger> missCache) {
+        final String valuePrefix = dictKey(dictType, "");
+        final String parentPrefix = dictParentKey(dictType, "");
+        if (cache != null) {
+            cache.asMap().keySet().removeIf(key -> key.startsWith(valuePrefix) || key.startsWith(parentPrefix));
+        }
+        if (missCache != null) {
+            missCache.asMap().keySet().removeIf(key -> key.startsWith(valuePrefix) || key.startsWith(parentPrefix));
+        }
+    }
+
+    /**
+     * 清空 DictUtil 的字典文本缓存、未命中计数缓存和字典值集合缓存，以及字典存储对象内部的缓存（例如远程字典结果缓存）
+     * <p>
+     * 字典数据发生批量变化（例如启动时异步加载字典数据完成）后调用，避免继续返回缓存中的旧数据或者因为未命中次数过多而直接返回 null。
+     * </p>
+     *
+     * @since 2.2.0
+     */
+    public static void invalidateCache() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+        if (missCache != null) {
+            missCache.invalidateAll();
+        }
+        if (tenantCaches != null) {
+            tenantCaches.invalidateAll();
+        }
+        if (valueSetCache != null) {
+            valueSetCache.invalidateAll();
+        }
+        final DictStore dictStore = store;
+        if (dictStore != null) {
+            dictStore.invalidateCache();
+        }
+    }
+
+    /**
+     * 清空一个租户的字典文本缓存、未命中计数缓存和字典值集合缓存，其他租户、共享字典的缓存不受影响
+     *
+     * @param tenant 租户标识，null 表示清空共享字典的缓存
+     * @since 2.2.0
+     */
+    public static void invalidateCache(final String tenant) {
+        if (tenant != null) {
+            if (tenantCaches != null) {
+                tenantCaches.invalidate(tenant);
+            }
+            if (valueSetCache != null) {
+                valueSetCache.asMap().keySet().removeIf(key -> tenant.equals(DictTenantResolver.tenantOf(key)));
+            }
+            return;
+        }
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+        if (missCache != null) {
+            missCache.invalidateAll();
+        }
+        if (valueSetCache != null) {
+            valueSetCache.asMap().keySet().removeIf(key -> DictTenantResolver.tenantOf(key) == null);
+        }
+        final DictStore dictStore = store;
+        if (dictStore != null) {
+            dictStore.invalidateCache();
+        }
+    }
+
+    /**
+     * 是否为租户字典的字典类型代码（{@code 租户标识@字典类型代码}）
+     * <p>
+     * 只在设置了字典租户解析器时判断。字典存储对象中不存在租户字典时不会调用 {@code RemoteDict}，
+     * 否则当前租户没有的每个字典类型都会先发起一次远程请求，再读取共享的字典。
+     * </p>
+     *
+     * @param type 字典类型代码
+     * @return 是否为租户字典的字典类型代码
+     * @since 2.2.0
+     */
+    public static boolean isTenantDictType(final String type) {
+        return tenantResolver != null && DictTenantResolver.tenantOf(type) != null;
+    }
+
+    /**
+     * 获取当前租户标识
+     *
+     * @return 当前租户标识，没有设置字典租户解析器或者没有当前租户时返回 null
+     * @since 2.2.0
+     */
+    private static String currentTenant() {
+        final DictTenantResolver resolver = tenantResolver;
+        return resolver == null ? null : resolver.getTenant();
+    }
+
+    /**
+     * 获取一个租户的字典文本缓存，不存在时使用缓存工厂创建（缓存名称为 {@code dict-text@租户标识}、{@code dict-number-of-miss@租户标识}）
+     *
+     * @param tenant 租户标识
+     * @return 租户的字典文本缓存
+     * @since 2.2.0
+     */
+    private static TenantCache tenantCache(final String tenant) {
+        final DictCacheFactory factory = cacheFactory;
+        if (factory == null || tenantCaches == null) {
+            return TenantCache.NONE;
+        }
+        return tenantCaches.get(tenant, key -> new TenantCache(
+                factory.build(DictTenantResolver.tenantDictType(key, "dict-text")),
+                factory.build(DictTenantResolver.tenantDictType(key, "dict-number-of-miss"))));
+    }
+
+    /**
+     * 启动时异步加载字典数据尚未完成时，根据配置的策略等待字典数据加载完成
+     *
+     * @since 2.2.0
+     */
+    private static void awaitReady() {
+        final DictRegistrar registrar = dictRegistrar;
+        if (registrar != null && !registrar.isReady()) {
+            registrar.awaitReady();
+        }
+    }
+
+    /**
+     * 读取字典类型之前确保懒加载的字典类型已经加载
+     *
+     * @param type 字典类型代码
+     * @since 2.2.0
+     */
+    private static void ensureDictType(final String type) {
+        final DictRegistrar registrar = dictRegistrar;
+        if (registrar != null) {
+            registrar.ensureDictType(type);
+        }
+    }
+
     /**
      * 构建字典类型缓存键
      * <p>
@@ -476,9 +853,13 @@ public class DictUtil {
      * @since 1.4.9
      */
     public static <T> List<T> transform(List<T> objects) {
-        final List<T> result = new ArrayList<>();
+        final List<T> result = new ArrayList<>(objects.size());
+        TransformPlan plan = null;
         for (final T object : objects) {
-            result.add(transform(object));
+            if (plan == null || plan.objectClass != object.getClass()) {
+                plan = transformPlan(object.getClass());
+            }
+            result.add(plan.transform(object));
         }
         return result;
     }
@@ -497,6 +878,7 @@ public class DictUtil {
      *     <li>方式一：字段使用 Object 类型，然后注解设置 {@link DictText#replace()} 替换字段值</li>
      *     <li>方式二：明确硬编码所有字典文本字段</li>
      * </ul>
+     * <p>每个对象类型第一次处理时创建转换计划（含有字典注解的字段、字段的序列化器、字典文本的输出字段），之后直接按转换计划处理。</p>
      *
      * @param object
      * @param <T>
@@ -504,126 +886,240 @@ public class DictUtil {
      * @since 1.4.9
      */
     public static <T> T transform(T object) {
-        final Class<?> objectClass = object.getClass();
-        final Field[] fields = objectClass.getDeclaredFields();
-        final Map<Field, DictText> cache = new HashMap<>();
-        final Map<String, Object> newFields = new HashMap<>();
-        for (final Field field : fields) {
-            ReflectionUtils.makeAccessible(field);
-            final DictValueSerializer jsonSerializer = serializerFactory.getDictTextValueSerializer(objectClass, field);
-            if (jsonSerializer == null) {
-                continue;
-            }
-            final Object serialize;
-            try {
-                serialize = jsonSerializer.transformFieldValue(object, field.get(object));
-            } catch (IllegalAccessException e) {
-                throw new RuntimeException("无法获取对象字段值", e);
-            }
-            if (jsonSerializer.isUseReplaceFieldValue()) {
-                setFieldValue(object, field, serialize);
-            } else {
-                final String outFieldName = jsonSerializer.getOutputFieldName();
-                if (!setDictText(object, fields, outFieldName, serialize)) {
-                    // 设置字典文本值失败，这个类需要建立子类，然后在子类中加入此字段
-                    // 动态生成 T 对象继承类，在继承类中添加 outFieldName 字段
-                    newFields.put(outFieldName, serialize);
-                }
-            }
-        }
+        return transformPlan(object.getClass()).transform(object);
+    }
 
-        if (newFields.isEmpty()) {
-            return object;
+    /**
+     * 获取一个对象类型的转换计划，第一次获取时创建
+     *
+     * @param objectClass 对象类型
+     * @return 转换计划
+     * @since 2.2.0
+     */
+    private static TransformPlan transformPlan(final Class<?> objectClass) {
+        final TransformPlan plan = TRANSFORM_PLANS.get(objectClass);
+        if (plan != null) {
+            return plan;
         }
-        return transformChild(objectClass, fields, object, newFields);
+        return TRANSFORM_PLANS.computeIfAbsent(objectClass, TransformPlan::new);
     }
 
     /**
-     * 设置子类对象的字典文本值
+     * 通过反射设置字段值
      *
-     * @param objectClass 父类对象类型
-     * @param fields      父类对象字段
-     * @param object      父类对象
-     * @param newFields   子类对象字段
-     * @param <T>         父类对象类型
-     * @return 子类对象实例
+     * @param object 对象
+     * @param field  字段
+     * @param value  字段值
+     * @return 是否设置成功
      * @since 1.4.9
      */
-    private static <T> T transformChild(final Class<?> objectClass, final Field[] fields, final T object, final Map<String, Object> newFields) {
-        final T newObject;
-        final Class<?> newObjectClass;
+    private static boolean setFieldValue(final Object object, final Field field, final Object value) {
+        ReflectionUtils.makeAccessible(field);
         try {
-            if (TRANSFORM_CACHE.containsKey(objectClass)) {
-                // 从缓存中获取子类对象
-                newObjectClass = TRANSFORM_CACHE.get(objectClass);
-            } else {
-                // 动态生成 T 对象继承类，在继承类中添加 outFieldName 字段
-                newObjectClass = DictChildrenObjectGenerator.newClass(objectClass, newFields.keySet());
-                TRANSFORM_CACHE.put(objectClass, newObjectClass);
+            field.set(object, value);
+        } catch (IllegalAccessException e) {
+            logger.warn("给 {}#{} 字段设置字典文本值失败", object.getClass().getName(), field.getName());
+            logger.error("设置字典文本值失败", e);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 一个对象类型的转换计划
+     * <p>
+     * 创建时读取对象类型的所有字段，为含有字典注解的字段创建序列化器，并找到字典文本的输出字段；
+     * 需要动态生成子类时，第一次生成子类后记录子类的构造方法和新增字段。转换计划可以在多个线程中同时使用。
+     * </p>
+     *
+     * @since 2.2.0
+     */
+    private static class TransformPlan {
+        private final Class<?> objectClass;
+        /**
+         * 对象类型的所有字段
+         */
+        private final Field[] fields;
+        /**
+         * 含有字典注解的字段
+         */
+        private final TransformField[] dictFields;
+        /**
+         * 动态生成的子类，第一次需要生成子类时创建
+         */
+        private volatile TransformChild child;
+
+        private TransformPlan(final Class<?> objectClass) {
+            this.objectClass = objectClass;
+            this.fields = objectClass.getDeclaredFields();
+            final List<TransformField> list = new ArrayList<>();
+            for (final Field field : fields) {
+                ReflectionUtils.makeAccessible(field);
+                final DictValueSerializer serializer = serializerFactory.getDictTextValueSerializer(objectClass, field);
+                if (serializer != null) {
+                    list.add(new TransformField(field, serializer, serializer.isUseReplaceFieldValue() ? null : findField(fields, serializer.getOutputFieldName())));
+                }
             }
-            newObject = (T) newObjectClass.getConstructor().newInstance();
-        } catch (Exception e) {
-            throw new RuntimeException("转换字典文本失败，无法创建对象子类", e);
+            this.dictFields = list.toArray(new TransformField[0]);
         }
-        // 从原始对象复制属性值到新对象（子类对象）
-        for (final Field field : fields) {
-            try {
-                field.set(newObject, field.get(object));
-            } catch (IllegalAccessException e) {
-                throw new RuntimeException("无法给子类设置字段值", e);
+
+        private static Field findField(final Field[] fields, final String fieldName) {
+            for (final Field field : fields) {
+                if (field.getName().equals(fieldName)) {
+                    return field;
+                }
             }
+            return null;
+        }
+
+        /**
+         * 按转换计划处理一个对象
+         *
+         * @param object 对象
+         * @param <T>    对象类型
+         * @return 字典处理后的对象
+         */
+        private <T> T transform(final T object) {
+            Map<String, Object> newFields = null;
+            for (final TransformField dictField : dictFields) {
+                final Object serialize;
+                try {
+                    serialize = dictField.serializer.transformFieldValue(object, dictField.field.get(object));
+                } catch (IllegalAccessException e) {
+                    throw new RuntimeException("无法获取对象字段值", e);
+                }
+                if (dictField.replace) {
+                    setFieldValue(object, dictField.field, serialize);
+                } else if (dictField.outputField == null || !setFieldValue(object, dictField.outputField, serialize)) {
+                    // 设置字典文本值失败，这个类需要建立子类，然后在子类中加入此字段
+                    if (newFields == null) {
+                        newFields = new HashMap<>();
+                    }
+                    newFields.put(dictField.outputFieldName, serialize);
+                }
+            }
+            if (newFields == null) {
+                return object;
+            }
+            return transformChild(object, newFields);
         }
-        // 设置新对象的字典文本值
-        newFields.forEach((fieldName, value) -> {
+
+        /**
+         * 创建子类对象，复制原始对象的字段值并设置子类对象的字典文本值
+         *
+         * @param object    原始对象
+         * @param newFields 子类对象字段
+         * @param <T>       对象类型
+         * @return 子类对象实例
+         */
+        @SuppressWarnings("unchecked")
+        private <T> T transformChild(final T object, final Map<String, Object> newFields) {
+            final T newObject;
+            TransformChild transformChild = child;
             try {
-                final Field field = newObjectClass.getDeclaredField(fieldName);
-                ReflectionUtils.makeAccessible(field);
-                field.set(newObject, value);
-            } catch (NoSuchFieldException | IllegalAccessException e) {
-                throw new RuntimeException(e);
+                if (transformChild == null) {
+                    transformChild = new TransformChild(TRANSFORM_CACHE.computeIfAbsent(objectClass, key -> {
+                        // 动态生成 T 对象继承类，在继承类中添加 outFieldName 字段
+                        try {
+                            return DictChildrenObjectGenerator.newClass(key, newFields.keySet());
+                        } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                        }
+                    }));
+                    child = transformChild;
+                }
+                newObject = (T) transformChild.constructor.newInstance();
+            } catch (Exception e) {
+                throw new RuntimeException("转换字典文本失败，无法创建对象子类", e);
+            }
+            // 从原始对象复制属性值到新对象（子类对象）
+            for (final Field field : fields) {
+                try {
+                    field.set(newObject, field.get(object));
+                } catch (IllegalAccessException e) {
+                    throw new RuntimeException("无法给子类设置字段值", e);
+                }
+            }
+            // 设置新对象的字典文本值
+            for (final Map.Entry<String, Object> entry : newFields.entrySet()) {
+                final Field field = transformChild.fields.get(entry.getKey());
+                if (field == null) {
+                    throw new RuntimeException(new NoSuchFieldException(entry.getKey()));
+                }
+                try {
+                    field.set(newObject, entry.getValue());
+                } catch (IllegalAccessException e) {
+                    throw new RuntimeException(e);
+                }
             }
-        });
+            return newObject;
+        }
+    }
+
+    /**
+     * 转换计划中一个含有字典注解的字段
+     *
+     * @since 2.2.0
+     */
+    private static class TransformField {
+        private final Field field;
+        private final DictValueSerializer serializer;
+        /**
+         * 是否使用字典文本替换字段值
+         */
+        private final boolean replace;
+        private final String outputFieldName;
+        /**
+         * 对象类型中的字典文本输出字段，不存在时为 null（需要动态生成子类）
+         */
+        private final Field outputField;
 
-        return newObject;
+        private TransformField(final Field field, final DictValueSerializer serializer, final Field outputField) {
+            this.field = field;
+            this.serializer = serializer;
+            this.replace = serializer.isUseReplaceFieldValue();
+            this.outputFieldName = serializer.getOutputFieldName();
+            this.outputField = outputField;
+        }
     }
 
     /**
-     * 通过反射设置字典文本值
+     * 转换计划中动态生成的子类
      *
-     * @param object    对象
-     * @param fields    对象字段列表
-     * @param fieldName 字典文本字段名称
-     * @param value     字典文本（可能是字符串，也有可能是数组）
-     * @return 是否设置成功
-     * @since 1.4.9
+     * @since 2.2.0
      */
-    private static boolean setDictText(final Object object, final Field[] fields, final String fieldName, final Object value) {
-        for (final Field field : fields) {
-            if (field.getName().equals(fieldName)) {
-                return setFieldValue(object, field, value);
+    private static class TransformChild {
+        private final Constructor<?> constructor;
+        /**
+         * 子类中新增的字段，键为字段名称
+         */
+        private final Map<String, Field> fields = new HashMap<>();
+
+        private TransformChild(final Class<?> childClass) throws NoSuchMethodException {
+            this.constructor = childClass.getConstructor();
+            for (final Field field : childClass.getDeclaredFields()) {
+                ReflectionUtils.makeAccessible(field);
+                fields.put(field.getName(), field);
             }
         }
-        return false;
     }
 
     /**
-     * 通过反射设置字段值
+     * 一个租户的字典文本缓存
      *
-     * @param object 对象
-     * @param field  字段
-     * @param value  字段值
-     * @return 是否设置成功
-     * @since 1.4.9
+     * @since 2.2.0
      */
-    private static boolean setFieldValue(final Object object, final Field field, final Object value) {
-        ReflectionUtils.makeAccessible(field);
-        try {
-            field.set(object, value);
-        } catch (IllegalAccessException e) {
-            logger.warn("给 {}#{} 字段设置字典文本值失败", object.getClass().getName(), field.getName());
-            logger.error("设置字典文本值失败", e);
-            return false;
+    private static class TenantCache {
+        /**
+         * 没有缓存工厂时使用的空缓存，直接读取存储对象
+         */
+        private static final TenantCache NONE = new TenantCache(null, null);
+        private final Cache<String, String> cache;
+        private final Cache<String, AtomicInteger> missCache;
+
+        private TenantCache(final Cache<String, String> cache, final Cache<String, AtomicInteger> missCache) {
+            this.cache = cache;
+            this.missCache = missCache;
         }
-        return true;
     }
 }
@@ -0,0 +1,177 @@
+package com.houkunlin.dict;
+
+import com.houkunlin.dict.bean.DictValue;
+import com.houkunlin.dict.properties.DictProperties;
+import com.houkunlin.dict.properties.DictPropertiesEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 字典值事件合并器
+ * <p>
+ * 在合并窗口内收集 {@code RefreshDictValueEvent} 事件的字典值，按字典类型合并（同一个字典值后收到的覆盖先收到的），
+ * 窗口结束或收集的字典值数量达到上限时把合并后的更新一次性交给写入方法，
+ * 因此短时间内的大量单个字典值事件只会产生很少的存储写入和字典类型对象维护。
+ * 合并窗口为 0 时每个事件立即写入。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+class DictValueEventAccumulator {
+    private static final Logger logger = LoggerFactory.getLogger(DictValueEventAccumulator.class);
+    /**
+     * 字典配置
+     */
+    private final Supplier<DictProperties> config;
+    /**
+     * 写入一批合并后的字典值更新
+     */
+    private final Consumer<Collection<DictTypeUpdateExecutor.TypeUpdate>> flusher;
+    /**
+     * 收到的事件数量
+     */
+    private final AtomicLong events = new AtomicLong();
+    /**
+     * 写入的批次数量
+     */
+    private final AtomicLong flushes = new AtomicLong();
+    /**
+     * 当前窗口内按字典类型合并的更新，键为字典类型代码
+     */
+    private Map<String, DictTypeUpdateExecutor.TypeUpdate> pending = new LinkedHashMap<>();
+    /**
+     * 当前窗口内收集的字典值数量
+     */
+    private int pendingValues;
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> flushTask;
+    /**
+     * 是否已经关闭
+     */
+    private boolean shutdown;
+
+    /**
+     * 创建字典值事件合并器
+     *
+     * @param config  字典配置
+     * @param flusher 写入一批合并后的字典值更新
+     */
+    DictValueEventAccumulator(final Supplier<DictProperties> config, final Consumer<Collection<DictTypeUpdateExecutor.TypeUpdate>> flusher) {
+        this.config = config;
+        this.flusher = flusher;
+    }
+
+    /**
+     * 加入一个事件的字典值
+     *
+     * @param typeValues     按字典类型分组的字典值列表
+     * @param updateDictType 是否维护字典类型对象的字典值列表
+     * @param removeDictType 维护字典类型对象时，没有字典值列表时是否删除字典类型
+     */
+    void add(final Map<String, List<DictValue>> typeValues, final boolean updateDictType, final boolean removeDictType) {
+        events.incrementAndGet();
+        final DictPropertiesEvent event = config.get().getEvent();
+        final Duration window = event.getValueBatchWindow();
+        final Collection<DictTypeUpdateExecutor.TypeUpdate> batch;
+        synchronized (this) {
+            typeValues.forEach((dictType, valueVos) -> {
+                pending.computeIfAbsent(dictType, DictTypeUpdateExecutor.TypeUpdate::new).merge(valueVos, updateDictType, removeDictType);
+                pendingValues += valueVos.size();
+            });
+            if (shutdown || window == null || window.isZero() || window.isNegative() || pendingValues >= event.getValueBatchMaxSize()) {
+                batch = take();
+            } else {
+                if (flushTask == null) {
+                    flushTask = getScheduler().schedule(this::flush, window.toMillis(), TimeUnit.MILLISECONDS);
+                }
+                batch = null;
+            }
+        }
+        if (batch != null) {
+            write(batch);
+        }
+    }
+
+    /**
+     * 立即写入当前窗口内收集的字典值
+     */
+    void flush() {
+        final Collection<DictTypeUpdateExecutor.TypeUpdate> batch;
+        synchronized (this) {
+            batch = take();
+        }
+        write(batch);
+    }
+
+    private Collection<DictTypeUpdateExecutor.TypeUpdate> take() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+        final Collection<DictTypeUpdateExecutor.TypeUpdate> batch = pending.values();
+        pending = new LinkedHashMap<>();
+        pendingValues = 0;
+        return batch;
+    }
+
+    private void write(final Collection<DictTypeUpdateExecutor.TypeUpdate> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        flushes.incrementAndGet();
+        try {
+            flusher.accept(batch);
+        } catch (RuntimeException e) {
+            logger.error("写入合并后的字典值事件失败，涉及字典类型 {} 个", batch.size(), e);
+        }
+    }
+
+    private synchronized ScheduledExecutorService getScheduler() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(DictExecutors.newThreadFactory("dict-value-event-", false));
+        }
+        return scheduler;
+    }
+
+    /**
+     * 写入当前窗口内收集的字典值，并关闭合并窗口使用的线程
+     */
+    void shutdown() {
+        synchronized (this) {
+            // 关闭后收到的字典值事件不再等待合并窗口，立即写入
+            shutdown = true;
+        }
+        flush();
+        synchronized (this) {
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+                scheduler = null;
+            }
+        }
+    }
+
+    /**
+     * 获取合并器的运行指标
+     *
+     * @return 运行指标
+     */
+    synchronized Map<String, Object> getMetrics() {
+        final Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("events", events.get());
+        metrics.put("flushes", flushes.get());
+        metrics.put("pendingTypes", pending.size());
+        metrics.put("pendingValues", pendingValues);
+        return metrics;
+    }
+}
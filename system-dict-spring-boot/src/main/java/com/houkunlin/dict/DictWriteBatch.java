@@ -0,0 +1,178 @@
+package com.houkunlin.dict;
+
+import com.houkunlin.dict.bean.DictValue;
+
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * 按字典类型加锁的字典值批量写入缓冲区
+ * <p>
+ * 刷新字典时先通过 {@link #lock(String)} 持有字典类型的锁，再写入字典类型对象、把字典值加入缓冲区，
+ * 缓冲区中的字典值批量写入存储对象后才释放本批次持有的所有锁，保证同一个字典类型的字典类型对象和字典值按顺序写入。
+ * 需要获取的锁已经被其他线程持有时，会先写入缓冲区并释放当前持有的所有锁再等待，因此不会出现死锁。
+ * </p>
+ * <p>
+ * 通过 {@link #digest(String, String)} 加入的字典类型内容摘要在缓冲区中的字典值写入存储对象之后才写入，
+ * 保证存储对象中记录的摘要不会早于它描述的字典值。
+ * </p>
+ * <p>该对象只能在一个线程中使用。</p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+class DictWriteBatch {
+    private final DictTypeLocks locks;
+    private final int batchSize;
+    private final Consumer<Iterator<DictValue>> writer;
+    private final BiConsumer<String, String> digestWriter;
+    private final List<DictValue> values;
+    private final Map<String, String> digests = new LinkedHashMap<>();
+    private final List<ReentrantLock> heldLocks = new ArrayList<>();
+    /**
+     * 是否已经被取消（例如执行该字典提供者超时）
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * 创建批量写入缓冲区
+     *
+     * @param locks     字典类型分段锁
+     * @param batchSize 每批次写入的字典值数量
+     * @param writer    批量写入字典值的方法
+     */
+    DictWriteBatch(final DictTypeLocks locks, final int batchSize, final Consumer<Iterator<DictValue>> writer) {
+        this(locks, batchSize, writer, (type, digest) -> {
+        });
+    }
+
+    /**
+     * 创建批量写入缓冲区
+     *
+     * @param locks        字典类型分段锁
+     * @param batchSize    每批次写入的字典值数量
+     * @param writer       批量写入字典值的方法
+     * @param digestWriter 写入字典类型内容摘要的方法
+     * @since 2.2.0
+     */
+    DictWriteBatch(final DictTypeLocks locks, final int batchSize, final Consumer<Iterator<DictValue>> writer,
+                   final BiConsumer<String, String> digestWriter) {
+        this.locks = locks;
+        this.batchSize = Math.max(1, batchSize);
+        this.writer = writer;
+        this.digestWriter = digestWriter;
+        this.values = new ArrayList<>(this.batchSize + 50);
+        // 在并行执行的字典提供者中创建时，字典提供者执行超时后不再写入存储对象
+        DictProviderExecutor.onCancel(this::cancel);
+    }
+
+    /**
+     * 取消写入，之后不再把缓冲区中的数据写入存储对象。线程中断标记可能会被字典提供者的代码清除，因此单独记录取消状态
+     *
+     * @since 2.2.0
+     */
+    void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * 持有字典类型的锁，直到下一次写入缓冲区
+     *
+     * @param dictType 字典类型代码
+     */
+    void lock(final String dictType) {
+        checkCancelled();
+        final ReentrantLock lock = locks.lockOf(dictType);
+        if (lock.isHeldByCurrentThread()) {
+            return;
+        }
+        if (!lock.tryLock()) {
+            // 等待其他线程释放锁之前先释放自己持有的锁，避免死锁
+            flush();
+            lock.lock();
+        }
+        heldLocks.add(lock);
+    }
+
+    /**
+     * 把字典值加入缓冲区，调用前需要先持有字典值所属字典类型的锁
+     *
+     * @param value 字典值
+     */
+    void add(final DictValue value) {
+        values.add(value);
+    }
+
+    /**
+     * 把字典值列表加入缓冲区，调用前需要先持有字典值所属字典类型的锁
+     *
+     * @param valueVos 字典值列表
+     */
+    void addAll(final Collection<DictValue> valueVos) {
+        values.addAll(valueVos);
+    }
+
+    /**
+     * 加入字典类型内容摘要，在缓冲区中的字典值写入存储对象之后写入，调用前需要先持有该字典类型的锁
+     *
+     * @param dictType 字典类型代码
+     * @param digest   字典类型内容摘要
+     * @since 2.2.0
+     */
+    void digest(final String dictType, final String digest) {
+        digests.put(dictType, digest);
+    }
+
+    /**
+     * 缓冲区中的字典值达到批次大小时写入存储对象
+     */
+    void flushIfFull() {
+        if (values.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * 把缓冲区中的字典值写入存储对象，并释放持有的所有锁
+     */
+    void flush() {
+        try {
+            if (!values.isEmpty()) {
+                checkCancelled();
+                writer.accept(values.iterator());
+                values.clear();
+            }
+            if (!digests.isEmpty()) {
+                checkCancelled();
+                digests.forEach(digestWriter);
+                digests.clear();
+            }
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * 刷新字典任务被取消或被中断（例如执行超时）后不再写入存储对象
+     */
+    private void checkCancelled() {
+        if (cancelled || Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("刷新字典任务已被取消");
+        }
+    }
+
+    /**
+     * 释放持有的所有锁，缓冲区中未写入的字典值会被丢弃
+     */
+    void unlockAll() {
+        values.clear();
+        digests.clear();
+        for (final ReentrantLock lock : heldLocks) {
+            lock.unlock();
+        }
+        heldLocks.clear();
+    }
+}
@@ -186,14 +186,18 @@ public class SystemDictAutoConfiguration {
     /**
      * 初始化字典工具类
      *
-     * @param dictRegistrar 系统字典注册器
-     * @param store         系统字典存储器
-     * @param cacheFactory  系统字典缓存工厂
+     * @param dictRegistrar  系统字典注册器
+     * @param store          系统字典存储器
+     * @param cacheFactory   系统字典缓存工厂
+     * @param tenantResolver 字典租户解析器（存在时按租户读取字典）
      * @return {@link DictUtil} 字典工具类实例
      */
     @Bean
-    public DictUtil dictUtil(final DictRegistrar dictRegistrar, final DictStore store, final DictCacheFactory cacheFactory) {
-        return new DictUtil(dictRegistrar, store, cacheFactory);
+    public DictUtil dictUtil(final DictRegistrar dictRegistrar, final DictStore store, final DictCacheFactory cacheFactory,
+                             final ObjectProvider<DictTenantResolver> tenantResolver) {
+        final DictUtil dictUtil = new DictUtil(dictRegistrar, store, cacheFactory);
+        DictUtil.setTenantResolver(tenantResolver.getIfAvailable());
+        return dictUtil;
     }
 
     /**
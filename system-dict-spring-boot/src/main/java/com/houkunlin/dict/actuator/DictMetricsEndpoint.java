@@ -0,0 +1,37 @@
+package com.houkunlin.dict.actuator;
+
+import com.houkunlin.dict.DictMetricsSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 数据字典运行指标端点，用于查询数据字典各组件的健康状态与运行指标。
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+@Endpoint(id = "dictMetrics")
+@RequiredArgsConstructor
+public class DictMetricsEndpoint {
+    /**
+     * 数据字典运行指标来源
+     */
+    private final ObjectProvider<DictMetricsSource> metricsSources;
+
+    /**
+     * 默认端点，返回所有组件的运行指标。
+     *
+     * @return 运行指标
+     */
+    @ReadOperation
+    public Object index() {
+        final Map<String, Object> result = new LinkedHashMap<>();
+        metricsSources.orderedStream().forEach(source -> result.put(source.getMetricsName(), source.getMetrics()));
+        return result;
+    }
+}
@@ -0,0 +1,60 @@
+package com.houkunlin.dict.actuator;
+
+import com.houkunlin.dict.notice.RefreshDictEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 按字典类型刷新字典端点，用于触发只刷新指定字典类型的刷新字典事件。
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+@Endpoint(id = "dictRefreshType")
+@RequiredArgsConstructor
+public class RefreshDictTypeEndpoint {
+    /**
+     * 应用事件发布器
+     */
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    /**
+     * 触发按字典类型刷新字典事件，只刷新当前系统。
+     *
+     * @param types 需要刷新的字典类型代码，多个字典类型使用英文逗号分隔
+     * @return 操作结果
+     */
+    @WriteOperation
+    public Object refreshTypes(@Selector Set<String> types) {
+        return refreshTypesNotifyBrother(types, false, false);
+    }
+
+    /**
+     * 触发按字典类型刷新字典事件（带通知标记和兄弟节点通知标记）。
+     *
+     * @param types         需要刷新的字典类型代码，多个字典类型使用英文逗号分隔
+     * @param notify        是否通知其他系统
+     * @param notifyBrother 是否通知兄弟节点
+     * @return 操作结果
+     */
+    @WriteOperation
+    public Object refreshTypesNotifyBrother(@Selector Set<String> types, @Selector boolean notify, @Selector boolean notifyBrother) {
+        final Map<String, Object> result = new LinkedHashMap<>();
+        if (types == null || types.isEmpty()) {
+            result.put("result", "fail");
+            result.put("msg", "types must not empty");
+            return result;
+        }
+        applicationEventPublisher.publishEvent(new RefreshDictEvent("Endpoint/dictRefreshType", notify, notifyBrother, null, types));
+        result.put("result", "ok");
+        result.put("types", types);
+        return result;
+    }
+}
@@ -1,10 +1,12 @@
 package com.houkunlin.dict.actuator;
 
+import com.houkunlin.dict.DictMetricsSource;
 import com.houkunlin.dict.provider.DictProvider;
 import com.houkunlin.dict.provider.SystemDictProvider;
 import com.houkunlin.dict.store.DictStore;
 import com.houkunlin.dict.store.RemoteDict;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -50,6 +52,18 @@ public class SystemDictActuatorAutoConfiguration {
         return new RefreshDictEndpoint(applicationEventPublisher);
     }
 
+    /**
+     * 配置按字典类型刷新字典端点。
+     *
+     * @param applicationEventPublisher 应用事件发布器
+     * @return 按字典类型刷新字典端点
+     * @since 2.2.0
+     */
+    @Bean
+    public RefreshDictTypeEndpoint refreshDictTypeEndpoint(final ApplicationEventPublisher applicationEventPublisher) {
+        return new RefreshDictTypeEndpoint(applicationEventPublisher);
+    }
+
     /**
      * 配置系统字典提供者端点。
      *
@@ -61,4 +75,16 @@ public class SystemDictActuatorAutoConfiguration {
     public SystemDictProviderEndpoint systemDictProviderEndpoint(final SystemDictProvider systemDictProvider) {
         return new SystemDictProviderEndpoint(systemDictProvider);
     }
+
+    /**
+     * 配置数据字典运行指标端点。
+     *
+     * @param metricsSources 数据字典运行指标来源
+     * @return 数据字典运行指标端点
+     * @since 2.2.0
+     */
+    @Bean
+    public DictMetricsEndpoint dictMetricsEndpoint(final ObjectProvider<DictMetricsSource> metricsSources) {
+        return new DictMetricsEndpoint(metricsSources);
+    }
 }
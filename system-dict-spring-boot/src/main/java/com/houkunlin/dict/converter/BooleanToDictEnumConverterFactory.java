@@ -5,11 +5,18 @@ import org.jspecify.annotations.NonNull;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.core.convert.converter.ConverterFactory;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Boolean到DictEnum的转换器工厂类
- * 该工厂用于创建将Boolean类型转换为实现DictEnum接口的枚举类型的转换器
+ * 该工厂用于创建将Boolean类型转换为实现DictEnum接口的枚举类型的转换器，每个目标类型的转换器只创建一次
  */
 public class BooleanToDictEnumConverterFactory implements ConverterFactory<Boolean, DictEnum<Boolean>> {
+    /**
+     * 已创建的转换器，键为目标类型
+     */
+    private final Map<Class<?>, Converter<Boolean, ?>> converters = new ConcurrentHashMap<>();
 
     /**
      * 获取指定目标类型的转换器
@@ -20,6 +27,8 @@ public class BooleanToDictEnumConverterFactory implements ConverterFactory<Boole
      */
     @Override
     public <T extends DictEnum<Boolean>> @NonNull Converter<Boolean, T> getConverter(@NonNull Class<T> targetType) {
-        return new BooleanToDictEnumConverter<>(targetType);
+        @SuppressWarnings("unchecked")
+        final Converter<Boolean, T> converter = (Converter<Boolean, T>) converters.computeIfAbsent(targetType, key -> new BooleanToDictEnumConverter<>(targetType));
+        return converter;
     }
 }
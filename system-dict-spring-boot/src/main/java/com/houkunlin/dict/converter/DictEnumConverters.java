@@ -0,0 +1,49 @@
+package com.houkunlin.dict.converter;
+
+import org.springframework.core.convert.ConverterNotFoundException;
+import org.springframework.core.convert.TypeDescriptor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * 字典枚举转换器工具类
+ * <p>
+ * 把字典枚举的静态创建方法（{@code @JsonCreator} 方法或者静态 of 方法）转换为 {@link MethodHandle}，
+ * 转换器调用创建方法时不再通过反射调用。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+final class DictEnumConverters {
+    /**
+     * 静态创建方法统一转换后的方法类型：接收一个 Object 参数，返回 Object
+     */
+    private static final MethodType FACTORY_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private DictEnumConverters() {
+    }
+
+    /**
+     * 把静态创建方法转换为方法类型为 {@code (Object)Object} 的 {@link MethodHandle}
+     *
+     * @param method     静态创建方法
+     * @param sourceType 转换器的来源类型
+     * @param enumType   目标枚举类型
+     * @return MethodHandle，可以通过 {@code invokeExact((Object) value)} 调用
+     * @throws ConverterNotFoundException 当无法访问该方法时抛出异常
+     */
+    static MethodHandle unreflect(final Method method, final Class<?> sourceType, final Class<?> enumType) {
+        try {
+            if (!method.isAccessible()) {
+                method.setAccessible(true);
+            }
+            return MethodHandles.lookup().unreflect(method).asType(FACTORY_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new ConverterNotFoundException(TypeDescriptor.valueOf(sourceType), TypeDescriptor.valueOf(enumType));
+        }
+    }
+}
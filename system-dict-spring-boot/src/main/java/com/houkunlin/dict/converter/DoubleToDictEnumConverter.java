@@ -7,11 +7,12 @@ import org.springframework.core.convert.ConverterNotFoundException;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.convert.converter.Converter;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 
 /**
  * 将Double类型转换为实现DictEnum接口的枚举类型的转换器
- * 此转换器通过反射调用目标枚举类的静态of方法来创建枚举实例
+ * 此转换器通过 MethodHandle 调用目标枚举类的静态of方法来创建枚举实例
  *
  * @param <T> 实现了DictEnum&lt;Double&gt;接口的枚举类型
  */
@@ -24,7 +25,7 @@ public class DoubleToDictEnumConverter<T extends DictEnum<Double>> implements Co
     /**
      * 用于创建枚举实例的静态方法
      */
-    private final Method ofMethod;
+    private final MethodHandle ofMethod;
 
     /**
      * 构造函数，初始化转换器
@@ -34,10 +35,11 @@ public class DoubleToDictEnumConverter<T extends DictEnum<Double>> implements Co
      */
     public DoubleToDictEnumConverter(Class<T> enumType) {
         this.enumType = enumType;
-        this.ofMethod = ClassUtil.findJsonCreatorMethod(enumType, Double.class);
-        if (this.ofMethod == null) {
+        final Method method = ClassUtil.findJsonCreatorMethod(enumType, Double.class);
+        if (method == null) {
             throw new ConverterNotFoundException(TypeDescriptor.valueOf(Double.class), TypeDescriptor.valueOf(enumType));
         }
+        this.ofMethod = DictEnumConverters.unreflect(method, Double.class, enumType);
     }
 
     /**
@@ -54,12 +56,15 @@ public class DoubleToDictEnumConverter<T extends DictEnum<Double>> implements Co
         }
 
         try {
-            // 调用静态的of方法创建枚举实例
-            @SuppressWarnings("unchecked")
-            T result = (T) ofMethod.invoke(null, source);
+            // 调用静态的of方法创建枚举实例，invokeExact 的参数和返回值类型必须与 MethodHandle 的类型 (Object)Object 一致
+            final Object result = ofMethod.invokeExact((Object) source);
 
-            return result;
-        } catch (Exception e) {
+            @SuppressWarnings("unchecked")
+            T enumValue = (T) result;
+            return enumValue;
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
             throw new ConversionFailedException(TypeDescriptor.valueOf(Double.class), TypeDescriptor.valueOf(enumType), source, e);
         }
     }
@@ -8,11 +8,12 @@ import org.springframework.core.convert.ConversionFailedException;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.convert.converter.Converter;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 
 /**
  * 将Integer类型转换为实现DictEnum接口的枚举类型的转换器
- * 此转换器通过反射调用目标枚举类的静态of方法来创建枚举实例
+ * 此转换器通过 MethodHandle 调用目标枚举类的静态of方法来创建枚举实例
  * 如果未找到@JsonCreator方法，则使用默认的枚举常量数组索引方式获取枚举常量
  *
  * @param <T> 实现了DictEnum&lt;Integer&gt;接口的枚举类型
@@ -25,9 +26,14 @@ public class IntegerToDictEnumConverter<T extends DictEnum<Integer>> implements
     private final Class<T> enumType;
 
     /**
-     * 用于创建枚举实例的静态方法
+     * 用于创建枚举实例的静态方法，未找到时为 null
      */
-    private final Method ofMethod;
+    private final MethodHandle ofMethod;
+
+    /**
+     * 未找到@JsonCreator方法时按索引获取的枚举常量
+     */
+    private final T[] enumConstants;
 
     /**
      * 构造函数，初始化转换器
@@ -36,9 +42,14 @@ public class IntegerToDictEnumConverter<T extends DictEnum<Integer>> implements
      */
     public IntegerToDictEnumConverter(Class<T> enumType) {
         this.enumType = enumType;
-        this.ofMethod = ClassUtil.findJsonCreatorMethod(enumType, Integer.class);
-        if (this.ofMethod == null) {
+        final Method method = ClassUtil.findJsonCreatorMethod(enumType, Integer.class);
+        if (method == null) {
             logger.warn("Cannot find @JsonCreator method for {}, using default enum constructor", enumType);
+            this.ofMethod = null;
+            this.enumConstants = enumType.getEnumConstants();
+        } else {
+            this.ofMethod = DictEnumConverters.unreflect(method, Integer.class, enumType);
+            this.enumConstants = null;
         }
     }
 
@@ -59,14 +70,17 @@ public class IntegerToDictEnumConverter<T extends DictEnum<Integer>> implements
         try {
             if (ofMethod == null) {
                 // 当没有找到@JsonCreator方法时，使用默认的枚举常量数组索引方式获取枚举值
-                return enumType.getEnumConstants()[source];
+                return enumConstants[source];
             }
-            // 调用静态的of方法创建枚举实例
-            @SuppressWarnings("unchecked")
-            T result = (T) ofMethod.invoke(null, source);
+            // 调用静态的of方法创建枚举实例，invokeExact 的参数和返回值类型必须与 MethodHandle 的类型 (Object)Object 一致
+            final Object result = ofMethod.invokeExact((Object) source);
 
-            return result;
-        } catch (Exception e) {
+            @SuppressWarnings("unchecked")
+            T enumValue = (T) result;
+            return enumValue;
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
             throw new ConversionFailedException(TypeDescriptor.valueOf(Integer.class), TypeDescriptor.valueOf(enumType), source, e);
         }
     }
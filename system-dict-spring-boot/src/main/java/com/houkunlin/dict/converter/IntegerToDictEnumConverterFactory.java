@@ -5,11 +5,18 @@ import org.jspecify.annotations.NonNull;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.core.convert.converter.ConverterFactory;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Integer到DictEnum的转换器工厂类
- * 该工厂用于创建将Integer类型转换为实现DictEnum接口的枚举类型的转换器
+ * 该工厂用于创建将Integer类型转换为实现DictEnum接口的枚举类型的转换器，每个目标类型的转换器只创建一次
  */
 public class IntegerToDictEnumConverterFactory implements ConverterFactory<Integer, DictEnum<Integer>> {
+    /**
+     * 已创建的转换器，键为目标类型
+     */
+    private final Map<Class<?>, Converter<Integer, ?>> converters = new ConcurrentHashMap<>();
 
     /**
      * 获取指定目标类型的转换器
@@ -20,6 +27,8 @@ public class IntegerToDictEnumConverterFactory implements ConverterFactory<Integ
      */
     @Override
     public <T extends DictEnum<Integer>> @NonNull Converter<Integer, T> getConverter(@NonNull Class<T> targetType) {
-        return new IntegerToDictEnumConverter<>(targetType);
+        @SuppressWarnings("unchecked")
+        final Converter<Integer, T> converter = (Converter<Integer, T>) converters.computeIfAbsent(targetType, key -> new IntegerToDictEnumConverter<>(targetType));
+        return converter;
     }
 }
@@ -5,11 +5,18 @@ import org.jspecify.annotations.NonNull;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.core.convert.converter.ConverterFactory;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Long到DictEnum的转换器工厂类
- * 该工厂用于创建将Long类型转换为实现DictEnum接口的枚举类型的转换器
+ * 该工厂用于创建将Long类型转换为实现DictEnum接口的枚举类型的转换器，每个目标类型的转换器只创建一次
  */
 public class LongToDictEnumConverterFactory implements ConverterFactory<Long, DictEnum<Long>> {
+    /**
+     * 已创建的转换器，键为目标类型
+     */
+    private final Map<Class<?>, Converter<Long, ?>> converters = new ConcurrentHashMap<>();
 
     /**
      * 获取指定目标类型的转换器
@@ -20,6 +27,8 @@ public class LongToDictEnumConverterFactory implements ConverterFactory<Long, Di
      */
     @Override
     public <T extends DictEnum<Long>> @NonNull Converter<Long, T> getConverter(@NonNull Class<T> targetType) {
-        return new LongToDictEnumConverter<>(targetType);
+        @SuppressWarnings("unchecked")
+        final Converter<Long, T> converter = (Converter<Long, T>) converters.computeIfAbsent(targetType, key -> new LongToDictEnumConverter<>(targetType));
+        return converter;
     }
 }
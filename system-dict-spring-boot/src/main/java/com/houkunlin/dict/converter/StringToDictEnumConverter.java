@@ -2,18 +2,20 @@ package com.houkunlin.dict.converter;
 
 import com.houkunlin.dict.ClassUtil;
 import com.houkunlin.dict.DictEnum;
+import com.houkunlin.dict.DictEnumIndex;
 import org.jspecify.annotations.NonNull;
 import org.springframework.core.convert.ConversionFailedException;
 import org.springframework.core.convert.ConverterNotFoundException;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.convert.converter.Converter;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 import java.util.function.Function;
 
 /**
  * 将String类型转换为实现DictEnum接口的枚举类型的转换器
- * 此转换器通过反射调用目标枚举类的静态of方法来创建枚举实例
+ * 此转换器优先通过枚举索引按枚举名称匹配，再通过 MethodHandle 调用目标枚举类的静态of方法来创建枚举实例
  * 支持将字符串转换为目标枚举所关联的值类型，然后使用该值创建枚举实例
  *
  * @param <T> 实现了DictEnum<?>接口的枚举类型
@@ -27,7 +29,12 @@ public class StringToDictEnumConverter<T extends DictEnum<?>> implements Convert
     /**
      * 用于创建枚举实例的静态方法
      */
-    private final Method ofMethod;
+    private final MethodHandle ofMethod;
+
+    /**
+     * 目标枚举类型的索引，用于按枚举名称匹配，目标类型不是枚举时为 null
+     */
+    private final DictEnumIndex<T> enumIndex;
 
     /**
      * 字符串解析函数，用于将字符串转换为目标值类型
@@ -48,10 +55,12 @@ public class StringToDictEnumConverter<T extends DictEnum<?>> implements Convert
         // 枚举值的参数类型
         Class<?> valueType = parameterFirst != null ? parameterFirst : String.class;
         this.valueFunction = ClassUtil.getParseValueFunction(valueType);
-        this.ofMethod = ClassUtil.findJsonCreatorMethod(enumType, valueType);
-        if (this.ofMethod == null) {
+        final Method method = ClassUtil.findJsonCreatorMethod(enumType, valueType);
+        if (method == null) {
             throw new ConverterNotFoundException(TypeDescriptor.valueOf(String.class), TypeDescriptor.valueOf(enumType));
         }
+        this.ofMethod = DictEnumConverters.unreflect(method, String.class, enumType);
+        this.enumIndex = DictEnumIndex.of(enumType);
     }
 
     /**
@@ -70,24 +79,26 @@ public class StringToDictEnumConverter<T extends DictEnum<?>> implements Convert
         }
 
         try {
-            if (enumType.isEnum()) {
+            if (enumIndex != null) {
                 // 优先尝试通过枚举名称进行匹配
-                for (T enumConstant : enumType.getEnumConstants()) {
-                    if (source.equals(((Enum<?>) enumConstant).name())) {
-                        return enumConstant;
-                    }
+                final T enumConstant = enumIndex.getByName(source);
+                if (enumConstant != null) {
+                    return enumConstant;
                 }
             }
 
             // 根据值类型进行类型转换
             Object convertedValue = valueFunction.apply(source);
 
-            // 调用静态的of方法创建枚举实例
-            @SuppressWarnings("unchecked")
-            T result = (T) ofMethod.invoke(null, convertedValue);
+            // 调用静态的of方法创建枚举实例，invokeExact 的参数和返回值类型必须与 MethodHandle 的类型 (Object)Object 一致
+            final Object result = ofMethod.invokeExact(convertedValue);
 
-            return result;
-        } catch (Exception e) {
+            @SuppressWarnings("unchecked")
+            T enumValue = (T) result;
+            return enumValue;
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
             throw new ConversionFailedException(TypeDescriptor.valueOf(String.class), TypeDescriptor.valueOf(enumType), source, e);
         }
     }
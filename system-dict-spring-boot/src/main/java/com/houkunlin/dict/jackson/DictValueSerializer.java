@@ -1,6 +1,7 @@
 package com.houkunlin.dict.jackson;
 
 import com.houkunlin.dict.DictEnum;
+import com.houkunlin.dict.DictEnumIndex;
 import com.houkunlin.dict.DictJsonWriter;
 import com.houkunlin.dict.DictTypeKeyHandler;
 import com.houkunlin.dict.DictUtil;
@@ -8,7 +9,6 @@ import com.houkunlin.dict.annotation.DictArray;
 import com.houkunlin.dict.annotation.DictText;
 import com.houkunlin.dict.enums.NullStrategy;
 import org.jspecify.annotations.Nullable;
-import org.springframework.util.ObjectUtils;
 
 import java.util.List;
 
@@ -140,25 +140,24 @@ public interface DictValueSerializer {
      * 通过枚举获取字典文本
      * <p>
      * 该方法用于通过枚举获取字典文本，遍历指定的枚举类数组，
-     * 对于每个枚举类，获取其所有枚举常量，然后比较枚举常量的值是否与传入的数组项值相等，
-     * 如果相等，则返回该枚举常量的标题作为字典文本。
+     * 对于每个枚举类，通过该枚举类的索引（{@link DictEnumIndex}）查找字典值或者字典值的字符串形式与传入的数组项值相等的枚举常量，
+     * 如果找到，则返回该枚举常量的标题作为字典文本。
      * </p>
      *
      * @param enums          枚举类数组
      * @param arrayItemValue 数组项值
      * @return 字典文本，如果未找到则返回 null
      */
-    @SuppressWarnings({"rawtypes"})
+    @SuppressWarnings({"rawtypes", "unchecked"})
     default String getDictTextByEnums(Class<? extends DictEnum>[] enums, String arrayItemValue) {
         for (Class<? extends DictEnum> dictEnum : enums) {
-            if (!dictEnum.isEnum()) {
+            final DictEnumIndex<?> index = DictEnumIndex.of((Class) dictEnum);
+            if (index == null) {
                 continue;
             }
-            DictEnum<?>[] enumConstants = dictEnum.getEnumConstants();
-            for (DictEnum<?> enumConstant : enumConstants) {
-                if (enumConstant.eq(arrayItemValue) || ObjectUtils.getDisplayString(enumConstant.getValue()).equals(ObjectUtils.getDisplayString(arrayItemValue))) {
-                    return enumConstant.getTitle();
-                }
+            final DictEnum<?> enumConstant = index.getByText(arrayItemValue);
+            if (enumConstant != null) {
+                return enumConstant.getTitle();
             }
         }
         return null;
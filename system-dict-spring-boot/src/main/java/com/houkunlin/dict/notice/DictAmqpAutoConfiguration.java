@@ -1,11 +1,15 @@
 package com.houkunlin.dict.notice;
 
+import com.houkunlin.dict.DictMetricsSource;
+import com.houkunlin.dict.DictRefreshGuard;
 import com.houkunlin.dict.DictRegistrar;
 import com.houkunlin.dict.properties.DictProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -14,7 +18,9 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.event.EventListener;
 import org.springframework.messaging.handler.annotation.Payload;
 
-import java.util.Objects;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 
 /**
  * 数据字典 AMQP 消息队列配置
@@ -29,23 +35,23 @@ import java.util.Objects;
 @ConditionalOnProperty(prefix = "system.dict", name = "mq-type", havingValue = "AMQP")
 @ConditionalOnClass({AmqpTemplate.class, RabbitListener.class})
 @Configuration(proxyBeanMethods = false)
-public class DictAmqpAutoConfiguration {
+public class DictAmqpAutoConfiguration implements DisposableBean, DictNoticeSender, DictMetricsSource {
     /**
      * 日志
      */
     private static final Logger logger = LoggerFactory.getLogger(DictAmqpAutoConfiguration.class);
     /**
-     * 数据字典注册器，用于刷新字典数据
+     * 刷新字典通知处理器，用于创建和处理刷新字典通知
      */
-    private final DictRegistrar dictRegistrar;
+    private final DictNoticeHandler noticeHandler;
     /**
-     * AMQP 模板，用于发布 AMQP 消息
+     * 刷新字典通知合并器，用于合并短时间内发送的全量刷新通知
      */
-    private final AmqpTemplate amqpTemplate;
+    private final DictNoticeCoalescer noticeCoalescer;
     /**
-     * 当前应用名称，用于标识消息的来源和过滤
+     * AMQP 模板，用于发布 AMQP 消息
      */
-    private final String applicationName;
+    private final AmqpTemplate amqpTemplate;
     /**
      * 交换器名称，用于指定 AMQP 消息的交换器
      */
@@ -58,14 +64,16 @@ public class DictAmqpAutoConfiguration {
      * @param amqpTemplate    AMQP 模板
      * @param applicationName 当前应用名称
      * @param dictProperties  数据字典配置参数信息
+     * @param refreshGuard    集群单写入者刷新保护（启用 {@code system.dict.cluster.single-writer} 时存在）
      */
     public DictAmqpAutoConfiguration(final DictRegistrar dictRegistrar,
                                  final AmqpTemplate amqpTemplate,
                                  @Value("${spring.application.name:'system-dict'}") final String applicationName,
-                                 final DictProperties dictProperties) {
-        this.dictRegistrar = dictRegistrar;
+                                 final DictProperties dictProperties,
+                                 final ObjectProvider<DictRefreshGuard> refreshGuard) {
+        this.noticeHandler = new DictNoticeHandler(dictRegistrar, applicationName, dictProperties.getNotice(), refreshGuard.getIfAvailable());
+        this.noticeCoalescer = new DictNoticeCoalescer(dictProperties.getNotice(), this);
         this.amqpTemplate = amqpTemplate;
-        this.applicationName = applicationName;
         this.exchangeName = dictProperties.getMqExchangeName();
     }
 
@@ -121,13 +129,7 @@ public class DictAmqpAutoConfiguration {
      */
     @RabbitListener(queues = "#{dictQueue.name}")
     public void refreshDict(@Payload final RefreshNoticeData noticeData) {
-        if (!noticeData.isNotifyBrother() && Objects.equals(applicationName, noticeData.getApplicationName())) {
-            logger.debug("收到来自当前系统发起的MQ消息，并且被标记忽略处理");
-            return;
-        }
-        logger.debug("[start] AMQP 通知刷新字典：{}", noticeData.getMessage());
-        dictRegistrar.refreshDict(noticeData.getDictProviderClasses());
-        logger.debug("[finish] AMQP 通知刷新字典");
+        noticeHandler.handle(noticeData, "AMQP");
     }
 
     /**
@@ -138,18 +140,64 @@ public class DictAmqpAutoConfiguration {
      * </p>
      *
      * @param event 刷新字典通知事件
+     * @throws Exception 发送通知异常
      */
     @EventListener
-    public void refreshDict(RefreshDictEvent event) {
+    public void refreshDict(RefreshDictEvent event) throws Exception {
         final Object source = event.getSource();
         if (event.isNotifyOtherSystem()) {
             logger.debug("接收到刷新数据字典事件，使用 AMQP 通知其他协同系统刷新数据字典内容。事件内容：{}", source);
-            final RefreshNoticeData noticeData = RefreshNoticeData.builder()
-                .message("刷新事件：" + source)
-                .applicationName(applicationName)
-                .notifyBrother(event.isNotifyOtherSystemAndBrother())
-                .dictProviderClasses(event.getDictProviderClasses()).build();
-            amqpTemplate.convertAndSend(exchangeName, "", noticeData);
+            noticeCoalescer.submit(noticeHandler.newNotice(event));
+        }
+    }
+
+    /**
+     * 处理系统内部发起的刷新字典值事件
+     * <p>
+     * 当收到刷新字典值事件且需要通知其他系统时，会将变更的字典值封装为增量通知，通过 AMQP 发布消息。
+     * </p>
+     *
+     * @param event 刷新字典值事件
+     * @since 2.2.0
+     */
+    @EventListener
+    public void refreshDictValue(RefreshDictValueEvent event) {
+        if (event.isNotifyOtherSystem()) {
+            logger.debug("接收到刷新字典值事件，使用 AMQP 通知其他协同系统增量刷新数据字典内容");
+            send(noticeHandler.newNotice(event));
         }
     }
+
+    /**
+     * 通过 AMQP 发布刷新字典通知
+     *
+     * @param noticeData 刷新字典通知信息
+     * @since 2.2.0
+     */
+    @Override
+    public void send(final RefreshNoticeData noticeData) {
+        amqpTemplate.convertAndSend(exchangeName, "", noticeHandler.stamp(noticeData));
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "notice";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        final Map<String, Object> metrics = new LinkedHashMap<>(noticeHandler.getMetrics());
+        metrics.putAll(noticeCoalescer.getMetrics());
+        return metrics;
+    }
+
+    /**
+     * 发送合并窗口内尚未发送的刷新字典通知
+     *
+     * @since 2.2.0
+     */
+    @Override
+    public void destroy() {
+        noticeCoalescer.shutdown();
+    }
 }
@@ -0,0 +1,68 @@
+package com.houkunlin.dict.notice;
+
+import com.houkunlin.dict.properties.DictProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * 集群单写入者刷新字典配置
+ * <p>
+ * 启用 {@code system.dict.cluster.single-writer} 时，同一个应用的多个实例通过 Redis 分布式锁保证同一时刻只有一个实例把字典数据写入共享的 Redis 存储，
+ * 写入完成后通过消息中间件（{@code system.dict.mq-type}）通知其他实例清空本地的字典缓存。
+ * </p>
+ * <p>
+ * 单写入者刷新只对共享的 Redis 字典存储生效，字典存储类型（{@code system.dict.store-type}）为 {@code LOCAL} 时不启用；
+ * 自定义的字典存储不是共享存储（{@link com.houkunlin.dict.store.DictStore#isShared()}）时字典注册器会忽略该写入保护。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+@ConditionalOnProperty(prefix = "system.dict.cluster", name = "single-writer", havingValue = "true")
+@ConditionalOnClass(StringRedisTemplate.class)
+@Conditional(DictClusterAutoConfiguration.OnSharedDictStoreCondition.class)
+@Configuration(proxyBeanMethods = false)
+public class DictClusterAutoConfiguration {
+    /**
+     * 基于 Redis 分布式锁的集群单写入者刷新保护
+     *
+     * @param stringRedisTemplate String Redis 模板
+     * @param dictProperties      数据字典配置信息
+     * @param applicationName     当前应用名称
+     * @param noticeSenders       刷新字典通知发送器
+     * @return 集群单写入者刷新保护
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public RedisDictRefreshGuard dictRefreshGuard(final StringRedisTemplate stringRedisTemplate,
+                                                  final DictProperties dictProperties,
+                                                  @Value("${spring.application.name:'system-dict'}") final String applicationName,
+                                                  final ObjectProvider<DictNoticeSender> noticeSenders) {
+        return new RedisDictRefreshGuard(stringRedisTemplate, dictProperties.getCluster(), applicationName, noticeSenders);
+    }
+
+    /**
+     * 字典存储类型为 Redis 存储（{@code REDIS}，或者存在 Redis 时的 {@code AUTO}）
+     */
+    static class OnSharedDictStoreCondition extends AnyNestedCondition {
+        OnSharedDictStoreCondition() {
+            super(ConfigurationPhase.PARSE_CONFIGURATION);
+        }
+
+        @ConditionalOnProperty(prefix = "system.dict", name = "store-type", havingValue = "REDIS")
+        static class RedisStoreType {
+        }
+
+        @ConditionalOnProperty(prefix = "system.dict", name = "store-type", havingValue = "AUTO", matchIfMissing = true)
+        static class AutoStoreType {
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.houkunlin.dict.notice;
+
+import com.houkunlin.dict.DictExecutors;
+import com.houkunlin.dict.properties.DictPropertiesNotice;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 刷新字典通知合并器
+ * <p>
+ * 在合并窗口（{@code system.dict.notice.coalesce-window}）内收集需要发送的刷新字典通知，
+ * 窗口结束时把收集到的通知合并为一个通知发送：需要刷新的字典提供者、字典类型分别取并集（任意一个通知刷新所有字典提供者时合并后也刷新所有字典提供者，
+ * 任意一个通知没有指定字典类型时合并后也不再按字典类型刷新），
+ * 是否通知兄弟系统取或。因此批量导入等场景短时间内发起的大量刷新字典事件只会发送一个通知，其他系统也只会刷新一次字典。
+ * 合并窗口为 0 时每个通知立即发送；关闭（{@link #shutdown()}）后收到的通知也立即发送。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+class DictNoticeCoalescer {
+    private static final Logger logger = LoggerFactory.getLogger(DictNoticeCoalescer.class);
+    private final DictPropertiesNotice notice;
+    private final DictNoticeSender sender;
+    /**
+     * 收到的通知数量
+     */
+    private final AtomicLong submitted = new AtomicLong();
+    /**
+     * 实际发送的通知数量
+     */
+    private final AtomicLong sent = new AtomicLong();
+    /**
+     * 当前窗口内合并后的通知
+     */
+    private RefreshNoticeData pending;
+    /**
+     * 当前窗口内合并的通知数量
+     */
+    private int pendingCount;
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> flushTask;
+    /**
+     * 是否已经关闭
+     */
+    private boolean shutdown;
+
+    /**
+     * 创建刷新字典通知合并器
+     *
+     * @param notice 刷新字典通知配置
+     * @param sender 刷新字典通知发送器
+     */
+    DictNoticeCoalescer(final DictPropertiesNotice notice, final DictNoticeSender sender) {
+        this.notice = notice;
+        this.sender = sender;
+    }
+
+    /**
+     * 加入一个需要发送的全量刷新通知
+     *
+     * @param noticeData 刷新字典通知信息
+     * @throws Exception 合并窗口为 0 时发送通知失败的异常
+     */
+    void submit(final RefreshNoticeData noticeData) throws Exception {
+        submitted.incrementAndGet();
+        final Duration window = notice.getCoalesceWindow();
+        if (window != null && !window.isZero() && !window.isNegative()) {
+            synchronized (this) {
+                if (!shutdown) {
+                    pending = pending == null ? noticeData : merge(pending, noticeData);
+                    pendingCount++;
+                    if (flushTask == null) {
+                        flushTask = getScheduler().schedule(this::flush, window.toMillis(), TimeUnit.MILLISECONDS);
+                    }
+                    return;
+                }
+            }
+        }
+        sent.incrementAndGet();
+        sender.send(noticeData);
+    }
+
+    /**
+     * 合并两个全量刷新通知
+     *
+     * @param a 先收到的通知
+     * @param b 后收到的通知
+     * @return 合并后的通知
+     */
+    private static RefreshNoticeData merge(final RefreshNoticeData a, final RefreshNoticeData b) {
+        final Set<String> classes;
+        if (isAll(a.getDictProviderClasses()) || isAll(b.getDictProviderClasses())) {
+            classes = null;
+        } else {
+            classes = new LinkedHashSet<>(a.getDictProviderClasses());
+            classes.addAll(b.getDictProviderClasses());
+        }
+        final Set<String> types;
+        if (isAll(a.getDictTypes()) || isAll(b.getDictTypes())) {
+            types = null;
+        } else {
+            types = new LinkedHashSet<>(a.getDictTypes());
+            types.addAll(b.getDictTypes());
+        }
+        final Long token;
+        if (a.getFencingToken() == null || b.getFencingToken() == null) {
+            token = a.getFencingToken() == null ? b.getFencingToken() : a.getFencingToken();
+        } else {
+            // 使用最大的令牌：只有在所有被合并的刷新请求之后开始的写入完成了，才可以跳过刷新
+            token = Math.max(a.getFencingToken(), b.getFencingToken());
+        }
+        return RefreshNoticeData.builder()
+                .message(b.getMessage())
+                .applicationName(b.getApplicationName())
+                .notifyBrother(a.isNotifyBrother() || b.isNotifyBrother())
+                .dictProviderClasses(classes)
+                .dictTypes(types)
+                .fencingToken(token)
+                .build();
+    }
+
+    private static boolean isAll(final Set<String> scope) {
+        return scope == null || scope.isEmpty();
+    }
+
+    /**
+     * 立即发送当前窗口内合并后的通知
+     */
+    void flush() {
+        final RefreshNoticeData noticeData;
+        final int count;
+        synchronized (this) {
+            if (flushTask != null) {
+                flushTask.cancel(false);
+                flushTask = null;
+            }
+            noticeData = pending;
+            count = pendingCount;
+            pending = null;
+            pendingCount = 0;
+        }
+        if (noticeData == null) {
+            return;
+        }
+        if (count > 1) {
+            noticeData.setMessage("合并 " + count + " 个刷新事件，最后一个：" + noticeData.getMessage());
+        }
+        sent.incrementAndGet();
+        try {
+            sender.send(noticeData);
+        } catch (Exception e) {
+            logger.error("发送合并后的刷新字典通知失败，合并了 {} 个刷新事件", count, e);
+        }
+    }
+
+    private synchronized ScheduledExecutorService getScheduler() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(DictExecutors.newThreadFactory("dict-notice-", false));
+        }
+        return scheduler;
+    }
+
+    /**
+     * 发送当前窗口内合并后的通知，并关闭合并窗口使用的线程
+     */
+    void shutdown() {
+        synchronized (this) {
+            shutdown = true;
+        }
+        flush();
+        synchronized (this) {
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+                scheduler = null;
+            }
+        }
+    }
+
+    /**
+     * 获取合并器的运行指标
+     *
+     * @return 运行指标
+     */
+    synchronized Map<String, Object> getMetrics() {
+        final Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("submittedNotices", submitted.get());
+        metrics.put("sentNotices", sent.get());
+        metrics.put("pendingNotices", pendingCount);
+        return metrics;
+    }
+}
@@ -0,0 +1,237 @@
+package com.houkunlin.dict.notice;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.houkunlin.dict.DictRefreshGuard;
+import com.houkunlin.dict.DictRegistrar;
+import com.houkunlin.dict.DictUtil;
+import com.houkunlin.dict.bean.DictValue;
+import com.houkunlin.dict.properties.DictPropertiesNotice;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 刷新字典通知处理器
+ * <p>
+ * 各种消息中间件（Redis 发布/订阅、AMQP 等）共用的刷新字典通知的创建与处理逻辑：
+ * 把 {@link RefreshDictEvent} 事件转换为 {@link RefreshNoticeData} 通知信息；
+ * 收到通知后忽略当前系统发起且不需要通知兄弟系统的通知，再调用 {@link DictRegistrar#refreshDict(java.util.Set)} 刷新字典，
+ * 通知指定了字典类型时调用 {@link DictRegistrar#refreshDictTypes(java.util.Set)} 只刷新这些字典类型。
+ * </p>
+ * <p>
+ * {@link RefreshDictValueEvent} 事件转换为携带变更字典值的增量通知，收到增量通知时调用 {@link DictRegistrar#refreshDictValues(java.util.Collection, boolean, boolean)}
+ * 直接写入这些字典值；变更的字典值数量超过 {@code system.dict.notice.delta-max-size} 时改为全量刷新。
+ * </p>
+ * <p>
+ * 发送的每个通知都带有发送者标识和该发送者单调递增的通知版本号。收到通知时忽略版本号不大于已处理版本号的重复、过期通知；
+ * 版本号不连续时说明中间的通知丢失了，此时全量刷新字典追上最新的数据。
+ * </p>
+ * <p>
+ * 启用集群单写入者刷新（{@code system.dict.cluster.single-writer}）时，收到写入完成的通知只清空本地的字典缓存；
+ * 收到刷新字典通知时，如果同一个应用已经有通知发出之后开始的写入完成了，也只清空本地的字典缓存。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+public class DictNoticeHandler {
+    private static final Logger logger = LoggerFactory.getLogger(DictNoticeHandler.class);
+    private final DictRegistrar dictRegistrar;
+    private final String applicationName;
+    private final DictPropertiesNotice notice;
+    @Nullable
+    private final DictRefreshGuard refreshGuard;
+    /**
+     * 当前实例发送通知使用的发送者标识
+     */
+    private final String senderId = UUID.randomUUID().toString();
+    /**
+     * 当前实例发送通知的版本号
+     */
+    private final AtomicLong sequence = new AtomicLong();
+    /**
+     * 已处理的每个发送者的通知版本号，键为发送者标识；长时间没有收到通知的发送者（例如已经下线的实例）会被移除
+     */
+    private final Cache<String, AtomicLong> appliedVersions = Caffeine.newBuilder().expireAfterAccess(Duration.ofDays(1)).build();
+    /**
+     * 忽略的重复、过期通知数量
+     */
+    private final AtomicLong staleNotices = new AtomicLong();
+    /**
+     * 检测到通知版本号不连续（通知丢失）的次数
+     */
+    private final AtomicLong gaps = new AtomicLong();
+
+    /**
+     * 创建刷新字典通知处理器
+     *
+     * @param dictRegistrar   数据字典注册器
+     * @param applicationName 当前应用名称
+     * @param notice          刷新字典通知配置
+     * @param refreshGuard    集群单写入者刷新保护，未启用时为 null
+     */
+    public DictNoticeHandler(final DictRegistrar dictRegistrar, final String applicationName, final DictPropertiesNotice notice,
+                             @Nullable final DictRefreshGuard refreshGuard) {
+        this.dictRegistrar = dictRegistrar;
+        this.applicationName = applicationName;
+        this.notice = notice;
+        this.refreshGuard = refreshGuard;
+    }
+
+    /**
+     * 把刷新字典事件转换为通知信息
+     *
+     * @param event 刷新字典事件
+     * @return 刷新字典通知信息
+     */
+    public RefreshNoticeData newNotice(final RefreshDictEvent event) {
+        return RefreshNoticeData.builder()
+                .message("刷新事件：" + event.getSource())
+                .applicationName(applicationName)
+                .notifyBrother(event.isNotifyOtherSystemAndBrother())
+                .dictProviderClasses(event.getDictProviderClasses())
+                .dictTypes(event.getDictTypes())
+                .fencingToken(refreshGuard == null ? null : refreshGuard.issuedToken())
+                .build();
+    }
+
+    /**
+     * 把刷新字典值事件转换为增量通知信息
+     * <p>变更的字典值数量超过 {@code system.dict.notice.delta-max-size} 时转换为全量刷新通知。</p>
+     *
+     * @param event 刷新字典值事件
+     * @return 刷新字典通知信息
+     */
+    public RefreshNoticeData newNotice(final RefreshDictValueEvent event) {
+        final List<DictValue> dictValues = new ArrayList<>();
+        event.getSource().forEach(dictValues::add);
+        final RefreshNoticeData.RefreshNoticeDataBuilder builder = RefreshNoticeData.builder()
+                .applicationName(applicationName)
+                .notifyBrother(event.isNotifyOtherSystemAndBrother());
+        if (dictValues.size() > notice.getDeltaMaxSize()) {
+            return builder.message("字典值变更 " + dictValues.size() + " 条，超过增量通知上限，通知全量刷新").build();
+        }
+        return builder.message("字典值变更 " + dictValues.size() + " 条")
+                .dictValues(dictValues)
+                .updateDictType(event.isUpdateDictType())
+                .removeDictType(event.isRemoveDictType())
+                .build();
+    }
+
+    /**
+     * 发送通知前设置发送者标识和通知版本号，已经设置过的通知不会重复设置
+     *
+     * @param noticeData 刷新字典通知信息
+     * @return 刷新字典通知信息
+     */
+    public RefreshNoticeData stamp(final RefreshNoticeData noticeData) {
+        if (noticeData.getSenderId() == null) {
+            noticeData.setSenderId(senderId);
+            noticeData.setVersion(sequence.incrementAndGet());
+        }
+        return noticeData;
+    }
+
+    /**
+     * 处理收到的刷新字典通知
+     *
+     * @param noticeData 刷新字典通知信息
+     * @param mqName     消息中间件名称，用于输出日志
+     */
+    public void handle(final RefreshNoticeData noticeData, final String mqName) {
+        if (!checkVersion(noticeData, mqName)) {
+            return;
+        }
+        final boolean fromBrother = Objects.equals(applicationName, noticeData.getApplicationName());
+        if (!noticeData.isNotifyBrother() && fromBrother) {
+            logger.debug("收到来自当前系统发起的MQ消息，并且被标记忽略处理");
+            return;
+        }
+        if (noticeData.isRefreshed()) {
+            final Long token = noticeData.getFencingToken();
+            if (refreshGuard != null && fromBrother && token != null && !refreshGuard.acceptRefreshed(token)) {
+                logger.debug("收到过期的集群刷新字典完成通知，令牌 {}，已忽略", token);
+                return;
+            }
+            logger.debug("{} 通知集群刷新字典完成：{}，清空本地字典缓存", mqName, noticeData.getMessage());
+            DictUtil.invalidateCache();
+            return;
+        }
+        if (refreshGuard != null && fromBrother && noticeData.getFencingToken() != null
+                && refreshGuard.completedToken() > noticeData.getFencingToken()) {
+            logger.debug("{} 通知刷新字典：{}，通知发出之后已经有实例完成了写入，只清空本地字典缓存", mqName, noticeData.getMessage());
+            DictUtil.invalidateCache();
+            return;
+        }
+        final List<DictValue> dictValues = noticeData.getDictValues();
+        if (dictValues != null && dictValues.size() <= notice.getDeltaMaxSize()) {
+            logger.debug("{} 通知增量刷新字典：{}", mqName, noticeData.getMessage());
+            dictRegistrar.refreshDictValues(dictValues, noticeData.isUpdateDictType(), noticeData.isRemoveDictType());
+            return;
+        }
+        final Set<String> dictTypes = noticeData.getDictTypes();
+        if (dictValues == null && dictTypes != null && !dictTypes.isEmpty()) {
+            logger.debug("{} 通知按字典类型刷新字典：{}，字典类型：{}", mqName, noticeData.getMessage(), dictTypes);
+            dictRegistrar.refreshDictTypes(dictTypes);
+            return;
+        }
+        logger.debug("[start] {} 通知刷新字典：{}", mqName, noticeData.getMessage());
+        // 增量通知的字典值数量超过上限时，全量刷新所有字典提供者的数据
+        dictRegistrar.refreshDict(dictValues == null ? noticeData.getDictProviderClasses() : null);
+        logger.debug("[finish] {} 通知刷新字典", mqName);
+    }
+
+    /**
+     * 检查通知版本号，返回是否继续处理该通知
+     * <p>
+     * 当前实例发出的通知、没有版本号的通知（旧版本发送的通知）不检查版本号；
+     * 第一次收到某个发送者的通知时以该通知的版本号为起点。
+     * 版本号不大于已处理版本号的通知是重复或者过期的通知，直接忽略；版本号不连续时全量刷新字典，不再处理该通知。
+     * </p>
+     *
+     * @param noticeData 刷新字典通知信息
+     * @param mqName     消息中间件名称，用于输出日志
+     * @return 是否继续处理该通知
+     */
+    private boolean checkVersion(final RefreshNoticeData noticeData, final String mqName) {
+        final String sender = noticeData.getSenderId();
+        final Long version = noticeData.getVersion();
+        if (sender == null || version == null || senderId.equals(sender)) {
+            return true;
+        }
+        final AtomicLong applied = appliedVersions.get(sender, k -> new AtomicLong(version - 1));
+        final long previous = applied.getAndAccumulate(version, Math::max);
+        if (version <= previous) {
+            staleNotices.incrementAndGet();
+            logger.debug("{} 收到重复或过期的刷新字典通知，发送者 {} 版本 {}，已处理版本 {}，已忽略", mqName, sender, version, previous);
+            return false;
+        }
+        if (version > previous + 1) {
+            gaps.incrementAndGet();
+            logger.info("{} 刷新字典通知版本不连续，发送者 {} 已处理版本 {}，收到版本 {}，全量刷新字典", mqName, sender, previous, version);
+            dictRegistrar.refreshDict(null);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 获取通知处理的运行指标
+     *
+     * @return 运行指标
+     */
+    public Map<String, Object> getMetrics() {
+        final Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("senderId", senderId);
+        metrics.put("sentVersion", sequence.get());
+        metrics.put("senders", appliedVersions.estimatedSize());
+        metrics.put("staleNotices", staleNotices.get());
+        metrics.put("gaps", gaps.get());
+        return metrics;
+    }
+}
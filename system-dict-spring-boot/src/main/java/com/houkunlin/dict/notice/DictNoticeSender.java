@@ -0,0 +1,21 @@
+package com.houkunlin.dict.notice;
+
+/**
+ * 刷新字典通知发送器
+ * <p>
+ * 通过消息中间件把刷新字典通知广播给其他系统（以及本系统的其他实例），
+ * 由 {@link DictRedisSubscribeAutoConfiguration}、{@link DictAmqpAutoConfiguration} 等消息通知配置实现。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+public interface DictNoticeSender {
+    /**
+     * 发送刷新字典通知
+     *
+     * @param noticeData 刷新字典通知信息
+     * @throws Exception 发送通知失败
+     */
+    void send(RefreshNoticeData noticeData) throws Exception;
+}
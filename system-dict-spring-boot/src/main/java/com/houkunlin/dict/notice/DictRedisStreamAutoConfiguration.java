@@ -0,0 +1,278 @@
+package com.houkunlin.dict.notice;
+
+import com.houkunlin.dict.DictExecutors;
+import com.houkunlin.dict.DictJsonCodec;
+import com.houkunlin.dict.DictMetricsSource;
+import com.houkunlin.dict.DictRefreshGuard;
+import com.houkunlin.dict.DictRegistrar;
+import com.houkunlin.dict.properties.DictProperties;
+import com.houkunlin.dict.properties.DictPropertiesNotice;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 使用 Redis Stream 来处理字典刷新事件通知
+ * <p>
+ * 与 Redis 发布/订阅不同，通知会写入一个限制长度的 Redis Stream（键为 {@code system.dict.mq-exchange-name}），
+ * 每个实例记录自己最后读取的消息 ID，每次都从最后读取的消息 ID 之后阻塞读取（{@code XREAD BLOCK}），
+ * 与 Redis 的连接短暂断开后重新连接时会补上断开期间错过的通知，不需要全量刷新字典。
+ * </p>
+ * <p>
+ * 实例启动时从当前最新的消息之后开始读取（启动时已经加载了全部字典数据）；
+ * 断开时间过长、错过的通知已经被 Stream 的长度限制（{@code system.dict.notice.stream-max-length}）裁剪掉时，
+ * 由通知版本号检测到通知丢失并全量刷新字典。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+@ConditionalOnProperty(prefix = "system.dict", name = "mq-type", havingValue = "REDIS_STREAM")
+@ConditionalOnClass(StringRedisTemplate.class)
+@Configuration(proxyBeanMethods = false)
+public class DictRedisStreamAutoConfiguration implements InitializingBean, DisposableBean, DictNoticeSender, DictMetricsSource {
+    private static final Logger logger = LoggerFactory.getLogger(DictRedisStreamAutoConfiguration.class);
+    /**
+     * Stream 消息中保存通知 JSON 的字段名称
+     */
+    private static final String FIELD_NOTICE = "notice";
+    /**
+     * 每次阻塞读取 Stream 的最长时间，读取失败时也等待该时间后重新读取
+     */
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+    /**
+     * 每次读取 Stream 的最大消息数量
+     */
+    private static final long POLL_COUNT = 100;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final DictJsonCodec dictJsonCodec;
+    private final DictNoticeHandler noticeHandler;
+    /**
+     * 刷新字典通知合并器，用于合并短时间内发送的全量刷新通知
+     */
+    private final DictNoticeCoalescer noticeCoalescer;
+    private final DictPropertiesNotice notice;
+    /**
+     * Stream 的键
+     */
+    private final String streamKey;
+    /**
+     * 最后读取的消息 ID
+     */
+    private volatile String lastReadId;
+    /**
+     * 读取 Stream 失败的次数
+     */
+    private final AtomicLong readErrors = new AtomicLong();
+    private volatile boolean running;
+    private ExecutorService executor;
+
+    /**
+     * 构造方法
+     *
+     * @param dictRegistrar       数据字典注册器
+     * @param stringRedisTemplate String Redis 模板
+     * @param dictJsonCodec       JSON 序列化和反序列化工具
+     * @param applicationName     当前应用名称
+     * @param dictProperties      数据字典配置信息
+     * @param refreshGuard        集群单写入者刷新保护（启用 {@code system.dict.cluster.single-writer} 时存在）
+     */
+    public DictRedisStreamAutoConfiguration(final DictRegistrar dictRegistrar,
+                                            final StringRedisTemplate stringRedisTemplate,
+                                            final DictJsonCodec dictJsonCodec,
+                                            @Value("${spring.application.name:'system-dict'}") final String applicationName,
+                                            final DictProperties dictProperties,
+                                            final ObjectProvider<DictRefreshGuard> refreshGuard) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.dictJsonCodec = dictJsonCodec;
+        this.notice = dictProperties.getNotice();
+        this.noticeHandler = new DictNoticeHandler(dictRegistrar, applicationName, notice, refreshGuard.getIfAvailable());
+        this.noticeCoalescer = new DictNoticeCoalescer(notice, this);
+        this.streamKey = dictProperties.getMqExchangeName();
+    }
+
+    /**
+     * 处理系统内部发起的刷新数据字典事件
+     *
+     * @param event 刷新字典事件对象
+     * @throws Exception JSON 序列化异常
+     */
+    @EventListener
+    public void refreshDict(RefreshDictEvent event) throws Exception {
+        if (event.isNotifyOtherSystem()) {
+            logger.debug("接收到刷新数据字典事件，使用 Redis Stream 通知其他协同系统刷新数据字典内容。事件内容：{}", event.getSource());
+            noticeCoalescer.submit(noticeHandler.newNotice(event));
+        }
+    }
+
+    /**
+     * 处理系统内部发起的刷新字典值事件
+     *
+     * @param event 刷新字典值事件
+     * @throws Exception JSON 序列化异常
+     */
+    @EventListener
+    public void refreshDictValue(RefreshDictValueEvent event) throws Exception {
+        if (event.isNotifyOtherSystem()) {
+            logger.debug("接收到刷新字典值事件，使用 Redis Stream 通知其他协同系统增量刷新数据字典内容");
+            send(noticeHandler.newNotice(event));
+        }
+    }
+
+    /**
+     * 把刷新字典通知写入 Redis Stream，并按 {@code system.dict.notice.stream-max-length} 裁剪 Stream 的长度
+     *
+     * @param noticeData 刷新字典通知信息
+     * @throws Exception JSON 序列化异常
+     */
+    @Override
+    public void send(final RefreshNoticeData noticeData) throws Exception {
+        final String json = dictJsonCodec.writeValueAsString(noticeHandler.stamp(noticeData));
+        stringRedisTemplate.opsForStream().add(StreamRecords.string(Collections.singletonMap(FIELD_NOTICE, json)).withStreamKey(streamKey));
+        stringRedisTemplate.opsForStream().trim(streamKey, notice.getStreamMaxLength(), true);
+    }
+
+    /**
+     * 从当前最新的消息之后开始读取 Redis Stream
+     *
+     * @throws Exception 初始化异常
+     */
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        lastReadId = currentLastId();
+        running = true;
+        executor = Executors.newSingleThreadExecutor(DictExecutors.newThreadFactory("dict-stream-", false));
+        executor.execute(this::pollLoop);
+    }
+
+    /**
+     * 获取 Stream 当前最新的消息 ID，Stream 不存在时从头开始读取
+     *
+     * @return 最新的消息 ID
+     */
+    private String currentLastId() {
+        try {
+            return stringRedisTemplate.opsForStream().info(streamKey).lastGeneratedId();
+        } catch (RuntimeException e) {
+            logger.debug("Redis Stream {} 不存在，从头开始读取字典刷新通知", streamKey);
+            return "0-0";
+        }
+    }
+
+    /**
+     * 持续读取 Redis Stream，读取失败（例如连接断开）时等待一段时间后从最后读取的消息 ID 之后继续读取
+     */
+    private void pollLoop() {
+        final StreamReadOptions options = StreamReadOptions.empty().count(POLL_COUNT).block(POLL_TIMEOUT);
+        while (running) {
+            try {
+                poll(options);
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                if (readErrors.incrementAndGet() % 60 == 1) {
+                    logger.warn("读取 Redis Stream {} 的字典刷新通知失败，将在连接恢复后从消息 {} 之后继续读取", streamKey, lastReadId, e);
+                }
+                try {
+                    Thread.sleep(POLL_TIMEOUT.toMillis());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 读取一次最后读取的消息 ID 之后的消息
+     *
+     * @param options 读取参数
+     */
+    @SuppressWarnings("unchecked")
+    private void poll(final StreamReadOptions options) {
+        final List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream()
+                .read(options, StreamOffset.create(streamKey, ReadOffset.from(lastReadId)));
+        if (records == null) {
+            return;
+        }
+        for (final MapRecord<String, Object, Object> record : records) {
+            if (!running) {
+                return;
+            }
+            onMessage(record);
+        }
+    }
+
+    /**
+     * 处理从 Redis Stream 读取到的消息
+     *
+     * @param message Stream 消息
+     */
+    private void onMessage(final MapRecord<String, Object, Object> message) {
+        lastReadId = message.getId().getValue();
+        final Object json = message.getValue().get(FIELD_NOTICE);
+        if (json == null) {
+            return;
+        }
+        final RefreshNoticeData noticeData;
+        try {
+            noticeData = dictJsonCodec.readValue(json.toString().getBytes(StandardCharsets.UTF_8), RefreshNoticeData.class);
+        } catch (Exception e) {
+            logger.error("读取来自 Redis Stream 的字典刷新通知在解析Json时出现错误", e);
+            return;
+        }
+        try {
+            noticeHandler.handle(noticeData, "RedisStream");
+        } catch (RuntimeException e) {
+            logger.error("处理来自 Redis Stream 的字典刷新通知失败", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        noticeCoalescer.shutdown();
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "notice";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        final Map<String, Object> metrics = new LinkedHashMap<>(noticeHandler.getMetrics());
+        metrics.putAll(noticeCoalescer.getMetrics());
+        metrics.put("streamKey", streamKey);
+        metrics.put("lastReadId", lastReadId);
+        metrics.put("readErrors", readErrors.get());
+        return metrics;
+    }
+}
@@ -1,13 +1,18 @@
 package com.houkunlin.dict.notice;
 
 import com.houkunlin.dict.DictJsonCodec;
+import com.houkunlin.dict.DictMetricsSource;
+import com.houkunlin.dict.DictRefreshGuard;
 import com.houkunlin.dict.DictRegistrar;
 import com.houkunlin.dict.properties.DictProperties;
+import com.houkunlin.dict.properties.DictPropertiesNotice;
 import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -19,6 +24,8 @@ import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -35,7 +42,7 @@ import java.util.Objects;
 @ConditionalOnProperty(prefix = "system.dict", name = "mq-type", havingValue = "REDIS")
 @ConditionalOnClass(StringRedisTemplate.class)
 @Configuration(proxyBeanMethods = false)
-public class DictRedisSubscribeAutoConfiguration implements InitializingBean {
+public class DictRedisSubscribeAutoConfiguration implements InitializingBean, DisposableBean, DictNoticeSender, DictMetricsSource {
     /**
      * 日志
      */
@@ -45,9 +52,13 @@ public class DictRedisSubscribeAutoConfiguration implements InitializingBean {
      */
     private final RedisMessageListenerContainer redisMessageListenerContainer;
     /**
-     * 数据字典注册器，用于刷新字典数据
+     * 刷新字典通知处理器，用于创建和处理刷新字典通知
      */
-    private final DictRegistrar dictRegistrar;
+    private final DictNoticeHandler noticeHandler;
+    /**
+     * 刷新字典通知合并器，用于合并短时间内发送的全量刷新通知
+     */
+    private final DictNoticeCoalescer noticeCoalescer;
     /**
      * String Redis 模板，用于发布 Redis 消息
      */
@@ -56,10 +67,6 @@ public class DictRedisSubscribeAutoConfiguration implements InitializingBean {
      * JSON 序列化和反序列化工具，用于消息的序列化和反序列化
      */
     private final DictJsonCodec dictJsonCodec;
-    /**
-     * 当前应用名称，用于标识消息的来源和过滤
-     */
-    private final String applicationName;
     /**
      * 交换器名称，用于指定 Redis 消息的通道
      */
@@ -74,18 +81,20 @@ public class DictRedisSubscribeAutoConfiguration implements InitializingBean {
      * @param dictJsonCodec                     JSON 序列化和反序列化工具
      * @param applicationName               当前应用名称
      * @param dictProperties                数据字典配置信息
+     * @param refreshGuard                  集群单写入者刷新保护（启用 {@code system.dict.cluster.single-writer} 时存在）
      */
     public DictRedisSubscribeAutoConfiguration(final RedisMessageListenerContainer redisMessageListenerContainer,
                                            final DictRegistrar dictRegistrar,
                                            final StringRedisTemplate stringRedisTemplate,
                                            final DictJsonCodec dictJsonCodec,
                                            @Value("${spring.application.name:'system-dict'}") final String applicationName,
-                                           final DictProperties dictProperties) {
+                                           final DictProperties dictProperties,
+                                           final ObjectProvider<DictRefreshGuard> refreshGuard) {
         this.redisMessageListenerContainer = redisMessageListenerContainer;
-        this.dictRegistrar = dictRegistrar;
+        this.noticeHandler = new DictNoticeHandler(dictRegistrar, applicationName, dictProperties.getNotice(), refreshGuard.getIfAvailable());
+        this.noticeCoalescer = new DictNoticeCoalescer(dictProperties.getNotice(), this);
         this.stringRedisTemplate = stringRedisTemplate;
         this.dictJsonCodec = dictJsonCodec;
-        this.applicationName = applicationName;
         this.exchangeName = dictProperties.getMqExchangeName();
     }
 
@@ -104,16 +113,41 @@ public class DictRedisSubscribeAutoConfiguration implements InitializingBean {
         final Object source = event.getSource();
         if (event.isNotifyOtherSystem()) {
             logger.debug("接收到刷新数据字典事件，使用 Redis 通知其他协同系统刷新数据字典内容。事件内容：{}", source);
-            final RefreshNoticeData noticeData = RefreshNoticeData.builder()
-                .message("刷新事件：" + source)
-                .applicationName(applicationName)
-                .notifyBrother(event.isNotifyOtherSystemAndBrother())
-                .dictProviderClasses(event.getDictProviderClasses()).build();
-            final String json = dictJsonCodec.writeValueAsString(noticeData);
-            stringRedisTemplate.convertAndSend(exchangeName, json);
+            noticeCoalescer.submit(noticeHandler.newNotice(event));
+        }
+    }
+
+    /**
+     * 处理系统内部发起的刷新字典值事件
+     * <p>
+     * 当收到刷新字典值事件且需要通知其他系统时，会将变更的字典值封装为增量通知，通过 Redis 发布消息。
+     * </p>
+     *
+     * @param event 刷新字典值事件
+     * @throws Exception JSON 序列化异常
+     * @since 2.2.0
+     */
+    @EventListener
+    public void refreshDictValue(RefreshDictValueEvent event) throws Exception {
+        if (event.isNotifyOtherSystem()) {
+            logger.debug("接收到刷新字典值事件，使用 Redis 通知其他协同系统增量刷新数据字典内容");
+            send(noticeHandler.newNotice(event));
         }
     }
 
+    /**
+     * 通过 Redis 发布刷新字典通知
+     *
+     * @param noticeData 刷新字典通知信息
+     * @throws Exception JSON 序列化异常
+     * @since 2.2.0
+     */
+    @Override
+    public void send(final RefreshNoticeData noticeData) throws Exception {
+        final String json = dictJsonCodec.writeValueAsString(noticeHandler.stamp(noticeData));
+        stringRedisTemplate.convertAndSend(exchangeName, json);
+    }
+
     /**
      * 初始化方法
      * <p>
@@ -124,10 +158,32 @@ public class DictRedisSubscribeAutoConfiguration implements InitializingBean {
      */
     @Override
     public void afterPropertiesSet() throws Exception {
-        final MessageListener messageListener = new DictRedisMessageListener(dictRegistrar, dictJsonCodec, applicationName, exchangeName);
+        final MessageListener messageListener = new DictRedisMessageListener(noticeHandler, dictJsonCodec, exchangeName);
         redisMessageListenerContainer.addMessageListener(messageListener, new ChannelTopic(exchangeName));
     }
 
+    @Override
+    public String getMetricsName() {
+        return "notice";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        final Map<String, Object> metrics = new LinkedHashMap<>(noticeHandler.getMetrics());
+        metrics.putAll(noticeCoalescer.getMetrics());
+        return metrics;
+    }
+
+    /**
+     * 发送合并窗口内尚未发送的刷新字典通知
+     *
+     * @since 2.2.0
+     */
+    @Override
+    public void destroy() {
+        noticeCoalescer.shutdown();
+    }
+
     /**
      * 数据字典 Redis 消息监听器
      * <p>
@@ -137,22 +193,31 @@ public class DictRedisSubscribeAutoConfiguration implements InitializingBean {
     @RequiredArgsConstructor
     public static class DictRedisMessageListener implements MessageListener {
         /**
-         * 数据字典注册器，用于刷新字典数据
+         * 刷新字典通知处理器，用于处理收到的刷新字典通知
          */
-        private final DictRegistrar dictRegistrar;
+        private final DictNoticeHandler noticeHandler;
         /**
          * JSON 序列化和反序列化工具，用于消息的序列化和反序列化
          */
         private final DictJsonCodec dictJsonCodec;
-        /**
-         * 当前应用名称，用于标识消息的来源和过滤
-         */
-        private final String applicationName;
         /**
          * 交换器名称，用于指定 Redis 消息的通道
          */
         private final String exchangeName;
 
+        /**
+         * 构造方法
+         *
+         * @param dictRegistrar   数据字典注册器
+         * @param dictJsonCodec   JSON 序列化和反序列化工具
+         * @param applicationName 当前应用名称
+         * @param exchangeName    交换器名称
+         */
+        public DictRedisMessageListener(final DictRegistrar dictRegistrar, final DictJsonCodec dictJsonCodec,
+                                        final String applicationName, final String exchangeName) {
+            this(new DictNoticeHandler(dictRegistrar, applicationName, new DictPropertiesNotice(), null), dictJsonCodec, exchangeName);
+        }
+
         /**
          * 处理接收到的 Redis 消息
          * <p>
@@ -177,13 +242,7 @@ public class DictRedisSubscribeAutoConfiguration implements InitializingBean {
                 logger.error("订阅来自 Redis 的字典刷新事件在解析Json时出现错误", e);
                 return;
             }
-            if (!noticeData.isNotifyBrother() && Objects.equals(applicationName, noticeData.getApplicationName())) {
-                logger.debug("收到来自当前系统发起的MQ消息，并且被标记忽略处理");
-                return;
-            }
-            logger.debug("[start] Redis 通知刷新字典：{}", noticeData.getMessage());
-            dictRegistrar.refreshDict(noticeData.getDictProviderClasses());
-            logger.debug("[finish] Redis 通知刷新字典");
+            noticeHandler.handle(noticeData, "Redis");
         }
     }
 }
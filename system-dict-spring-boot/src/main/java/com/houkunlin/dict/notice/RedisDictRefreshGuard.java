@@ -0,0 +1,268 @@
+package com.houkunlin.dict.notice;
+
+import com.houkunlin.dict.DictMetricsSource;
+import com.houkunlin.dict.DictRefreshGuard;
+import com.houkunlin.dict.properties.DictPropertiesCluster;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 基于 Redis 分布式锁的集群单写入者刷新保护
+ * <p>
+ * 同一个应用的多个实例共享同一个 Redis 字典存储时，刷新字典前先获取该应用的 Redis 分布式锁（{@code SET NX PX}），
+ * 获取到锁的实例通过 {@code INCR} 获取一个单调递增的令牌（fencing token）后写入字典数据，
+ * 写入完成后在锁仍然由自己持有的情况下记录已完成的最大令牌并释放锁，再通过 {@link DictNoticeSender} 通知其他实例写入完成；
+ * 没有获取到锁的实例不再重复写入，把本次需要刷新的范围记录到 Redis 中交给持有锁的实例，只在收到写入完成的通知后清空本地的字典缓存。
+ * </p>
+ * <p>
+ * 持有锁的实例写入完成时如果存在其他实例交过来的刷新范围，会继续持有锁并使用新的令牌合并执行一次刷新（trailing run），
+ * 因此在写入过程中发生的刷新请求不会丢失。写入失败时不执行合并刷新，本次刷新范围（包含交过来的刷新范围）留给下一次获取到锁的实例。
+ * </p>
+ * <p>
+ * 锁在写入过程中过期（写入耗时超过 {@code system.dict.cluster.lock-ttl}）时，本次写入不会被记录为已完成，也不会发送写入完成的通知。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+public class RedisDictRefreshGuard implements DictRefreshGuard, DictMetricsSource {
+    private static final Logger logger = LoggerFactory.getLogger(RedisDictRefreshGuard.class);
+    /**
+     * 所有字典提供者的刷新范围
+     */
+    private static final String ALL_PROVIDERS = "*";
+    /**
+     * 锁仍然由自己持有时记录已完成的最大令牌：写入成功并且存在其他实例交过来的刷新范围时延长锁的有效期并返回 2，否则释放锁并返回 1；
+     * 锁已经过期或者被其他实例持有时返回 0
+     */
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) ~= ARGV[1] then return 0 end "
+                    + "if tonumber(ARGV[2]) > tonumber(redis.call('get', KEYS[2]) or '0') then redis.call('set', KEYS[2], ARGV[2]) end "
+                    + "if tonumber(ARGV[2]) > 0 and redis.call('scard', KEYS[3]) > 0 then redis.call('pexpire', KEYS[1], ARGV[3]) return 2 end "
+                    + "redis.call('del', KEYS[1]) "
+                    + "return 1", Long.class);
+    /**
+     * 记录没有获取到锁的实例交过来的刷新范围
+     */
+    private static final RedisScript<Long> PENDING_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('sadd', KEYS[1], unpack(ARGV, 2)) "
+                    + "redis.call('pexpire', KEYS[1], ARGV[1]) "
+                    + "return 1", Long.class);
+    /**
+     * 取出并删除其他实例交过来的刷新范围
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TAKE_PENDING_SCRIPT = new DefaultRedisScript<>(
+            "local scopes = redis.call('smembers', KEYS[1]) "
+                    + "redis.call('del', KEYS[1]) "
+                    + "return scopes", List.class);
+    private final StringRedisTemplate redisTemplate;
+    private final DictPropertiesCluster cluster;
+    private final String applicationName;
+    private final ObjectProvider<DictNoticeSender> noticeSenders;
+    /**
+     * 当前实例持有锁时写入的锁内容
+     */
+    private final String owner = UUID.randomUUID().toString();
+    /**
+     * 收到的写入完成通知中最大的令牌
+     */
+    private final AtomicLong lastRefreshedToken = new AtomicLong();
+    /**
+     * 当前实例执行写入的次数
+     */
+    private final AtomicLong writes = new AtomicLong();
+    /**
+     * 其他实例正在写入而跳过写入（把刷新范围交给持有锁的实例）的次数
+     */
+    private final AtomicLong skips = new AtomicLong();
+    /**
+     * 当前实例合并执行其他实例交过来的刷新范围的次数
+     */
+    private final AtomicLong trailingRuns = new AtomicLong();
+
+    /**
+     * 创建集群单写入者刷新保护
+     *
+     * @param redisTemplate   Redis 模板
+     * @param cluster         集群刷新字典配置
+     * @param applicationName 当前应用名称，同一个应用的实例使用同一把锁
+     * @param noticeSenders   刷新字典通知发送器
+     */
+    public RedisDictRefreshGuard(final StringRedisTemplate redisTemplate, final DictPropertiesCluster cluster,
+                                 final String applicationName, final ObjectProvider<DictNoticeSender> noticeSenders) {
+        this.redisTemplate = redisTemplate;
+        this.cluster = cluster;
+        this.applicationName = applicationName;
+        this.noticeSenders = noticeSenders;
+    }
+
+    @Override
+    public boolean runExclusive(final Set<String> dictProviderClasses, final Consumer<Set<String>> refresh) {
+        if (!tryLock()) {
+            addPending(dictProviderClasses);
+            // 记录刷新范围前持有锁的实例可能已经释放了锁，再尝试一次获取锁，避免刷新范围无人执行
+            if (!tryLock()) {
+                skips.incrementAndGet();
+                logger.debug("其他实例正在刷新字典并写入 Redis，本次刷新范围 {} 交给该实例在写入完成后合并执行", dictProviderClasses);
+                return false;
+            }
+        }
+        Set<String> scope = mergeScope(dictProviderClasses, takePending());
+        while (true) {
+            final Long token = redisTemplate.opsForValue().increment(key("fence"));
+            writes.incrementAndGet();
+            try {
+                refresh.accept(scope);
+            } catch (Throwable e) {
+                // 写入失败时不记录已完成的令牌，其他实例收到刷新通知时仍然需要刷新；刷新范围放回 Redis 中，留给下一次获取到锁的实例
+                addPending(scope);
+                release(0L);
+                throw e;
+            }
+            final long released = release(token);
+            if (released == 0) {
+                logger.warn("刷新字典耗时超过分布式锁有效期 {}，令牌 {} 的写入结果不会通知其他实例", cluster.getLockTtl(), token);
+                return true;
+            }
+            notifyRefreshed(token);
+            if (released == 1) {
+                return true;
+            }
+            // 写入过程中其他实例交过来了刷新范围，继续持有锁合并执行一次刷新
+            scope = mergeScope(Collections.emptySet(), takePending());
+            trailingRuns.incrementAndGet();
+            logger.debug("合并执行其他实例交过来的刷新范围 {}", scope);
+        }
+    }
+
+    private boolean tryLock() {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key("lock"), owner, cluster.getLockTtl()));
+    }
+
+    /**
+     * 记录已完成的令牌并释放锁
+     *
+     * @param token 已完成的令牌，写入失败时为 0
+     * @return 0：锁已经过期；1：已释放锁；2：存在其他实例交过来的刷新范围，继续持有锁
+     */
+    private long release(final Long token) {
+        final Long released = redisTemplate.execute(RELEASE_SCRIPT, Arrays.asList(key("lock"), key("completed"), key("pending")),
+                owner, String.valueOf(token), String.valueOf(cluster.getLockTtl().toMillis()));
+        return released == null ? 0 : released;
+    }
+
+    private void addPending(final Set<String> dictProviderClasses) {
+        if (dictProviderClasses != null && dictProviderClasses.isEmpty()) {
+            return;
+        }
+        final List<Object> args = new ArrayList<>();
+        args.add(String.valueOf(cluster.getLockTtl().toMillis()));
+        if (dictProviderClasses == null) {
+            args.add(ALL_PROVIDERS);
+        } else {
+            args.addAll(dictProviderClasses);
+        }
+        redisTemplate.execute(PENDING_SCRIPT, Collections.singletonList(key("pending")), args.toArray());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<String> takePending() {
+        final List<String> pending = redisTemplate.execute(TAKE_PENDING_SCRIPT, Collections.singletonList(key("pending")));
+        return pending == null ? Collections.emptyList() : pending;
+    }
+
+    /**
+     * 合并刷新范围
+     *
+     * @param dictProviderClasses 当前实例的刷新范围，null 表示刷新所有
+     * @param pending             其他实例交过来的刷新范围
+     * @return 合并后的刷新范围，null 表示刷新所有
+     */
+    private static Set<String> mergeScope(final Set<String> dictProviderClasses, final Collection<String> pending) {
+        if (dictProviderClasses == null || pending.contains(ALL_PROVIDERS)) {
+            return null;
+        }
+        final Set<String> scope = new HashSet<>(dictProviderClasses);
+        scope.addAll(pending);
+        return scope;
+    }
+
+    /**
+     * 通知其他实例写入完成
+     *
+     * @param token 本次写入使用的令牌
+     */
+    private void notifyRefreshed(final Long token) {
+        final RefreshNoticeData noticeData = RefreshNoticeData.builder()
+                .message("集群刷新字典完成：" + token)
+                .applicationName(applicationName)
+                .notifyBrother(true)
+                .refreshed(true)
+                .fencingToken(token)
+                .build();
+        noticeSenders.orderedStream().forEach(sender -> {
+            try {
+                sender.send(noticeData);
+            } catch (Exception e) {
+                logger.error("发送集群刷新字典完成通知失败", e);
+            }
+        });
+    }
+
+    @Override
+    public Long issuedToken() {
+        return parse(redisTemplate.opsForValue().get(key("fence")));
+    }
+
+    @Override
+    public long completedToken() {
+        return parse(redisTemplate.opsForValue().get(key("completed")));
+    }
+
+    @Override
+    public boolean acceptRefreshed(final long token) {
+        return lastRefreshedToken.getAndAccumulate(token, Math::max) < token;
+    }
+
+    private String key(final String name) {
+        return cluster.getKeyPrefix() + name + ":" + applicationName;
+    }
+
+    private static long parse(final String value) {
+        return value == null ? 0 : Long.parseLong(value);
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "cluster";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        final Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("applicationName", applicationName);
+        metrics.put("writes", writes.get());
+        metrics.put("skips", skips.get());
+        metrics.put("trailingRuns", trailingRuns.get());
+        metrics.put("lastRefreshedToken", lastRefreshedToken.get());
+        return metrics;
+    }
+}
@@ -14,6 +14,7 @@ import java.util.Set;
  * 2. 同时通知其他系统刷新字典数据
  * 3. 通知其他系统的同时，也通知本系统的兄弟实例
  * 4. 限定只刷新指定的字典提供者
+ * 5. 限定只刷新指定的字典类型
  * </p>
  *
  * @author HouKunLin
@@ -33,6 +34,13 @@ public class RefreshDictEvent extends ApplicationEvent {
      * 通常传入 DictProvider 的完整 class 名称（默认），或者传入 DictType 需要自定实现 {@link DictProvider#supportRefresh(java.util.Set)} 方法
      */
     private final Set<String> dictProviderClasses;
+    /**
+     * 限定只刷新指定的字典类型代码。不为空时只重新加载、写入这些字典类型（需要字典提供者实现 {@link DictProvider#dictTypeIterator(Set)}），
+     * 不再按 {@link #dictProviderClasses} 刷新字典提供者
+     *
+     * @since 2.2.0
+     */
+    private final Set<String> dictTypes;
 
     /**
      * 创建刷新字典事件
@@ -47,6 +55,7 @@ public class RefreshDictEvent extends ApplicationEvent {
         this.notifyOtherSystem = false;
         this.notifyOtherSystemAndBrother = false;
         this.dictProviderClasses = null;
+        this.dictTypes = null;
     }
 
     /**
@@ -63,6 +72,7 @@ public class RefreshDictEvent extends ApplicationEvent {
         this.notifyOtherSystem = false;
         this.notifyOtherSystemAndBrother = false;
         this.dictProviderClasses = dictProviderClasses;
+        this.dictTypes = null;
     }
 
     /**
@@ -79,6 +89,7 @@ public class RefreshDictEvent extends ApplicationEvent {
         this.notifyOtherSystem = notifyOtherSystem;
         this.notifyOtherSystemAndBrother = false;
         this.dictProviderClasses = null;
+        this.dictTypes = null;
     }
 
     /**
@@ -96,6 +107,7 @@ public class RefreshDictEvent extends ApplicationEvent {
         this.notifyOtherSystem = notifyOtherSystem;
         this.notifyOtherSystemAndBrother = false;
         this.dictProviderClasses = dictProviderClasses;
+        this.dictTypes = null;
     }
 
     /**
@@ -113,6 +125,7 @@ public class RefreshDictEvent extends ApplicationEvent {
         this.notifyOtherSystem = notifyOtherSystem;
         this.notifyOtherSystemAndBrother = notifyOtherSystemAndBrother;
         this.dictProviderClasses = null;
+        this.dictTypes = null;
     }
 
     /**
@@ -131,5 +144,28 @@ public class RefreshDictEvent extends ApplicationEvent {
         this.notifyOtherSystem = notifyOtherSystem;
         this.notifyOtherSystemAndBrother = notifyOtherSystemAndBrother;
         this.dictProviderClasses = dictProviderClasses;
+        this.dictTypes = null;
+    }
+
+    /**
+     * 创建刷新字典事件
+     * <p>
+     * 可选择是否通知其他系统和兄弟系统，只刷新指定的字典类型。
+     * </p>
+     *
+     * @param source                      事件来源等相关信息
+     * @param notifyOtherSystem           是否通知其他的系统。使用 MQ 进行广播通知其他系统更新数据字典
+     * @param notifyOtherSystemAndBrother 使用MQ通知其他系统的同时，也通知本系统的兄弟系统（同一个系统部署多个实例）
+     * @param dictProviderClasses         限定只刷新指定的 DictProvider 对象（指定了字典类型时不使用）
+     * @param dictTypes                   限定只刷新指定的字典类型代码。当为 null 或者 空列表 时按 dictProviderClasses 刷新
+     * @since 2.2.0
+     */
+    public RefreshDictEvent(final Object source, final boolean notifyOtherSystem, final boolean notifyOtherSystemAndBrother,
+                            final Set<String> dictProviderClasses, final Set<String> dictTypes) {
+        super(source);
+        this.notifyOtherSystem = notifyOtherSystem;
+        this.notifyOtherSystemAndBrother = notifyOtherSystemAndBrother;
+        this.dictProviderClasses = dictProviderClasses;
+        this.dictTypes = dictTypes;
     }
 }
@@ -41,6 +41,18 @@ public class RefreshDictValueEvent extends ApplicationEvent {
      * @since 1.4.5.1
      */
     private final boolean removeDictType;
+    /**
+     * 是否通知其他的系统。使用 MQ 把变更的字典值作为增量通知广播给其他系统，其他系统直接写入这些字典值
+     *
+     * @since 2.2.0
+     */
+    private final boolean notifyOtherSystem;
+    /**
+     * 使用MQ通知其他系统的同时，也通知本系统的兄弟系统（同一个系统部署多个实例）
+     *
+     * @since 2.2.0
+     */
+    private final boolean notifyOtherSystemAndBrother;
 
     /**
      * 刷新单个字典值文本信息
@@ -55,6 +67,8 @@ public class RefreshDictValueEvent extends ApplicationEvent {
         super(Collections.singletonList(dictValue));
         this.updateDictType = true;
         this.removeDictType = true;
+        this.notifyOtherSystem = false;
+        this.notifyOtherSystemAndBrother = false;
     }
 
     /**
@@ -70,6 +84,8 @@ public class RefreshDictValueEvent extends ApplicationEvent {
         super(dictValueVos);
         this.updateDictType = true;
         this.removeDictType = true;
+        this.notifyOtherSystem = false;
+        this.notifyOtherSystemAndBrother = false;
     }
 
     /**
@@ -85,6 +101,8 @@ public class RefreshDictValueEvent extends ApplicationEvent {
         super(Collections.singletonList(dictValue));
         this.updateDictType = updateDictType;
         this.removeDictType = false;
+        this.notifyOtherSystem = false;
+        this.notifyOtherSystemAndBrother = false;
     }
 
     /**
@@ -100,6 +118,30 @@ public class RefreshDictValueEvent extends ApplicationEvent {
         super(dictValueVos);
         this.updateDictType = updateDictType;
         this.removeDictType = false;
+        this.notifyOtherSystem = false;
+        this.notifyOtherSystemAndBrother = false;
+    }
+
+    /**
+     * 刷新多个字典值文本信息，并通过 MQ 把变更的字典值作为增量通知广播给其他系统
+     * <p>
+     * 变更的字典值数量超过 {@code system.dict.notice.delta-max-size} 时改为通知其他系统全量刷新字典。
+     * </p>
+     *
+     * @param dictValueVos                多个字典值对象（必须要有 {@link DictValue#dictType} 字典类型值）
+     * @param updateDictType              是否更新维护字典类型对象里面的字典值列表信息
+     * @param removeDictType              字典类型的字典值列表为空时是否删除字典类型
+     * @param notifyOtherSystem           是否通知其他的系统
+     * @param notifyOtherSystemAndBrother 使用MQ通知其他系统的同时，也通知本系统的兄弟系统（同一个系统部署多个实例）
+     * @since 2.2.0
+     */
+    public RefreshDictValueEvent(final Iterable<DictValue> dictValueVos, final boolean updateDictType, final boolean removeDictType,
+                                 final boolean notifyOtherSystem, final boolean notifyOtherSystemAndBrother) {
+        super(dictValueVos);
+        this.updateDictType = updateDictType;
+        this.removeDictType = removeDictType;
+        this.notifyOtherSystem = notifyOtherSystem;
+        this.notifyOtherSystemAndBrother = notifyOtherSystemAndBrother;
     }
 
     /**
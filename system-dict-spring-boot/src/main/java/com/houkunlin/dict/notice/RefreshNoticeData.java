@@ -1,9 +1,13 @@
 package com.houkunlin.dict.notice;
 
+import com.houkunlin.dict.bean.DictValue;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.io.Serializable;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -28,6 +32,8 @@ import java.util.Set;
  */
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class RefreshNoticeData implements Serializable {
     /**
      * 事件消息文本内容，描述本次刷新的具体内容
@@ -45,4 +51,58 @@ public class RefreshNoticeData implements Serializable {
      * 通知需要刷新的字典提供者，指定哪些字典提供者需要刷新
      */
     private Set<String> dictProviderClasses;
+    /**
+     * 通知需要刷新的字典类型代码，不为空时只刷新这些字典类型，不再按 {@link #dictProviderClasses} 刷新字典提供者
+     *
+     * @since 2.2.0
+     */
+    private Set<String> dictTypes;
+    /**
+     * 是否为集群单写入者刷新完成的通知
+     * <p>为 true 时表示某个实例已经把字典数据写入共享的 Redis 存储，收到通知的实例只需要清空本地的字典缓存，不需要重新刷新字典。</p>
+     *
+     * @since 2.2.0
+     */
+    private boolean refreshed;
+    /**
+     * 集群单写入者刷新的令牌（fencing token）
+     * <p>
+     * 刷新字典通知中为发送通知时已经发放的最大令牌，收到通知时如果已经有令牌更大的刷新完成，说明数据已经是最新的，不需要再次刷新；
+     * 刷新完成通知中为本次写入使用的令牌，令牌小于已经收到的最大令牌的通知是过期的通知。未启用集群单写入者刷新时为 null。
+     * </p>
+     *
+     * @since 2.2.0
+     */
+    private Long fencingToken;
+    /**
+     * 增量通知的字典值列表（字典文本为 null 的字典值表示删除该字典值）
+     * <p>不为 null 时表示这是一个增量通知，收到通知的系统直接写入这些字典值，不需要重新加载字典提供者的数据；为 null 时按 {@link #dictProviderClasses} 刷新字典。</p>
+     *
+     * @since 2.2.0
+     */
+    private List<DictValue> dictValues;
+    /**
+     * 增量通知写入字典值时是否维护字典类型对象里面的字典值列表信息
+     *
+     * @since 2.2.0
+     */
+    private boolean updateDictType;
+    /**
+     * 增量通知维护字典类型对象时，字典类型的字典值列表为空时是否删除字典类型
+     *
+     * @since 2.2.0
+     */
+    private boolean removeDictType;
+    /**
+     * 发送者标识，每个实例启动时生成
+     *
+     * @since 2.2.0
+     */
+    private String senderId;
+    /**
+     * 通知版本号，同一个发送者发送的通知版本号单调递增并且连续，用于忽略重复、过期的通知以及发现丢失的通知
+     *
+     * @since 2.2.0
+     */
+    private Long version;
 }
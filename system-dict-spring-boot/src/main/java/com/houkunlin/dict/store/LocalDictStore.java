@@ -1,18 +1,22 @@
 package com.houkunlin.dict.store;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 import com.houkunlin.dict.DictEnum;
+import com.houkunlin.dict.DictMetricsSource;
 import com.houkunlin.dict.DictUtil;
 import com.houkunlin.dict.bean.DictType;
 import com.houkunlin.dict.bean.DictValue;
-import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 
-import java.util.Iterator;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * 本地字典存储实现类
@@ -22,12 +26,16 @@ import java.util.concurrent.ConcurrentHashMap;
  * 该类实现了 {@link DictStore} 接口和 {@link InitializingBean} 接口，
  * 支持字典数据的存储、查询和删除操作，同时与 {@link RemoteDict} 配合实现远程字典获取。
  * </p>
+ * <p>
+ * 配置了用户字典内存上限（{@code system.dict.local-store.max-size}）时，用户字典按字典类型存储在一个按估算字节数加权的
+ * Caffeine 缓存中，超过上限时按 W-TinyLFU 策略淘汰不常用的字典类型，并通过 {@link #setEvictionListener(Consumer)} 通知字典注册器，
+ * 下一次读取时由所属的字典提供者重新加载，无法重新加载时通过 {@link RemoteDict} 获取。系统字典始终保存在本地，不会被淘汰。
+ * </p>
  *
  * @author HouKunLin
  * @since 1.0.0
  */
-@AllArgsConstructor
-public class LocalDictStore implements DictStore, InitializingBean {
+public class LocalDictStore implements DictStore, InitializingBean, DisposableBean, DictMetricsSource {
     private static final Logger logger = LoggerFactory.getLogger(LocalDictStore.class);
     /**
      * 普通字典类型缓存
@@ -60,13 +68,61 @@ public class LocalDictStore implements DictStore, InitializingBean {
      * </p>
      */
     private final RemoteDict remoteDict;
+    /**
+     * 用户字典内存上限（字节），小于等于 0 时不限制
+     */
+    private final long maxWeight;
+    /**
+     * 限制内存时存储用户字典的缓存，键为字典类型代码；不限制内存时为 null
+     */
+    private final Cache<String, UserDictType> userTypes;
+    /**
+     * 被淘汰的字典类型数量
+     */
+    private final AtomicLong evictions = new AtomicLong();
+    /**
+     * 字典类型被淘汰时的回调方法
+     */
+    private volatile Consumer<String> evictionListener;
+
+    /**
+     * 创建一个不限制内存的本地字典存储对象
+     *
+     * @param remoteDict 远程字典获取接口
+     */
+    public LocalDictStore(final RemoteDict remoteDict) {
+        this(remoteDict, 0);
+    }
+
+    /**
+     * 创建一个本地字典存储对象
+     *
+     * @param remoteDict 远程字典获取接口
+     * @param maxWeight  用户字典内存上限（按字典类型估算的字节数），小于等于 0 时不限制
+     * @since 2.2.0
+     */
+    public LocalDictStore(final RemoteDict remoteDict, final long maxWeight) {
+        this.remoteDict = remoteDict;
+        this.maxWeight = maxWeight;
+        if (maxWeight <= 0) {
+            this.userTypes = null;
+        } else {
+            // 在写入线程中执行淘汰，写入完成时已经超出上限的字典类型已经被淘汰
+            this.userTypes = Caffeine.newBuilder()
+                    .maximumWeight(maxWeight)
+                    .weigher((String key, UserDictType value) -> value.getWeight())
+                    .executor(Runnable::run)
+                    .evictionListener((String key, UserDictType value, RemovalCause cause) -> onEvicted(key, cause))
+                    .build();
+        }
+    }
 
     /**
      * 存储一个完整的数据字典信息
      * <p>
      * 将包含字典类型和所有字典值的完整字典对象存储到本地缓存中。
      * 如果字典值列表为 {@code null}，则会调用 {@link #removeDictType(String)} 方法删除该字典类型。
-     * 否则将字典类型对象存储到 {@link #CACHE_TYPE} 缓存中。
+     * 否则将字典类型对象存储到 {@link #CACHE_TYPE} 缓存中，限制用户字典内存时用户字典存储到 {@link #userTypes} 缓存中。
      * </p>
      *
      * @param dictType 数据字典对象，包含字典类型代码和字典值列表
@@ -74,10 +130,17 @@ public class LocalDictStore implements DictStore, InitializingBean {
     @Override
     public void store(final DictType dictType) {
         final List<DictValue> children = dictType.getChildren();
+        final String type = dictType.getType();
         if (children == null) {
-            removeDictType(dictType.getType());
+            removeDictType(type);
+        } else if (isPinned(type)) {
+            CACHE_TYPE.put(type, dictType);
         } else {
-            CACHE_TYPE.put(dictType.getType(), dictType);
+            userTypes.asMap().compute(type, (key, entry) -> {
+                final UserDictType target = entry == null ? new UserDictType(key) : entry;
+                target.setDictType(dictType);
+                return target;
+            });
         }
     }
 
@@ -87,6 +150,7 @@ public class LocalDictStore implements DictStore, InitializingBean {
      * 专门为存储系统字典定义的方法，系统字典指实现 {@link DictEnum} 接口的枚举类字典，
      * 如枚举转换的字典等。将系统字典类型对象存储到 {@link #CACHE_SYSTEM_TYPE} 缓存中。
      * 如果字典值列表为 {@code null}，则从缓存中删除该字典类型。
+     * 限制用户字典内存时，已经存储在 {@link #userTypes} 缓存中的同名字典类型会被移到不会淘汰的本地缓存中。
      * </p>
      *
      * @param dictType 系统字典对象，包含字典类型代码和字典值列表
@@ -98,6 +162,12 @@ public class LocalDictStore implements DictStore, InitializingBean {
             CACHE_SYSTEM_TYPE.remove(dictType.getType());
         } else {
             CACHE_SYSTEM_TYPE.put(dictType.getType(), dictType);
+            if (userTypes != null) {
+                final UserDictType entry = userTypes.asMap().remove(dictType.getType());
+                if (entry != null) {
+                    entry.moveTo(this::storePinned);
+                }
+            }
         }
     }
 
@@ -109,33 +179,90 @@ public class LocalDictStore implements DictStore, InitializingBean {
      * - 如果字典文本为 {@code null}，则从 {@link #CACHE_TEXT} 缓存中删除该字典值
      * - 如果字典文本不为 {@code null}，则存储到 {@link #CACHE_TEXT} 缓存中
      * 同时处理字典值的父级关系信息。
+     * 限制用户字典内存时，用户字典的字典值按字典类型分组写入 {@link #userTypes} 缓存中。
      * </p>
      *
      * @param iterator 字典值迭代器，用于遍历多个字典值对象
      */
     @Override
     public void store(final Iterator<DictValue> iterator) {
-        iterator.forEachRemaining(valueVo -> {
-            final String dictKey = DictUtil.dictKey(valueVo);
-            final String title = valueVo.getTitle();
-            if (title == null) {
-                CACHE_TEXT.remove(dictKey);
-                if (logger.isDebugEnabled()) {
-                    logger.debug("[removeDictValue] 字典值文本被删除 {}", dictKey);
-                }
+        if (userTypes == null) {
+            iterator.forEachRemaining(this::storePinned);
+            return;
+        }
+        String groupType = null;
+        final List<DictValue> group = new ArrayList<>();
+        while (iterator.hasNext()) {
+            final DictValue valueVo = iterator.next();
+            final String type = valueVo.getDictType();
+            if (isPinned(type)) {
+                storePinned(valueVo);
+                continue;
+            }
+            if (!type.equals(groupType)) {
+                storeUserValues(groupType, group);
+                groupType = type;
+            }
+            group.add(valueVo);
+        }
+        storeUserValues(groupType, group);
+    }
+
+    /**
+     * 把一个字典值存储到不会淘汰的本地缓存中
+     *
+     * @param valueVo 字典值
+     */
+    private void storePinned(final DictValue valueVo) {
+        final String dictKey = DictUtil.dictKey(valueVo);
+        final String title = valueVo.getTitle();
+        if (title == null) {
+            CACHE_TEXT.remove(dictKey);
+            if (logger.isDebugEnabled()) {
+                logger.debug("[removeDictValue] 字典值文本被删除 {}", dictKey);
+            }
+        } else {
+            CACHE_TEXT.put(dictKey, title);
+            // @since 1.4.6 - START
+            final String dictParentKey = DictUtil.dictParentKey(valueVo);
+            final Object parentValue = valueVo.getParentValue();
+            if (parentValue == null) {
+                CACHE_TEXT.remove(dictParentKey);
             } else {
-                CACHE_TEXT.put(dictKey, title);
-                // @since 1.4.6 - START
-                final String dictParentKey = DictUtil.dictParentKey(valueVo);
-                final Object parentValue = valueVo.getParentValue();
-                if (parentValue == null) {
-                    CACHE_TEXT.remove(dictParentKey);
-                } else {
-                    CACHE_TEXT.put(dictParentKey, parentValue.toString());
-                }
-                // @since 1.4.6 - END
+                CACHE_TEXT.put(dictParentKey, parentValue.toString());
+            }
+            // @since 1.4.6 - END
+        }
+    }
+
+    /**
+     * 把同一个字典类型的一组字典值存储到 {@link #userTypes} 缓存中，并清空这组字典值
+     *
+     * @param type   字典类型代码
+     * @param values 字典值列表
+     */
+    private void storeUserValues(final String type, final List<DictValue> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        userTypes.asMap().compute(type, (key, entry) -> {
+            final UserDictType target = entry == null ? new UserDictType(key) : entry;
+            for (final DictValue valueVo : values) {
+                target.put(valueVo);
             }
+            return target.isEmpty() ? null : target;
         });
+        values.clear();
+    }
+
+    /**
+     * 是否存储到不会淘汰的本地缓存中：不限制用户字典内存时的所有字典，以及系统字典
+     *
+     * @param type 字典类型代码
+     * @return 是否存储到不会淘汰的本地缓存中
+     */
+    private boolean isPinned(final String type) {
+        return userTypes == null || CACHE_SYSTEM_TYPE.containsKey(type);
     }
 
     /**
@@ -152,6 +279,9 @@ public class LocalDictStore implements DictStore, InitializingBean {
      */
     @Override
     public void removeDictType(final String dictType) {
+        if (userTypes != null) {
+            userTypes.invalidate(dictType);
+        }
         CACHE_TYPE.remove(dictType);
         if (logger.isDebugEnabled()) {
             logger.debug("[removeDictType] 字典类型被删除 {}", dictType);
@@ -172,13 +302,23 @@ public class LocalDictStore implements DictStore, InitializingBean {
      * <p>
      * 返回本地缓存中所有普通字典类型的代码集合。
      * 该方法返回 {@link #CACHE_TYPE} 缓存的所有键，即所有已存储的普通字典类型代码。
+     * 限制用户字典内存时还包含 {@link #userTypes} 缓存中存储了字典类型对象的字典类型代码。
      * </p>
      *
      * @return 字典类型代码集合，包含所有已存储的普通字典类型代码
      */
     @Override
     public Set<String> dictTypeKeys() {
-        return CACHE_TYPE.keySet();
+        if (userTypes == null) {
+            return CACHE_TYPE.keySet();
+        }
+        final Set<String> keys = new HashSet<>(CACHE_TYPE.keySet());
+        userTypes.asMap().forEach((type, entry) -> {
+            if (entry.getDictType() != null) {
+                keys.add(type);
+            }
+        });
+        return keys;
     }
 
     /**
@@ -213,6 +353,14 @@ public class LocalDictStore implements DictStore, InitializingBean {
         if (typeVo != null) {
             return typeVo;
         }
+        final UserDictType entry = userTypes == null ? null : userTypes.getIfPresent(type);
+        if (entry != null && entry.getDictType() != null) {
+            return entry.getDictType();
+        }
+        if (DictUtil.isTenantDictType(type)) {
+            // 当前租户没有该字典类型，调用者会继续读取共享的字典
+            return null;
+        }
         return remoteDict.getDictType(type);
     }
 
@@ -231,10 +379,14 @@ public class LocalDictStore implements DictStore, InitializingBean {
      */
     @Override
     public String getDictText(final String type, final String value) {
-        final String title = CACHE_TEXT.get(DictUtil.dictKey(type, value));
+        final UserDictType entry = userTypes == null ? null : userTypes.getIfPresent(type);
+        final String title = entry == null ? CACHE_TEXT.get(DictUtil.dictKey(type, value)) : entry.getText(value);
         if (title != null) {
             return title;
         }
+        if (DictUtil.isTenantDictType(type)) {
+            return null;
+        }
         return remoteDict.getDictText(type, value);
     }
 
@@ -252,6 +404,10 @@ public class LocalDictStore implements DictStore, InitializingBean {
      */
     @Override
     public String getDictParentValue(final String type, final String value) {
+        final UserDictType entry = userTypes == null ? null : userTypes.getIfPresent(type);
+        if (entry != null) {
+            return entry.getParent(value);
+        }
         return CACHE_TEXT.get(DictUtil.dictParentKey(type, value));
     }
 
@@ -270,4 +426,181 @@ public class LocalDictStore implements DictStore, InitializingBean {
             logger.debug("使用 {} 存储数据字典信息", getClass().getName());
         }
     }
+
+    /**
+     * 清空远程字典对象的结果缓存
+     *
+     * @since 2.2.0
+     */
+    @Override
+    public void invalidateCache() {
+        remoteDict.invalidateCache();
+    }
+
+    /**
+     * Bean 销毁时关闭远程字典对象使用的资源（例如 {@link RemoteDictDecorator} 的远程调用线程池）
+     *
+     * @throws Exception 销毁过程中可能抛出的异常
+     * @since 2.2.0
+     */
+    @Override
+    public void destroy() throws Exception {
+        if (remoteDict instanceof DisposableBean) {
+            ((DisposableBean) remoteDict).destroy();
+        }
+    }
+
+    /**
+     * 设置字典类型被淘汰时的回调方法
+     *
+     * @param listener 字典类型被淘汰时的回调方法
+     * @since 2.2.0
+     */
+    @Override
+    public void setEvictionListener(final Consumer<String> listener) {
+        this.evictionListener = listener;
+    }
+
+    /**
+     * 用户字典类型因为超过内存上限被淘汰
+     *
+     * @param type  字典类型代码
+     * @param cause 移除原因
+     */
+    private void onEvicted(final String type, final RemovalCause cause) {
+        if (!cause.wasEvicted()) {
+            return;
+        }
+        evictions.incrementAndGet();
+        if (logger.isDebugEnabled()) {
+            logger.debug("[evictDictType] 用户字典占用内存超过上限，字典类型被淘汰 {}", type);
+        }
+        final Consumer<String> listener = evictionListener;
+        if (listener != null) {
+            listener.accept(type);
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "localStore";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        final Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("maxWeight", maxWeight);
+        metrics.put("systemTypes", CACHE_SYSTEM_TYPE.size());
+        if (userTypes != null) {
+            long weight = 0;
+            for (final UserDictType entry : userTypes.asMap().values()) {
+                weight += entry.getWeight();
+            }
+            metrics.put("userTypes", userTypes.estimatedSize());
+            metrics.put("userWeight", weight);
+            metrics.put("evictions", evictions.get());
+        } else {
+            metrics.put("types", CACHE_TYPE.size());
+            metrics.put("texts", CACHE_TEXT.size());
+        }
+        return metrics;
+    }
+
+    /**
+     * 限制内存时存储的一个用户字典类型，包含字典类型对象、字典文本和字典父级值，并记录估算的内存占用字节数
+     * <p>修改操作在 {@link #userTypes} 的 compute 中执行，修改后缓存会重新计算权重。</p>
+     */
+    private static class UserDictType {
+        /**
+         * 每个字符串对象的估算固定开销（字节）
+         */
+        private static final int STRING_OVERHEAD = 40;
+        /**
+         * 每个映射条目的估算固定开销（字节）
+         */
+        private static final int ENTRY_OVERHEAD = 32;
+        private final String type;
+        private final ConcurrentHashMap<String, String> texts = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, String> parents = new ConcurrentHashMap<>();
+        private volatile DictType dictType;
+        /**
+         * 字典类型对象的估算字节数
+         */
+        private long typeWeight;
+        /**
+         * 字典文本和字典父级值的估算字节数
+         */
+        private long valueWeight;
+
+        private UserDictType(final String type) {
+            this.type = type;
+        }
+
+        private DictType getDictType() {
+            return dictType;
+        }
+
+        private void setDictType(final DictType dictType) {
+            long weight = sizeOf(dictType.getTitle()) + sizeOf(dictType.getRemark());
+            for (final DictValue child : dictType.getChildren()) {
+                weight += ENTRY_OVERHEAD + sizeOf(String.valueOf(child.getValue())) + sizeOf(child.getTitle());
+            }
+            this.typeWeight = weight;
+            this.dictType = dictType;
+        }
+
+        private String getText(final String value) {
+            return texts.get(value);
+        }
+
+        private String getParent(final String value) {
+            return parents.get(value);
+        }
+
+        /**
+         * 写入一个字典值，字典文本为 null 时删除该字典值
+         *
+         * @param valueVo 字典值
+         */
+        private void put(final DictValue valueVo) {
+            final String value = String.valueOf(valueVo.getValue());
+            final String title = valueVo.getTitle();
+            final Object parentValue = valueVo.getParentValue();
+            valueWeight += delta(texts, value, title);
+            valueWeight += delta(parents, value, title == null || parentValue == null ? null : parentValue.toString());
+        }
+
+        private static long delta(final Map<String, String> map, final String key, final String newValue) {
+            final String old = newValue == null ? map.remove(key) : map.put(key, newValue);
+            final long oldWeight = old == null ? 0 : ENTRY_OVERHEAD + sizeOf(key) + sizeOf(old);
+            final long newWeight = newValue == null ? 0 : ENTRY_OVERHEAD + sizeOf(key) + sizeOf(newValue);
+            return newWeight - oldWeight;
+        }
+
+        private static long sizeOf(final String value) {
+            return value == null ? 0 : STRING_OVERHEAD + 2L * value.length();
+        }
+
+        private boolean isEmpty() {
+            return dictType == null && texts.isEmpty();
+        }
+
+        private int getWeight() {
+            return (int) Math.min(Integer.MAX_VALUE, ENTRY_OVERHEAD + sizeOf(type) + typeWeight + valueWeight);
+        }
+
+        /**
+         * 把字典文本和字典父级值移到不会淘汰的本地缓存中（字典类型变为系统字典时使用）
+         *
+         * @param storePinned 存储到不会淘汰的本地缓存的方法
+         */
+        private void moveTo(final Consumer<DictValue> storePinned) {
+            if (dictType != null) {
+                CACHE_TYPE.put(type, dictType);
+            }
+            texts.forEach((value, title) -> {
+                storePinned.accept(new DictValue(type, parents.get(value), value, title, 0));
+            });
+        }
+    }
 }
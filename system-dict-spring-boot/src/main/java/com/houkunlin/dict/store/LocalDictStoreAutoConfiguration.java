@@ -1,10 +1,12 @@
 package com.houkunlin.dict.store;
 
+import com.houkunlin.dict.properties.DictProperties;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
 /**
  * 本地字典存储配置类
@@ -32,14 +34,16 @@ public class LocalDictStoreAutoConfiguration {
      * </p>
      *
      * @param remoteDict 远程字典获取接口，用于当本地缓存中不存在字典数据时尝试远程获取
+     * @param properties 数据字典配置信息，启用远程字典调用保护时会使用 {@link RemoteDictDecorator} 包装远程字典对象，
+     *                   配置了 {@code system.dict.local-store.max-size} 时限制用户字典占用的内存
      * @return 本地字典存储实例
      */
     @ConditionalOnProperty(prefix = "system.dict", name = "store-type", havingValue = "AUTO", matchIfMissing = true)
     @ConditionalOnMissingClass("org.springframework.data.redis.core.RedisTemplate")
     @Bean
     @ConditionalOnMissingBean
-    public DictStore dictStoreAuto(final RemoteDict remoteDict) {
-        return new LocalDictStore(remoteDict);
+    public DictStore dictStoreAuto(final RemoteDict remoteDict, final DictProperties properties) {
+        return newLocalDictStore(remoteDict, properties);
     }
 
     /**
@@ -54,12 +58,19 @@ public class LocalDictStoreAutoConfiguration {
      * </p>
      *
      * @param remoteDict 远程字典获取接口，用于当本地缓存中不存在字典数据时尝试远程获取
+     * @param properties 数据字典配置信息，启用远程字典调用保护时会使用 {@link RemoteDictDecorator} 包装远程字典对象，
+     *                   配置了 {@code system.dict.local-store.max-size} 时限制用户字典占用的内存
      * @return 本地字典存储实例
      */
     @ConditionalOnProperty(prefix = "system.dict", name = "store-type", havingValue = "LOCAL")
     @Bean
     @ConditionalOnMissingBean
-    public DictStore dictStoreLocal(final RemoteDict remoteDict) {
-        return new LocalDictStore(remoteDict);
+    public DictStore dictStoreLocal(final RemoteDict remoteDict, final DictProperties properties) {
+        return newLocalDictStore(remoteDict, properties);
+    }
+
+    private static DictStore newLocalDictStore(final RemoteDict remoteDict, final DictProperties properties) {
+        final DataSize maxSize = properties.getLocalStore().getMaxSize();
+        return new LocalDictStore(RemoteDictDecorator.decorate(remoteDict, properties.getRemote()), maxSize == null ? 0 : maxSize.toBytes());
     }
 }
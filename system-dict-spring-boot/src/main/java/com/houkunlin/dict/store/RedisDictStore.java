@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.data.redis.connection.RedisHashCommands;
 import org.springframework.data.redis.core.HashOperations;
@@ -15,9 +16,7 @@ import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.util.ObjectUtils;
 
-import java.util.Iterator;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -35,7 +34,7 @@ import java.util.stream.Collectors;
  */
 @Data
 @RequiredArgsConstructor
-public class RedisDictStore implements DictStore, InitializingBean {
+public class RedisDictStore implements DictStore, InitializingBean, DisposableBean {
     private static final Logger logger = LoggerFactory.getLogger(RedisDictStore.class);
     /**
      * Redis 模板，用于读写 Redis 中的字典数据
@@ -251,6 +250,53 @@ public class RedisDictStore implements DictStore, InitializingBean {
         if (logger.isDebugEnabled()) {
             logger.debug("[removeDictType] 字典值文本被删除 {}", dictKeyHashValue);
         }
+        redisTemplate.opsForHash().delete(DictUtil.DIGEST_KEY, dictType);
+    }
+
+    /**
+     * 批量获取 Redis 中记录的字典类型内容摘要
+     * <p>
+     * 所有字典类型的内容摘要记录在 {@link DictUtil#DIGEST_KEY} Hash 结构中，通过一次 HMGET 命令读取。
+     * Redis 被清空或者主从切换丢失数据后读取不到摘要，字典注册器会完整写入这些字典类型。
+     * </p>
+     *
+     * @param types 字典类型代码
+     * @return 字典类型内容摘要，键为字典类型代码
+     * @since 2.2.0
+     */
+    @Override
+    public Map<String, String> getDictTypeDigests(final Collection<String> types) {
+        final Map<String, String> digests = new HashMap<>();
+        if (types.isEmpty()) {
+            return digests;
+        }
+        final List<String> keys = new ArrayList<>(types);
+        final HashOperations<String, String, String> opsForHash = redisTemplate.opsForHash();
+        final List<String> values = opsForHash.multiGet(DictUtil.DIGEST_KEY, keys);
+        for (int i = 0; i < keys.size(); i++) {
+            final String value = values.get(i);
+            if (value != null) {
+                digests.put(keys.get(i), value);
+            }
+        }
+        return digests;
+    }
+
+    /**
+     * 在 Redis 的 {@link DictUtil#DIGEST_KEY} Hash 结构中记录字典类型内容摘要
+     *
+     * @param type   字典类型代码
+     * @param digest 字典类型内容摘要，为 {@code null} 时删除记录
+     * @since 2.2.0
+     */
+    @Override
+    public void storeDictTypeDigest(final String type, final String digest) {
+        final HashOperations<String, String, String> opsForHash = redisTemplate.opsForHash();
+        if (digest == null) {
+            opsForHash.delete(DictUtil.DIGEST_KEY, type);
+        } else {
+            opsForHash.put(DictUtil.DIGEST_KEY, type, digest);
+        }
     }
 
     /**
@@ -312,6 +358,10 @@ public class RedisDictStore implements DictStore, InitializingBean {
             return o;
         }
         // 例如 Redis 中不存在这个字典，说明可能是一个用户字典，此时需要调用系统模块服务来获取用户字典
+        if (DictUtil.isTenantDictType(type)) {
+            // 当前租户没有该字典类型，调用者会继续读取共享的字典
+            return null;
+        }
         return remoteDict.getDictType(type);
     }
 
@@ -338,6 +388,9 @@ public class RedisDictStore implements DictStore, InitializingBean {
             return o;
         }
         // 例如 Redis 中不存在这个字典，说明可能是一个用户字典，此时需要调用系统模块服务来获取用户字典
+        if (DictUtil.isTenantDictType(type)) {
+            return null;
+        }
         return remoteDict.getDictText(type, value);
     }
 
@@ -376,4 +429,32 @@ public class RedisDictStore implements DictStore, InitializingBean {
             logger.debug("使用 {} 存储数据字典信息", getClass().getName());
         }
     }
+
+    /**
+     * 清空远程字典对象的结果缓存
+     *
+     * @since 2.2.0
+     */
+    @Override
+    public void invalidateCache() {
+        remoteDict.invalidateCache();
+    }
+
+    @Override
+    public boolean isShared() {
+        return true;
+    }
+
+    /**
+     * Bean 销毁时关闭远程字典对象使用的资源（例如 {@link RemoteDictDecorator} 的远程调用线程池）
+     *
+     * @throws Exception 销毁过程中可能抛出的异常
+     * @since 2.2.0
+     */
+    @Override
+    public void destroy() throws Exception {
+        if (remoteDict instanceof DisposableBean) {
+            ((DisposableBean) remoteDict).destroy();
+        }
+    }
 }
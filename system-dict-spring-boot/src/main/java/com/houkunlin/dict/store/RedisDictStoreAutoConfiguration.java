@@ -1,6 +1,7 @@
 package com.houkunlin.dict.store;
 
 import com.houkunlin.dict.bean.DictType;
+import com.houkunlin.dict.properties.DictProperties;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -37,13 +38,16 @@ public class RedisDictStoreAutoConfiguration {
      *
      * @param redisTemplate1 Redis 模板对象，用于操作 Redis 数据
      * @param remoteDict     远程字典获取接口，用于当 Redis 中不存在字典数据时尝试远程获取
+     * @param properties     数据字典配置信息，启用远程字典调用保护时会使用 {@link RemoteDictDecorator} 包装远程字典对象，
+     *                       启用字典存储读取降级时会使用 {@link ResilientDictStore} 包装 Redis 字典存储
      * @return Redis 字典存储实例
      */
     @ConditionalOnProperty(prefix = "system.dict", name = "store-type", havingValue = "AUTO", matchIfMissing = true)
     @Bean
     @ConditionalOnMissingBean
-    public DictStore dictStoreAuto(final RedisTemplate<String, DictType> redisTemplate1, final RemoteDict remoteDict) {
-        return new RedisDictStore(redisTemplate1, remoteDict);
+    public DictStore dictStoreAuto(final RedisTemplate<String, DictType> redisTemplate1, final RemoteDict remoteDict, final DictProperties properties) {
+        final RedisDictStore store = new RedisDictStore(redisTemplate1, RemoteDictDecorator.decorate(remoteDict, properties.getRemote()));
+        return ResilientDictStore.decorate(store, properties.getResilience());
     }
 
     /**
@@ -60,12 +64,15 @@ public class RedisDictStoreAutoConfiguration {
      *
      * @param redisTemplate1 Redis 模板对象，用于操作 Redis 数据
      * @param remoteDict     远程字典获取接口，用于当 Redis 中不存在字典数据时尝试远程获取
+     * @param properties     数据字典配置信息，启用远程字典调用保护时会使用 {@link RemoteDictDecorator} 包装远程字典对象，
+     *                       启用字典存储读取降级时会使用 {@link ResilientDictStore} 包装 Redis 字典存储
      * @return Redis 字典存储实例
      */
     @ConditionalOnProperty(prefix = "system.dict", name = "store-type", havingValue = "REDIS")
     @Bean
     @ConditionalOnMissingBean
-    public DictStore dictStoreRedis(final RedisTemplate<String, DictType> redisTemplate1, final RemoteDict remoteDict) {
-        return new RedisDictStore(redisTemplate1, remoteDict);
+    public DictStore dictStoreRedis(final RedisTemplate<String, DictType> redisTemplate1, final RemoteDict remoteDict, final DictProperties properties) {
+        final RedisDictStore store = new RedisDictStore(redisTemplate1, RemoteDictDecorator.decorate(remoteDict, properties.getRemote()));
+        return ResilientDictStore.decorate(store, properties.getResilience());
     }
 }
@@ -0,0 +1,549 @@
+package com.houkunlin.dict.store;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.houkunlin.dict.DictExecutors;
+import com.houkunlin.dict.DictUtil;
+import com.houkunlin.dict.bean.DictType;
+import com.houkunlin.dict.properties.DictPropertiesRemote;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 远程字典调用保护装饰器
+ * <p>
+ * 包装一个原始的 {@link RemoteDict} 对象，为其提供以下保护能力：
+ * <ul>
+ * <li>相同请求合并（single-flight）：同一时刻同一个字典值只会发起一次远程请求，其他调用者共享该请求结果</li>
+ * <li>批量请求窗口：在窗口期内同一个字典类型的多个字典值会合并为一次 {@link RemoteDict#getDictTexts(String, Collection)} 调用</li>
+ * <li>结果缓存：命中结果与未命中结果分别使用不同的有效期缓存</li>
+ * <li>单次调用超时：调用者最多等待 {@link DictPropertiesRemote#getTimeout()}，超时后直接返回 null</li>
+ * <li>熔断：连续失败（包括等待超时）达到阈值后在一段时间内不再发起远程调用</li>
+ * <li>有界线程池：远程调用线程池的等待队列已满时请求直接失败，不会无限堆积</li>
+ * </ul>
+ * 字典数据刷新后通过 {@link #invalidateCache()} 清空结果缓存；使用该对象的字典存储对象销毁时通过 {@link #destroy()} 关闭远程调用线程池。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+public class RemoteDictDecorator implements RemoteDict, DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(RemoteDictDecorator.class);
+    /**
+     * 被包装的原始远程字典对象
+     */
+    private final RemoteDict delegate;
+    /**
+     * 远程字典调用保护配置
+     */
+    private final DictPropertiesRemote properties;
+    /**
+     * 字典文本结果缓存
+     */
+    private final Cache<String, Optional<String>> textCache;
+    /**
+     * 字典类型结果缓存
+     */
+    private final Cache<String, Optional<DictType>> typeCache;
+    /**
+     * 正在进行中的字典文本请求
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<String>> textInFlight = new ConcurrentHashMap<>();
+    /**
+     * 正在进行中的字典类型请求
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<DictType>> typeInFlight = new ConcurrentHashMap<>();
+    /**
+     * 等待发起的批量请求，键为字典类型
+     */
+    private final Map<String, PendingBatch> pendingBatches = new HashMap<>();
+    /**
+     * 执行远程调用的有界线程池，等待队列已满时请求直接失败（调用者返回 null）
+     */
+    private final ThreadPoolExecutor executor;
+    /**
+     * 批量请求窗口结束时发起请求的定时任务线程池，只负责把批量请求交给 {@link #executor}
+     */
+    private final ScheduledExecutorService scheduler;
+    /**
+     * 连续失败次数
+     */
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    /**
+     * 熔断器半开状态下试探请求的发起时间（毫秒），为 0 时没有试探请求
+     */
+    private final AtomicLong halfOpenTrialAt = new AtomicLong();
+    /**
+     * 熔断器打开截止时间
+     */
+    private volatile long openUntil = 0;
+
+    /**
+     * 构造方法
+     *
+     * @param delegate   原始远程字典对象
+     * @param properties 远程字典调用保护配置
+     */
+    public RemoteDictDecorator(final RemoteDict delegate, final DictPropertiesRemote properties) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.textCache = buildCache(properties);
+        this.typeCache = buildCache(properties);
+        this.executor = DictExecutors.newBoundedExecutor("dict-remote-", Math.max(2, Runtime.getRuntime().availableProcessors() / 2),
+                properties.getQueueCapacity(), false, new ThreadPoolExecutor.AbortPolicy());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(DictExecutors.newThreadFactory("dict-remote-window-", false));
+    }
+
+    /**
+     * 按配置包装远程字典对象。未启用保护或对象已经被包装时原样返回。
+     *
+     * @param remoteDict 远程字典对象
+     * @param properties 远程字典调用保护配置
+     * @return 远程字典对象
+     */
+    public static RemoteDict decorate(final RemoteDict remoteDict, final DictPropertiesRemote properties) {
+        if (properties == null || !properties.isEnabled() || remoteDict instanceof RemoteDictDecorator) {
+            return remoteDict;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("使用 {} 包装远程字典对象 {}", RemoteDictDecorator.class.getName(), remoteDict.getClass().getName());
+        }
+        return new RemoteDictDecorator(remoteDict, properties);
+    }
+
+    /**
+     * 构建结果缓存，命中结果与未命中结果使用不同的有效期
+     *
+     * @param properties 远程字典调用保护配置
+     * @param <V>        缓存值类型
+     * @return 缓存对象
+     */
+    private static <V> Cache<String, Optional<V>> buildCache(final DictPropertiesRemote properties) {
+        final long ttl = properties.getCacheTtl().toNanos();
+        final long negativeTtl = properties.getNegativeCacheTtl().toNanos();
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new Expiry<String, Optional<V>>() {
+                    @Override
+                    public long expireAfterCreate(String key, Optional<V> value, long currentTime) {
+                        return value.isPresent() ? ttl : negativeTtl;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Optional<V> value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Optional<V> value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public DictType getDictType(final String type) {
+        final Optional<DictType> cached = typeCache.getIfPresent(type);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+        if (!allowRequest()) {
+            return null;
+        }
+        final CompletableFuture<DictType> future = typeInFlight.computeIfAbsent(type, key -> {
+            final CompletableFuture<DictType> f = new CompletableFuture<>();
+            final long start = System.nanoTime();
+            execute(() -> loadDictType(key, f, start), f);
+            return f;
+        });
+        return await(future, type, typeInFlight, properties.getTimeout().toNanos());
+    }
+
+    @Override
+    public String getDictText(final String type, final String value) {
+        final String key = DictUtil.dictKey(type, value);
+        final Optional<String> cached = textCache.getIfPresent(key);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+        if (!allowRequest()) {
+            return null;
+        }
+        final CompletableFuture<String> future = textInFlight.computeIfAbsent(key, k -> {
+            final CompletableFuture<String> f = new CompletableFuture<>();
+            if (properties.getBatchWindow().isZero() || properties.getBatchWindow().isNegative()) {
+                final long start = System.nanoTime();
+                execute(() -> loadDictText(type, value, k, f, start), f);
+            } else {
+                enqueueBatch(type, value, f);
+            }
+            return f;
+        });
+        return await(future, key, textInFlight, properties.getTimeout().toNanos());
+    }
+
+    /**
+     * 批量获取字典文本。没有缓存结果的字典值（不包括已经在请求中的字典值）直接按批量上限分批调用
+     * {@link RemoteDict#getDictTexts(String, Collection)}，不等待批量请求窗口，所有字典值共享同一个超时时间。
+     *
+     * @param type   字典类型
+     * @param values 字典值
+     * @return 字典值与字典文本
+     */
+    @Override
+    public Map<String, String> getDictTexts(final String type, final Collection<String> values) {
+        final Map<String, String> result = new LinkedHashMap<>();
+        final Map<String, String> missKeys = new LinkedHashMap<>();
+        for (final String value : values) {
+            final String key = DictUtil.dictKey(type, value);
+            final Optional<String> cached = textCache.getIfPresent(key);
+            if (cached == null) {
+                missKeys.put(value, key);
+            } else if (cached.isPresent()) {
+                result.put(value, cached.get());
+            }
+        }
+        if (missKeys.isEmpty() || !allowRequest()) {
+            return result;
+        }
+        final Map<String, CompletableFuture<String>> futures = new LinkedHashMap<>();
+        final Map<String, CompletableFuture<String>> created = new LinkedHashMap<>();
+        missKeys.forEach((value, key) -> futures.put(value, textInFlight.computeIfAbsent(key, k -> {
+            final CompletableFuture<String> f = new CompletableFuture<>();
+            created.put(value, f);
+            return f;
+        })));
+        final int maxBatchSize = Math.max(1, properties.getMaxBatchSize());
+        Map<String, CompletableFuture<String>> batch = new LinkedHashMap<>();
+        for (final Map.Entry<String, CompletableFuture<String>> entry : created.entrySet()) {
+            batch.put(entry.getKey(), entry.getValue());
+            if (batch.size() >= maxBatchSize) {
+                submitBatch(type, batch);
+                batch = new LinkedHashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            submitBatch(type, batch);
+        }
+        final long deadline = System.nanoTime() + properties.getTimeout().toNanos();
+        futures.forEach((value, future) -> {
+            final String title = await(future, missKeys.get(value), textInFlight, Math.max(0, deadline - System.nanoTime()));
+            if (title != null) {
+                result.put(value, title);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 把字典值加入批量请求，第一个字典值加入时开始计算批量请求窗口，达到批量上限时取消窗口定时任务并立即发起请求
+     *
+     * @param type   字典类型
+     * @param value  字典值
+     * @param future 请求结果
+     */
+    private void enqueueBatch(final String type, final String value, final CompletableFuture<String> future) {
+        final PendingBatch flushNow;
+        synchronized (pendingBatches) {
+            PendingBatch batch = pendingBatches.get(type);
+            if (batch == null) {
+                final PendingBatch created = new PendingBatch();
+                try {
+                    created.windowTask = scheduler.schedule(() -> flushBatch(type, created), properties.getBatchWindow().toNanos(), TimeUnit.NANOSECONDS);
+                } catch (RejectedExecutionException e) {
+                    future.completeExceptionally(e);
+                    return;
+                }
+                pendingBatches.put(type, created);
+                batch = created;
+            }
+            batch.futures.put(value, future);
+            if (batch.futures.size() >= properties.getMaxBatchSize()) {
+                pendingBatches.remove(type);
+                batch.windowTask.cancel(false);
+                flushNow = batch;
+            } else {
+                flushNow = null;
+            }
+        }
+        if (flushNow != null) {
+            submitBatch(type, flushNow.futures);
+        }
+    }
+
+    /**
+     * 批量请求窗口结束，发起该批量请求（批量请求已经因为达到批量上限而发起时不再处理）
+     *
+     * @param type  字典类型
+     * @param batch 批量请求
+     */
+    private void flushBatch(final String type, final PendingBatch batch) {
+        synchronized (pendingBatches) {
+            if (!pendingBatches.remove(type, batch)) {
+                return;
+            }
+        }
+        submitBatch(type, batch.futures);
+    }
+
+    /**
+     * 把批量请求交给远程调用线程池执行
+     *
+     * @param type    字典类型
+     * @param futures 字典值与请求结果
+     */
+    private void submitBatch(final String type, final Map<String, CompletableFuture<String>> futures) {
+        final long start = System.nanoTime();
+        try {
+            executor.execute(() -> requestBatch(type, futures, start));
+        } catch (RejectedExecutionException e) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("远程字典请求等待队列已满 {}", type);
+            }
+            futures.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * 把远程调用交给线程池执行，等待队列已满时请求直接失败
+     *
+     * @param task   远程调用
+     * @param future 请求结果
+     */
+    private void execute(final Runnable task, final CompletableFuture<?> future) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("远程字典请求等待队列已满");
+            }
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * 发起一次批量请求，并把结果分发给等待中的调用者
+     *
+     * @param type    字典类型
+     * @param futures 字典值与请求结果
+     * @param start   请求提交时间（纳秒）
+     */
+    private void requestBatch(final String type, final Map<String, CompletableFuture<String>> futures, final long start) {
+        if (futures.isEmpty()) {
+            return;
+        }
+        Map<String, String> texts = null;
+        Throwable error = null;
+        try {
+            texts = delegate.getDictTexts(type, futures.keySet());
+        } catch (Throwable e) {
+            error = e;
+        }
+        boolean completed = false;
+        for (final Map.Entry<String, CompletableFuture<String>> entry : futures.entrySet()) {
+            final String key = DictUtil.dictKey(type, entry.getKey());
+            final CompletableFuture<String> future = entry.getValue();
+            if (error == null) {
+                final String title = texts == null ? null : texts.get(entry.getKey());
+                textCache.put(key, Optional.ofNullable(title));
+                textInFlight.remove(key, future);
+                completed |= future.complete(title);
+            } else {
+                textInFlight.remove(key, future);
+                completed |= future.completeExceptionally(error);
+            }
+        }
+        // 所有调用者都已经等待超时（已经记录为失败）时不再重复记录
+        if (completed) {
+            recordResult(error, start);
+        }
+    }
+
+    /**
+     * 发起一次字典文本请求
+     *
+     * @param type   字典类型
+     * @param value  字典值
+     * @param key    请求键
+     * @param future 请求结果
+     * @param start  请求提交时间（纳秒）
+     */
+    private void loadDictText(final String type, final String value, final String key, final CompletableFuture<String> future, final long start) {
+        try {
+            final String title = delegate.getDictText(type, value);
+            textCache.put(key, Optional.ofNullable(title));
+            // 先移除进行中的请求再通知调用者，调用者随后清空缓存时不会再拿到这个已完成的请求
+            textInFlight.remove(key, future);
+            if (future.complete(title)) {
+                recordResult(null, start);
+            }
+        } catch (Throwable e) {
+            textInFlight.remove(key, future);
+            if (future.completeExceptionally(e)) {
+                recordResult(e, start);
+            }
+        }
+    }
+
+    /**
+     * 发起一次字典类型请求
+     *
+     * @param type   字典类型
+     * @param future 请求结果
+     * @param start  请求提交时间（纳秒）
+     */
+    private void loadDictType(final String type, final CompletableFuture<DictType> future, final long start) {
+        try {
+            final DictType dictType = delegate.getDictType(type);
+            typeCache.put(type, Optional.ofNullable(dictType));
+            typeInFlight.remove(type, future);
+            if (future.complete(dictType)) {
+                recordResult(null, start);
+            }
+        } catch (Throwable e) {
+            typeInFlight.remove(type, future);
+            if (future.completeExceptionally(e)) {
+                recordResult(e, start);
+            }
+        }
+    }
+
+    /**
+     * 在超时时间内等待请求结果，超时或请求失败时返回 null。
+     * <p>
+     * 等待超时时把请求结束为超时失败并记录一次失败（同一个请求只记录一次，远程调用之后完成时不再记录），
+     * 同时移除进行中的请求，之后的调用者重新发起请求。
+     * </p>
+     *
+     * @param future   请求结果
+     * @param key      请求键
+     * @param inFlight 进行中的请求
+     * @param timeout  超时时间（纳秒）
+     * @param <T>      结果类型
+     * @return 请求结果
+     */
+    private <T> T await(final CompletableFuture<T> future, final String key, final Map<String, CompletableFuture<T>> inFlight, final long timeout) {
+        try {
+            return future.get(timeout, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            inFlight.remove(key, future);
+            if (future.completeExceptionally(e)) {
+                recordResult(e, 0L);
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("远程字典请求超时 {}", key);
+            }
+        } catch (ExecutionException e) {
+            inFlight.remove(key, future);
+            if (logger.isDebugEnabled()) {
+                logger.debug("远程字典请求失败 {}", key, e.getCause());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    /**
+     * 熔断器是否允许发起请求
+     *
+     * @return 是否允许发起请求
+     */
+    private boolean allowRequest() {
+        final int threshold = properties.getCircuitBreakerFailureThreshold();
+        if (threshold <= 0 || consecutiveFailures.get() < threshold) {
+            return true;
+        }
+        final long now = System.currentTimeMillis();
+        if (now < openUntil) {
+            return false;
+        }
+        // 半开状态，只允许一个试探请求；试探请求超过超时时间仍未结束时允许发起新的试探请求
+        final long trialAt = halfOpenTrialAt.get();
+        if (trialAt != 0 && now - trialAt <= properties.getTimeout().toMillis()) {
+            return false;
+        }
+        return halfOpenTrialAt.compareAndSet(trialAt, now);
+    }
+
+    /**
+     * 记录一次远程调用结果。调用异常、等待超时或调用耗时（从提交请求开始计算）超过超时时间都视为失败。
+     *
+     * @param error 调用异常
+     * @param start 请求提交时间（纳秒）
+     */
+    private void recordResult(final Throwable error, final long start) {
+        final boolean failed = error != null || System.nanoTime() - start > properties.getTimeout().toNanos();
+        if (!failed) {
+            consecutiveFailures.set(0);
+            halfOpenTrialAt.set(0);
+            return;
+        }
+        final int threshold = properties.getCircuitBreakerFailureThreshold();
+        if (consecutiveFailures.incrementAndGet() >= threshold && threshold > 0) {
+            openUntil = System.currentTimeMillis() + properties.getCircuitBreakerOpenDuration().toMillis();
+            halfOpenTrialAt.set(0);
+            logger.warn("远程字典连续调用失败 {} 次，熔断 {}", consecutiveFailures.get(), properties.getCircuitBreakerOpenDuration(), error);
+        }
+    }
+
+    /**
+     * 熔断器当前是否处于打开状态
+     *
+     * @return 熔断器是否打开
+     */
+    public boolean isCircuitOpen() {
+        final int threshold = properties.getCircuitBreakerFailureThreshold();
+        return threshold > 0 && consecutiveFailures.get() >= threshold && System.currentTimeMillis() < openUntil;
+    }
+
+    /**
+     * 清空远程字典结果缓存（包括命中结果和未命中结果），并清空被包装的原始远程字典对象的缓存
+     */
+    @Override
+    public void invalidateCache() {
+        textCache.invalidateAll();
+        typeCache.invalidateAll();
+        delegate.invalidateCache();
+    }
+
+    /**
+     * 关闭远程调用线程池，等待中的调用者会在超时后返回 null
+     */
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    /**
+     * 获取被包装的原始远程字典对象
+     *
+     * @return 原始远程字典对象
+     */
+    public RemoteDict getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * 一个等待发起的批量请求
+     */
+    private static class PendingBatch {
+        /**
+         * 等待批量请求的字典值与请求结果
+         */
+        private final Map<String, CompletableFuture<String>> futures = new LinkedHashMap<>();
+        /**
+         * 批量请求窗口结束时发起请求的定时任务
+         */
+        private ScheduledFuture<?> windowTask;
+    }
+}
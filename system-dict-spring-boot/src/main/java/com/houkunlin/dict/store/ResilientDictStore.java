@@ -0,0 +1,613 @@
+package com.houkunlin.dict.store;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.houkunlin.dict.DictMetricsSource;
+import com.houkunlin.dict.bean.DictType;
+import com.houkunlin.dict.bean.DictValue;
+import com.houkunlin.dict.properties.DictPropertiesResilience;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.ObjectUtils;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 字典存储读取降级包装类
+ * <p>
+ * 包装一个可能出现卡顿或宕机的字典存储对象（例如 {@link RedisDictStore}），并维护一份本地最后一次成功（last-known-good）的快照数据：
+ * <ul>
+ * <li>每次读取都有超时时间预算 {@link DictPropertiesResilience#getTimeout()}，超时后返回本地快照数据</li>
+ * <li>读取耗时超过 {@link DictPropertiesResilience#getHedgeDelay()} 且快照中存在数据时，直接返回快照数据（对冲读取）</li>
+ * <li>连续失败达到 {@link DictPropertiesResilience#getFailureThreshold()} 次后进入降级状态，只读取本地快照数据，
+ * 并在后台每隔 {@link DictPropertiesResilience#getRecoveryInterval()} 探测一次存储是否恢复</li>
+ * </ul>
+ * 快照数据来源于成功读取的数据和写入存储的数据，最多保存 {@link DictPropertiesResilience#getSnapshotMaxSize()} 个字典值，超过后淘汰不常读取的数据；
+ * 写入存储的数据只更新快照中已有的数据，或者在快照未满时加入快照，因此批量写入大量字典值时不会把所有数据都复制到内存中。
+ * 写入操作依然直接写入被包装的存储对象。
+ * </p>
+ * <p>
+ * 读取系统字典类型代码失败时返回最后一次读取成功的系统字典类型代码以及写入过的系统字典类型代码，避免降级期间字典值事件覆盖系统字典。
+ * </p>
+ *
+ * @author HouKunLin
+ * @since 2.2.0
+ */
+public class ResilientDictStore implements DictStore, DictMetricsSource, DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(ResilientDictStore.class);
+    /**
+     * 后台探测存储是否恢复时使用的字典类型
+     */
+    private static final String PROBE_TYPE = "__dict_health_probe__";
+    /**
+     * 线程编号
+     */
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+    /**
+     * 被包装的字典存储对象
+     */
+    private final DictStore delegate;
+    /**
+     * 字典存储读取降级配置
+     */
+    private final DictPropertiesResilience properties;
+    /**
+     * 快照：字典类型对象，按字典类型对象中的字典值数量计算容量
+     */
+    private final Cache<String, DictType> snapshotTypes;
+    /**
+     * 快照：字典文本
+     */
+    private final Cache<SnapshotKey, String> snapshotTexts;
+    /**
+     * 快照：字典父级值
+     */
+    private final Cache<SnapshotKey, String> snapshotParents;
+    /**
+     * 最后一次读取成功的系统字典类型代码，以及写入过的系统字典类型代码
+     */
+    private final Set<String> systemTypes = ConcurrentHashMap.newKeySet();
+    /**
+     * 执行存储读取的线程池
+     */
+    private final ThreadPoolExecutor readExecutor;
+    /**
+     * 后台探测存储是否恢复的线程池
+     */
+    private final ScheduledExecutorService recoveryExecutor;
+    /**
+     * 连续失败次数
+     */
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    /**
+     * 存储是否健康
+     */
+    private volatile boolean healthy = true;
+    /**
+     * 后台探测任务
+     */
+    private ScheduledFuture<?> recoveryTask;
+    /**
+     * 指标：读取总次数
+     */
+    private final AtomicLong reads = new AtomicLong();
+    /**
+     * 指标：读取超时次数
+     */
+    private final AtomicLong timeouts = new AtomicLong();
+    /**
+     * 指标：读取异常次数
+     */
+    private final AtomicLong errors = new AtomicLong();
+    /**
+     * 指标：对冲读取返回快照数据次数
+     */
+    private final AtomicLong hedged = new AtomicLong();
+    /**
+     * 指标：降级状态下直接返回快照数据次数
+     */
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    /**
+     * 构造方法
+     *
+     * @param delegate   被包装的字典存储对象
+     * @param properties 字典存储读取降级配置
+     */
+    public ResilientDictStore(final DictStore delegate, final DictPropertiesResilience properties) {
+        this.delegate = delegate;
+        this.properties = properties;
+        final int threads = Math.max(1, properties.getReadThreads());
+        this.readExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getReadQueueCapacity())),
+                runnable -> newDaemonThread(runnable, "dict-store-read-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.readExecutor.allowCoreThreadTimeOut(true);
+        this.recoveryExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> newDaemonThread(runnable, "dict-store-recovery-"));
+        final long maxSize = Math.max(1, properties.getSnapshotMaxSize());
+        this.snapshotTypes = Caffeine.newBuilder()
+                .maximumWeight(maxSize)
+                .weigher((String type, DictType dictType) -> dictType.getChildren() == null ? 1 : dictType.getChildren().size() + 1)
+                .executor(Runnable::run)
+                .build();
+        this.snapshotTexts = Caffeine.newBuilder().maximumSize(maxSize).executor(Runnable::run).build();
+        this.snapshotParents = Caffeine.newBuilder().maximumSize(maxSize).executor(Runnable::run).build();
+    }
+
+    /**
+     * 按配置包装字典存储对象。未启用降级或对象已经被包装时原样返回。
+     *
+     * @param store      字典存储对象
+     * @param properties 字典存储读取降级配置
+     * @return 字典存储对象
+     */
+    public static DictStore decorate(final DictStore store, final DictPropertiesResilience properties) {
+        if (properties == null || !properties.isEnabled() || store instanceof ResilientDictStore) {
+            return store;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("使用 {} 包装字典存储对象 {}", ResilientDictStore.class.getName(), store.getClass().getName());
+        }
+        return new ResilientDictStore(store, properties);
+    }
+
+    private static Thread newDaemonThread(final Runnable runnable, final String prefix) {
+        final Thread thread = new Thread(runnable, prefix + THREAD_NUMBER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    @Override
+    public void store(final DictType dictType) {
+        final List<DictValue> children = dictType.getChildren();
+        if (children == null) {
+            removeSnapshot(dictType.getType());
+        } else {
+            putWrittenSnapshot(snapshotTypes, dictType.getType(), dictType);
+        }
+        write(() -> delegate.store(dictType));
+    }
+
+    @Override
+    public void storeSystemDict(final DictType dictType) {
+        systemTypes.add(dictType.getType());
+        write(() -> delegate.storeSystemDict(dictType));
+    }
+
+    @Override
+    public void store(final Iterator<DictValue> iterator) {
+        write(() -> delegate.store(new SnapshotIterator(iterator)));
+    }
+
+    @Override
+    public void storeBatch(final Iterator<DictValue> iterator) {
+        write(() -> delegate.storeBatch(new SnapshotIterator(iterator)));
+    }
+
+    @Override
+    public void removeDictType(final String dictType) {
+        removeSnapshot(dictType);
+        write(() -> delegate.removeDictType(dictType));
+    }
+
+    @Override
+    public Map<String, String> getDictTypeDigests(final Collection<String> types) {
+        // 刷新字典时读取，读取失败时刷新失败，不使用快照数据
+        try {
+            return delegate.getDictTypeDigests(types);
+        } catch (RuntimeException e) {
+            errors.incrementAndGet();
+            recordFailure(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void storeDictTypeDigest(final String type, final String digest) {
+        write(() -> delegate.storeDictTypeDigest(type, digest));
+    }
+
+    @Override
+    public Set<String> dictTypeKeys() {
+        final Optional<Set<String>> keys = read(delegate::dictTypeKeys, "dictTypeKeys", false);
+        if (keys != null) {
+            return keys.orElse(Collections.emptySet());
+        }
+        return Collections.unmodifiableSet(new HashSet<>(snapshotTypes.asMap().keySet()));
+    }
+
+    @Override
+    public Set<String> systemDictTypeKeys() {
+        final Optional<Set<String>> keys = read(delegate::systemDictTypeKeys, "systemDictTypeKeys", false);
+        if (keys != null && keys.isPresent()) {
+            systemTypes.addAll(keys.get());
+            return keys.get();
+        }
+        // 读取失败时不能返回空集合，否则字典值事件会覆盖系统字典
+        return Collections.unmodifiableSet(new HashSet<>(systemTypes));
+    }
+
+    @Override
+    public DictType getDictType(final String type) {
+        if (type == null) {
+            return null;
+        }
+        final DictType snapshot = snapshotTypes.getIfPresent(type);
+        final Optional<DictType> result = read(() -> delegate.getDictType(type), type, snapshot != null);
+        if (result == null) {
+            // 读取失败时才使用快照数据
+            return snapshot;
+        }
+        final DictType dictType = result.orElse(null);
+        if (dictType == null) {
+            // 存储中已经没有该数据（例如已被删除），快照数据也不再有效
+            if (snapshot != null) {
+                snapshotTypes.invalidate(type);
+            }
+            return null;
+        }
+        if (dictType != snapshot) {
+            snapshotTypes.put(type, dictType);
+        }
+        return dictType;
+    }
+
+    @Override
+    public String getDictText(final String type, final String value) {
+        if (type == null || value == null) {
+            return null;
+        }
+        return readValue(snapshotTexts, type, value, () -> delegate.getDictText(type, value));
+    }
+
+    @Override
+    public String getDictParentValue(final String type, final String value) {
+        if (type == null || value == null) {
+            return null;
+        }
+        return readValue(snapshotParents, type, value, () -> delegate.getDictParentValue(type, value));
+    }
+
+    /**
+     * 读取字典文本或字典父级值，读取成功时更新快照（读取结果为 null 时删除快照），读取失败时返回快照数据
+     *
+     * @param snapshots 快照数据
+     * @param type      字典类型
+     * @param value     字典值
+     * @param supplier  读取方法
+     * @return 读取结果
+     */
+    private String readValue(final Cache<SnapshotKey, String> snapshots, final String type, final String value, final Supplier<String> supplier) {
+        final SnapshotKey key = new SnapshotKey(type, value);
+        final String snapshot = snapshots.getIfPresent(key);
+        final Optional<String> result = read(supplier, type, snapshot != null);
+        if (result == null) {
+            return snapshot;
+        }
+        if (!result.isPresent()) {
+            if (snapshot != null) {
+                snapshots.invalidate(key);
+            }
+            return null;
+        }
+        if (!result.get().equals(snapshot)) {
+            snapshots.put(key, result.get());
+        }
+        return result.get();
+    }
+
+    /**
+     * 在超时时间预算内从被包装的存储对象读取数据
+     *
+     * @param supplier    读取方法
+     * @param key         读取的数据标识（用于日志）
+     * @param hasSnapshot 快照中是否存在该数据，存在时允许对冲读取
+     * @param <T>         数据类型
+     * @return 读取结果，存储返回 null 时为 {@link Optional#empty()}；超时、异常、降级状态时返回 null，表示没有读取到结果
+     */
+    private <T> Optional<T> read(final Supplier<T> supplier, final String key, final boolean hasSnapshot) {
+        reads.incrementAndGet();
+        if (!healthy) {
+            fallbacks.incrementAndGet();
+            return null;
+        }
+        final CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(supplier, readExecutor);
+        } catch (RejectedExecutionException e) {
+            fallbacks.incrementAndGet();
+            return null;
+        }
+        final long timeout = properties.getTimeout().toNanos();
+        final long start = System.nanoTime();
+        // 每次读取只记录一次结果：等待超时已经记录为失败时，读取之后的完成结果不再记录
+        final AtomicBoolean recorded = new AtomicBoolean();
+        future.whenComplete((result, error) -> {
+            if (!recorded.compareAndSet(false, true)) {
+                return;
+            }
+            if (error != null) {
+                errors.incrementAndGet();
+                recordFailure(error);
+            } else if (System.nanoTime() - start <= timeout) {
+                // 超过超时时间预算才返回的读取结果，不视为存储已经恢复正常
+                recordSuccess();
+            }
+        });
+        final long hedgeDelay = properties.getHedgeDelay().toNanos();
+        try {
+            if (hasSnapshot && hedgeDelay > 0 && hedgeDelay < timeout) {
+                try {
+                    return Optional.ofNullable(future.get(hedgeDelay, TimeUnit.NANOSECONDS));
+                } catch (TimeoutException e) {
+                    hedged.incrementAndGet();
+                    return null;
+                }
+            }
+            return Optional.ofNullable(future.get(timeout, TimeUnit.NANOSECONDS));
+        } catch (TimeoutException e) {
+            timeouts.incrementAndGet();
+            if (recorded.compareAndSet(false, true)) {
+                recordFailure(e);
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("读取字典存储超时 {}", key);
+            }
+        } catch (ExecutionException e) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("读取字典存储失败 {}", key, e.getCause());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    /**
+     * 写入被包装的存储对象，写入失败时记录失败次数并继续抛出异常
+     *
+     * @param runnable 写入方法
+     */
+    private void write(final Runnable runnable) {
+        try {
+            runnable.run();
+        } catch (RuntimeException e) {
+            errors.incrementAndGet();
+            recordFailure(e);
+            throw e;
+        }
+    }
+
+    private void recordSuccess() {
+        consecutiveFailures.set(0);
+    }
+
+    private void recordFailure(final Throwable error) {
+        if (consecutiveFailures.incrementAndGet() >= properties.getFailureThreshold() && healthy) {
+            markUnhealthy(error);
+        }
+    }
+
+    /**
+     * 进入降级状态，并开始后台探测存储是否恢复
+     *
+     * @param error 导致降级的异常
+     */
+    private synchronized void markUnhealthy(final Throwable error) {
+        if (!healthy) {
+            return;
+        }
+        healthy = false;
+        logger.warn("字典存储连续 {} 次读取失败，进入降级状态，使用本地快照数据提供字典信息", consecutiveFailures.get(), error);
+        final long interval = Math.max(1, properties.getRecoveryInterval().toMillis());
+        recoveryTask = recoveryExecutor.scheduleWithFixedDelay(this::probe, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 后台探测存储是否恢复，探测成功后退出降级状态
+     */
+    private void probe() {
+        final Future<String> future;
+        try {
+            future = readExecutor.submit(() -> delegate.getDictParentValue(PROBE_TYPE, PROBE_TYPE));
+        } catch (RejectedExecutionException e) {
+            return;
+        }
+        try {
+            future.get(properties.getTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (Exception e) {
+            future.cancel(true);
+            if (logger.isDebugEnabled()) {
+                logger.debug("字典存储仍未恢复", e);
+            }
+            return;
+        }
+        synchronized (this) {
+            consecutiveFailures.set(0);
+            healthy = true;
+            if (recoveryTask != null) {
+                recoveryTask.cancel(false);
+                recoveryTask = null;
+            }
+        }
+        logger.info("字典存储已恢复，退出降级状态");
+    }
+
+    private void removeSnapshot(final String type) {
+        snapshotTypes.invalidate(type);
+        snapshotTexts.asMap().keySet().removeIf(key -> key.type.equals(type));
+        snapshotParents.asMap().keySet().removeIf(key -> key.type.equals(type));
+    }
+
+    /**
+     * 把写入存储的数据记录到快照中：快照中已有该数据时更新，没有该数据时只在快照未满时加入
+     *
+     * @param cache 快照
+     * @param key   键
+     * @param value 值
+     * @param <K>   键类型
+     * @param <V>   值类型
+     */
+    private static <K, V> void putWrittenSnapshot(final Cache<K, V> cache, final K key, final V value) {
+        if (cache.asMap().replace(key, value) == null && !isFull(cache)) {
+            cache.put(key, value);
+        }
+    }
+
+    /**
+     * 快照是否已满
+     *
+     * @param cache 快照
+     * @return 是否已满
+     */
+    private static boolean isFull(final Cache<?, ?> cache) {
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(cache.estimatedSize()) >= eviction.getMaximum())
+                .orElse(false);
+    }
+
+    /**
+     * 把写入存储的字典值同步记录到快照中
+     *
+     * @param dictValue 字典值
+     */
+    private void recordSnapshot(final DictValue dictValue) {
+        final SnapshotKey key = new SnapshotKey(dictValue.getDictType(), ObjectUtils.getDisplayString(dictValue.getValue()));
+        final String title = dictValue.getTitle();
+        if (title == null) {
+            snapshotTexts.invalidate(key);
+            return;
+        }
+        putWrittenSnapshot(snapshotTexts, key, title);
+        final Object parentValue = dictValue.getParentValue();
+        if (parentValue == null) {
+            snapshotParents.invalidate(key);
+        } else {
+            putWrittenSnapshot(snapshotParents, key, parentValue.toString());
+        }
+    }
+
+    /**
+     * 存储是否健康
+     *
+     * @return 是否健康；false 表示处于降级状态
+     */
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    /**
+     * 获取被包装的字典存储对象
+     *
+     * @return 被包装的字典存储对象
+     */
+    public DictStore getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "store";
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        final Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("status", healthy ? "UP" : "DEGRADED");
+        metrics.put("store", delegate.getClass().getName());
+        metrics.put("consecutiveFailures", consecutiveFailures.get());
+        metrics.put("reads", reads.get());
+        metrics.put("timeouts", timeouts.get());
+        metrics.put("errors", errors.get());
+        metrics.put("hedged", hedged.get());
+        metrics.put("fallbacks", fallbacks.get());
+        metrics.put("readQueueSize", readExecutor.getQueue().size());
+        metrics.put("readActiveCount", readExecutor.getActiveCount());
+        metrics.put("snapshotTypes", snapshotTypes.estimatedSize());
+        metrics.put("snapshotTexts", snapshotTexts.estimatedSize());
+        metrics.put("snapshotParents", snapshotParents.estimatedSize());
+        metrics.put("snapshotMaxSize", properties.getSnapshotMaxSize());
+        return metrics;
+    }
+
+    /**
+     * 清空被包装的存储对象内部缓存的字典信息
+     */
+    @Override
+    public void invalidateCache() {
+        delegate.invalidateCache();
+    }
+
+    @Override
+    public boolean isShared() {
+        return delegate.isShared();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        recoveryExecutor.shutdownNow();
+        readExecutor.shutdownNow();
+        if (delegate instanceof DisposableBean) {
+            ((DisposableBean) delegate).destroy();
+        }
+    }
+
+    /**
+     * 在被包装的存储对象遍历字典值的同时把字典值记录到快照中
+     */
+    private class SnapshotIterator implements Iterator<DictValue> {
+        private final Iterator<DictValue> iterator;
+
+        private SnapshotIterator(final Iterator<DictValue> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public DictValue next() {
+            final DictValue dictValue = iterator.next();
+            recordSnapshot(dictValue);
+            return dictValue;
+        }
+    }
+
+    /**
+     * 字典文本、字典父级值快照的键
+     */
+    private static final class SnapshotKey {
+        private final String type;
+        private final String value;
+
+        private SnapshotKey(final String type, final String value) {
+            this.type = type;
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SnapshotKey)) {
+                return false;
+            }
+            final SnapshotKey that = (SnapshotKey) o;
+            return type.equals(that.type) && Objects.equals(value, that.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + Objects.hashCode(value);
+        }
+    }
+}
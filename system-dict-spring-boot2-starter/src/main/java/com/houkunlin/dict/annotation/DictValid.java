@@ -13,6 +13,7 @@ import java.lang.annotation.Target;
 /**
  * 字典校验注解，用于校验字段值是否为有效的字典值。
  * 如果找不到字典值文本，则校验失败。
+ * 字段值为集合、数组时校验其中的每一个字典值；设置了 {@link #split()} 时把字段值拆分后校验每一个字典值，所有字典值都有效时校验通过。
  *
  * @author HouKunLin
  * @since 2.0.0
@@ -49,4 +50,14 @@ public @interface DictValid {
      * @see DictText#value()
      */
     String value();
+
+    /**
+     * 字段值是一个使用分隔符拼接的字符串时，使用该分隔符（正则表达式，与 {@link String#split(String)} 一致）拆分后校验每一个字典值。
+     * 默认不拆分，把整个字段值作为一个字典值校验。
+     *
+     * @return 分隔符
+     * @see DictArray#split()
+     * @since 2.2.0
+     */
+    String split() default "";
 }
@@ -0,0 +1,208 @@
+package com.houkunlin.dict.notice;
+
+import com.houkunlin.dict.DictJsonCodec;
+import com.houkunlin.dict.DictRefreshGuard;
+import com.houkunlin.dict.DictRegistrar;
+import com.houkunlin.dict.properties.DictProperties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.Record;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Redis Stream 刷新字典通知测试，使用一个内存实现的 Redis 模板模拟 Redis Stream 与连接断开
+ *
+ * @author HouKunLin
+ */
+class DictRedisStreamNoticeTest {
+    private final InMemoryStreamTemplate redisTemplate = new InMemoryStreamTemplate();
+    private final InMemoryJsonCodec jsonCodec = new InMemoryJsonCodec();
+    private final DictRegistrar dictRegistrar = Mockito.mock(DictRegistrar.class);
+    private final DictProperties dictProperties = new DictProperties();
+
+    private DictRedisStreamAutoConfiguration newConfiguration() {
+        return new DictRedisStreamAutoConfiguration(dictRegistrar, redisTemplate, jsonCodec, "app", dictProperties,
+                new DefaultListableBeanFactory().getBeanProvider(DictRefreshGuard.class));
+    }
+
+    private RefreshNoticeData readNotice(final MapRecord<String, Object, Object> record) throws Exception {
+        return jsonCodec.readValue(record.getValue().get("notice").toString().getBytes(StandardCharsets.UTF_8), RefreshNoticeData.class);
+    }
+
+    private void appendFromOtherSystem(final String dictProviderClass) throws Exception {
+        final RefreshNoticeData noticeData = RefreshNoticeData.builder()
+                .message("刷新 " + dictProviderClass)
+                .applicationName("other")
+                .dictProviderClasses(Collections.singleton(dictProviderClass))
+                .build();
+        redisTemplate.append(Collections.singletonMap("notice", jsonCodec.writeValueAsString(noticeData)));
+    }
+
+    @Test
+    void testSendStampsAndTrims() throws Exception {
+        dictProperties.getNotice().setStreamMaxLength(2);
+        final DictRedisStreamAutoConfiguration configuration = newConfiguration();
+
+        for (int i = 1; i <= 3; i++) {
+            configuration.send(RefreshNoticeData.builder().message("通知 " + i).applicationName("app").build());
+        }
+
+        // Stream 按 stream-max-length 裁剪，只保留最新的两条通知
+        Assertions.assertEquals(2, redisTemplate.records.size());
+        final List<RefreshNoticeData> notices = new ArrayList<>();
+        for (final MapRecord<String, Object, Object> record : redisTemplate.records) {
+            notices.add(readNotice(record));
+        }
+        Assertions.assertEquals(Arrays.asList("通知 2", "通知 3"), notices.stream().map(RefreshNoticeData::getMessage).collect(Collectors.toList()));
+        // 发送前设置发送者标识和连续的通知版本号
+        Assertions.assertEquals(Arrays.asList(2L, 3L), notices.stream().map(RefreshNoticeData::getVersion).collect(Collectors.toList()));
+        Assertions.assertNotNull(notices.get(0).getSenderId());
+        Assertions.assertEquals(notices.get(0).getSenderId(), notices.get(1).getSenderId());
+
+        // 已经设置过的通知不会重复设置
+        final RefreshNoticeData stamped = notices.get(1);
+        configuration.send(stamped);
+        Assertions.assertEquals(3L, readNotice(redisTemplate.records.get(1)).getVersion());
+        configuration.destroy();
+    }
+
+    @Test
+    void testResumeFromLastReadId() throws Exception {
+        appendFromOtherSystem("old");
+        final DictRedisStreamAutoConfiguration configuration = newConfiguration();
+        configuration.afterPropertiesSet();
+        try {
+            // 启动时从当前最新的消息之后开始读取
+            appendFromOtherSystem("a");
+            Mockito.verify(dictRegistrar, Mockito.timeout(3000)).refreshDict(Collections.singleton("a"));
+
+            // 连接断开期间发送的通知在重新连接后从最后读取的消息 ID 之后继续读取
+            redisTemplate.connected = false;
+            final long deadline = System.currentTimeMillis() + 3000;
+            while ((Long) configuration.getMetrics().get("readErrors") == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Assertions.assertTrue((Long) configuration.getMetrics().get("readErrors") > 0);
+            appendFromOtherSystem("b");
+            appendFromOtherSystem("c");
+            Assertions.assertEquals("2-0", configuration.getMetrics().get("lastReadId"));
+            redisTemplate.connected = true;
+
+            Mockito.verify(dictRegistrar, Mockito.timeout(5000)).refreshDict(Collections.singleton("c"));
+            Mockito.verify(dictRegistrar).refreshDict(Collections.singleton("b"));
+            Mockito.verify(dictRegistrar, Mockito.never()).refreshDict(Collections.singleton("old"));
+            Assertions.assertEquals("4-0", configuration.getMetrics().get("lastReadId"));
+        } finally {
+            configuration.destroy();
+        }
+    }
+
+    /**
+     * 内存实现的 JSON 序列化工具，序列化结果为对象的编号
+     */
+    static class InMemoryJsonCodec implements DictJsonCodec {
+        private final Map<String, Object> values = new ConcurrentHashMap<>();
+        private final AtomicLong ids = new AtomicLong();
+
+        @Override
+        public String writeValueAsString(final Object value) {
+            final String id = "json-" + ids.incrementAndGet();
+            values.put(id, value);
+            return id;
+        }
+
+        @Override
+        public <T> T readValue(final byte[] src, final Class<T> valueType) {
+            return valueType.cast(values.get(new String(src, StandardCharsets.UTF_8)));
+        }
+    }
+
+    /**
+     * 内存实现的 Redis 模板，只实现 Redis Stream 通知用到的命令，{@link #connected} 为 false 时读取失败
+     */
+    static class InMemoryStreamTemplate extends StringRedisTemplate {
+        final List<MapRecord<String, Object, Object>> records = Collections.synchronizedList(new ArrayList<>());
+        volatile boolean connected = true;
+        private final AtomicLong sequence = new AtomicLong();
+        @SuppressWarnings("unchecked")
+        private final StreamOperations<String, Object, Object> streamOperations = (StreamOperations<String, Object, Object>) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{StreamOperations.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "add":
+                            return append(((Record<String, Map<Object, Object>>) args[0]).getValue());
+                        case "trim":
+                            return trim((long) args[1]);
+                        case "info":
+                            return info();
+                        case "read":
+                            return read(((StreamOffset<String>[]) args[1])[0]);
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+
+        @Override
+        public StreamOperations<String, Object, Object> opsForStream() {
+            return streamOperations;
+        }
+
+        RecordId append(final Map<?, ?> value) {
+            final RecordId id = RecordId.of(sequence.incrementAndGet() + "-0");
+            records.add(StreamRecords.newRecord().in("stream").withId(id).ofMap(new LinkedHashMap<Object, Object>(value)));
+            return id;
+        }
+
+        private long trim(final long maxLength) {
+            long trimmed = 0;
+            synchronized (records) {
+                while (records.size() > maxLength) {
+                    records.remove(0);
+                    trimmed++;
+                }
+            }
+            return trimmed;
+        }
+
+        private StreamInfo.XInfoStream info() {
+            synchronized (records) {
+                if (records.isEmpty()) {
+                    throw new IllegalStateException("ERR no such key");
+                }
+                return StreamInfo.XInfoStream.fromList(Arrays.asList("length", (long) records.size(),
+                        "last-generated-id", records.get(records.size() - 1).getId().getValue()));
+            }
+        }
+
+        private List<MapRecord<String, Object, Object>> read(final StreamOffset<String> offset) throws InterruptedException {
+            if (!connected) {
+                throw new RedisConnectionFailureException("连接已断开");
+            }
+            final long after = RecordId.of(offset.getOffset().getOffset()).getTimestamp();
+            final List<MapRecord<String, Object, Object>> result;
+            synchronized (records) {
+                result = records.stream().filter(record -> record.getId().getTimestamp() > after).collect(Collectors.toList());
+            }
+            if (result.isEmpty()) {
+                // 模拟阻塞读取
+                Thread.sleep(20);
+            }
+            return result;
+        }
+    }
+}
@@ -4,12 +4,23 @@ import com.houkunlin.dict.annotation.DictValid;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * 校验字典信息是否在字典列表中。校验字典信息的填写是否符合需求
  * <p>
  * 该类实现了 ConstraintValidator 接口，用于验证字段值是否在指定的字典列表中存在。
  * 通过 @DictValid 注解可以在字段上标注需要进行字典校验的字段。
  * </p>
+ * <p>
+ * 字段值为集合、数组或者需要拆分的字符串时，通过 {@link DictUtil#containsDictValues(String, Iterable)} 一次校验所有字典值，
+ * 使用该字典类型的字典值集合查找，不需要逐个读取字典文本。
+ * </p>
  * <pre>
  *  class Bean {
  *      &#64;DictValid("dictUserStatus")
@@ -24,12 +35,17 @@ public class DictValidValidator implements ConstraintValidator<DictValid, Object
      * 字典类型代码，用于指定要校验的字典类型
      */
     private String dictType;
+    /**
+     * 字符串字段值的分隔符，为空时不拆分
+     */
+    private String split;
 
     /**
      * 验证字段值是否在字典列表中存在
      * <p>
      * 如果字典类型为 null 或者字段值为 null，则返回 false
-     * 否则，通过 DictUtil.getDictText 方法检查字段值是否在字典列表中存在
+     * 否则，通过 DictUtil.containsDictValues 方法检查字段值是否在字典列表中存在；
+     * 字段值为集合、数组或者需要拆分的字符串时，其中的每一个字典值都存在才返回 true，其中有 null 时返回 false，没有字典值时返回 true
      * </p>
      *
      * @param value   要验证的字段值
@@ -41,13 +57,44 @@ public class DictValidValidator implements ConstraintValidator<DictValid, Object
         if (dictType == null || value == null) {
             return false;
         }
-        return DictUtil.getDictText(dictType, value.toString()) != null;
+        return DictUtil.containsDictValues(dictType, toDictValues(value));
+    }
+
+    /**
+     * 把字段值转换为需要校验的字典值列表
+     *
+     * @param value 字段值
+     * @return 字典值列表
+     * @since 2.2.0
+     */
+    private List<String> toDictValues(final Object value) {
+        if (value instanceof Collection) {
+            final Collection<?> collection = (Collection<?>) value;
+            final List<String> values = new ArrayList<>(collection.size());
+            for (final Object item : collection) {
+                values.add(item == null ? null : item.toString());
+            }
+            return values;
+        }
+        if (value.getClass().isArray()) {
+            final int length = Array.getLength(value);
+            final List<String> values = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                final Object item = Array.get(value, i);
+                values.add(item == null ? null : item.toString());
+            }
+            return values;
+        }
+        if (!split.isEmpty() && value instanceof CharSequence) {
+            return Arrays.asList(value.toString().split(split));
+        }
+        return Collections.singletonList(value.toString());
     }
 
     /**
      * 初始化校验器
      * <p>
-     * 从 @DictValid 注解中获取字典类型代码并保存到 dictType 字段
+     * 从 @DictValid 注解中获取字典类型代码、分隔符并保存到 dictType、split 字段
      * </p>
      *
      * @param constraintAnnotation @DictValid 注解对象
@@ -55,5 +102,6 @@ public class DictValidValidator implements ConstraintValidator<DictValid, Object
     @Override
     public void initialize(final DictValid constraintAnnotation) {
         this.dictType = constraintAnnotation.value();
+        this.split = constraintAnnotation.split();
     }
 }
@@ -0,0 +1,1249 @@
+package com.houkunlin.dict;
+
+import com.houkunlin.dict.bean.DictType;
+import com.houkunlin.dict.bean.DictValue;
+import com.houkunlin.dict.enums.RejectionPolicy;
+import com.houkunlin.dict.notice.DictNoticeHandler;
+import com.houkunlin.dict.notice.RefreshDictTypeEvent;
+import com.houkunlin.dict.notice.RefreshDictValueEvent;
+import com.houkunlin.dict.notice.RefreshNoticeData;
+import com.houkunlin.dict.properties.DictProperties;
+import com.houkunlin.dict.properties.DictPropertiesNotice;
+import com.houkunlin.dict.provider.DictProvider;
+import com.houkunlin.dict.provider.DictValueCursor;
+import com.houkunlin.dict.store.DictStore;
+import com.houkunlin.dict.store.LocalDictStore;
+import com.houkunlin.dict.store.RemoteDictImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 字典注册器刷新字典测试
+ *
+ * @author HouKunLin
+ */
+class DictRegistrarRefreshTest {
+
+    private DictProperties newProperties() {
+        final DictProperties properties = new DictProperties();
+        properties.setRefreshDictInterval(Duration.ZERO);
+        return properties;
+    }
+
+    @Test
+    void testIncrementalRefreshDictType() {
+        final MutableDictProvider provider = new MutableDictProvider(true);
+        provider.types.add(DictType.newBuilder("status", "状态").add(1, "启用").add(2, "禁用").build());
+        provider.types.add(DictType.newBuilder("sex", "性别").add(1, "男").add(2, "女").build());
+        final RecordingDictStore store = new RecordingDictStore();
+        final DictRegistrarImpl registrar = new DictRegistrarImpl(Collections.singletonList(provider), store, newProperties());
+
+        registrar.refreshDict(null);
+        DictRefreshResult result = registrar.getLastRefreshResult();
+        Assertions.assertEquals(2, result.getChangedTypes());
+        Assertions.assertEquals(4, result.getAddedValues());
+        Assertions.assertEquals(2, store.typeWrites.get());
+        Assertions.assertEquals(4, store.valueWrites.get());
+
+        // 没有变化时不写入存储对象
+        registrar.refreshDict(null);
+        result = registrar.getLastRefreshResult();
+        Assertions.assertEquals(2, result.getUnchangedTypes());
+        Assertions.assertEquals(4, result.getUnchangedValues());
+        Assertions.assertEquals(2, store.typeWrites.get());
+        Assertions.assertEquals(4, store.valueWrites.get());
+
+        // 修改一个、新增一个、删除一个字典值
+        provider.types.set(0, DictType.newBuilder("status", "状态").add(1, "正常").add(3, "锁定").build());
+        registrar.refreshDict(null);
+        result = registrar.getLastRefreshResult();
+        Assertions.assertEquals(1, result.getChangedTypes());
+        Assertions.assertEquals(1, result.getUnchangedTypes());
+        Assertions.assertEquals(1, result.getAddedValues());
+        Assertions.assertEquals(1, result.getChangedValues());
+        Assertions.assertEquals(1, result.getRemovedValues());
+        Assertions.assertEquals(2, result.getUnchangedValues());
+        Assertions.assertEquals("正常", store.getDictText("status", "1"));
+        Assertions.assertEquals("锁定", store.getDictText("status", "3"));
+        Assertions.assertNull(store.getDictText("status", "2"));
+        Assertions.assertEquals(3, store.typeWrites.get());
+        Assertions.assertEquals(6, store.valueWrites.get());
+
+        // 删除一个字典类型
+        provider.types.remove(1);
+        registrar.refreshDict(null);
+        result = registrar.getLastRefreshResult();
+        Assertions.assertEquals(1, result.getRemovedTypes());
+        Assertions.assertEquals(2, result.getRemovedValues());
+        Assertions.assertNull(store.getDictType("sex"));
+        Assertions.assertNull(store.getDictText("sex", "1"));
+    }
+
+    @Test
+    void testIncrementalRefreshDictValue() {
+        final MutableDictProvider provider = new MutableDictProvider(false);
+        provider.types.add(DictType.newBuilder("user", "用户").add(1, "张三").add(2, "李四").add(3, "王五").build());
+        final RecordingDictStore store = new RecordingDictStore();
+        final DictRegistrarImpl registrar = new DictRegistrarImpl(Collections.singletonList(provider), store, newProperties());
+
+        registrar.refreshDict(null);
+        Assertions.assertEquals(3, registrar.getLastRefreshResult().getAddedValues());
+        Assertions.assertEquals(3, store.valueWrites.get());
+
+        provider.types.set(0, DictType.newBuilder("user", "用户").add(1, "张三").add(2, "李四四").build());
+        registrar.refreshDict(null);
+        final DictRefreshResult result = registrar.getLastRefreshResult();
+        Assertions.assertEquals(0, result.getAddedValues());
+        Assertions.assertEquals(1, result.getChangedValues());
+        Assertions.assertEquals(1, result.getRemovedValues());
+        Assertions.assertEquals(1, result.getUnchangedValues());
+        Assertions.assertEquals(4, store.valueWrites.get());
+        Assertions.assertEquals("李四四", store.getDictText("user", "2"));
+        Assertions.assertNull(store.getDictText("user", "3"));
+    }
+
+    @Test
+    void testDigestCollision() {
+        final MutableDictProvider provider = new MutableDictProvider(false);
+        provider.types.add(DictType.newBuilder("code", "代码").add(1, "Aa").build());
+        final RecordingDictStore store = new RecordingDictStore();
+        final DictRegistrarImpl registrar = new DictRegistrarImpl(Collections.singletonList(provider), store, newProperties());
+        registrar.refreshDict(null);
+
+        // "Aa" 与 "BB" 的 hashCode 相同，内容摘要不能相同
+        provider.types.set(0, DictType.newBuilder("code", "代码").add(1, "BB").build());
+        registrar.refreshDict(null);
+        Assertions.assertEquals(1, registrar.getLastRefreshResult().getChangedValues());
+        Assertions.assertEquals("BB", store.getDictText("code", "1"));
+    }
+
+    @Test
+    void testVerifyStoredDigests() {
+        final MutableDictProvider provider = new MutableDictProvider(true);
+        provider.version = "v1";
+        provider.types.add(DictType.newBuilder("status", "状态").add(1, "启用").add(2, "禁用").build());
+        final RecordingDictStore store = new RecordingDictStore();
+        store.trackDigests = true;
+        final DictRegistrarImpl registrar = new DictRegistrarImpl(Collections.singletonList(provider), store, newProperties());
+
+        registrar.refreshDict(null);
+        Assertions.assertNotNull(store.digests.get("status"));
+        registrar.refreshDict(null);
+        Assertions.assertEquals(1, store.typeWrites.get());
+        Assertions.assertEquals(2, store.valueWrites.get());
+
+        // 模拟 Redis 被清空，字典提供者的数据版本没有变化也需要重新写入
+        store.types.clear();
+        store.texts.clear();
+        store.digests.clear();
+        registrar.refreshDict(null);
+        Assertions.assertEquals(2, store.typeWrites.get());
+        Assertions.assertEquals(4, store.valueWrites.get());
+        Assertions.assertEquals("启用", store.getDictText("status", "1"));
+        Assertions.assertNotNull(store.digests.get("status"));
+
+        // 模拟其他实例写入了不同的内容
+        store.texts.put("status:1", "其他");
+        store.digests.put("status", "other");
+        registrar.refreshDict(null);
+        Assertions.assertEquals(3, store.typeWrites.get());
+        Assertions.assertEquals("启用", store.getDictText("status", "1"));
+        Assertions.assertEquals(2, registrar.getLastRefreshResult().getChangedValues());
+
+        // 通过事件修改字典值后删除存储对象中记录的摘要
+        registrar.refreshDictValueEvent(new RefreshDictValueEvent(new DictValue("status", 2, "停用", 0), false));
+        Assertions.assertNull(store.digests.get("status"));
+    }
+
+    @Test
+    void testFullRefresh() {
+        final MutableDictProvider provider = new MutableDictProvider(true);
+        provider.types.add(DictType.newBuilder("status", "状态").add(1, "启用").add(2, "禁用").build());
+        final RecordingDictStore store = new RecordingDictStore();
+        final DictProperties properties = newProperties();
+        properties.getRefresh().setIncremental(false);
+        final DictRegistrarImpl registrar = new DictRegistrarImpl(Collections.singletonList(provider), store, properties);
+
+        registrar.refreshDict(null);
+        registrar.refreshDict(null);
+        Assertions.assertEquals(2, registrar.getLastRefreshResult().getAddedValues());
+        Assertions.assertEquals(2, store.typeWrites.get());
+        Assertions.assertEquals(4, store.valueWrites.get());
+    }
+
+    @Test
+    void testSkipUnchangedProviderVersion() {
+        final MutableDictProvider provider = new MutableDictProvider(true);
+        provider.version = "1";
+        provider.types.add(DictType.newBuilder("status", "状态").add(1, "启用").add(2, "禁用").build());
+        final RecordingDictStore store = new RecordingDictStore();
+        final DictRegistrarImpl registrar = new DictRegistrarImpl(Collections.singletonList(provider), store, newProperties());
+
+        registrar.refreshDict(null);
+        Assertions.assertEquals(1, provider.loads.get());
+
+        // 数据版本未变化，不再加载字典数据
+        provider.types.set(0, DictType.newBuilder("status", "状态").add(1, "正常").build());
+        registrar.refreshDict(null);
+        Assertions.assertEquals(1, provider.loads.get());
+        Assertions.assertEquals(1, registrar.getLastRefreshResult().getSkippedProviders());
+        Assertions.assertEquals("启用", store.getDictText("status", "1"));
+
+        // 数据版本变化后重新加载字典数据
+        provider.version = "2";
+        registrar.refreshDict(null);
+        Assertions.assertEquals(2, provider.loads.get());
+        Assertions.assertEquals("正常", store.getDictText("status", "1"));
+        Assertions.assertNull(store.getDictText("status", "2"));
+
+        // 字典类型被事件修改后，该字典提供者的数据版本失效
+        registrar.getDigest().invalidate("status");
+        registrar.refreshDict(null);
+        Assertions.assertEquals(3, provider.loads.get());
+    }
+
+    @Test
+    void testCoalescingRefresh() throws InterruptedException {
+        final MutableDictProvider provider = new MutableDictProvider(true);
+        provider.types.add(DictType.newBuilder("status", "状态").add(1, "启用").build());
+        final RecordingDictStore store = new RecordingDictStore();
+        final DictProperties properties = newProperties();
+        properties.setRefreshDictInterval(Duration.ofMillis(300));
+        final DictRegistrarImpl registrar = new DictRegistrarImpl(Collections.singletonList(provider), store, properties);
+
+        registrar.refreshDict(null);
+        Assertions.assertEquals(1, provider.loads.get());
+
+        // 刷新间隔内的多次刷新请求合并为一次刷新，在刷新间隔结束后执行
+        provider.types.set(0, DictType.newBuilder("status", "状态").add(1, "正常").build());
+        registrar.refreshDict(Collections.singleton("com.example.OtherDictProvider"));
+        registrar.refreshDict(Collections.singleton(MutableDictProvider.class.getName()));
+        registrar.refreshDict(null);
+        Assertions.assertEquals(1, provider.loads.get());
+        for (int i = 0; i < 40 && provider.loads.get() < 2; i++) {
+            Thread.sleep(50);
+        }
+        Thread.sleep(400);
+        Assertions.assertEquals(2, provider.loads.get());
+        Assertions.assertEquals("正常", store.getDictText("status", "1"));
+        registrar.destroy();
+    }
+
+    @Test
+    void testStreamingDictValueCursor() {
+        final CursorDictProvider provider = new CursorDictProvider(5000);
+        final RecordingDictStore store = new RecordingDictStore();
+        final DictRegistrarImpl registrar = new DictRegistrarImpl(Collections.singletonList(provider), store, newProperties());
+
+        registrar.refreshDict(null);
+        Assertions.assertTrue(provider.closed);
+        Assertions.assertEquals(5000, store.valueWrites.get());
+        Assertions.assertEquals(5000, registrar.getLastRefreshResult().getAddedValues());
+        Assertions.assertEquals(3, registrar.getLastRefreshResult().getChangedTypes());
+        // 按固定大小分批写入存储对象
+        Assertions.assertEquals(registrar.getTypeEventBatchSize(), store.maxBatchSize.get());
+        Assertions.assertEquals("region-4999", store.getDictText("region2", "4999"));
+    }
+
+    @Test
+    void testBootAsyncReadiness() throws Exception {
+        final DictProperties properties = newProperties();
+        properties.getRefresh().setBootAsync(true);
+        final RecordingDictStore store = new RecordingDictStore();
+        final DictRegistrarImpl registrar = new DictRegistrarImpl(Collections.singletonList(new SlowDictProvider(300, false)
+                .with(DictType.newBuilder("status", "状态").add(1, "启用").build())), store, properties);
+        final List<Object> states = new CopyOnWriteArrayList<>();
+        registrar.setApplicationEventPublisher(event -> {
+            if (event instanceof AvailabilityChangeEvent) {
+                states.add(((AvailabilityChangeEvent<?>) event).getState());
+            }
+        });
+
+        registrar.afterPropertiesSet();
+        Assertions.assertFalse(registrar.isReady());
+        // 字典数据加载完成之前拒绝应用就绪
+        registrar.onAvailabilityChangeEvent(new AvailabilityChangeEvent<>(this, ReadinessState.ACCEPTING_TRAFFIC));
+        Assertions.assertEquals(Collections.singletonList(ReadinessState.REFUSING_TRAFFIC), states);
+
+        // BLOCK 策略等待字典数据加载完成
+        registrar.awaitReady();
+        Assertions.assertTrue(registrar.isReady());
+        Assertions.assertEquals("启用", store.getDictText("status", "1"));
+        Assertions.assertEquals(Arrays.asList(ReadinessState.REFUSING_TRAFFIC, ReadinessState.ACCEPTING_TRAFFIC), states);
+    }
+
+    @Test
+    void testConcurrentDictValueEvents() throws Exception {
+        final RecordingDictStore store = new RecordingDictStore();
+        final DictRegistrarImpl registrar = new DictRegistrarImpl(Collections.emptyList(), store, newProperties());
+        final ExecutorService executorService = Executors.newFixedThreadPool(8);
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            final int offset = thread * 50;
+            futures.add(executorService.submit(() -> {
+                for (int i = offset; i < offset + 50; i++) {
+                    registrar.refreshDictValueEvent(new RefreshDictValueEvent(new DictValue("user", i, "用户" + i, i), true));
+                    registrar.refreshDictValueEvent(new RefreshDictValueEvent(new DictValue("dept" + (i % 4), i, "部门" + i, i), true));
+                }
+            }));
+        }
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        executorService.shutdown();
+        awaitTypeUpdates(registrar);
+        // 同一个字典类型的更新按顺序执行，不会丢失更新
+        Assertions.assertEquals(400, store.getDictType("user").getChildren().size());
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertEquals(100, store.getDictType("dept" + i).getChildren().size());
+        }
+        Assertions.assertEquals("用户399", store.getDictText("user", "399"));
+    }
+
+    @Test
+    void testTypeUpdateHandOff() throws Exception {
+        final CountDownLatch applying = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> threads = new CopyOnWriteArrayList<>();
+        final DictTypeUpdateExecutor executor = new DictTypeUpdateExecutor(update -> {
+            threads.add(Thread.currentThread().getName());
+            if (threads.size() == 1) {
+                applying.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        final Thread submitter = new Thread(() -> executor.submit("hot", Collections.singletonList(new DictValue("hot", 1, "v1", 0)), false, false), "submitter");
+        submitter.start();
+        Assertions.assertTrue(applying.await(5, TimeUnit.SECONDS));
+        // 字典类型正在执行更新时提交的更新只合并，不占用提交线程
+        executor.submit("hot", Collections.singletonList(new DictValue("hot", 2, "v2", 0)), false, false);
+        release.countDown();
+        submitter.join(5000);
+        executor.shutdown(5000);
+        // 提交线程只执行一轮更新，之后的更新交给专用线程池执行
+        Assertions.assertEquals(2, threads.size());
+        Assertions.assertEquals("submitter", threads.get(0));
+        Assertions.assertTrue(threads.get(1).startsWith("dict-type-update-"));
+        Assertions.assertEquals(1L, executor.getMetrics().get("handOffs"));
+    }
+
+    @Test
+    void testDictValueEventKeepsOrder() {
+        final RecordingDictStore store = new RecordingDictStore();
+        final DictRegistrarImpl registrar = new DictRegistrarImpl(Collections.emptyList(), store, newProperties());
+        final DictType dictType = DictType.newBuilder("order", "Order")
+                .add(1, "v1").add(2, "v2").add(3, "v3").add(4, "v4").add(5, "v5")
+                .build();
+        // 不可修改的字典值列表
+        dictType.setChildren(Collections.unmodifiableList(dictType.getChildren()));
+        store.store(dictType);
+
+        registrar.refreshDictValueEvent(new RefreshDictValueEvent(Arrays.asList(
+                new DictValue("order", 3, "v3'", 0),
+                new DictValue("order", 2, null, 0),
+                new DictValue("order", 6, "v6", 0)
+        ), true));
+        Assertions.assertEquals(Arrays.asList("1", "3", "4", "5", "6"), values(store.getDictType("order")));
+        Assertions.assertEquals("v3'", store.getDictType("order").getChildren().get(1).getTitle());
+
+        // 再次更新时复用索引
+        registrar.refreshDictValueEvent(new RefreshDictValueEvent(Arrays.asList(
+                new DictValue("order", 1, "v1'", 0),
+                new DictValue("order", 7, "v7", 0),
+                new DictValue("order", 5, null, 0)
+        ), true));
+        Assertions.assertEquals(Arrays.asList("1", "3", "4", "6", "7"), values(store.getDictType("order")));
+        Assertions.assertEquals("v1'", store.getDictType("order").getChildren().get(0).getTitle());
+
+        // 删除全部字典值后删除字典类型
+        final List<DictValue> removes = new ArrayList<>();
+        for (final String value : values(store.getDictType("order"))) {
+            removes.add(new DictValue("order", value, null, 0));
+        }
+        registrar.refreshDictValueEvent(new RefreshDictValueEvent(removes));
+        Assertions.assertNull(store.getDictType("order").getChildren());
+    }
+
+    @Test
+    void testDeltaNotice() {
+        final MutableDictProvider provider = new MutableDictProvider(true);
+        provider.types.add(DictType.newBuilder("status", "状态").add(1, "启用").add(2, "禁用").build());
+        final RecordingDictStore store = new RecordingDictStore();
+        final DictRegistrarImpl registrar = new DictRegistrarImpl(Collections.singletonList(provider), store, newProperties());
+        registrar.refreshDict(null);
+        Assertions.assertEquals(1, provider.loads.get());
+
+        final DictPropertiesNotice notice = new DictPropertiesNotice();
+        notice.setDeltaMaxSize(2);
+        final DictNoticeHandler sender = new DictNoticeHandler(registrar, "sender", notice, null);
+        final DictNoticeHandler receiver = new DictNoticeHandler(registrar, "receiver", notice, null);
+
+        // 增量通知直接写入字典值，不重新加载字典提供者
+        RefreshNoticeData noticeData = sender.newNotice(new RefreshDictValueEvent(Arrays.asList(
+                new DictValue("status", 1, "正常", 0),
+                new DictValue("status", 2, null, 0)
+        ), true, false, true, false));
+        Assertions.assertEquals(2, noticeData.getDictValues().size());
+        receiver.handle(noticeData, "Test");
+        Assertions.assertEquals(1, provider.loads.get());
+        Assertions.assertEquals("正常", store.getDictText("status", "1"));
+        Assertions.assertNull(store.getDictText("status", "2"));
+        Assertions.assertEquals(Collections.singletonList("1"), values(store.getDictType("status")));
+
+        // 变更的字典值超过增量通知上限时改为全量刷新
+        noticeData = sender.newNotice(new RefreshDictValueEvent(Arrays.asList(
+                new DictValue("status", 1, "a", 0),
+                new DictValue("status", 2, "b", 0),
+                new DictValue("status", 3, "c", 0)
+        ), true, false, true, false));
+        Assertions.assertNull(noticeData.getDictValues());
+        receiver.handle(noticeData, "Test");
+        Assertions.assertEquals(2, provider.loads.get());
+        Assertions.assertEquals("启用", store.getDictText("status", "1"));
+    }
+
+    @Test
+    void testNoticeVersion() {
+        final MutableDictProvider provider = new MutableDictProvider(true);
+        provider.types.add(DictType.newBuilder("status", "状态").add(1, "启用").build());
+        final RecordingDictStore store = new RecordingDictStore();
+        final DictRegistrarImpl registrar = new DictRegistrarImpl(Collections.singletonList(provider), store, newProperties());
+        registrar.refreshDict(null);
+
+        final DictNoticeHandler sender = new DictNoticeHandler(registrar, "sender", new DictPropertiesNotice(), null);
+        final DictNoticeHandler receiver = new DictNoticeHandler(registrar, "receiver", new DictPropertiesNotice(), null);
+        final RefreshNoticeData first = sender.stamp(sender.newNotice(new RefreshDictValueEvent(
+                Collections.singletonList(new DictValue("status", 1, "v1", 0)), false, false, true, false)));
+        final RefreshNoticeData second = sender.stamp(sender.newNotice(new RefreshDictValueEvent(
+                Collections.singletonList(new DictValue("status", 1, "v2", 0)), false, false, true, false)));
+        final RefreshNoticeData third = sender.stamp(sender.newNotice(new RefreshDictValueEvent(
+                Collections.singletonList(new DictValue("status", 1, "v3", 0)), false, false, true, false)));
+        Assertions.assertEquals(Long.valueOf(1), first.getVersion());
+        Assertions.assertEquals(Long.valueOf(3), third.getVersion());
+
+        receiver.handle(first, "Test");
+        Assertions.assertEquals("v1", store.getDictText("status", "1"));
+        // 重复的通知被忽略
+        store.store(Collections.singletonList(new DictValue("status", 1, "local", 0)).iterator());
+        receiver.handle(first, "Test");
+        Assertions.assertEquals("local", store.getDictText("status", "1"));
+        Assertions.assertEquals(1L, receiver.getMetrics().get("staleNotices"));
+
+        // 版本号不连续时全量刷新字典
+        receiver.handle(third, "Test");
+        Assertions.assertEquals(2, provider.loads.get());
+        Assertions.assertEquals("启用", store.getDictText("status", "1"));
+        Assertions.assertEquals(1L, receiver.getMetrics().get("gaps"));
+        // 迟到的通知已经过期
+        receiver.handle(second, "Test");
+        Assertions.assertEquals("启用", store.getDictText("status", "1"));
+        Assertions.assertEquals(2L, receiver.getMetrics().get("staleNotices"));
+    }
+
+    private static List<String> values(final DictType dictType) {
+        final List<String> values = new ArrayList<>();
+        for (final DictValue valueVo : dictType.getChildren()) {
+            values.add(String.valueOf(valueVo.getValue()));
+        }
+        return values;
+    }
+
+    @Test
+    void testRefreshDictTypes() {
+        final TypedDictProvider typed = new TypedDictProvider();
+        typed.types.add(DictType.newBuilder("status", "状态").add(1, "启用").add(2, "禁用").build());
+        typed.types.add(DictType.newBuilder("sex", "性别").add(1, "男").add(2, "女").build());
+        final MutableDictProvider plain = new MutableDictProvider(true);
+        plain.types.add(DictType.newBuilder("color", "颜色").add(1, "红").build());
+        final RecordingDictStore store = new RecordingDictStore();
+        final DictRegistrarImpl registrar = new DictRegistrarImpl(Arrays.asList(typed, plain), store, newProperties());
+        registrar.refreshDict(null);
+        Assertions.assertEquals(1, typed.loads.get());
+        Assertions.assertEquals(1, plain.loads.get());
+
+        // 支持按字典类型加载的提供者只加载指定的字典类型
+        typed.types.set(0, DictType.newBuilder("status", "状态").add(1, "正常").build());
+        registrar.refreshDictTypes(Collections.singleton("status"));
+        Assertions.assertEquals(1, typed.loads.get());
+        Assertions.assertEquals(1, typed.typeLoads.get());
+        Assertions.assertEquals(1, plain.loads.get());
+        Assertions.assertEquals("正常", store.getDictText("status", "1"));
+        Assertions.assertNull(store.getDictText("status", "2"));
+        Assertions.assertEquals(Collections.singleton("status"), registrar.getLastRefreshResult().getDictTypes());
+
+        // 提供者不再返回的字典类型被删除
+        typed.types.remove(1);
+        registrar.refreshDictTypes(Collections.singleton("sex"));
+        Assertions.assertNull(store.getDictType("sex"));
+        Assertions.assertNull(store.getDictText("sex", "1"));
+
+        // 不支持按字典类型加载的提供者回退为刷新整个提供者
+        plain.types.set(0, DictType.newBuilder("color", "颜色").add(1, "蓝").build());
+        registrar.refreshDictTypes(Collections.singleton("color"));
+        Assertions.assertEquals(1, typed.loads.get());
+        Assertions.assertEquals(2, plain.loads.get());
+        Assertions.assertEquals("蓝", store.getDictText("color", "1"));
+    }
+
+    @Test
+    void testRefreshDictTypesAfterFullRefresh() throws Exception {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicBoolean block = new AtomicBoolean();
+        final TypedDictProvider provider = new TypedDictProvider() {
+            @Override
+            public Iterator<DictType> dictTypeIterator() {
+                // 先读取字典数据，再等待按字典类型刷新的请求
+                final Iterator<DictType> iterator = super.dictTypeIterator();
+                if (block.compareAndSet(true, false)) {
+                    entered.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return iterator;
+            }
+        };
+        provider.types.add(DictType.newBuilder("status", "状态").add(1, "启用").build());
+        final RecordingDictStore store = new RecordingDictStore();
+        final DictRegistrarImpl registrar = new DictRegistrarImpl(Collections.singletonList(provider), store, newProperties());
+        registrar.refreshDict(null);
+
+        block.set(true);
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        final Future<?> fullRefresh = executorService.submit(() -> registrar.refreshDict(null));
+        Assertions.assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // 全量刷新执行期间的按字典类型刷新在全量刷新完成后执行，更早读取的数据不会覆盖更新的数据
+        provider.types.set(0, DictType.newBuilder("status", "状态").add(1, "正常").build());
+        registrar.refreshDictTypes(Collections.singleton("status"));
+        Assertions.assertEquals("启用", store.getDictText("status", "1"));
+        release.countDown();
+        fullRefresh.get(5, TimeUnit.SECONDS);
+        executorService.shutdown();
+        Assertions.assertEquals("正常", store.getDictText("status", "1"));
+        Assertions.assertEquals(1, provider.typeLoads.get());
+        registrar.destroy();
+    }
+
+    @Test
+    void testRefreshTenant() {
+        final TypedDictProvider provider = new TypedDictProvider();
+        provider.types.add(DictType.newBuilder(DictTenantResolver.tenantDictType("t1", "user"), "用户").add(1, "张三").build());
+        provider.types.add(DictType.newBuilder(DictTenantResolver.tenantDictType("t1", "dept"), "部门").add(1, "研发部").build());
+        provider.types.add(DictType.newBuilder(DictTenantResolver.tenantDictType("t2", "user"), "用户").add(1, "李四").build());
+        final RecordingDictStore store = new RecordingDictStore();
+        final DictRegistrarImpl registrar = new DictRegistrarImpl(Collections.singletonList(provider), store, newProperties());
+        registrar.refreshDict(null);
+        Assertions.assertEquals(1, provider.loads.get());
+
+        // 只刷新该租户的字典类型
+        provider.types.set(0, DictType.newBuilder(DictTenantResolver.tenantDictType("t1", "user"), "用户").add(1, "王五").build());
+        provider.types.set(2, DictType.newBuilder(DictTenantResolver.tenantDictType("t2", "user"), "用户").add(1, "赵六").build());
+        registrar.refreshTenant("t1");
+        Assertions.assertEquals(1, provider.loads.get());
+        Assertions.assertEquals(1, provider.typeLoads.get());
+        Assertions.assertEquals(new HashSet<>(Arrays.asList("t1@user", "t1@dept")), registrar.getLastRefreshResult().getDictTypes());
+        Assertions.assertEquals("王五", store.getDictText("t1@user", "1"));
+        Assertions.assertEquals("研发部", store.getDictText("t1@dept", "1"));
+        Assertions.assertEquals("李四", store.getDictText("t2@user", "1"));
+    }
+
+    @Test
+    void testRefreshTenantFromProvider() {
+        final TypedDictProvider provider = new TypedDictProvider();
+        provider.types.add(DictType.newBuilder(DictTenantResolver.tenantDictType("t1", "user"), "用户").add(1, "张三").build());
+        final RecordingDictStore store = new RecordingDictStore();
+        final DictRegistrarImpl registrar = new DictRegistrarImpl(Collections.singletonList(provider), store, newProperties());
+        registrar.refreshDict(null);
+        Assertions.assertEquals(1, provider.loads.get());
+
+        // 还没有加载过的租户通过字典提供者获取该租户的字典类型，只刷新这些字典类型
+        provider.types.add(DictType.newBuilder(DictTenantResolver.tenantDictType("t3", "user"), "用户").add(1, "王五").build());
+        provider.tenantTypes.put("t3", Collections.singleton(DictTenantResolver.tenantDictType("t3", "user")));
+        registrar.refreshTenant("t3");
+        Assertions.assertEquals(1, provider.loads.get());
+        Assertions.assertEquals(1, provider.typeLoads.get());
+        Assertions.assertEquals("王五", store.getDictText("t3@user", "1"));
+
+        // 无法确定租户的字典类型时刷新所有字典
+        registrar.refreshTenant("t4");
+        Assertions.assertEquals(2, provider.loads.get());
+    }
+
+    @Test
+    void testLazyDictTypes() throws InterruptedException {
+        final TypedDictProvider provider = new TypedDictProvider();
+        provider.types.add(DictType.newBuilder("status", "状态").add(1, "启用").build());
+        provider.types.add(DictType.newBuilder("user", "用户").add(1, "张三").build());
+        provider.lazyTypes.add("user");
+        final RecordingDictStore store = new RecordingDictStore();
+        final DictProperties properties = newProperties();
+        properties.getLazy().setIdleTimeout(Duration.ofSeconds(1));
+        final DictRegistrarImpl registrar = new DictRegistrarImpl(Collections.singletonList(provider), store, properties);
+        try {
+            // 刷新字典时不加载懒加载的字典类型
+            registrar.refreshDict(null);
+            Assertions.assertEquals("启用", store.getDictText("status", "1"));
+            Assertions.assertNull(store.getDictType("user"));
+            Assertions.assertEquals(0, provider.typeLoads.get());
+
+            // 第一次读取时加载，之后不再重复加载
+            registrar.ensureDictType("user");
+            registrar.ensureDictType("user");
+            Assertions.assertEquals("张三", store.getDictText("user", "1"));
+            Assertions.assertEquals(1, provider.typeLoads.get());
+
+            // 刷新字典提供者时卸载已经加载的懒加载字典类型，再次读取时加载最新的数据
+            provider.types.set(1, DictType.newBuilder("user", "用户").add(1, "李四").build());
+            registrar.refreshDict(null);
+            Assertions.assertNull(store.getDictType("user"));
+            registrar.ensureDictType("user");
+            Assertions.assertEquals("李四", store.getDictText("user", "1"));
+            Assertions.assertEquals(2, provider.typeLoads.get());
+
+            // 空闲超时后卸载
+            final long deadline = System.currentTimeMillis() + 5000;
+            while (store.getDictType("user") != null && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100);
+            }
+            Assertions.assertNull(store.getDictType("user"));
+            Assertions.assertNull(store.getDictText("user", "1"));
+            Assertions.assertEquals("启用", store.getDictText("status", "1"));
+        } finally {
+            registrar.destroy();
+        }
+    }
+
+    @Test
+    void testLazyDictTypesSharedStore() throws InterruptedException {
+        final TypedDictProvider provider = new TypedDictProvider();
+        provider.types.add(DictType.newBuilder("user", "用户").add(1, "张三").build());
+        provider.lazyTypes.add("user");
+        final RecordingDictStore store = new RecordingDictStore();
+        store.shared = true;
+        final DictProperties properties = newProperties();
+        properties.getLazy().setIdleTimeout(Duration.ofSeconds(1));
+        final DictRegistrarImpl registrar = new DictRegistrarImpl(Collections.singletonList(provider), store, properties);
+        try {
+            registrar.refreshDict(null);
+            registrar.ensureDictType("user");
+            Assertions.assertEquals("张三", store.getDictText("user", "1"));
+
+            // 共享的存储对象中的数据可能正在被其他实例读取，刷新字典提供者时只卸载当前实例的加载状态，不删除共享存储中的数据
+            provider.types.set(0, DictType.newBuilder("user", "用户").add(1, "李四").build());
+            registrar.refreshDict(null);
+            Assertions.assertNotNull(store.getDictType("user"));
+            registrar.ensureDictType("user");
+            Assertions.assertEquals("李四", store.getDictText("user", "1"));
+            Assertions.assertEquals(2, provider.typeLoads.get());
+
+            // 空闲超时后同样不删除共享存储中的数据
+            final Map<?, ?> lazy = (Map<?, ?>) registrar.getMetrics().get("lazy");
+            final long unloads = (Long) lazy.get("unloads");
+            final long deadline = System.currentTimeMillis() + 5000;
+            while ((Long) ((Map<?, ?>) registrar.getMetrics().get("lazy")).get("unloads") == unloads && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100);
+            }
+            Assertions.assertEquals(unloads + 1, ((Map<?, ?>) registrar.getMetrics().get("lazy")).get("unloads"));
+            Assertions.assertEquals("李四", store.getDictText("user", "1"));
+            registrar.ensureDictType("user");
+            Assertions.assertEquals(3, provider.typeLoads.get());
+        } finally {
+            registrar.destroy();
+        }
+    }
+
+    @Test
+    void testBoundedLocalDictStore() throws Exception {
+        final TypedDictProvider provider = new TypedDictProvider();
+        for (int i = 0; i < 50; i++) {
+            provider.types.add(DictType.newBuilder("bounded" + i, "用户" + i).add(1, "张三" + i).add(2, "李四" + i).build());
+        }
+        final LocalDictStore store = new LocalDictStore(new RemoteDictImpl(), 4096);
+        // 系统字典不受容量限制
+        store.storeSystemDict(DictType.newBuilder("bounded-system", "系统字典").add(1, "系统").build());
+        store.store(Collections.singletonList(new DictValue("bounded-system", 1, "系统", 0)).iterator());
+        final DictRegistrarImpl registrar = new DictRegistrarImpl(Collections.singletonList(provider), store, newProperties());
+        try {
+            registrar.afterPropertiesSet();
+            final Map<String, Object> metrics = store.getMetrics();
+            Assertions.assertTrue((Long) metrics.get("evictions") > 0);
+            Assertions.assertTrue((Long) metrics.get("userWeight") <= 4096);
+            Assertions.assertEquals("系统", store.getDictText("bounded-system", "1"));
+
+            // 被淘汰的字典类型在下一次读取时通过字典提供者重新加载
+            String evicted = null;
+            for (int i = 0; i < 50 && evicted == null; i++) {
+                if (store.getDictType("bounded" + i) == null) {
+                    evicted = "bounded" + i;
+                }
+            }
+            Assertions.assertNotNull(evicted);
+            registrar.ensureDictType(evicted);
+            Assertions.assertEquals(1, provider.typeLoads.get());
+            Assertions.assertEquals(1L, ((Map<?, ?>) registrar.getMetrics().get("lazy")).get("loads"));
+        } finally {
+            registrar.destroy();
+        }
+    }
+
+    @Test
+    void testLazyDictTypesPlainProvider() {
+        // 不支持按字典类型加载的字典提供者，从全部字典数据中读取懒加载的字典类型
+        final MutableDictProvider typeProvider = new MutableDictProvider(true) {
+            @Override
+            public Set<String> lazyDictTypes() {
+                return Collections.singleton("user");
+            }
+        };
+        typeProvider.types.add(DictType.newBuilder("status", "状态").add(1, "启用").build());
+        typeProvider.types.add(DictType.newBuilder("user", "用户").add(1, "张三").build());
+        final MutableDictProvider valueProvider = new MutableDictProvider(false) {
+            @Override
+            public Set<String> lazyDictTypes() {
+                return Collections.singleton("dept");
+            }
+        };
+        valueProvider.types.add(DictType.newBuilder("dept", "部门").add(1, "研发部").add(2, "市场部").build());
+        final RecordingDictStore store = new RecordingDictStore();
+        final DictRegistrarImpl registrar = new DictRegistrarImpl(Arrays.asList(typeProvider, valueProvider), store, newProperties());
+        try {
+            registrar.refreshDict(null);
+            Assertions.assertNull(store.getDictType("user"));
+            Assertions.assertNull(store.getDictText("dept", "1"));
+
+            registrar.ensureDictType("user");
+            registrar.ensureDictType("dept");
+            Assertions.assertEquals("张三", store.getDictText("user", "1"));
+            Assertions.assertEquals("启用", store.getDictText("status", "1"));
+            Assertions.assertEquals("研发部", store.getDictText("dept", "1"));
+            Assertions.assertEquals("市场部", store.getDictText("dept", "2"));
+            Assertions.assertEquals(2, typeProvider.loads.get());
+        } finally {
+            registrar.destroy();
+        }
+    }
+
+    @Test
+    void testBoundedLocalDictStorePlainProvider() throws Exception {
+        final MutableDictProvider provider = new MutableDictProvider(true);
+        for (int i = 0; i < 50; i++) {
+            provider.types.add(DictType.newBuilder("plain" + i, "用户" + i).add(1, "张三" + i).add(2, "李四" + i).build());
+        }
+        final Set<String> written = ConcurrentHashMap.newKeySet();
+        final LocalDictStore store = new LocalDictStore(new RemoteDictImpl(), 4096) {
+            @Override
+            public void store(final DictType dictType) {
+                written.add(dictType.getType());
+                super.store(dictType);
+            }
+        };
+        final DictRegistrarImpl registrar = new DictRegistrarImpl(Collections.singletonList(provider), store, newProperties());
+        try {
+            registrar.afterPropertiesSet();
+            Assertions.assertTrue((Long) store.getMetrics().get("evictions") > 0);
+            String evicted = null;
+            for (int i = 0; i < 50 && evicted == null; i++) {
+                if (store.getDictType("plain" + i) == null) {
+                    evicted = "plain" + i;
+                }
+            }
+            Assertions.assertNotNull(evicted);
+
+            // 不支持按字典类型加载的字典提供者，被淘汰的字典类型从全部字典数据中读取后重新写入，不会被当作不存在
+            written.clear();
+            registrar.ensureDictType(evicted);
+            Assertions.assertEquals(2, provider.loads.get());
+            Assertions.assertEquals(Collections.singleton(evicted), written);
+            Assertions.assertEquals(1L, ((Map<?, ?>) registrar.getMetrics().get("lazy")).get("loads"));
+        } finally {
+            registrar.destroy();
+        }
+    }
+
+    @Test
+    void testDictValueEventBatchWindow() throws Exception {
+        final DictProperties properties = newProperties();
+        properties.getEvent().setValueBatchWindow(Duration.ofMillis(300));
+        properties.getEvent().setValueBatchMaxSize(1000);
+        final RecordingDictStore store = new RecordingDictStore();
+        final DictRegistrarImpl registrar = new DictRegistrarImpl(Collections.emptyList(), store, properties);
+        for (int i = 0; i < 300; i++) {
+            registrar.refreshDictValueEvent(new RefreshDictValueEvent(new DictValue("batch" + (i % 3), i % 50, "文本" + i, 0), true));
+        }
+        // 窗口结束前不写入
+        Assertions.assertNull(store.getDictType("batch0"));
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (store.getDictType("batch2") == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        // 每个字典类型只写入一次字典值、只维护一次字典类型对象，同一个字典值后收到的覆盖先收到的
+        Assertions.assertEquals(3, store.typeWrites.get());
+        Assertions.assertEquals(1, store.systemKeyReads.get());
+        Assertions.assertEquals(50, store.maxBatchSize.get());
+        Assertions.assertEquals(50, store.getDictType("batch0").getChildren().size());
+        Assertions.assertEquals("文本150", store.getDictText("batch0", "0"));
+
+        // 达到最大数量时立即写入
+        properties.getEvent().setValueBatchMaxSize(10);
+        for (int i = 0; i < 10; i++) {
+            registrar.refreshDictValueEvent(new RefreshDictValueEvent(new DictValue("batch3", i, "文本" + i, 0), true));
+        }
+        Assertions.assertEquals(10, store.getDictType("batch3").getChildren().size());
+        registrar.destroy();
+    }
+
+    @Test
+    void testDedicatedEventExecutor() throws Exception {
+        final DictProperties properties = newProperties();
+        properties.getEvent().setAsync(true);
+        properties.getEvent().setThreads(1);
+        properties.getEvent().setQueueCapacity(1);
+        properties.getEvent().setRejectionPolicy(RejectionPolicy.CALLER_RUNS);
+        final Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        final CountDownLatch release = new CountDownLatch(1);
+        final RecordingDictStore store = new RecordingDictStore() {
+            @Override
+            public void store(final DictType dictType) {
+                threadNames.add(Thread.currentThread().getName());
+                if (Thread.currentThread().getName().startsWith("dict-event-")) {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                super.store(dictType);
+            }
+        };
+        final DictRegistrarImpl registrar = new DictRegistrarImpl(Collections.emptyList(), store, properties);
+        // 第 1 个事件占用唯一的线程，第 2 个事件进入等待队列，第 3 个事件队列已满由发布事件的线程执行
+        for (int i = 0; i < 3; i++) {
+            registrar.refreshDictTypeEvent(new RefreshDictTypeEvent(DictType.newBuilder("async" + i, "Async").add(1, "A").build()));
+        }
+        final long started = System.currentTimeMillis() + 5000;
+        while (!threadNames.contains("dict-event-1") && System.currentTimeMillis() < started) {
+            Thread.sleep(20);
+        }
+        @SuppressWarnings("unchecked") final Map<String, Object> metrics = (Map<String, Object>) registrar.getMetrics().get("eventExecutor");
+        Assertions.assertEquals(true, metrics.get("async"));
+        Assertions.assertEquals(1, metrics.get("activeCount"));
+        Assertions.assertEquals(1, metrics.get("queueSize"));
+        Assertions.assertEquals(1L, metrics.get("rejected"));
+        Assertions.assertTrue(threadNames.contains(Thread.currentThread().getName()));
+        release.countDown();
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (store.getDictType("async1") == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        Assertions.assertNotNull(store.getDictType("async0"));
+        Assertions.assertNotNull(store.getDictType("async1"));
+        Assertions.assertTrue(threadNames.contains("dict-event-1"));
+        registrar.destroy();
+    }
+
+    @Test
+    void testDestroyDrainsQueuedEvents() {
+        final DictProperties properties = newProperties();
+        properties.getEvent().setAsync(true);
+        properties.getEvent().setThreads(1);
+        properties.getEvent().setValueBatchWindow(Duration.ofMinutes(1));
+        final RecordingDictStore store = new RecordingDictStore() {
+            @Override
+            public void store(final DictType dictType) {
+                if ("slow".equals(dictType.getType())) {
+                    try {
+                        Thread.sleep(300);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                super.store(dictType);
+            }
+        };
+        final DictRegistrarImpl registrar = new DictRegistrarImpl(Collections.emptyList(), store, properties);
+        // 第 1 个事件占用唯一的线程，之后的事件在等待队列中排队
+        registrar.refreshDictTypeEvent(new RefreshDictTypeEvent(DictType.newBuilder("slow", "Slow").add(1, "A").build()));
+        for (int i = 0; i < 20; i++) {
+            registrar.refreshDictValueEvent(new RefreshDictValueEvent(new DictValue("queued", i, "值" + i, i), false));
+        }
+        // 关闭时先处理完线程池中排队的事件，再写入合并窗口内收集的字典值
+        registrar.destroy();
+        for (int i = 0; i < 20; i++) {
+            Assertions.assertEquals("值" + i, store.getDictText("queued", String.valueOf(i)));
+        }
+    }
+
+    @Test
+    void testParallelRefresh() {
+        final DictProperties properties = newProperties();
+        properties.getRefresh().setParallel(true);
+        properties.getRefresh().setProviderTimeout(Duration.ofMillis(1000));
+        final List<DictProvider> providers = new ArrayList<>();
+        providers.add(new SlowDictProvider(300, false) {
+        }.with(DictType.newBuilder("a", "A").add(1, "A1").build()));
+        providers.add(new SlowDictProvider(300, false) {
+        }.with(DictType.newBuilder("b", "B").add(1, "B1").build()));
+        providers.add(new SlowDictProvider(0, true) {
+        }.with(DictType.newBuilder("c", "C").add(1, "C1").build()));
+        providers.add(new SlowDictProvider(5000, false) {
+        }.with(DictType.newBuilder("d", "D").add(1, "D1").build()));
+        final RecordingDictStore store = new RecordingDictStore();
+        final DictRegistrarImpl registrar = new DictRegistrarImpl(providers, store, properties);
+
+        final long start = System.currentTimeMillis();
+        registrar.refreshDict(null);
+        Assertions.assertTrue(System.currentTimeMillis() - start < 1600);
+        final DictRefreshResult result = registrar.getLastRefreshResult();
+        Assertions.assertTrue(result.isParallel());
+        Assertions.assertEquals(4, result.getProviders());
+        Assertions.assertEquals(4, result.getProviderCostMillis().size());
+        // 一个字典提供者抛出异常、一个字典提供者超时，不影响其他字典提供者
+        Assertions.assertEquals(2, result.getFailedProviders().size());
+        Assertions.assertEquals("A1", store.getDictText("a", "1"));
+        Assertions.assertEquals("B1", store.getDictText("b", "1"));
+        Assertions.assertNull(store.getDictText("d", "1"));
+        registrar.destroy();
+    }
+
+    @Test
+    void testProviderTimeoutFromSubmission() {
+        final DictProperties properties = newProperties();
+        properties.getRefresh().setParallel(true);
+        properties.getRefresh().setParallelism(2);
+        properties.getRefresh().setProviderTimeout(Duration.ofMillis(600));
+        final List<DictProvider> providers = new ArrayList<>();
+        providers.add(new SlowDictProvider(400, false) {
+        }.with(DictType.newBuilder("a", "A").add(1, "A1").build()));
+        providers.add(new SlowDictProvider(400, false) {
+        }.with(DictType.newBuilder("b", "B").add(1, "B1").build()));
+        // 等待前两个字典提供者执行完成后才开始执行，从提交任务开始计算已经超时
+        providers.add(new SlowDictProvider(400, false) {
+        }.with(DictType.newBuilder("c", "C").add(1, "C1").build()));
+        final RecordingDictStore store = new RecordingDictStore();
+        final DictRegistrarImpl registrar = new DictRegistrarImpl(providers, store, properties);
+
+        final long start = System.currentTimeMillis();
+        registrar.refreshDict(null);
+        Assertions.assertTrue(System.currentTimeMillis() - start < 780);
+        Assertions.assertEquals(1, registrar.getLastRefreshResult().getFailedProviders().size());
+        Assertions.assertEquals("A1", store.getDictText("a", "1"));
+        Assertions.assertEquals("B1", store.getDictText("b", "1"));
+        Assertions.assertNull(store.getDictText("c", "1"));
+        registrar.destroy();
+    }
+
+    @Test
+    void testTimedOutProviderStopsWriting() throws Exception {
+        final DictProperties properties = newProperties();
+        properties.getRefresh().setParallel(true);
+        properties.getRefresh().setProviderTimeout(Duration.ofMillis(200));
+        final List<DictProvider> providers = new ArrayList<>();
+        providers.add(new SlowDictProvider(0, false) {
+        }.with(DictType.newBuilder("a", "A").add(1, "A1").build()));
+        // 清除中断标记后继续返回字典数据的字典提供者，超时后也不能再写入存储对象
+        providers.add(new SlowDictProvider(5000, false) {
+        }.swallowInterrupt().with(DictType.newBuilder("d", "D").add(1, "D1").build()));
+        final RecordingDictStore store = new RecordingDictStore();
+        final DictRegistrarImpl registrar = new DictRegistrarImpl(providers, store, properties);
+
+        registrar.refreshDict(null);
+        Assertions.assertEquals(1, registrar.getLastRefreshResult().getFailedProviders().size());
+        Thread.sleep(300);
+        Assertions.assertEquals("A1", store.getDictText("a", "1"));
+        Assertions.assertNull(store.getDictText("d", "1"));
+        Assertions.assertNull(store.getDictType("d"));
+        registrar.destroy();
+    }
+
+    /**
+     * 加载字典数据比较慢或者会失败的字典提供者
+     */
+    static class SlowDictProvider extends MutableDictProvider {
+        private final long latency;
+        private final boolean fail;
+        private boolean swallowInterrupt;
+
+        SlowDictProvider(final long latency, final boolean fail) {
+            super(true);
+            this.latency = latency;
+            this.fail = fail;
+        }
+
+        SlowDictProvider with(final DictType dictType) {
+            types.add(dictType);
+            return this;
+        }
+
+        /**
+         * 被中断时清除中断标记并继续返回字典数据
+         */
+        SlowDictProvider swallowInterrupt() {
+            swallowInterrupt = true;
+            return this;
+        }
+
+        @Override
+        public Iterator<DictType> dictTypeIterator() {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                if (!swallowInterrupt) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (fail) {
+                throw new IllegalStateException("数据库连接失败");
+            }
+            return super.dictTypeIterator();
+        }
+    }
+
+    /**
+     * 通过字典值游标逐个生成字典值的字典提供者，模拟从 JDBC 游标读取数据
+     */
+    static class CursorDictProvider implements DictProvider {
+        private final int size;
+        private volatile boolean closed;
+
+        CursorDictProvider(final int size) {
+            this.size = size;
+        }
+
+        @Override
+        public DictValueCursor dictValueCursor() {
+            closed = false;
+            final Iterator<DictValue> iterator = new Iterator<DictValue>() {
+                private int index = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return index < size;
+                }
+
+                @Override
+                public DictValue next() {
+                    final int value = index++;
+                    return new DictValue("region" + (value * 3 / size), value, "region-" + value, value);
+                }
+            };
+            return DictValueCursor.of(iterator, () -> closed = true);
+        }
+    }
+
+    /**
+     * 字典数据可以被修改的字典提供者
+     */
+    static class MutableDictProvider implements DictProvider {
+        final List<DictType> types = new ArrayList<>();
+        final AtomicInteger loads = new AtomicInteger();
+        private final boolean storeDictType;
+        volatile String version;
+
+        MutableDictProvider(final boolean storeDictType) {
+            this.storeDictType = storeDictType;
+        }
+
+        @Override
+        public boolean isStoreDictType() {
+            return storeDictType;
+        }
+
+        @Override
+        public String dictVersion() {
+            return version;
+        }
+
+        @Override
+        public Iterator<DictType> dictTypeIterator() {
+            loads.incrementAndGet();
+            return copyTypes(null);
+        }
+
+        Iterator<DictType> copyTypes(final Set<String> dictTypes) {
+            final List<DictType> list = new ArrayList<>();
+            for (final DictType type : types) {
+                if (dictTypes != null && !dictTypes.contains(type.getType())) {
+                    continue;
+                }
+                final List<DictValue> children = new ArrayList<>();
+                for (final DictValue child : type.getChildren()) {
+                    children.add(new DictValue(type.getType(), child.getValue(), child.getTitle(), child.getSorted()));
+                }
+                list.add(new DictType(type.getTitle(), type.getType(), type.getRemark(), children));
+            }
+            return list.iterator();
+        }
+    }
+
+    /**
+     * 支持按字典类型加载、懒加载字典类型的字典提供者
+     */
+    static class TypedDictProvider extends MutableDictProvider {
+        final AtomicInteger typeLoads = new AtomicInteger();
+        final Set<String> lazyTypes = new HashSet<>();
+        final Map<String, Set<String>> tenantTypes = new HashMap<>();
+
+        TypedDictProvider() {
+            super(true);
+        }
+
+        @Override
+        public Iterator<DictType> dictTypeIterator(final Set<String> dictTypes) {
+            typeLoads.incrementAndGet();
+            return copyTypes(dictTypes);
+        }
+
+        @Override
+        public Set<String> lazyDictTypes() {
+            return lazyTypes;
+        }
+
+        @Override
+        public Set<String> tenantDictTypes(final String tenant) {
+            return tenantTypes.get(tenant);
+        }
+    }
+
+    /**
+     * 等待交给专用线程池的字典值更新执行完成
+     */
+    @SuppressWarnings("unchecked")
+    private static void awaitTypeUpdates(final DictRegistrarImpl registrar) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            final Map<String, Object> metrics = (Map<String, Object>) registrar.getMetrics().get("typeUpdate");
+            if (((Number) metrics.get("pendingTypes")).intValue() == 0) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    /**
+     * 记录写入次数的字典存储对象
+     */
+    static class RecordingDictStore implements DictStore {
+        final Map<String, DictType> types = new ConcurrentHashMap<>();
+        final Map<String, String> texts = new ConcurrentHashMap<>();
+        final AtomicInteger typeWrites = new AtomicInteger();
+        final AtomicInteger valueWrites = new AtomicInteger();
+        final AtomicInteger maxBatchSize = new AtomicInteger();
+        final AtomicInteger systemKeyReads = new AtomicInteger();
+        final Map<String, String> digests = new ConcurrentHashMap<>();
+        volatile boolean trackDigests = false;
+        volatile boolean shared = false;
+
+        @Override
+        public void store(final DictType dictType) {
+            typeWrites.incrementAndGet();
+            types.put(dictType.getType(), dictType);
+        }
+
+        @Override
+        public void store(final Iterator<DictValue> iterator) {
+            iterator.forEachRemaining(valueVo -> {
+                final String key = valueVo.getDictType() + ":" + valueVo.getValue();
+                if (valueVo.getTitle() == null) {
+                    texts.remove(key);
+                } else {
+                    valueWrites.incrementAndGet();
+                    texts.put(key, valueVo.getTitle());
+                }
+            });
+        }
+
+        @Override
+        public void storeBatch(final Iterator<DictValue> iterator) {
+            final List<DictValue> list = new ArrayList<>();
+            iterator.forEachRemaining(list::add);
+            maxBatchSize.accumulateAndGet(list.size(), Math::max);
+            store(list.iterator());
+        }
+
+        @Override
+        public void removeDictType(final String dictType) {
+            digests.remove(dictType);
+            types.remove(dictType);
+            texts.keySet().removeIf(key -> key.startsWith(dictType + ":"));
+        }
+
+        @Override
+        public Set<String> dictTypeKeys() {
+            return types.keySet();
+        }
+
+        @Override
+        public boolean isShared() {
+            return shared;
+        }
+
+        @Override
+        public Map<String, String> getDictTypeDigests(final Collection<String> dictTypes) {
+            if (!trackDigests) {
+                return null;
+            }
+            final Map<String, String> map = new HashMap<>();
+            for (final String type : dictTypes) {
+                final String digest = digests.get(type);
+                if (digest != null) {
+                    map.put(type, digest);
+                }
+            }
+            return map;
+        }
+
+        @Override
+        public void storeDictTypeDigest(final String type, final String digest) {
+            if (!trackDigests) {
+                return;
+            }
+            if (digest == null) {
+                digests.remove(type);
+            } else {
+                digests.put(type, digest);
+            }
+        }
+
+        @Override
+        public Set<String> systemDictTypeKeys() {
+            systemKeyReads.incrementAndGet();
+            return Collections.emptySet();
+        }
+
+        @Override
+        public DictType getDictType(final String type) {
+            return types.get(type);
+        }
+
+        @Override
+        public String getDictText(final String type, final String value) {
+            return texts.get(type + ":" + value);
+        }
+
+        @Override
+        public String getDictParentValue(final String type, final String value) {
+            return null;
+        }
+    }
+}
@@ -564,4 +564,18 @@ class EnumUsageTest {
         System.out.println(value); // {"userType":[]}
         JsonAssertUtil.assertEquals("{\"userType\":[]}", value);
     }
+
+    /**
+     * 测试字典枚举索引：通过字典值、字典值的字符串形式查找枚举对象
+     */
+    @Test
+    void testEnumIndex() {
+        final DictEnumIndex<PeopleType> index = DictEnumIndex.of(PeopleType.class);
+        Assertions.assertSame(index, DictEnumIndex.of(PeopleType.class));
+        Assertions.assertSame(PeopleType.USER, index.getByText("1"));
+        Assertions.assertSame(PeopleType.USER, index.getByValue(1));
+        Assertions.assertNull(index.getByValue("1"));
+        Assertions.assertNull(index.getByText("9"));
+        Assertions.assertNull(index.getByText(null));
+    }
 }
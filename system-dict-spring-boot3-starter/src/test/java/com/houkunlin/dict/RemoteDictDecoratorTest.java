@@ -0,0 +1,282 @@
+package com.houkunlin.dict;
+
+import com.houkunlin.dict.bean.DictType;
+import com.houkunlin.dict.properties.DictPropertiesRemote;
+import com.houkunlin.dict.store.LocalDictStore;
+import com.houkunlin.dict.store.RemoteDict;
+import com.houkunlin.dict.store.RemoteDictDecorator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 远程字典调用保护装饰器测试
+ *
+ * @author HouKunLin
+ */
+class RemoteDictDecoratorTest {
+
+    @Test
+    void testSingleFlightAndCache() throws Exception {
+        final CountingRemoteDict remoteDict = new CountingRemoteDict(100);
+        final DictPropertiesRemote properties = new DictPropertiesRemote();
+        properties.setEnabled(true);
+        final RemoteDict decorator = RemoteDictDecorator.decorate(remoteDict, properties);
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(8);
+        final List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            futures.add(executorService.submit(() -> decorator.getDictText("user", "1")));
+        }
+        for (final Future<String> future : futures) {
+            Assertions.assertEquals("user-1", future.get());
+        }
+        executorService.shutdown();
+        Assertions.assertEquals(1, remoteDict.textCalls.get());
+
+        // 命中缓存，不再发起远程调用
+        Assertions.assertEquals("user-1", decorator.getDictText("user", "1"));
+        Assertions.assertEquals(1, remoteDict.textCalls.get());
+
+        // 未命中结果也会被缓存
+        Assertions.assertNull(decorator.getDictText("user", "none"));
+        Assertions.assertNull(decorator.getDictText("user", "none"));
+        Assertions.assertEquals(2, remoteDict.textCalls.get());
+    }
+
+    @Test
+    void testBatchWindow() throws Exception {
+        final CountingRemoteDict remoteDict = new CountingRemoteDict(0);
+        final DictPropertiesRemote properties = new DictPropertiesRemote();
+        properties.setEnabled(true);
+        properties.setBatchWindow(Duration.ofMillis(50));
+        final RemoteDict decorator = RemoteDictDecorator.decorate(remoteDict, properties);
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(10);
+        final List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final String value = String.valueOf(i);
+            futures.add(executorService.submit(() -> decorator.getDictText("user", value)));
+        }
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals("user-" + i, futures.get(i).get());
+        }
+        executorService.shutdown();
+        Assertions.assertEquals(0, remoteDict.textCalls.get());
+        Assertions.assertTrue(remoteDict.batchCalls.get() < 10);
+    }
+
+    @Test
+    void testTimeoutAndCircuitBreaker() {
+        final CountingRemoteDict remoteDict = new CountingRemoteDict(300);
+        final DictPropertiesRemote properties = new DictPropertiesRemote();
+        properties.setEnabled(true);
+        properties.setTimeout(Duration.ofMillis(50));
+        properties.setCircuitBreakerFailureThreshold(2);
+        properties.setCircuitBreakerOpenDuration(Duration.ofMinutes(1));
+        final RemoteDictDecorator decorator = (RemoteDictDecorator) RemoteDictDecorator.decorate(remoteDict, properties);
+
+        Assertions.assertNull(decorator.getDictText("user", "1"));
+        Assertions.assertNull(decorator.getDictText("user", "2"));
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+            while (!decorator.isCircuitOpen()) {
+                Thread.sleep(20);
+            }
+        });
+        final int calls = remoteDict.textCalls.get();
+        Assertions.assertNull(decorator.getDictText("user", "3"));
+        Assertions.assertEquals(calls, remoteDict.textCalls.get());
+    }
+
+    @Test
+    void testTimeoutCountedOncePerRequest() throws Exception {
+        final CountingRemoteDict remoteDict = new CountingRemoteDict(300);
+        final DictPropertiesRemote properties = new DictPropertiesRemote();
+        properties.setEnabled(true);
+        properties.setTimeout(Duration.ofMillis(50));
+        properties.setCircuitBreakerFailureThreshold(2);
+        properties.setCircuitBreakerOpenDuration(Duration.ofMinutes(1));
+        final RemoteDictDecorator decorator = (RemoteDictDecorator) RemoteDictDecorator.decorate(remoteDict, properties);
+
+        // 多个调用者等待同一个请求超时，只记录一次失败；远程调用之后完成时不再记录
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        final List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(executorService.submit(() -> decorator.getDictText("user", "1")));
+        }
+        for (final Future<String> future : futures) {
+            Assertions.assertNull(future.get());
+        }
+        executorService.shutdown();
+        Thread.sleep(400);
+        Assertions.assertFalse(decorator.isCircuitOpen());
+
+        // 等待超时立即记录为失败，不需要等待远程调用结束
+        Assertions.assertNull(decorator.getDictText("user", "2"));
+        Assertions.assertTrue(decorator.isCircuitOpen());
+        decorator.destroy();
+    }
+
+    @Test
+    void testHalfOpenTrialTimeout() throws Exception {
+        final CountingRemoteDict remoteDict = new CountingRemoteDict(300);
+        final DictPropertiesRemote properties = new DictPropertiesRemote();
+        properties.setEnabled(true);
+        properties.setTimeout(Duration.ofMillis(50));
+        properties.setCircuitBreakerFailureThreshold(1);
+        properties.setCircuitBreakerOpenDuration(Duration.ofMillis(100));
+        final RemoteDictDecorator decorator = (RemoteDictDecorator) RemoteDictDecorator.decorate(remoteDict, properties);
+
+        Assertions.assertNull(decorator.getDictText("user", "1"));
+        Assertions.assertTrue(decorator.isCircuitOpen());
+
+        // 半开状态的试探请求超时后重新打开熔断器，到期后仍然可以发起新的试探请求
+        Thread.sleep(150);
+        Assertions.assertNull(decorator.getDictText("user", "2"));
+        Assertions.assertTrue(decorator.isCircuitOpen());
+        Thread.sleep(150);
+        Assertions.assertNull(decorator.getDictText("user", "3"));
+        Assertions.assertEquals(3, remoteDict.textCalls.get());
+        decorator.destroy();
+    }
+
+    @Test
+    void testGetDictTextsBatched() {
+        final CountingRemoteDict remoteDict = new CountingRemoteDict(0);
+        final DictPropertiesRemote properties = new DictPropertiesRemote();
+        properties.setEnabled(true);
+        properties.setBatchWindow(Duration.ofMillis(500));
+        final RemoteDictDecorator decorator = (RemoteDictDecorator) RemoteDictDecorator.decorate(remoteDict, properties);
+
+        // 批量获取时没有缓存结果的字典值合并为一次批量请求，不等待批量请求窗口
+        final List<String> values = Arrays.asList("0", "1", "2", "3", "4");
+        final long start = System.nanoTime();
+        final Map<String, String> texts = decorator.getDictTexts("user", values);
+        Assertions.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 400);
+        Assertions.assertEquals(5, texts.size());
+        Assertions.assertEquals("user-3", texts.get("3"));
+        Assertions.assertEquals(1, remoteDict.batchCalls.get());
+
+        Assertions.assertEquals(texts, decorator.getDictTexts("user", values));
+        Assertions.assertEquals(1, remoteDict.batchCalls.get());
+        decorator.destroy();
+    }
+
+    @Test
+    void testBoundedQueue() {
+        final CountingRemoteDict remoteDict = new CountingRemoteDict(100);
+        final DictPropertiesRemote properties = new DictPropertiesRemote();
+        properties.setEnabled(true);
+        properties.setMaxBatchSize(1);
+        properties.setQueueCapacity(1);
+        properties.setCircuitBreakerFailureThreshold(0);
+        final RemoteDictDecorator decorator = (RemoteDictDecorator) RemoteDictDecorator.decorate(remoteDict, properties);
+
+        // 等待队列已满时请求直接失败，不会无限堆积
+        final List<String> values = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            values.add(String.valueOf(i));
+        }
+        final Map<String, String> texts = decorator.getDictTexts("user", values);
+        Assertions.assertFalse(texts.isEmpty());
+        Assertions.assertTrue(texts.size() < 100);
+        Assertions.assertTrue(remoteDict.batchCalls.get() < 100);
+        decorator.destroy();
+    }
+
+    @Test
+    void testBatchMaxSizeCancelsWindow() throws Exception {
+        final CountingRemoteDict remoteDict = new CountingRemoteDict(0);
+        final DictPropertiesRemote properties = new DictPropertiesRemote();
+        properties.setEnabled(true);
+        properties.setBatchWindow(Duration.ofMillis(500));
+        properties.setMaxBatchSize(2);
+        properties.setTimeout(Duration.ofSeconds(3));
+        final RemoteDictDecorator decorator = (RemoteDictDecorator) RemoteDictDecorator.decorate(remoteDict, properties);
+
+        // 达到批量上限立即发起请求，不等待窗口结束
+        final ExecutorService executorService = Executors.newFixedThreadPool(2);
+        final long start = System.nanoTime();
+        final Future<String> future0 = executorService.submit(() -> decorator.getDictText("user", "0"));
+        final Future<String> future1 = executorService.submit(() -> decorator.getDictText("user", "1"));
+        Assertions.assertEquals("user-0", future0.get());
+        Assertions.assertEquals("user-1", future1.get());
+        Assertions.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 400);
+        executorService.shutdown();
+
+        // 上一个批量请求的窗口定时任务已经取消，不会提前发起下一个批量请求
+        Thread.sleep(200);
+        final long start2 = System.nanoTime();
+        Assertions.assertEquals("user-2", decorator.getDictText("user", "2"));
+        Assertions.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start2) >= 450);
+        Assertions.assertEquals(2, remoteDict.batchCalls.get());
+        decorator.destroy();
+    }
+
+    @Test
+    void testInvalidateCache() {
+        final CountingRemoteDict remoteDict = new CountingRemoteDict(0);
+        final DictPropertiesRemote properties = new DictPropertiesRemote();
+        properties.setEnabled(true);
+        final RemoteDictDecorator decorator = (RemoteDictDecorator) RemoteDictDecorator.decorate(remoteDict, properties);
+
+        Assertions.assertEquals("user-1", decorator.getDictText("user", "1"));
+        Assertions.assertNull(decorator.getDictText("user", "none"));
+        Assertions.assertEquals(2, remoteDict.textCalls.get());
+
+        // 字典刷新后通过字典存储对象清空命中结果和未命中结果缓存
+        final LocalDictStore store = new LocalDictStore(decorator);
+        store.invalidateCache();
+        Assertions.assertEquals("user-1", decorator.getDictText("user", "1"));
+        Assertions.assertNull(decorator.getDictText("user", "none"));
+        Assertions.assertEquals(4, remoteDict.textCalls.get());
+        decorator.destroy();
+    }
+
+    private static class CountingRemoteDict implements RemoteDict {
+        private final AtomicInteger textCalls = new AtomicInteger();
+        private final AtomicInteger batchCalls = new AtomicInteger();
+        private final long latency;
+
+        private CountingRemoteDict(final long latency) {
+            this.latency = latency;
+        }
+
+        @Override
+        public DictType getDictType(final String type) {
+            return null;
+        }
+
+        @Override
+        public String getDictText(final String type, final String value) {
+            textCalls.incrementAndGet();
+            sleep();
+            return "none".equals(value) ? null : type + "-" + value;
+        }
+
+        @Override
+        public Map<String, String> getDictTexts(final String type, final Collection<String> values) {
+            batchCalls.incrementAndGet();
+            sleep();
+            final Map<String, String> result = new HashMap<>();
+            for (final String value : values) {
+                result.put(value, type + "-" + value);
+            }
+            return result;
+        }
+
+        private void sleep() {
+            if (latency > 0) {
+                try {
+                    Thread.sleep(latency);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.houkunlin.dict;
+
+import com.houkunlin.dict.bean.DictType;
+import com.houkunlin.dict.bean.DictValue;
+import com.houkunlin.dict.properties.DictPropertiesResilience;
+import com.houkunlin.dict.store.DictStore;
+import com.houkunlin.dict.store.ResilientDictStore;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 字典存储读取降级测试，使用一个可注入延迟与异常的存储对象模拟 Redis
+ *
+ * @author HouKunLin
+ */
+class ResilientDictStoreTest {
+
+    private ResilientDictStore newStore(final SlowDictStore slowDictStore) {
+        return newStore(slowDictStore, new DictPropertiesResilience());
+    }
+
+    private ResilientDictStore newStore(final SlowDictStore slowDictStore, final DictPropertiesResilience properties) {
+        properties.setEnabled(true);
+        properties.setTimeout(Duration.ofMillis(100));
+        properties.setHedgeDelay(Duration.ofMillis(20));
+        properties.setFailureThreshold(2);
+        properties.setRecoveryInterval(Duration.ofMillis(50));
+        return (ResilientDictStore) ResilientDictStore.decorate(slowDictStore, properties);
+    }
+
+    @Test
+    void testHedgedRead() throws Exception {
+        final SlowDictStore slowDictStore = new SlowDictStore();
+        final ResilientDictStore store = newStore(slowDictStore);
+        store.storeBatch(Collections.singletonList(new DictValue("status", 1, "启用", 0)).iterator());
+        Assertions.assertEquals("启用", store.getDictText("status", "1"));
+
+        slowDictStore.latency = 500;
+        final long start = System.currentTimeMillis();
+        Assertions.assertEquals("启用", store.getDictText("status", "1"));
+        Assertions.assertTrue(System.currentTimeMillis() - start < 300);
+        // 快照中不存在的数据会等待到超时时间预算
+        Assertions.assertNull(store.getDictText("status", "2"));
+        store.destroy();
+    }
+
+    @Test
+    void testFallbackAndRecovery() throws Exception {
+        final SlowDictStore slowDictStore = new SlowDictStore();
+        final ResilientDictStore store = newStore(slowDictStore);
+        store.storeBatch(Collections.singletonList(new DictValue("status", 1, "启用", 0)).iterator());
+
+        slowDictStore.down = true;
+        Assertions.assertNull(store.getDictText("status", "2"));
+        Assertions.assertNull(store.getDictText("status", "3"));
+        Assertions.assertNull(store.getDictText("status", "4"));
+        Assertions.assertFalse(store.isHealthy());
+        Assertions.assertEquals("DEGRADED", store.getMetrics().get("status"));
+        Assertions.assertEquals("启用", store.getDictText("status", "1"));
+
+        slowDictStore.down = false;
+        for (int i = 0; i < 40 && !store.isHealthy(); i++) {
+            Thread.sleep(50);
+        }
+        Assertions.assertTrue(store.isHealthy());
+        Assertions.assertEquals("UP", store.getMetrics().get("status"));
+        store.destroy();
+    }
+
+    @Test
+    void testFailureRecordedOnce() throws Exception {
+        final SlowDictStore slowDictStore = new SlowDictStore();
+        final ResilientDictStore store = newStore(slowDictStore);
+        slowDictStore.latency = 200;
+        slowDictStore.down = true;
+        // 等待超时记录一次失败，之后存储对象抛出的异常不再重复记录
+        Assertions.assertNull(store.getDictText("status", "2"));
+        Thread.sleep(300);
+        Assertions.assertEquals(1, store.getMetrics().get("consecutiveFailures"));
+        Assertions.assertEquals(1L, store.getMetrics().get("timeouts"));
+        Assertions.assertEquals(0L, store.getMetrics().get("errors"));
+        Assertions.assertTrue(store.isHealthy());
+        store.destroy();
+    }
+
+    @Test
+    void testSystemDictTypeKeysFallback() throws Exception {
+        final SlowDictStore slowDictStore = new SlowDictStore();
+        final ResilientDictStore store = newStore(slowDictStore);
+        slowDictStore.systemTypes.add("sex");
+        Assertions.assertEquals(Collections.singleton("sex"), store.systemDictTypeKeys());
+        store.storeSystemDict(new DictType("状态", "status", null, Collections.emptyList()));
+
+        slowDictStore.down = true;
+        final Set<String> keys = store.systemDictTypeKeys();
+        Assertions.assertEquals(new HashSet<>(Arrays.asList("sex", "status")), keys);
+        store.destroy();
+    }
+
+    @Test
+    void testDeletedValueNotServedFromSnapshot() throws Exception {
+        final SlowDictStore slowDictStore = new SlowDictStore();
+        final ResilientDictStore store = newStore(slowDictStore);
+        store.storeBatch(Collections.singletonList(new DictValue("status", 1, "启用", 0)).iterator());
+        Assertions.assertEquals("启用", store.getDictText("status", "1"));
+
+        // 存储中的数据已被删除，读取成功返回 null 时不使用快照数据，并删除快照
+        slowDictStore.texts.remove("status:1");
+        Assertions.assertNull(store.getDictText("status", "1"));
+
+        slowDictStore.down = true;
+        Assertions.assertNull(store.getDictText("status", "1"));
+        store.destroy();
+    }
+
+    @Test
+    void testSnapshotBounded() throws Exception {
+        final SlowDictStore slowDictStore = new SlowDictStore();
+        final DictPropertiesResilience properties = new DictPropertiesResilience();
+        properties.setSnapshotMaxSize(100);
+        final ResilientDictStore store = newStore(slowDictStore, properties);
+        final List<DictValue> values = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            values.add(new DictValue("status", i, "状态" + i, 0));
+        }
+        store.storeBatch(values.iterator());
+        Assertions.assertEquals(100L, store.getMetrics().get("snapshotTexts"));
+
+        // 读取成功的数据总是记录到快照中，超过容量后淘汰旧数据
+        for (int i = 0; i < 1000; i++) {
+            Assertions.assertEquals("状态" + i, store.getDictText("status", String.valueOf(i)));
+        }
+        store.destroy();
+        Assertions.assertTrue((Long) store.getMetrics().get("snapshotTexts") <= 100L);
+    }
+
+    /**
+     * 模拟 Redis 的存储对象，可以注入读取延迟与读取异常
+     */
+    private static class SlowDictStore implements DictStore {
+        private final Map<String, String> texts = new ConcurrentHashMap<>();
+        private final Set<String> systemTypes = ConcurrentHashMap.newKeySet();
+        private volatile long latency = 0;
+        private volatile boolean down = false;
+
+        private void await() {
+            if (latency > 0) {
+                try {
+                    Thread.sleep(latency);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (down) {
+                throw new IllegalStateException("Redis 连接失败");
+            }
+        }
+
+        @Override
+        public void store(final DictType dictType) {
+        }
+
+        @Override
+        public void storeSystemDict(final DictType dictType) {
+        }
+
+        @Override
+        public void store(final Iterator<DictValue> iterator) {
+            iterator.forEachRemaining(value -> texts.put(value.getDictType() + ":" + value.getValue(), value.getTitle()));
+        }
+
+        @Override
+        public void removeDictType(final String dictType) {
+        }
+
+        @Override
+        public Set<String> dictTypeKeys() {
+            return Collections.emptySet();
+        }
+
+        @Override
+        public Set<String> systemDictTypeKeys() {
+            await();
+            return new HashSet<>(systemTypes);
+        }
+
+        @Override
+        public DictType getDictType(final String type) {
+            await();
+            return null;
+        }
+
+        @Override
+        public String getDictText(final String type, final String value) {
+            await();
+            return texts.get(type + ":" + value);
+        }
+
+        @Override
+        public String getDictParentValue(final String type, final String value) {
+            await();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.houkunlin.dict.notice;
+
+import com.houkunlin.dict.properties.DictPropertiesNotice;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 刷新字典通知合并器测试
+ *
+ * @author HouKunLin
+ */
+class DictNoticeCoalescerTest {
+    private final List<RefreshNoticeData> sent = new CopyOnWriteArrayList<>();
+    private final DictPropertiesNotice notice = new DictPropertiesNotice();
+
+    private DictNoticeCoalescer newCoalescer(final Duration window) {
+        notice.setCoalesceWindow(window);
+        return new DictNoticeCoalescer(notice, sent::add);
+    }
+
+    private static RefreshNoticeData newNotice(final Set<String> dictProviderClasses, final Set<String> dictTypes) {
+        return RefreshNoticeData.builder()
+                .message("刷新")
+                .applicationName("app")
+                .dictProviderClasses(dictProviderClasses)
+                .dictTypes(dictTypes)
+                .build();
+    }
+
+    private static Set<String> setOf(final String... values) {
+        return new LinkedHashSet<>(Arrays.asList(values));
+    }
+
+    @Test
+    void testZeroWindowSendsImmediately() throws Exception {
+        final DictNoticeCoalescer coalescer = newCoalescer(Duration.ZERO);
+        coalescer.submit(newNotice(setOf("a"), null));
+        coalescer.submit(newNotice(setOf("b"), null));
+
+        Assertions.assertEquals(2, sent.size());
+        Assertions.assertEquals(2L, coalescer.getMetrics().get("sentNotices"));
+    }
+
+    @Test
+    void testUnionOfScopes() throws Exception {
+        final DictNoticeCoalescer coalescer = newCoalescer(Duration.ofMinutes(10));
+        coalescer.submit(newNotice(setOf("a"), setOf("t1")));
+        coalescer.submit(newNotice(setOf("b", "a"), setOf("t2")));
+        Assertions.assertTrue(sent.isEmpty());
+        Assertions.assertEquals(2, coalescer.getMetrics().get("pendingNotices"));
+
+        coalescer.flush();
+        Assertions.assertEquals(1, sent.size());
+        final RefreshNoticeData noticeData = sent.get(0);
+        Assertions.assertEquals(setOf("a", "b"), noticeData.getDictProviderClasses());
+        Assertions.assertEquals(setOf("t1", "t2"), noticeData.getDictTypes());
+        Assertions.assertTrue(noticeData.getMessage().startsWith("合并 2 个刷新事件"));
+        Assertions.assertEquals(2L, coalescer.getMetrics().get("submittedNotices"));
+        Assertions.assertEquals(1L, coalescer.getMetrics().get("sentNotices"));
+        coalescer.shutdown();
+    }
+
+    @Test
+    void testAllProvidersWins() throws Exception {
+        final DictNoticeCoalescer coalescer = newCoalescer(Duration.ofMinutes(10));
+        coalescer.submit(newNotice(setOf("a"), setOf("t1")));
+        coalescer.submit(newNotice(null, setOf("t2")));
+        coalescer.submit(newNotice(setOf("b"), null));
+        coalescer.flush();
+
+        // 空的刷新范围与 null 相同，表示刷新所有
+        coalescer.submit(newNotice(setOf("a"), setOf("t1")));
+        coalescer.submit(newNotice(Collections.emptySet(), Collections.emptySet()));
+        coalescer.flush();
+
+        Assertions.assertEquals(2, sent.size());
+        for (final RefreshNoticeData noticeData : sent) {
+            Assertions.assertNull(noticeData.getDictProviderClasses());
+            Assertions.assertNull(noticeData.getDictTypes());
+        }
+        coalescer.shutdown();
+    }
+
+    @Test
+    void testNotifyBrotherOr() throws Exception {
+        final DictNoticeCoalescer coalescer = newCoalescer(Duration.ofMinutes(10));
+        final RefreshNoticeData brother = newNotice(setOf("b"), null);
+        brother.setNotifyBrother(true);
+        coalescer.submit(newNotice(setOf("a"), null));
+        coalescer.submit(brother);
+        coalescer.submit(newNotice(setOf("c"), null));
+        coalescer.flush();
+
+        coalescer.submit(newNotice(setOf("a"), null));
+        coalescer.submit(newNotice(setOf("b"), null));
+        coalescer.flush();
+
+        Assertions.assertTrue(sent.get(0).isNotifyBrother());
+        Assertions.assertFalse(sent.get(1).isNotifyBrother());
+        coalescer.shutdown();
+    }
+
+    @Test
+    void testMaxFencingToken() throws Exception {
+        final DictNoticeCoalescer coalescer = newCoalescer(Duration.ofMinutes(10));
+        for (final Long token : Arrays.asList(5L, null, 3L)) {
+            final RefreshNoticeData noticeData = newNotice(null, null);
+            noticeData.setFencingToken(token);
+            coalescer.submit(noticeData);
+        }
+        coalescer.flush();
+
+        coalescer.submit(newNotice(null, null));
+        coalescer.submit(newNotice(null, null));
+        coalescer.flush();
+
+        Assertions.assertEquals(5L, sent.get(0).getFencingToken());
+        Assertions.assertNull(sent.get(1).getFencingToken());
+        coalescer.shutdown();
+    }
+
+    @Test
+    void testWindowFlush() throws Exception {
+        final DictNoticeCoalescer coalescer = newCoalescer(Duration.ofMillis(50));
+        coalescer.submit(newNotice(setOf("a"), null));
+        coalescer.submit(newNotice(setOf("b"), null));
+
+        final long deadline = System.currentTimeMillis() + 3000;
+        while (sent.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(1, sent.size());
+        Assertions.assertEquals(setOf("a", "b"), sent.get(0).getDictProviderClasses());
+        coalescer.shutdown();
+    }
+
+    @Test
+    void testFlushOnShutdown() throws Exception {
+        final DictNoticeCoalescer coalescer = newCoalescer(Duration.ofMinutes(10));
+        coalescer.submit(newNotice(setOf("a"), null));
+        coalescer.submit(newNotice(setOf("b"), null));
+        coalescer.shutdown();
+
+        Assertions.assertEquals(1, sent.size());
+        Assertions.assertEquals(setOf("a", "b"), sent.get(0).getDictProviderClasses());
+        Assertions.assertEquals(0, coalescer.getMetrics().get("pendingNotices"));
+
+        // 关闭后收到的通知立即发送
+        coalescer.submit(newNotice(setOf("c"), null));
+        Assertions.assertEquals(2, sent.size());
+        Assertions.assertEquals(setOf("c"), sent.get(1).getDictProviderClasses());
+    }
+}
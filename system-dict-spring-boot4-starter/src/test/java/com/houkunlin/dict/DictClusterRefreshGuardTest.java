@@ -0,0 +1,181 @@
+package com.houkunlin.dict;
+
+import com.houkunlin.dict.notice.DictNoticeSender;
+import com.houkunlin.dict.notice.RedisDictRefreshGuard;
+import com.houkunlin.dict.notice.RefreshNoticeData;
+import com.houkunlin.dict.properties.DictPropertiesCluster;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * 集群单写入者刷新保护测试，使用一个内存实现的 Redis 模板模拟多个实例共享的 Redis
+ *
+ * @author HouKunLin
+ */
+class DictClusterRefreshGuardTest {
+    private static final String LOCK_KEY = "dict:cluster:lock:app";
+    private static final String COMPLETED_KEY = "dict:cluster:completed:app";
+    private static final String PENDING_KEY = "dict:cluster:pending:app";
+
+    private final InMemoryRedisTemplate redisTemplate = new InMemoryRedisTemplate();
+    private final List<RefreshNoticeData> notices = new CopyOnWriteArrayList<>();
+
+    private RedisDictRefreshGuard newGuard() {
+        final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("noticeSender", (DictNoticeSender) notices::add);
+        return new RedisDictRefreshGuard(redisTemplate, new DictPropertiesCluster(), "app", beanFactory.getBeanProvider(DictNoticeSender.class));
+    }
+
+    @Test
+    void testLockLost() {
+        final RedisDictRefreshGuard guard = newGuard();
+        final List<Set<String>> scopes = new ArrayList<>();
+        redisTemplate.values.put(LOCK_KEY, "other");
+
+        Assertions.assertFalse(guard.runExclusive(Collections.singleton("a"), scopes::add));
+        Assertions.assertTrue(scopes.isEmpty());
+        Assertions.assertEquals(Collections.singleton("a"), redisTemplate.sets.get(PENDING_KEY));
+        Assertions.assertEquals(1L, guard.getMetrics().get("skips"));
+
+        // 锁释放后获取到锁的实例合并执行交过来的刷新范围
+        redisTemplate.values.remove(LOCK_KEY);
+        Assertions.assertTrue(guard.runExclusive(Collections.singleton("b"), scopes::add));
+        Assertions.assertEquals(Collections.singletonList(new HashSet<>(Arrays.asList("a", "b"))), scopes);
+        Assertions.assertNull(redisTemplate.sets.get(PENDING_KEY));
+        Assertions.assertNull(redisTemplate.values.get(LOCK_KEY));
+    }
+
+    @Test
+    void testTrailingRun() {
+        final RedisDictRefreshGuard holder = newGuard();
+        final RedisDictRefreshGuard other = newGuard();
+        final List<Set<String>> scopes = new ArrayList<>();
+
+        Assertions.assertTrue(holder.runExclusive(Collections.singleton("a"), scope -> {
+            scopes.add(scope);
+            if (scopes.size() == 1) {
+                // 写入过程中其他实例请求刷新，交给持有锁的实例
+                Assertions.assertFalse(other.runExclusive(Collections.singleton("b"), s -> Assertions.fail("不应该执行刷新")));
+                Assertions.assertFalse(other.runExclusive(null, s -> Assertions.fail("不应该执行刷新")));
+            }
+        }));
+
+        Assertions.assertEquals(Arrays.asList(Collections.singleton("a"), null), scopes);
+        Assertions.assertEquals(Arrays.asList(1L, 2L), notices.stream().map(RefreshNoticeData::getFencingToken).collect(Collectors.toList()));
+        Assertions.assertEquals(2, holder.completedToken());
+        Assertions.assertEquals(1L, holder.getMetrics().get("trailingRuns"));
+        Assertions.assertNull(redisTemplate.values.get(LOCK_KEY));
+        Assertions.assertNull(redisTemplate.sets.get(PENDING_KEY));
+    }
+
+    @Test
+    void testLockExpired() {
+        final RedisDictRefreshGuard guard = newGuard();
+
+        Assertions.assertTrue(guard.runExclusive(null, scope -> {
+            // 写入耗时超过锁的有效期，锁已经被其他实例获取
+            redisTemplate.values.put(LOCK_KEY, "other");
+        }));
+
+        Assertions.assertTrue(notices.isEmpty());
+        Assertions.assertEquals(0, guard.completedToken());
+        Assertions.assertNull(redisTemplate.values.get(COMPLETED_KEY));
+        Assertions.assertEquals(1L, guard.issuedToken());
+        Assertions.assertEquals("other", redisTemplate.values.get(LOCK_KEY));
+    }
+
+    @Test
+    void testRefreshFailed() {
+        final RedisDictRefreshGuard guard = newGuard();
+        redisTemplate.sets.put(PENDING_KEY, new HashSet<>(Collections.singleton("b")));
+
+        Assertions.assertThrows(IllegalStateException.class, () -> guard.runExclusive(Collections.singleton("a"), scope -> {
+            throw new IllegalStateException("刷新失败");
+        }));
+
+        Assertions.assertTrue(notices.isEmpty());
+        Assertions.assertEquals(0, guard.completedToken());
+        Assertions.assertNull(redisTemplate.values.get(LOCK_KEY));
+        // 刷新范围留给下一次获取到锁的实例
+        Assertions.assertEquals(new HashSet<>(Arrays.asList("a", "b")), redisTemplate.sets.get(PENDING_KEY));
+    }
+
+    @Test
+    void testStaleToken() {
+        final RedisDictRefreshGuard guard = newGuard();
+
+        Assertions.assertTrue(guard.acceptRefreshed(5));
+        Assertions.assertFalse(guard.acceptRefreshed(3));
+        Assertions.assertFalse(guard.acceptRefreshed(5));
+        Assertions.assertTrue(guard.acceptRefreshed(6));
+        Assertions.assertEquals(6L, guard.getMetrics().get("lastRefreshedToken"));
+    }
+
+    /**
+     * 内存实现的 Redis 模板，只实现刷新保护用到的命令和脚本
+     */
+    static class InMemoryRedisTemplate extends StringRedisTemplate {
+        final Map<String, String> values = new ConcurrentHashMap<>();
+        final Map<String, Set<String>> sets = new ConcurrentHashMap<>();
+        @SuppressWarnings("unchecked")
+        private final ValueOperations<String, String> valueOperations = (ValueOperations<String, String>) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{ValueOperations.class}, (proxy, method, args) -> {
+                    final String key = (String) args[0];
+                    switch (method.getName()) {
+                        case "setIfAbsent":
+                            return values.putIfAbsent(key, (String) args[1]) == null;
+                        case "increment":
+                            return Long.parseLong(values.merge(key, "1", (a, b) -> String.valueOf(Long.parseLong(a) + 1)));
+                        case "get":
+                            return values.get(key);
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+
+        @Override
+        public ValueOperations<String, String> opsForValue() {
+            return valueOperations;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public synchronized <T> T execute(final RedisScript<T> script, final List<String> keys, final Object... args) {
+            final String text = script.getScriptAsString();
+            if (text.contains("smembers")) {
+                final Set<String> members = sets.remove(keys.get(0));
+                return (T) (members == null ? new ArrayList<>() : new ArrayList<>(members));
+            }
+            if (text.contains("sadd")) {
+                final Set<String> members = sets.computeIfAbsent(keys.get(0), k -> new HashSet<>());
+                for (int i = 1; i < args.length; i++) {
+                    members.add((String) args[i]);
+                }
+                return (T) Long.valueOf(1);
+            }
+            if (!args[0].equals(values.get(keys.get(0)))) {
+                return (T) Long.valueOf(0);
+            }
+            final long token = Long.parseLong((String) args[1]);
+            if (token > Long.parseLong(values.getOrDefault(keys.get(1), "0"))) {
+                values.put(keys.get(1), String.valueOf(token));
+            }
+            final Set<String> pending = sets.get(keys.get(2));
+            if (token > 0 && pending != null && !pending.isEmpty()) {
+                return (T) Long.valueOf(2);
+            }
+            values.remove(keys.get(0));
+            return (T) Long.valueOf(1);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.houkunlin.dict;
+
+import com.houkunlin.dict.annotation.DictText;
+import com.houkunlin.dict.bean.DictType;
+import com.houkunlin.dict.bean.DictValue;
+import com.houkunlin.dict.store.DictStore;
+import com.houkunlin.dict.store.LocalDictStore;
+import com.houkunlin.dict.store.RemoteDict;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * 字典租户（DictTenantResolver）使用测试
+ *
+ * @author HouKunLin
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@SystemDictScan
+class DictTenantTest {
+    public static final String DICT_TYPE = "PeopleType";
+    private static final ThreadLocal<String> TENANT = new ThreadLocal<>();
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private DictStore store;
+
+    /**
+     * 测试当前 Starter 模块路径是否匹配
+     */
+    @Test
+    void testJavaAtPath() {
+        TestStarterAssertions.assertCurrentStarterModule("4");
+    }
+
+    /**
+     * 测试租户字典：优先读取当前租户的字典，租户字典中不存在时读取共享的字典
+     */
+    @Test
+    void testTenant() throws JacksonException {
+        @Data
+        @AllArgsConstructor
+        class Bean {
+            @DictText(DICT_TYPE)
+            private String userType;
+        }
+        store.store(Collections.singletonList(new DictValue(DictTenantResolver.tenantDictType("t1", DICT_TYPE), "1", "租户用户", 0)).iterator());
+        DictUtil.setTenantResolver(TENANT::get);
+        try {
+            TENANT.set("t1");
+            Assertions.assertEquals("租户用户", DictUtil.getDictText(DICT_TYPE, "1"));
+            // 租户字典中不存在的字典值读取共享的字典
+            Assertions.assertEquals("系统管理", DictUtil.getDictText(DICT_TYPE, "0"));
+            JsonAssertUtil.assertEquals("{\"userType\":\"1\",\"userTypeText\":\"租户用户\"}", objectMapper.writeValueAsString(new Bean("1")));
+
+            // 其他租户、没有租户时读取共享的字典
+            TENANT.set("t2");
+            Assertions.assertEquals("普通用户", DictUtil.getDictText(DICT_TYPE, "1"));
+            TENANT.remove();
+            Assertions.assertEquals("普通用户", DictUtil.getDictText(DICT_TYPE, "1"));
+            JsonAssertUtil.assertEquals("{\"userType\":\"1\",\"userTypeText\":\"普通用户\"}", objectMapper.writeValueAsString(new Bean("1")));
+
+            // 清空一个租户的缓存后读取最新的租户字典
+            store.store(Collections.singletonList(new DictValue(DictTenantResolver.tenantDictType("t1", DICT_TYPE), "1", "租户用户2", 0)).iterator());
+            DictUtil.invalidateCache("t1");
+            TENANT.set("t1");
+            Assertions.assertEquals("租户用户2", DictUtil.getDictText(DICT_TYPE, "1"));
+        } finally {
+            TENANT.remove();
+            DictUtil.setTenantResolver(null);
+        }
+    }
+
+    /**
+     * 测试租户字典不存在时不调用远程字典，只有共享的字典不存在时才调用远程字典
+     */
+    @Test
+    void testTenantTypeNotForwardedToRemoteDict() {
+        final List<String> remoteTypes = new ArrayList<>();
+        final LocalDictStore localDictStore = new LocalDictStore(new RemoteDict() {
+            @Override
+            public DictType getDictType(final String type) {
+                remoteTypes.add(type);
+                return null;
+            }
+
+            @Override
+            public String getDictText(final String type, final String value) {
+                remoteTypes.add(type);
+                return null;
+            }
+        });
+        DictUtil.setTenantResolver(TENANT::get);
+        try {
+            Assertions.assertNull(localDictStore.getDictText(DictTenantResolver.tenantDictType("t1", "remote"), "1"));
+            Assertions.assertNull(localDictStore.getDictType(DictTenantResolver.tenantDictType("t1", "remote")));
+            Assertions.assertTrue(remoteTypes.isEmpty());
+            Assertions.assertNull(localDictStore.getDictText("remote", "1"));
+            Assertions.assertEquals(Collections.singletonList("remote"), remoteTypes);
+        } finally {
+            DictUtil.setTenantResolver(null);
+        }
+
+        // 没有设置字典租户解析器时按普通的字典类型处理
+        Assertions.assertNull(localDictStore.getDictText(DictTenantResolver.tenantDictType("t1", "remote"), "1"));
+        Assertions.assertEquals(2, remoteTypes.size());
+    }
+}
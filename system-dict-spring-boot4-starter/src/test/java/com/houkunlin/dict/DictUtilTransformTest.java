@@ -21,6 +21,9 @@ import org.springframework.test.annotation.DirtiesContext;
 import tools.jackson.core.JacksonException;
 import tools.jackson.databind.ObjectMapper;
 
+import java.util.ArrayList;
+import java.util.List;
+
 
 /**
  * 字典转换工具（DictUtil.transform）使用测试
@@ -193,6 +196,40 @@ class DictUtilTransformTest {
         Assertions.assertEquals("普通用户", bean0302transform.getUserTypeText());
     }
 
+    /**
+     * 测试批量转换：同一个对象类型只创建一次转换计划，输出每个对象的平均转换耗时
+     */
+    @Test
+    void testTransformList() {
+        final int size = 10_000;
+        final List<Bean01> beans01 = new ArrayList<>(size);
+        final List<Bean03> beans03 = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            beans01.add(new Bean01(String.valueOf(i % 3)));
+            beans03.add(new Bean03(String.valueOf(i % 3), null));
+        }
+        // 预热：创建转换计划和动态子类
+        DictUtil.transform(new Bean01("1"));
+        DictUtil.transform(new Bean03("1", null));
+
+        long start = System.nanoTime();
+        final List<Bean01> result01 = DictUtil.transform(beans01);
+        long cost = System.nanoTime() - start;
+        logger.info("转换 {} 个需要动态创建子类的对象 耗时 {} ms，平均每个对象 {} ns", size, cost / 1000_000.0, cost / size);
+        start = System.nanoTime();
+        final List<Bean03> result03 = DictUtil.transform(beans03);
+        cost = System.nanoTime() - start;
+        logger.info("转换 {} 个写入已有字段的对象 耗时 {} ms，平均每个对象 {} ns", size, cost / 1000_000.0, cost / size);
+
+        Assertions.assertEquals(size, result01.size());
+        Assertions.assertEquals(size, result03.size());
+        Assertions.assertEquals(Bean01.class.getName() + "$DictChildren", result01.get(size - 1).getClass().getName());
+        Assertions.assertEquals("普通用户", parseExpression("#{#bean.userTypeText}", result01.get(1)));
+        Assertions.assertEquals("系统管理", parseExpression("#{#bean.userTypeText}", result01.get(3)));
+        Assertions.assertSame(beans03.get(2), result03.get(2));
+        Assertions.assertEquals("其他用户", result03.get(2).getUserTypeText());
+    }
+
     /**
      * 动态创建子类
      */
@@ -0,0 +1,101 @@
+package com.houkunlin.dict;
+
+import com.houkunlin.dict.annotation.DictValid;
+import com.houkunlin.dict.bean.DictValue;
+import com.houkunlin.dict.store.DictStore;
+import jakarta.validation.Validator;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * 字典校验注解（DictValid）使用测试
+ *
+ * @author HouKunLin
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@SystemDictScan
+class DictValidTest {
+    public static final String DICT_TYPE = "PeopleType";
+    @Autowired
+    private Validator validator;
+    @Autowired
+    private DictStore store;
+
+    /**
+     * 测试当前 Starter 模块路径是否匹配
+     */
+    @Test
+    void testJavaAtPath() {
+        TestStarterAssertions.assertCurrentStarterModule("4");
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Bean {
+        @DictValid(DICT_TYPE)
+        private Object value;
+        @DictValid(value = DICT_TYPE, split = ",")
+        private String values;
+    }
+
+    /**
+     * 测试校验单个字典值、集合、数组、使用分隔符拼接的字符串
+     */
+    @Test
+    void testValid() {
+        Assertions.assertTrue(validator.validate(new Bean("1", "0,1,2")).isEmpty());
+        Assertions.assertTrue(validator.validate(new Bean(Arrays.asList("0", "2"), "1")).isEmpty());
+        Assertions.assertTrue(validator.validate(new Bean(new int[]{0, 1}, "2")).isEmpty());
+        Assertions.assertTrue(validator.validate(new Bean(new Integer[]{2}, "0")).isEmpty());
+        Assertions.assertTrue(validator.validate(new Bean(Collections.emptyList(), "0")).isEmpty());
+
+        // 其中有一个无效的字典值、null 时校验失败
+        Assertions.assertEquals(1, validator.validate(new Bean("9", "0,1")).size());
+        Assertions.assertEquals(1, validator.validate(new Bean(Arrays.asList("0", "9"), "0")).size());
+        Assertions.assertEquals(1, validator.validate(new Bean(new int[]{0, 9}, "0")).size());
+        Assertions.assertEquals(1, validator.validate(new Bean(Arrays.asList("0", null), "0")).size());
+        Assertions.assertEquals(1, validator.validate(new Bean("0", "0,9")).size());
+        Assertions.assertEquals(2, validator.validate(new Bean(null, null)).size());
+    }
+
+    /**
+     * 测试校验一组字典值：字典类型对象中没有的字典值通过字典文本确认，租户的字典值与共享的字典值都视为有效
+     */
+    @Test
+    void testContainsDictValues() {
+        final List<String> values = Arrays.asList("0", "1", "2");
+        Assertions.assertTrue(DictUtil.containsDictValues(DICT_TYPE, values));
+        Assertions.assertTrue(DictUtil.containsDictValue(DICT_TYPE, "1"));
+        Assertions.assertFalse(DictUtil.containsDictValue(DICT_TYPE, "9"));
+        Assertions.assertFalse(DictUtil.containsDictValue(null, "1"));
+        Assertions.assertTrue(DictUtil.containsDictValues(DICT_TYPE, Collections.emptyList()));
+
+        // 只写入字典值、没有维护字典类型对象的字典值
+        store.store(Collections.singletonList(new DictValue(DICT_TYPE, "8", "临时用户", 0)).iterator());
+        Assertions.assertTrue(DictUtil.containsDictValues(DICT_TYPE, Arrays.asList("0", "8")));
+
+        final ThreadLocal<String> tenant = new ThreadLocal<>();
+        store.store(Collections.singletonList(new DictValue(DictTenantResolver.tenantDictType("t1", DICT_TYPE), "7", "租户用户", 0)).iterator());
+        DictUtil.setTenantResolver(tenant::get);
+        try {
+            tenant.set("t1");
+            Assertions.assertTrue(DictUtil.containsDictValues(DICT_TYPE, Arrays.asList("0", "7")));
+            tenant.set("t2");
+            Assertions.assertFalse(DictUtil.containsDictValues(DICT_TYPE, Arrays.asList("0", "7")));
+        } finally {
+            DictUtil.setTenantResolver(null);
+            store.removeDictType(DictTenantResolver.tenantDictType("t1", DICT_TYPE));
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.houkunlin.dict;
 
 import com.houkunlin.dict.common.bean.*;
+import com.houkunlin.dict.converter.IntegerToDictEnumConverterFactory;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -443,4 +444,16 @@ class TestConverter {
         Assertions.assertThrows(ConverterNotFoundException.class, () -> conversionService.convert((short) 2, SimpleEnum1.class));
         Assertions.assertThrows(ConverterNotFoundException.class, () -> conversionService.convert((short) 3, SimpleEnum1.class));
     }
+
+    @Test
+    void testCachedConverter() {
+        final IntegerToDictEnumConverterFactory factory = new IntegerToDictEnumConverterFactory();
+        Assertions.assertSame(factory.getConverter(PeopleType.class), factory.getConverter(PeopleType.class));
+        Assertions.assertEquals(PeopleType.USER, factory.getConverter(PeopleType.class).convert(1));
+
+        // 完整的枚举对象列表通过索引查找，部分枚举对象列表仍然只在传入的列表中查找
+        Assertions.assertEquals(PeopleType.USER, DictEnum.valueOf(PeopleType.values(), 1));
+        Assertions.assertNull(DictEnum.valueOf(PeopleType.values(), 9));
+        Assertions.assertNull(DictEnum.valueOf(new PeopleType[]{PeopleType.OTHER}, 1));
+    }
 }